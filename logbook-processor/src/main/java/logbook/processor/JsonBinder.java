@@ -0,0 +1,27 @@
+package logbook.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * JSON バインダーを生成する Bean を表します。
+ * <p>
+ * {@link JsonKey} を付けたフィールドについて、同じパッケージに {@code <クラス名>JsonBinder} を生成します。
+ * 生成するクラスは次の 2 つのメソッドを持ちます。
+ * </p>
+ * <ul>
+ * <li>{@code static void bind(JsonObject json, <クラス名> bean)}<br>
+ * {@code JsonHelper.bind(json).setInteger("api_id", bean::setId)...} と同じ値を設定します。</li>
+ * <li>{@code static void bind(JsonParser parser, <クラス名> bean, BiConsumer<String, JsonValue> other)}<br>
+ * {@code START_OBJECT} の直後から {@code END_OBJECT} までを読み、JsonObject を作らずに値を設定します。
+ * {@link JsonKey} のないキーは {@code other} に渡します（{@code other} が null の場合は読み飛ばします）。</li>
+ * </ul>
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface JsonBinder {
+}
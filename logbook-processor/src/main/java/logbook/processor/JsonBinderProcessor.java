@@ -0,0 +1,187 @@
+package logbook.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * {@link JsonBinder} を付けた Bean の JSON バインダーを生成します。
+ * <p>
+ * 生成するコードはキーごとに値を取り出してセッターを呼ぶだけの直線的なコードで、
+ * {@code JsonHelper.Bind} のようなメソッド参照やリフレクションを使いません。
+ * 値の変換は {@code logbook.internal.JsonHelper}（JsonObject から）と
+ * {@code logbook.internal.JsonReaders}（JsonParser から）に任せるため、変換の結果は {@code JsonHelper.Bind} と同じです。
+ * </p>
+ */
+@SupportedAnnotationTypes("logbook.processor.JsonBinder")
+public class JsonBinderProcessor extends AbstractProcessor {
+
+    /** フィールドの型→変換メソッド名 */
+    private static final Map<String, String> CONVERTERS = Map.ofEntries(
+            Map.entry("java.lang.Integer", "toInteger"),
+            Map.entry("java.lang.Long", "toLong"),
+            Map.entry("java.lang.Double", "toDouble"),
+            Map.entry("java.lang.Boolean", "toBoolean"),
+            Map.entry("java.lang.String", "toString"),
+            Map.entry("java.math.BigDecimal", "toBigDecimal"),
+            Map.entry("java.util.List<java.lang.Integer>", "toIntegerList"),
+            Map.entry("java.util.List<java.lang.Long>", "toLongList"),
+            Map.entry("java.util.List<java.lang.Double>", "toDoubleList"),
+            Map.entry("java.util.List<java.lang.String>", "toStringList"),
+            Map.entry("java.util.List<java.math.BigDecimal>", "toBigDecimalList"));
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(JsonBinder.class)) {
+            if (element.getKind() != ElementKind.CLASS
+                    || element.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+                this.error(element, "@JsonBinder はトップレベルのクラスにだけ付けられます");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<Property> properties = this.properties(type);
+            if (properties != null) {
+                this.write(type, properties);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@link JsonKey} を付けたフィールドを宣言順に返します。
+     *
+     * @param type Bean
+     * @return フィールド、使えない型のフィールドがある場合は null
+     */
+    private List<Property> properties(TypeElement type) {
+        List<Property> properties = new ArrayList<>();
+        boolean valid = true;
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            JsonKey key = field.getAnnotation(JsonKey.class);
+            if (key == null) {
+                continue;
+            }
+            String converter = CONVERTERS.get(field.asType().toString());
+            if (converter == null || field.getModifiers().contains(Modifier.STATIC)) {
+                this.error(field, "@JsonKey を付けられない型です: " + field.asType());
+                valid = false;
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            properties.add(new Property(key.value(), setter, converter, converter.endsWith("List")));
+        }
+        return valid ? properties : null;
+    }
+
+    private void write(TypeElement type, List<Property> properties) {
+        String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+        String beanName = type.getSimpleName().toString();
+        String binderName = beanName + "JsonBinder";
+        try {
+            JavaFileObject file = this.processingEnv.getFiler()
+                    .createSourceFile(packageName + "." + binderName, type);
+            try (PrintWriter w = new PrintWriter(file.openWriter())) {
+                w.println("package " + packageName + ";");
+                w.println();
+                w.println("import java.util.function.BiConsumer;");
+                w.println();
+                w.println("import jakarta.json.JsonArray;");
+                w.println("import jakarta.json.JsonObject;");
+                w.println("import jakarta.json.JsonValue;");
+                w.println("import jakarta.json.stream.JsonParser;");
+                w.println();
+                w.println("import logbook.internal.JsonHelper;");
+                w.println("import logbook.internal.JsonReaders;");
+                w.println();
+                w.println("/**");
+                w.println(" * {@link " + beanName + "} の JSON バインダー（{@code " + JsonBinderProcessor.class.getName()
+                        + "} が生成）");
+                w.println(" */");
+                w.println("final class " + binderName + " {");
+                w.println();
+                w.println("    private " + binderName + "() {");
+                w.println("    }");
+                w.println();
+                this.writeTreeBinder(w, beanName, properties);
+                w.println();
+                this.writeStreamBinder(w, beanName, properties);
+                w.println("}");
+            }
+        } catch (IOException e) {
+            this.error(type, "JSON バインダーを生成できませんでした: " + e);
+        }
+    }
+
+    private void writeTreeBinder(PrintWriter w, String beanName, List<Property> properties) {
+        w.println("    static void bind(JsonObject json, " + beanName + " bean) {");
+        w.println("        JsonValue v;");
+        for (Property p : properties) {
+            w.println("        if ((v = json.get(\"" + p.key() + "\")) != null && v != JsonValue.NULL) {");
+            if (p.list()) {
+                w.println("            bean." + p.setter() + "(JsonHelper." + p.converter() + "((JsonArray) v));");
+            } else {
+                w.println("            bean." + p.setter() + "(JsonHelper." + p.converter() + "(v));");
+            }
+            w.println("        }");
+        }
+        w.println("    }");
+    }
+
+    private void writeStreamBinder(PrintWriter w, String beanName, List<Property> properties) {
+        w.println("    static void bind(JsonParser parser, " + beanName
+                + " bean, BiConsumer<String, JsonValue> other) {");
+        w.println("        while (parser.next() != JsonParser.Event.END_OBJECT) {");
+        w.println("            String key = parser.getString();");
+        w.println("            JsonParser.Event event = parser.next();");
+        w.println("            switch (key) {");
+        for (Property p : properties) {
+            w.println("            case \"" + p.key() + "\" -> {");
+            w.println("                if (event != JsonParser.Event.VALUE_NULL) {");
+            w.println("                    bean." + p.setter() + "(JsonReaders." + p.converter() + "(parser, event));");
+            w.println("                }");
+            w.println("            }");
+        }
+        w.println("            default -> JsonReaders.other(parser, event, key, other);");
+        w.println("            }");
+        w.println("        }");
+        w.println("    }");
+    }
+
+    private void error(Element element, String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * バインドするフィールド
+     *
+     * @param key JSON のキー
+     * @param setter セッター名
+     * @param converter 変換メソッド名
+     * @param list List の場合 true
+     */
+    private record Property(String key, String setter, String converter, boolean list) {
+    }
+}
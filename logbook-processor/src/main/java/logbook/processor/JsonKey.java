@@ -0,0 +1,27 @@
+package logbook.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * フィールドに対応する JSON のキーを表します。
+ * <p>
+ * 使える型は {@code Integer}, {@code Long}, {@code Double}, {@code Boolean}, {@code String}, {@code BigDecimal}
+ * と、それぞれの {@code List}（{@code Boolean} を除く）です。値は Lombok が生成するセッターで設定します。
+ * </p>
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface JsonKey {
+
+    /**
+     * JSON のキー
+     *
+     * @return JSON のキー
+     */
+    String value();
+}
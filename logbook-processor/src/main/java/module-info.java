@@ -0,0 +1,8 @@
+module logbook.processor {
+    requires java.compiler;
+
+    exports logbook.processor;
+
+    provides javax.annotation.processing.Processor with
+        logbook.processor.JsonBinderProcessor;
+}
@@ -0,0 +1,194 @@
+package logbook.bean;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logbook.internal.JsonHelper;
+
+/**
+ * {@code JsonHelper.Bind} と生成した JSON バインダー（{@code @JsonBinder}）の比較。
+ * <p>
+ * 母港(api_port)の api_ship 相当の配列を、JsonObject から Bind で組み立てる従来の方法・
+ * JsonObject から生成したバインダーで組み立てる方法・JsonParser から直接組み立てる方法で測ります。
+ * {@code mvn -Pbenchmark test-compile exec:java} で実行します。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonBinderBenchmark {
+
+    /** 艦娘の数 */
+    @Param({ "600" })
+    int size;
+
+    /** api_ship の JSON 文字列 */
+    private String text;
+
+    /** api_ship */
+    private JsonArray array;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        JsonArrayBuilder ships = Json.createArrayBuilder();
+        for (int i = 0; i < this.size; i++) {
+            ships.add(Json.createObjectBuilder()
+                    .add("api_id", i + 1)
+                    .add("api_sortno", random.nextInt(2000))
+                    .add("api_ship_id", random.nextInt(1000))
+                    .add("api_lv", 1 + random.nextInt(180))
+                    .add("api_exp", ints(random, 3))
+                    .add("api_nowhp", random.nextInt(100))
+                    .add("api_maxhp", random.nextInt(100))
+                    .add("api_soku", 10)
+                    .add("api_leng", 1 + random.nextInt(4))
+                    .add("api_slot", ints(random, 5))
+                    .add("api_onslot", ints(random, 5))
+                    .add("api_slot_ex", random.nextInt(50000))
+                    .add("api_kyouka", ints(random, 7))
+                    .add("api_backs", 1 + random.nextInt(8))
+                    .add("api_fuel", random.nextInt(100))
+                    .add("api_bull", random.nextInt(100))
+                    .add("api_slotnum", 4)
+                    .add("api_ndock_time", random.nextInt(100000))
+                    .add("api_ndock_item", ints(random, 2))
+                    .add("api_srate", random.nextInt(6))
+                    .add("api_cond", random.nextInt(100))
+                    .add("api_karyoku", ints(random, 2))
+                    .add("api_raisou", ints(random, 2))
+                    .add("api_taiku", ints(random, 2))
+                    .add("api_soukou", ints(random, 2))
+                    .add("api_kaihi", ints(random, 2))
+                    .add("api_taisen", ints(random, 2))
+                    .add("api_sakuteki", ints(random, 2))
+                    .add("api_lucky", ints(random, 2))
+                    .add("api_locked", random.nextInt(2))
+                    .add("api_locked_equip", random.nextInt(2))
+                    .add("api_sally_area", random.nextInt(5)));
+        }
+        this.array = ships.build();
+        this.text = this.array.toString();
+    }
+
+    /**
+     * JsonObject から Bind で組み立てる(従来の方法)
+     */
+    @Benchmark
+    public List<Ship> bind() {
+        return JsonHelper.toList(this.array, JsonBinderBenchmark::toShipWithBind);
+    }
+
+    /**
+     * JsonObject から生成したバインダーで組み立てる
+     */
+    @Benchmark
+    public List<Ship> binder() {
+        return JsonHelper.toList(this.array, Ship::toShip);
+    }
+
+    /**
+     * 文字列を読んでから Bind で組み立てる
+     */
+    @Benchmark
+    public List<Ship> readAndBind() {
+        try (JsonReader reader = Json.createReader(new StringReader(this.text))) {
+            return JsonHelper.toList(reader.readArray(), JsonBinderBenchmark::toShipWithBind);
+        }
+    }
+
+    /**
+     * 文字列から JsonParser で直接組み立てる
+     */
+    @Benchmark
+    public List<Ship> parse() {
+        List<Ship> list = new ArrayList<>(this.size);
+        try (JsonParser parser = Json.createParser(new StringReader(this.text))) {
+            parser.next();
+            while (parser.next() == JsonParser.Event.START_OBJECT) {
+                Ship bean = new Ship();
+                ShipJsonBinder.bind(parser, bean, null);
+                list.add(bean);
+            }
+        }
+        return list;
+    }
+
+    private static JsonArray ints(Random random, int size) {
+        JsonArrayBuilder builder = Json.createArrayBuilder();
+        for (int i = 0; i < size; i++) {
+            builder.add(random.nextInt(100));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 生成したバインダーに置き換える前の {@link Ship#toShip(JsonObject)}
+     */
+    private static Ship toShipWithBind(JsonValue value) {
+        JsonObject json = (JsonObject) value;
+        Ship bean = new Ship();
+        JsonHelper.bind(json)
+                .setInteger("api_id", bean::setId)
+                .setInteger("api_sortno", bean::setSortno)
+                .setInteger("api_ship_id", bean::setShipId)
+                .setInteger("api_lv", bean::setLv)
+                .setIntegerList("api_exp", bean::setExp)
+                .setInteger("api_nowhp", bean::setNowhp)
+                .setInteger("api_maxhp", bean::setMaxhp)
+                .setInteger("api_soku", bean::setSoku)
+                .setInteger("api_leng", bean::setLeng)
+                .setIntegerList("api_slot", bean::setSlot)
+                .setIntegerList("api_onslot", bean::setOnslot)
+                .setInteger("api_slot_ex", bean::setSlotEx)
+                .setIntegerList("api_kyouka", bean::setKyouka)
+                .setInteger("api_backs", bean::setBacks)
+                .setInteger("api_fuel", bean::setFuel)
+                .setInteger("api_bull", bean::setBull)
+                .setInteger("api_slotnum", bean::setSlotnum)
+                .setInteger("api_ndock_time", bean::setNdockTime)
+                .setIntegerList("api_ndock_item", bean::setNdockItem)
+                .setInteger("api_srate", bean::setSrate)
+                .setInteger("api_cond", bean::setCond)
+                .setIntegerList("api_karyoku", bean::setKaryoku)
+                .setIntegerList("api_raisou", bean::setRaisou)
+                .setIntegerList("api_taiku", bean::setTaiku)
+                .setIntegerList("api_soukou", bean::setSoukou)
+                .setIntegerList("api_kaihi", bean::setKaihi)
+                .setIntegerList("api_taisen", bean::setTaisen)
+                .setIntegerList("api_sakuteki", bean::setSakuteki)
+                .setIntegerList("api_lucky", bean::setLucky)
+                .setBoolean("api_locked", bean::setLocked)
+                .setBoolean("api_locked_equip", bean::setLockedEquip)
+                .set("api_sp_effect_items", bean::setSpEffectItems,
+                        JsonHelper.toList(SpEffectItem::toSpEffectItem))
+                .setInteger("api_sally_area", bean::setSallyArea);
+        return bean;
+    }
+}
@@ -0,0 +1,112 @@
+package logbook.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link IntLinkedHashMap} と {@link LinkedHashMap} の比較。
+ * <p>
+ * 艦娘(数百)と装備(数千)の件数で、母港のたびの作り直し・戦闘ログのスナップショットのような ID での参照・
+ * 画面更新のような全件の走査を測ります。{@code mvn -Pbenchmark test-compile exec:java} で実行します。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntLinkedHashMapBenchmark {
+
+    /** 件数(艦娘 600 / 装備 5000 程度を想定) */
+    @Param({ "600", "5000" })
+    int size;
+
+    /** ID(実際の ID と同じく昇順で飛び飛び) */
+    private int[] ids;
+
+    /** 参照する ID(艦隊の装備のように順不同) */
+    private int[] probes;
+
+    private Map<Integer, Object> linked;
+
+    private IntLinkedHashMap<Object> intMap;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.ids = new int[this.size];
+        int id = 1;
+        for (int i = 0; i < this.size; i++) {
+            id += 1 + random.nextInt(20);
+            this.ids[i] = id;
+        }
+        this.probes = new int[1024];
+        for (int i = 0; i < this.probes.length; i++) {
+            this.probes[i] = this.ids[random.nextInt(this.size)];
+        }
+        this.linked = this.buildLinkedHashMap();
+        this.intMap = this.buildIntLinkedHashMap();
+    }
+
+    @Benchmark
+    public Map<Integer, Object> buildLinkedHashMap() {
+        Map<Integer, Object> map = new LinkedHashMap<>();
+        for (int id : this.ids) {
+            map.put(id, this);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public IntLinkedHashMap<Object> buildIntLinkedHashMap() {
+        IntLinkedHashMap<Object> map = new IntLinkedHashMap<>();
+        for (int id : this.ids) {
+            map.put(id, this);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void getLinkedHashMap(Blackhole bh) {
+        for (int id : this.probes) {
+            bh.consume(this.linked.get(id));
+        }
+    }
+
+    @Benchmark
+    public void getIntLinkedHashMap(Blackhole bh) {
+        for (int id : this.probes) {
+            bh.consume(this.intMap.get(id));
+        }
+    }
+
+    @Benchmark
+    public void iterateLinkedHashMap(Blackhole bh) {
+        for (Object value : this.linked.values()) {
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void iterateIntLinkedHashMap(Blackhole bh) {
+        for (Object value : this.intMap.values()) {
+            bh.consume(value);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import jakarta.json.JsonObject;
 
 import logbook.bean.Ndock;
 import logbook.bean.NdockCollection;
+import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
 import logbook.internal.JsonHelper;
 import logbook.proxy.RequestMetaData;
@@ -42,16 +43,20 @@ public class ApiGetMemberNdock implements APIListenerSpi {
                             .collect(Collectors.toCollection(LinkedHashSet::new)));
             // 差し替え前と異なっていたら補正
             before.removeAll(NdockCollection.get().getNdockSet());
+            Map<Integer, Ship> shipMap = ShipCollection.get()
+                    .getShipMap();
             before.stream()
-                    .map(ShipCollection.get().getShipMap()::get)
+                    .map(shipMap::get)
                     .filter(Objects::nonNull)
                     .filter(ship -> ship.getNowhp() < ship.getMaxhp())
+                    .map(Ship::clone)
                     .forEach(ship -> {
                         ship.setNowhp(ship.getMaxhp());
                         ship.setNdockTime(0);
                         if (ship.getCond() < 40) {
                             ship.setCond(40);
                         }
+                        shipMap.put(ship.getId(), ship);
                     });
         }
     }
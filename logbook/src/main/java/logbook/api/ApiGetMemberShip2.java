@@ -41,9 +41,8 @@ public class ApiGetMemberShip2 implements APIListenerSpi {
      * @param array api_ship_data
      */
     private void apiShipData(JsonArray array) {
-        Map<Integer, Ship> map = ShipCollection.get()
-                .getShipMap();
-        map.putAll(JsonHelper.toMap(array, Ship::getId, Ship::toShip));
+        ShipCollection.get()
+                .merge(JsonHelper.toList(array, Ship::toShip));
     }
 
     /**
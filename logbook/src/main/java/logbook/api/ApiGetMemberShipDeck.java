@@ -39,10 +39,9 @@ public class ApiGetMemberShipDeck implements APIListenerSpi {
 //        Map<Integer, Ship> before = ShipCollection.get()
 //                .getShipMap();
 
-        // 差し替え
-        Map<Integer, Ship> map = ShipCollection.get()
-                .getShipMap();
-        map.putAll(JsonHelper.toMap(array, Ship::getId, Ship::toShip));
+        // 差し替え（値が変わった艦娘だけ）
+        ShipCollection.get()
+                .merge(JsonHelper.toList(array, Ship::toShip));
         
         // 以下のコードは実際動いてなかった（setCondUpdateTime() にたどり着くことがなかった）。
         // 理由は上で before に差し替え前の ShipMap を保持しているが、
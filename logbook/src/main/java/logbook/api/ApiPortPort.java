@@ -7,8 +7,6 @@ import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import jakarta.json.JsonArray;
@@ -79,41 +77,26 @@ public class ApiPortPort implements APIListenerSpi {
      * @param array api_ship
      */
     private void apiShip(JsonArray array) {
-        // 差し替え前
-        Map<Integer, Ship> before = ShipCollection.get()
-                .getShipMap();
-        // 差し替え前のID
-        Set<Integer> beforeShipIds = before.keySet();
-        // 差し替え後
-        Map<Integer, Ship> afterShipMap = JsonHelper.toMap(array, Ship::getId, Ship::toShip);
-        // 差し替え後のID
-        Set<Integer> afterShipIds = afterShipMap.keySet();
+        // 値が変わった艦娘だけ差し替える
+        ShipCollection.Delta delta = ShipCollection.get()
+                .replace(JsonHelper.toList(array, Ship::toShip));
 
         // cond値が更新されたかを検出
-        Predicate<Ship> update = beforeShip -> {
-            Ship afterShip = afterShipMap.get(beforeShip.getId());
-            // 本来このチェックは正しくないが、自然回復の起点となる時間を知りえないのでこのチェックで代用する。
-            // このチェックだと、自然回復以外にも出撃によるcond値の低下が起きた時や、
-            // cond値40未満の艦の入渠、49前後の艦の演習参加などでもリセットされてしまうが、
-            // 最大で3分の誤差でしかないので許容する。
-            if (afterShip != null && (beforeShip.getCond() < 49 || afterShip.getCond() < 49)) {
-                return !beforeShip.getCond().equals(afterShip.getCond());
-            }
-            return false;
-        };
-        if (before.values().stream().anyMatch(update)) {
+        // 本来このチェックは正しくないが、自然回復の起点となる時間を知りえないのでこのチェックで代用する。
+        // このチェックだと、自然回復以外にも出撃によるcond値の低下が起きた時や、
+        // cond値40未満の艦の入渠、49前後の艦の演習参加などでもリセットされてしまうが、
+        // 最大で3分の誤差でしかないので許容する。
+        boolean update = delta.condChanged()
+                .stream()
+                .anyMatch(c -> c.before().getCond() < 49 || c.after().getCond() < 49);
+        if (update) {
             ZonedDateTime time = ZonedDateTime.now(ZoneId.systemDefault());
             AppCondition.get().setCondUpdateTime(time.toEpochSecond());
         }
 
         // 差し替え前に存在して、差し替え後に存在しない艦娘の装備を廃棄する
-        beforeShipIds.stream()
-                .filter(((Predicate<Integer>) afterShipIds::contains).negate())
-                .map(before::get)
+        delta.removed()
                 .forEach(this::destryItem);
-
-        ShipCollection.get()
-                .setShipMap(afterShipMap);
     }
 
     /**
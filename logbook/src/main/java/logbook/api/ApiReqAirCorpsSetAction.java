@@ -20,7 +20,7 @@ public class ApiReqAirCorpsSetAction implements APIListenerSpi {
 
     @Override
     public void accept(JsonObject json, RequestMetaData req, ResponseMetaData res) {
-        int areaId = Integer.parseInt(req.getParameter("api_area_id"));
+        int areaId = req.getInt("api_area_id");
         List<Integer> baseIds = Arrays.stream(req.getParameter("api_base_id").split(","))
                 .map(Integer::valueOf)
                 .collect(Collectors.toList());
@@ -23,8 +23,8 @@ public class ApiReqAirCorpsSetPlane implements APIListenerSpi {
     public void accept(JsonObject json, RequestMetaData req, ResponseMetaData res) {
         JsonObject object = json.getJsonObject("api_data");
         if (object != null) {
-            int areaId = Integer.parseInt(req.getParameter("api_area_id"));
-            int baseId = Integer.parseInt(req.getParameter("api_base_id"));
+            int areaId = req.getInt("api_area_id");
+            int baseId = req.getInt("api_base_id");
 
             AirBase airBase = Mapinfo.get()
                     .getAirBase()
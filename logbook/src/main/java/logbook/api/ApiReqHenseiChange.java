@@ -36,15 +36,16 @@ public class ApiReqHenseiChange implements APIListenerSpi {
         Map<Integer, DeckPort> deckMap = DeckPortCollection.get()
                 .getDeckPortMap();
 
-        Integer portId = Integer.valueOf(req.getParameter("api_id"));
-        Integer shipId = Integer.valueOf(req.getParameter("api_ship_id"));
-        int shipIdx = Integer.parseInt(req.getParameter("api_ship_idx"));
+        Integer portId = req.getInt("api_id");
+        Integer shipId = req.getInt("api_ship_id");
+        int shipIdx = req.getInt("api_ship_idx");
 
         DeckPort deckPort = deckMap.get(portId)
                 .clone();
         List<Integer> ships = new ArrayList<>(deckPort.getShip());
         deckPort.setShip(ships);
-        deckMap.put(portId, deckPort);
+        // 入れ替え先の艦隊（別の艦隊の場合）
+        DeckPort port2 = null;
 
         if (shipId == -1) {
             ships.remove(shipIdx);
@@ -56,26 +57,36 @@ public class ApiReqHenseiChange implements APIListenerSpi {
             Integer from = ships.get(shipIdx);
             for (Entry<Integer, DeckPort> entry : deckMap.entrySet()) {
                 if (entry.getValue().getShip().contains(shipId)) {
-                    DeckPort port2 = entry.getValue().clone();
-                    List<Integer> ships2 = new ArrayList<>(port2.getShip());
-                    port2.setShip(ships2);
-                    deckMap.put(port2.getId(), port2);
+                    List<Integer> ships2;
+                    if (portId.equals(entry.getKey())) {
+                        ships2 = ships;
+                    } else {
+                        port2 = entry.getValue().clone();
+                        ships2 = new ArrayList<>(port2.getShip());
+                        port2.setShip(ships2);
+                    }
 
                     if (from == -1) {
                         ships2.removeIf(id -> id.equals(shipId));
                         ships2.add(-1);
-                        shipIdx = deckMap.get(portId).getShip().indexOf(-1);
+                        shipIdx = ships.indexOf(-1);
                     } else {
                         ships2.set(ships2.indexOf(shipId), from);
                     }
-                    changed.add(port2.getId());
+                    changed.add(entry.getKey());
                     break;
                 }
             }
-            deckMap.get(portId).getShip().set(shipIdx, shipId);
+            ships.set(shipIdx, shipId);
         }
         changed.add(portId);
 
+        // 書き換えてから put する（put の時点で変わっていないと変更として記録されない）
+        deckMap.put(portId, deckPort);
+        if (port2 != null) {
+            deckMap.put(port2.getId(), port2);
+        }
+
         // 随伴艦一括解除以外の場合に、変化した艦隊の旗艦に工作艦が存在する場合は泊地修理タイマーをセットする
         // 同条件で1番艦または2番艦に野埼・野埼改がいる場合は母港給糧艦タイマーをセットする
         if (shipId != -2) {
@@ -23,7 +23,7 @@ public class ApiReqKaisouSlotExchangeIndex implements APIListenerSpi {
             Map<Integer, Ship> shipMap = ShipCollection.get()
                     .getShipMap();
 
-            Integer shipId = Integer.valueOf(req.getParameter("api_id"));
+            Integer shipId = req.getInt("api_id");
             shipMap.put(shipId, Ship.toShip(data.getJsonObject("api_ship_data")));
         }
     }
@@ -52,7 +52,7 @@ public class ApiReqMapStart implements APIListenerSpi {
             AppCondition condition = AppCondition.get();
             condition.setBattleResult(log);
             condition.setMapStart(Boolean.TRUE);
-            condition.setDeckId(Integer.parseInt(req.getParameter("api_deck_id")));
+            condition.setDeckId(req.getInt("api_deck_id"));
             // ルート情報
             condition.getRoute().add(new StringJoiner("-")
                     .add(data.getJsonNumber("api_maparea_id").toString())
@@ -39,8 +39,8 @@ public class ApiReqMissionStart implements APIListenerSpi {
 
         JsonObject data = json.getJsonObject("api_data");
         if (data != null) {
-            Integer deckId = Integer.valueOf(req.getParameter("api_deck_id"));
-            Integer missionId = Integer.valueOf(req.getParameter("api_mission_id"));
+            Integer deckId = req.getInt("api_deck_id");
+            Integer missionId = req.getInt("api_mission_id");
 
             try {
                 Optional<MissionCondition> condition = Missions.getMissionCondition(missionId);
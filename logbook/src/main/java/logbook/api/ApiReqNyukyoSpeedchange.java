@@ -24,8 +24,8 @@ public class ApiReqNyukyoSpeedchange implements APIListenerSpi {
     public void accept(JsonObject json, RequestMetaData req, ResponseMetaData res) {
         Map<Integer, Ndock> ndockMap = NdockCollection.get()
                 .getNdockMap();
-        Integer ndockId = Integer.valueOf(req.getParameter("api_ndock_id"));
-        Ndock ndock = ndockMap.get(ndockId);
+        Integer ndockId = req.getInt("api_ndock_id");
+        Ndock ndock = ndockMap.get(ndockId).clone();
 
         Map<Integer, Ship> shipMap = ShipCollection.get()
                 .getShipMap();
@@ -20,7 +20,7 @@ public class ApiReqNyukyoStart implements APIListenerSpi {
     public void accept(JsonObject json, RequestMetaData req, ResponseMetaData res) {
         Map<Integer, Ship> map = ShipCollection.get()
                 .getShipMap();
-        Integer shipId = Integer.valueOf(req.getParameter("api_ship_id"));
+        Integer shipId = req.getInt("api_ship_id");
         Ship ship = map.get(shipId)
                 .clone();
 
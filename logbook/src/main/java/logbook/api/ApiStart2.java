@@ -1,20 +1,24 @@
 package logbook.api;
 
 import java.io.OutputStream;
+import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import jakarta.json.Json;
-import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
 import jakarta.json.JsonValue;
 import jakarta.json.JsonWriter;
 import jakarta.json.JsonWriterFactory;
 import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
 
 import logbook.bean.AppConfig;
 import logbook.bean.Maparea;
@@ -35,45 +39,77 @@ import logbook.bean.Stype;
 import logbook.bean.StypeCollection;
 import logbook.bean.UseitemMst;
 import logbook.bean.UseitemMstCollection;
+import logbook.internal.APITextListener;
 import logbook.internal.Config;
-import logbook.internal.JsonHelper;
+import logbook.internal.JsonReaders;
+import logbook.internal.JsonSlices;
 import logbook.internal.LoggerHolder;
+import logbook.internal.ThreadManager;
+import logbook.internal.metrics.MetricsRegistry;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
 /**
  * /kcsapi/api_start2
- *
+ * <p>
+ * レスポンスは JsonObject にせず、api_data の表ごとに文字列のまま切り出して別々のスレッドで {@link JsonParser} から変換します。
+ * </p>
  */
 @API("/kcsapi/api_start2/getData")
-public class ApiStart2 implements APIListenerSpi {
+public class ApiStart2 implements APITextListener {
 
     @Override
     public void accept(JsonObject json, RequestMetaData req, ResponseMetaData res) {
-        JsonObject data = json.getJsonObject("api_data");
+        this.accept(json.toString(), req, res);
+    }
+
+    @Override
+    public void accept(String json, RequestMetaData req, ResponseMetaData res) {
+        Map<String, String> data = JsonSlices.members(json, "api_data");
         if (data != null) {
-            this.apiMstShip(data.getJsonArray("api_mst_ship"));
-            this.apiMstShipgraph(data.getJsonArray("api_mst_shipgraph"));
-            this.apiMstSlotitemEquiptype(data.getJsonArray("api_mst_slotitem_equiptype"));
-            this.apiMstStype(data.getJsonArray("api_mst_stype"));
-            this.apiMstSlotitem(data.getJsonArray("api_mst_slotitem"));
-            this.apiMstUseitem(data.getJsonArray("api_mst_useitem"));
-            this.apiMstMission(data.getJsonArray("api_mst_mission"));
-            this.apiMstMaparea(data.getJsonArray("api_mst_maparea"));
-            this.apiMstMapinfo(data.getJsonArray("api_mst_mapinfo"));
+            CompletableFuture.allOf(
+                    this.async("api_mst_ship", () -> {
+                        this.apiMstShip(data.get("api_mst_ship"));
+                        // api_mst_shipgraph は api_mst_ship に画像のファイル名を設定するため後に読む
+                        this.apiMstShipgraph(data.get("api_mst_shipgraph"));
+                    }),
+                    this.async("api_mst_slotitem_equiptype",
+                            () -> this.apiMstSlotitemEquiptype(data.get("api_mst_slotitem_equiptype"))),
+                    this.async("api_mst_stype", () -> this.apiMstStype(data.get("api_mst_stype"))),
+                    this.async("api_mst_slotitem", () -> this.apiMstSlotitem(data.get("api_mst_slotitem"))),
+                    this.async("api_mst_useitem", () -> this.apiMstUseitem(data.get("api_mst_useitem"))),
+                    this.async("api_mst_mission", () -> this.apiMstMission(data.get("api_mst_mission"))),
+                    this.async("api_mst_maparea", () -> this.apiMstMaparea(data.get("api_mst_maparea"))),
+                    this.async("api_mst_mapinfo", () -> this.apiMstMapinfo(data.get("api_mst_mapinfo"))))
+                    .join();
             this.store(data);
         }
         Config.getDefault().store();
     }
 
+    /**
+     * 表の変換を別のスレッドで実行します
+     *
+     * @param table 表の名前
+     * @param task 変換
+     * @return CompletableFuture
+     */
+    private CompletableFuture<Void> async(String table, Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            long startNanos = System.nanoTime();
+            task.run();
+            MetricsRegistry.timer("api_start2", "table", table).recordSince(startNanos);
+        }, ThreadManager.getExecutorService());
+    }
+
     /**
      * api_data.api_mst_ship
      *
      * @param array api_mst_ship
      */
-    private void apiMstShip(JsonArray array) {
+    private void apiMstShip(String array) {
         ShipMstCollection.get()
-                .setShipMap(JsonHelper.toMap(array, ShipMst::getId, ShipMst::toShip));
+                .setShipMap(toMap(array, ShipMst::getId, ShipMst::toShip));
     }
 
     /**
@@ -81,19 +117,18 @@ public class ApiStart2 implements APIListenerSpi {
      *
      * @param array api_mst_shipgraph
      */
-    private void apiMstShipgraph(JsonArray array) {
+    private void apiMstShipgraph(String array) {
+        Map<Integer, Shipgraph> shipgraphMap = toMap(array, Shipgraph::getId, object(Shipgraph::toShipgraph));
         Map<Integer, ShipMst> map = ShipMstCollection.get()
                 .getShipMap();
-        for (JsonValue val : array) {
-            JsonObject json = (JsonObject) val;
-            Integer key = json.getInt("api_id");
-            ShipMst bean = map.get(key);
+        for (Shipgraph shipgraph : shipgraphMap.values()) {
+            ShipMst bean = map.get(shipgraph.getId());
             if (bean != null) {
-                bean.setGraph(json.getString("api_filename"));
+                bean.setGraph(shipgraph.getFilename());
             }
         }
         ShipgraphCollection.get()
-                .setShipgraphMap(JsonHelper.toMap(array, Shipgraph::getId, Shipgraph::toShipgraph));
+                .setShipgraphMap(shipgraphMap);
     }
 
     /**
@@ -101,10 +136,10 @@ public class ApiStart2 implements APIListenerSpi {
      *
      * @param array api_mst_slotitem_equiptype
      */
-    private void apiMstSlotitemEquiptype(JsonArray array) {
+    private void apiMstSlotitemEquiptype(String array) {
         SlotitemEquiptypeCollection.get()
                 .setEquiptypeMap(
-                        JsonHelper.toMap(array, SlotitemEquiptype::getId, SlotitemEquiptype::toSlotitemEquiptype));
+                        toMap(array, SlotitemEquiptype::getId, object(SlotitemEquiptype::toSlotitemEquiptype)));
     }
 
     /**
@@ -112,9 +147,9 @@ public class ApiStart2 implements APIListenerSpi {
      *
      * @param array api_mst_stype
      */
-    private void apiMstStype(JsonArray array) {
+    private void apiMstStype(String array) {
         StypeCollection.get()
-                .setStypeMap(JsonHelper.toMap(array, Stype::getId, Stype::toStype));
+                .setStypeMap(toMap(array, Stype::getId, object(Stype::toStype)));
     }
 
     /**
@@ -122,9 +157,9 @@ public class ApiStart2 implements APIListenerSpi {
      *
      * @param array api_mst_slotitem
      */
-    private void apiMstSlotitem(JsonArray array) {
+    private void apiMstSlotitem(String array) {
         SlotitemMstCollection.get()
-                .setSlotitemMap(JsonHelper.toMap(array, SlotitemMst::getId, SlotitemMst::toSlotitem));
+                .setSlotitemMap(toMap(array, SlotitemMst::getId, SlotitemMst::toSlotitem));
     }
 
     /**
@@ -132,9 +167,9 @@ public class ApiStart2 implements APIListenerSpi {
      *
      * @param array api_mst_useitem
      */
-    private void apiMstUseitem(JsonArray array) {
+    private void apiMstUseitem(String array) {
         UseitemMstCollection.get()
-                .setUseitemMap(JsonHelper.toMap(array, UseitemMst::getId, UseitemMst::toUseitem));
+                .setUseitemMap(toMap(array, UseitemMst::getId, object(UseitemMst::toUseitem)));
     }
 
     /**
@@ -142,9 +177,9 @@ public class ApiStart2 implements APIListenerSpi {
      *
      * @param array api_mst_mission
      */
-    private void apiMstMission(JsonArray array) {
+    private void apiMstMission(String array) {
         MissionCollection.get()
-                .setMissionMap(JsonHelper.toMap(array, Mission::getId, Mission::toMission));
+                .setMissionMap(toMap(array, Mission::getId, object(Mission::toMission)));
     }
 
     /**
@@ -152,9 +187,9 @@ public class ApiStart2 implements APIListenerSpi {
      *
      * @param array api_mst_maparea
      */
-    private void apiMstMaparea(JsonArray array) {
+    private void apiMstMaparea(String array) {
         MapareaCollection.get()
-                .getMaparea().putAll(JsonHelper.toMap(array, Maparea::getId, Maparea::toMaparea));
+                .getMaparea().putAll(toMap(array, Maparea::getId, object(Maparea::toMaparea)));
     }
 
     /**
@@ -162,17 +197,44 @@ public class ApiStart2 implements APIListenerSpi {
      *
      * @param array api_mst_mapinfo
      */
-    private void apiMstMapinfo(JsonArray array) {
+    private void apiMstMapinfo(String array) {
         MapinfoMstCollection.get()
-                .getMapinfo().putAll(JsonHelper.toMap(array, MapinfoMst::getId, MapinfoMst::toMapinfoMst));
+                .getMapinfo().putAll(toMap(array, MapinfoMst::getId, object(MapinfoMst::toMapinfoMst)));
+    }
+
+    /**
+     * オブジェクトの配列の文字列をMapに変換します
+     *
+     * @param <R> Mapの内容の型
+     * @param array オブジェクトの配列の文字列
+     * @param keyMapper valueMapperで変換したオブジェクトからキーを取り出すFunction
+     * @param valueMapper 要素を変換するFunction
+     * @return 変換後のMap
+     */
+    private static <R> Map<Integer, R> toMap(String array, Function<R, Integer> keyMapper,
+            Function<JsonParser, R> valueMapper) {
+        try (JsonParser parser = Json.createParser(new StringReader(array))) {
+            return JsonReaders.toMap(parser, parser.next(), keyMapper, valueMapper);
+        }
+    }
+
+    /**
+     * JsonObjectから変換するFunctionを、要素のJsonObjectを読み込んでから変換するFunctionにします
+     *
+     * @param <R> 変換後の型
+     * @param function JsonObjectから変換するFunction
+     * @return JsonParserから変換するFunction
+     */
+    private static <R> Function<JsonParser, R> object(Function<JsonObject, R> function) {
+        return parser -> function.apply(parser.getObject());
     }
 
     /**
      * store
      * 
-     * @param obj api_data
+     * @param root api_data
      */
-    private void store(JsonObject root) {
+    private void store(Map<String, String> root) {
         if (AppConfig.get().isStoreApiStart2()) {
             try {
                 String dir = AppConfig.get().getStoreApiStart2Dir();
@@ -187,9 +249,12 @@ public class ApiStart2 implements APIListenerSpi {
 
                 JsonWriterFactory factory = Json
                         .createWriterFactory(Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true));
-                for (Entry<String, JsonValue> entry : root.entrySet()) {
+                for (Entry<String, String> entry : root.entrySet()) {
                     String key = entry.getKey();
-                    JsonValue val = entry.getValue();
+                    JsonValue val;
+                    try (JsonReader reader = Json.createReader(new StringReader(entry.getValue()))) {
+                        val = reader.readValue();
+                    }
                     JsonObject obj = Json.createObjectBuilder().add(key, val).build();
 
                     Path outPath = dirPath.resolve(key + ".json");
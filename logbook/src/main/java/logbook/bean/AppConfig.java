@@ -170,6 +170,45 @@ public final class AppConfig implements Serializable, ConfigDefaults {
     /** プロキシポート */
     private int proxyPort = 8080;
 
+    /** プロキシサーバーの実行モデル（default / virtual / bounded） */
+    private String proxyExecutorMode = "default"; //$NON-NLS-1$
+
+    /** 実行モデル bounded の最大スレッド数 */
+    private int proxyMaxThreads = 200;
+
+    /** 実行モデル bounded の予約スレッド数（-1 は Jetty の自動設定） */
+    private int proxyReservedThreads = -1;
+
+    /** 実行モデル bounded のセレクタスレッド数（-1 は Jetty の自動設定） */
+    private int proxySelectorThreads = -1;
+
+    /** プロキシのバッファプールの大きさを通信量に合わせて調整する */
+    private boolean proxyBufferPoolAdaptive = true;
+
+    /** プロキシのバッファプールでプールする最大サイズ（バイト、調整時は下限） */
+    private int proxyBufferPoolMaxCapacity = 262144;
+
+    /** プロキシのバッファプールが保持するメモリの上限（バイト、0 は自動） */
+    private long proxyBufferPoolMaxMemory = 0;
+
+    /** 通信が無い状態がこの秒数続いたらバッファプールを解放する（0 は解放しない） */
+    private int proxyBufferPoolIdleTrimSeconds = 300;
+
+    /** CONNECT 先へ TCP 接続を事前に用意しておく */
+    private boolean proxyUpstreamPool = false;
+
+    /** ゲームの静的リソースをローカルのキャッシュから返す */
+    private boolean proxyAssetCache = false;
+
+    /** アセットキャッシュがメモリに保持する上限（MB） */
+    private int proxyAssetCacheMemoryMb = 64;
+
+    /** トンネル内の静的リソースへのリクエストを共有のHTTP/2接続で送る */
+    private boolean proxyUpstreamHttp2 = false;
+
+    /** トンネルで受信したレスポンスの解凍・リスナーの判定をパースから切り離して別スレッドで行う */
+    private boolean proxyOffloadCapture = false;
+
     /** プラグインを有効にする */
     private boolean usePlugin = true;
 
@@ -275,6 +314,9 @@ public final class AppConfig implements Serializable, ConfigDefaults {
     /** API 記録の保存先ディレクトリ */
     private String apiCaptureDir = "";
 
+    /** API 記録を学習済み zstd 辞書（保存先の dictionaries/current）で圧縮する */
+    private boolean apiCaptureDictionaryEnabled = false;
+
     /**
      * JSON デシリアライズ後に呼び出し、新規フィールドのバージョン差異を解消する。
      * {@link logbook.internal.Config} から読み込み時および新規生成時に適用される。
@@ -53,10 +53,10 @@ public class Createitem implements Serializable {
      */
     public static Createitem toCreateitem(JsonObject json, RequestMetaData req) {
         Createitem bean = new Createitem();
-        bean.setItem1(Integer.valueOf(req.getParameter("api_item1", "0")));
-        bean.setItem2(Integer.valueOf(req.getParameter("api_item2", "0")));
-        bean.setItem3(Integer.valueOf(req.getParameter("api_item3", "0")));
-        bean.setItem4(Integer.valueOf(req.getParameter("api_item4", "0")));
+        bean.setItem1(req.getInt("api_item1", 0));
+        bean.setItem2(req.getInt("api_item2", 0));
+        bean.setItem3(req.getInt("api_item3", 0));
+        bean.setItem4(req.getInt("api_item4", 0));
 
         JsonHelper.bind(json)
                 .setBoolean("api_create_flag", bean::setCreateFlag)
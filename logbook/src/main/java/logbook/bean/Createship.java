@@ -56,14 +56,14 @@ public class Createship implements Serializable {
      */
     public static Createship toCreateship(RequestMetaData req) {
         Createship bean = new Createship();
-        bean.setKdockId(Integer.valueOf(req.getParameter("api_kdock_id", "0")));
-        bean.setItem1(Integer.valueOf(req.getParameter("api_item1", "0")));
-        bean.setItem2(Integer.valueOf(req.getParameter("api_item2", "0")));
-        bean.setItem3(Integer.valueOf(req.getParameter("api_item3", "0")));
-        bean.setItem4(Integer.valueOf(req.getParameter("api_item4", "0")));
-        bean.setItem5(Integer.valueOf(req.getParameter("api_item5", "0")));
-        bean.setHighspeed(Integer.valueOf(req.getParameter("api_highspeed", "0")));
-        bean.setLargeFlag(Integer.valueOf(req.getParameter("api_large_flag", "0")));
+        bean.setKdockId(req.getInt("api_kdock_id", 0));
+        bean.setItem1(req.getInt("api_item1", 0));
+        bean.setItem2(req.getInt("api_item2", 0));
+        bean.setItem3(req.getInt("api_item3", 0));
+        bean.setItem4(req.getInt("api_item4", 0));
+        bean.setItem5(req.getInt("api_item5", 0));
+        bean.setHighspeed(req.getInt("api_highspeed", 0));
+        bean.setLargeFlag(req.getInt("api_large_flag", 0));
 
         Ship secretary = null;
         DeckPort port = DeckPortCollection.get()
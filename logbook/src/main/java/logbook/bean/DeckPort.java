@@ -10,8 +10,9 @@ import jakarta.json.JsonObject;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
-import logbook.internal.JsonHelper;
 import logbook.internal.Ships;
+import logbook.processor.JsonBinder;
+import logbook.processor.JsonKey;
 import lombok.Data;
 
 /**
@@ -19,23 +20,29 @@ import lombok.Data;
  *
  */
 @Data
+@JsonBinder
 public class DeckPort implements Serializable, Cloneable {
 
     private static final long serialVersionUID = -7415061750561409381L;
 
     /** api_flagship */
+    @JsonKey("api_flagship")
     private Integer flagship;
 
     /** api_id */
+    @JsonKey("api_id")
     private Integer id;
 
     /** api_mission */
+    @JsonKey("api_mission")
     private List<Long> mission;
 
     /** api_name */
+    @JsonKey("api_name")
     private String name;
 
     /** api_ship */
+    @JsonKey("api_ship")
     private List<Integer> ship;
 
     @Override
@@ -82,12 +89,7 @@ public class DeckPort implements Serializable, Cloneable {
      */
     public static DeckPort toDeckPort(JsonObject json) {
         DeckPort bean = new DeckPort();
-        JsonHelper.bind(json)
-                .setInteger("api_flagship", bean::setFlagship)
-                .setInteger("api_id", bean::setId)
-                .setLongList("api_mission", bean::setMission)
-                .setString("api_name", bean::setName)
-                .setIntegerList("api_ship", bean::setShip);
+        DeckPortJsonBinder.bind(json, bean);
         return bean;
     }
 
@@ -1,10 +1,14 @@
 package logbook.bean;
 
 import java.io.Serializable;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
+
 import logbook.internal.Config;
+import logbook.internal.state.Domain;
+import logbook.internal.state.StateStore;
+import logbook.internal.state.TrackedMap;
 import lombok.Data;
 
 /**
@@ -17,11 +21,41 @@ public class DeckPortCollection implements Serializable {
     private static final long serialVersionUID = -1465703933249298173L;
 
     /** 艦隊 */
-    private Map<Integer, DeckPort> deckPortMap = new LinkedHashMap<>();
+    private final TrackedMap<DeckPort> deckPortMap = new TrackedMap<>(Domain.DECK_PORT);
 
     /** 遠征中の艦娘 */
     private LinkedHashSet<Integer> missionShips = new LinkedHashSet<>();
 
+    /**
+     * 艦隊を返します。
+     *
+     * @return 艦隊
+     */
+    public Map<Integer, DeckPort> getDeckPortMap() {
+        return this.deckPortMap;
+    }
+
+    /**
+     * 艦隊を置き換えます。差分は {@link StateStore} に変更として記録されます。
+     *
+     * @param deckPortMap 艦隊
+     */
+    public void setDeckPortMap(Map<Integer, DeckPort> deckPortMap) {
+        this.deckPortMap.assign(deckPortMap);
+    }
+
+    /**
+     * 遠征中の艦娘を設定します。内容が変わった場合は {@link StateStore} に変更として記録されます。
+     *
+     * @param missionShips 遠征中の艦娘
+     */
+    public void setMissionShips(LinkedHashSet<Integer> missionShips) {
+        if (!Objects.equals(this.missionShips, missionShips)) {
+            StateStore.markChanged(Domain.DECK_PORT);
+        }
+        this.missionShips = missionShips;
+    }
+
     /**
      * アプリケーションのデフォルト設定ディレクトリから<code>DeckPortCollection</code>を取得します、
      * これは次の記述と同等です
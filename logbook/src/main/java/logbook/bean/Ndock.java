@@ -12,7 +12,7 @@ import lombok.Data;
  *
  */
 @Data
-public class Ndock implements Serializable {
+public class Ndock implements Serializable, Cloneable {
 
     private static final long serialVersionUID = 1739445888580394927L;
 
@@ -40,6 +40,15 @@ public class Ndock implements Serializable {
     /** api_state */
     private Integer state;
 
+    @Override
+    public Ndock clone() {
+        try {
+            return (Ndock) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * JsonObjectから{@link Ndock}を構築します
      *
@@ -1,10 +1,14 @@
 package logbook.bean;
 
 import java.io.Serializable;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
+
 import logbook.internal.Config;
+import logbook.internal.state.Domain;
+import logbook.internal.state.StateStore;
+import logbook.internal.state.TrackedMap;
 import lombok.Data;
 
 /**
@@ -17,11 +21,41 @@ public class NdockCollection implements Serializable {
     private static final long serialVersionUID = 3570762805703032390L;
 
     /** 入渠ドック */
-    private Map<Integer, Ndock> ndockMap = new LinkedHashMap<>();
+    private final TrackedMap<Ndock> ndockMap = new TrackedMap<>(Domain.NDOCK);
 
     /** 入渠中の艦娘 */
     private LinkedHashSet<Integer> ndockSet = new LinkedHashSet<>();
 
+    /**
+     * 入渠ドックを返します。
+     *
+     * @return 入渠ドック
+     */
+    public Map<Integer, Ndock> getNdockMap() {
+        return this.ndockMap;
+    }
+
+    /**
+     * 入渠ドックを置き換えます。差分は {@link StateStore} に変更として記録されます。
+     *
+     * @param ndockMap 入渠ドック
+     */
+    public void setNdockMap(Map<Integer, Ndock> ndockMap) {
+        this.ndockMap.assign(ndockMap);
+    }
+
+    /**
+     * 入渠中の艦娘を設定します。内容が変わった場合は {@link StateStore} に変更として記録されます。
+     *
+     * @param ndockSet 入渠中の艦娘
+     */
+    public void setNdockSet(LinkedHashSet<Integer> ndockSet) {
+        if (!Objects.equals(this.ndockSet, ndockSet)) {
+            StateStore.markChanged(Domain.NDOCK);
+        }
+        this.ndockSet = ndockSet;
+    }
+
     /**
      * アプリケーションのデフォルト設定ディレクトリから<code>NdockCollection</code>を取得します、
      * これは次の記述と同等です
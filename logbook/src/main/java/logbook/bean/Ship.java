@@ -10,6 +10,8 @@ import logbook.internal.JsonHelper;
 import logbook.internal.ShipType;
 import logbook.internal.Ships;
 import logbook.internal.SlotItemType;
+import logbook.processor.JsonBinder;
+import logbook.processor.JsonKey;
 import lombok.Data;
 
 /**
@@ -17,104 +19,137 @@ import lombok.Data;
  * CharaはCloneableを継承しているため、Cloneableを継承している。
  */
 @Data
+@JsonBinder
 public class Ship implements Chara, Serializable {
 
     private static final long serialVersionUID = 1824670290941099475L;
 
     /** ID */
+    @JsonKey("api_id")
     private Integer id;
 
     /** 図鑑番号 */
+    @JsonKey("api_sortno")
     private Integer sortno;
 
     /** 艦船ID */
+    @JsonKey("api_ship_id")
     private Integer shipId;
 
     /** Lv */
+    @JsonKey("api_lv")
     private Integer lv;
 
     /** 経験値 */
+    @JsonKey("api_exp")
     private List<Integer> exp;
 
     /** HP */
+    @JsonKey("api_nowhp")
     private Integer nowhp;
 
     /** 最大HP */
+    @JsonKey("api_maxhp")
     private Integer maxhp;
 
     /** 速力 */
+    @JsonKey("api_soku")
     private Integer soku;
 
     /** 射程 */
+    @JsonKey("api_leng")
     private Integer leng;
 
     /** 装備 */
+    @JsonKey("api_slot")
     private List<Integer> slot;
 
     /** 機数 */
+    @JsonKey("api_onslot")
     private List<Integer> onslot;
 
     /** 補強増設 */
+    @JsonKey("api_slot_ex")
     private Integer slotEx;
 
     /** 改修 */
+    @JsonKey("api_kyouka")
     private List<Integer> kyouka;
 
     /** レア度 */
+    @JsonKey("api_backs")
     private Integer backs;
 
     /** 燃料 */
+    @JsonKey("api_fuel")
     private Integer fuel;
 
     /** 弾薬 */
+    @JsonKey("api_bull")
     private Integer bull;
 
     /** スロット数 */
+    @JsonKey("api_slotnum")
     private Integer slotnum;
 
     /** 入渠時間 */
+    @JsonKey("api_ndock_time")
     private Integer ndockTime;
 
     /** 入渠消費資材 */
+    @JsonKey("api_ndock_item")
     private List<Integer> ndockItem;
 
     /** api_srate */
+    @JsonKey("api_srate")
     private Integer srate;
 
     /** コンディション */
+    @JsonKey("api_cond")
     private Integer cond;
 
     /** 火力 */
+    @JsonKey("api_karyoku")
     private List<Integer> karyoku;
 
     /** 雷装 */
+    @JsonKey("api_raisou")
     private List<Integer> raisou;
 
     /** 対空 */
+    @JsonKey("api_taiku")
     private List<Integer> taiku;
 
     /** 装甲 */
+    @JsonKey("api_soukou")
     private List<Integer> soukou;
 
     /** 回避 */
+    @JsonKey("api_kaihi")
     private List<Integer> kaihi;
 
     /** 対潜 */
+    @JsonKey("api_taisen")
     private List<Integer> taisen;
 
     /** 索敵 */
+    @JsonKey("api_sakuteki")
     private List<Integer> sakuteki;
 
     /** 運 */
+    @JsonKey("api_lucky")
     private List<Integer> lucky;
 
     /** ロック */
+    @JsonKey("api_locked")
     private Boolean locked;
 
     /** ロック(装備) */
+    @JsonKey("api_locked_equip")
     private Boolean lockedEquip;
 
     /** 出撃海域 */
+    @JsonKey("api_sally_area")
     private Integer sallyArea = 0;
 
     /** 特殊効果アイテム */
@@ -190,40 +225,9 @@ public class Ship implements Chara, Serializable {
      */
     public static Ship toShip(JsonObject json) {
         Ship bean = new Ship();
+        ShipJsonBinder.bind(json, bean);
         JsonHelper.bind(json)
-                .setInteger("api_id", bean::setId)
-                .setInteger("api_sortno", bean::setSortno)
-                .setInteger("api_ship_id", bean::setShipId)
-                .setInteger("api_lv", bean::setLv)
-                .setIntegerList("api_exp", bean::setExp)
-                .setInteger("api_nowhp", bean::setNowhp)
-                .setInteger("api_maxhp", bean::setMaxhp)
-                .setInteger("api_soku", bean::setSoku)
-                .setInteger("api_leng", bean::setLeng)
-                .setIntegerList("api_slot", bean::setSlot)
-                .setIntegerList("api_onslot", bean::setOnslot)
-                .setInteger("api_slot_ex", bean::setSlotEx)
-                .setIntegerList("api_kyouka", bean::setKyouka)
-                .setInteger("api_backs", bean::setBacks)
-                .setInteger("api_fuel", bean::setFuel)
-                .setInteger("api_bull", bean::setBull)
-                .setInteger("api_slotnum", bean::setSlotnum)
-                .setInteger("api_ndock_time", bean::setNdockTime)
-                .setIntegerList("api_ndock_item", bean::setNdockItem)
-                .setInteger("api_srate", bean::setSrate)
-                .setInteger("api_cond", bean::setCond)
-                .setIntegerList("api_karyoku", bean::setKaryoku)
-                .setIntegerList("api_raisou", bean::setRaisou)
-                .setIntegerList("api_taiku", bean::setTaiku)
-                .setIntegerList("api_soukou", bean::setSoukou)
-                .setIntegerList("api_kaihi", bean::setKaihi)
-                .setIntegerList("api_taisen", bean::setTaisen)
-                .setIntegerList("api_sakuteki", bean::setSakuteki)
-                .setIntegerList("api_lucky", bean::setLucky)
-                .setBoolean("api_locked", bean::setLocked)
-                .setBoolean("api_locked_equip", bean::setLockedEquip)
-                .set("api_sp_effect_items", bean::setSpEffectItems, JsonHelper.toList(SpEffectItem::toSpEffectItem))
-                .setInteger("api_sally_area", bean::setSallyArea);
+                .set("api_sp_effect_items", bean::setSpEffectItems, JsonHelper.toList(SpEffectItem::toSpEffectItem));
         return bean;
     }
 
@@ -1,10 +1,17 @@
 package logbook.bean;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import logbook.internal.Config;
+import logbook.internal.state.Domain;
+import logbook.internal.state.StateStore;
+import logbook.internal.state.TrackedMap;
 import lombok.Data;
 
 /**
@@ -17,7 +24,80 @@ public class ShipCollection implements Serializable {
     private static final long serialVersionUID = -8680643608671594758L;
 
     /** 艦娘 */
-    private Map<Integer, Ship> shipMap = new LinkedHashMap<>();
+    private final TrackedMap<Ship> shipMap = new TrackedMap<>(Domain.SHIP);
+
+    /**
+     * 艦娘を返します。
+     *
+     * @return 艦娘
+     */
+    public Map<Integer, Ship> getShipMap() {
+        return this.shipMap;
+    }
+
+    /**
+     * 艦娘を置き換えます。差分は {@link StateStore} に変更として記録されます。
+     *
+     * @param shipMap 艦娘
+     */
+    public void setShipMap(Map<Integer, Ship> shipMap) {
+        this.shipMap.assign(shipMap);
+    }
+
+    /**
+     * 艦娘を追加または更新します。値が変わっていない艦娘は今のインスタンスを残します。
+     * <p>
+     * 艦娘の一部だけを返す API（{@code api_get_member/ship2} など）から呼びます。
+     * </p>
+     *
+     * @param ships 艦娘
+     * @return 変わった艦娘
+     */
+    public Delta merge(Collection<Ship> ships) {
+        return this.merge(ships, false);
+    }
+
+    /**
+     * 艦娘を置き換えます。値が変わっていない艦娘は今のインスタンスを残し、含まれない艦娘は削除します。
+     * <p>
+     * 艦娘の全体を返す API（{@code api_port/port}）から呼びます。
+     * </p>
+     *
+     * @param ships 艦娘
+     * @return 変わった艦娘
+     */
+    public Delta replace(Collection<Ship> ships) {
+        return this.merge(ships, true);
+    }
+
+    private Delta merge(Collection<Ship> ships, boolean replace) {
+        List<Ship> added = new ArrayList<>();
+        List<Ship> removed = new ArrayList<>();
+        List<Change> changed = new ArrayList<>();
+        Map<Integer, Ship> next = replace ? new LinkedHashMap<>() : null;
+        for (Ship ship : ships) {
+            Ship before = this.shipMap.get(ship.getId());
+            if (before == null) {
+                added.add(ship);
+            } else if (!before.equals(ship)) {
+                changed.add(new Change(before, ship));
+            }
+            if (replace) {
+                next.put(ship.getId(), ship);
+            } else {
+                this.shipMap.putIfChanged(ship.getId(), ship);
+            }
+        }
+        if (replace) {
+            for (Ship before : this.shipMap.values()) {
+                if (!next.containsKey(before.getId())) {
+                    removed.add(before);
+                }
+            }
+            this.shipMap.assign(next);
+        }
+        return new Delta(added, removed, changed);
+    }
 
     /**
      * アプリケーションのデフォルト設定ディレクトリから{@link ShipCollection}を取得します、
@@ -31,4 +111,46 @@ public class ShipCollection implements Serializable {
     public static ShipCollection get() {
         return Config.getDefault().get(ShipCollection.class, ShipCollection::new);
     }
+
+    /**
+     * {@link ShipCollection#merge(Collection)} と {@link ShipCollection#replace(Collection)} で変わった艦娘
+     *
+     * @param added 追加された艦娘
+     * @param removed 削除された艦娘（削除前の値）
+     * @param changed 値が変わった艦娘
+     */
+    public record Delta(List<Ship> added, List<Ship> removed, List<Change> changed) {
+
+        /**
+         * cond値が変わった艦娘を返します。
+         *
+         * @return cond値が変わった艦娘
+         */
+        public List<Change> condChanged() {
+            return this.changed.stream()
+                    .filter(c -> !Objects.equals(c.before().getCond(), c.after().getCond()))
+                    .toList();
+        }
+
+        /**
+         * 耐久が変わった艦娘を返します。
+         *
+         * @return 耐久が変わった艦娘
+         */
+        public List<Change> hpChanged() {
+            return this.changed.stream()
+                    .filter(c -> !Objects.equals(c.before().getNowhp(), c.after().getNowhp())
+                            || !Objects.equals(c.before().getMaxhp(), c.after().getMaxhp()))
+                    .toList();
+        }
+    }
+
+    /**
+     * 値が変わった艦娘
+     *
+     * @param before 変更前
+     * @param after 変更後
+     */
+    public record Change(Ship before, Ship after) {
+    }
 }
@@ -7,9 +7,11 @@ import java.util.List;
 import java.util.Optional;
 
 import jakarta.json.JsonObject;
+import jakarta.json.stream.JsonParser;
 
-import logbook.internal.JsonHelper;
 import logbook.internal.ShipType;
+import logbook.processor.JsonBinder;
+import logbook.processor.JsonKey;
 import lombok.Data;
 
 /**
@@ -17,80 +19,105 @@ import lombok.Data;
  *
  */
 @Data
+@JsonBinder
 public class ShipMst implements Serializable {
 
     private static final long serialVersionUID = 4329488719132098164L;
 
     /** id */
+    @JsonKey("api_id")
     private Integer id;
 
     /** 図鑑番号 */
+    @JsonKey("api_sortno")
     private Integer sortno;
 
     /** ソート順 */
+    @JsonKey("api_sort_id")
     private Integer sortId;
 
     /** 名前 */
+    @JsonKey("api_name")
     private String name;
 
     /** ふりがな/flagship */
+    @JsonKey("api_yomi")
     private String yomi;
 
     /** 艦種 */
+    @JsonKey("api_stype")
     private Integer stype;
 
     /** 艦型 */
+    @JsonKey("api_ctype")
     private Integer ctype;
 
     /** 改レベル */
+    @JsonKey("api_afterlv")
     private Integer afterlv;
 
     /** 改装後id */
+    @JsonKey("api_aftershipid")
     private Integer aftershipid;
 
     /** api_taik */
+    @JsonKey("api_taik")
     private List<Integer> taik;
 
     /** api_souk */
+    @JsonKey("api_souk")
     private List<Integer> souk;
 
     /** api_houg */
+    @JsonKey("api_houg")
     private List<Integer> houg;
 
     /** api_raig */
+    @JsonKey("api_raig")
     private List<Integer> raig;
 
     /** api_tyku */
+    @JsonKey("api_tyku")
     private List<Integer> tyku;
 
     /** api_tais */
+    @JsonKey("api_tais")
     private List<Integer> tais;
 
     /** api_luck */
+    @JsonKey("api_luck")
     private List<Integer> luck;
 
     /** api_soku */
+    @JsonKey("api_soku")
     private Integer soku;
 
     /** api_leng */
+    @JsonKey("api_leng")
     private Integer leng;
 
     /** スロット数 */
+    @JsonKey("api_slot_num")
     private Integer slotNum;
 
     /** 搭載機数 */
+    @JsonKey("api_maxeq")
     private List<Integer> maxeq;
 
     /** 改装資材 燃料 */
+    @JsonKey("api_afterfuel")
     private Integer afterfuel;
 
     /** 改装資材 弾 */
+    @JsonKey("api_afterbull")
     private Integer afterbull;
 
     /** 燃料 */
+    @JsonKey("api_fuel_max")
     private Integer fuelMax;
 
     /** 弾 */
+    @JsonKey("api_bull_max")
     private Integer bullMax;
 
     /** shipgraph */
@@ -183,31 +210,23 @@ public class ShipMst implements Serializable {
      */
     public static ShipMst toShip(JsonObject json) {
         ShipMst bean = new ShipMst();
-        JsonHelper.bind(json)
-                .setInteger("api_id", bean::setId)
-                .setInteger("api_sortno", bean::setSortno)
-                .setInteger("api_sort_id", bean::setSortId)
-                .setString("api_name", bean::setName)
-                .setString("api_yomi", bean::setYomi)
-                .setInteger("api_stype", bean::setStype)
-                .setInteger("api_ctype", bean::setCtype)
-                .setInteger("api_afterlv", bean::setAfterlv)
-                .setInteger("api_slot_num", bean::setSlotNum)
-                .setIntegerList("api_maxeq", bean::setMaxeq)
-                .setInteger("api_aftershipid", bean::setAftershipid)
-                .setIntegerList("api_taik", bean::setTaik)
-                .setIntegerList("api_souk", bean::setSouk)
-                .setIntegerList("api_houg", bean::setHoug)
-                .setIntegerList("api_raig", bean::setRaig)
-                .setIntegerList("api_tyku", bean::setTyku)
-                .setIntegerList("api_tais", bean::setTais)
-                .setIntegerList("api_luck", bean::setLuck)
-                .setInteger("api_soku", bean::setSoku)
-                .setInteger("api_leng", bean::setLeng)
-                .setInteger("api_afterfuel", bean::setAfterfuel)
-                .setInteger("api_afterbull", bean::setAfterbull)
-                .setInteger("api_fuel_max", bean::setFuelMax)
-                .setInteger("api_bull_max", bean::setBullMax);
+        ShipMstJsonBinder.bind(json, bean);
+        return bean;
+    }
+
+    /**
+     * JsonParserから{@link ShipMst}を構築します
+     * <p>
+     * {@code parser} はオブジェクトの開始({@code START_OBJECT})まで読み進めておきます。
+     * オブジェクトの終わりまで読み進めて戻ります。
+     * </p>
+     *
+     * @param parser JsonParser
+     * @return {@link ShipMst}
+     */
+    public static ShipMst toShip(JsonParser parser) {
+        ShipMst bean = new ShipMst();
+        ShipMstJsonBinder.bind(parser, bean, null);
         return bean;
     }
 }
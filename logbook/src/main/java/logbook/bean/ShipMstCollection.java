@@ -1,10 +1,10 @@
 package logbook.bean;
 
 import java.io.Serializable;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import logbook.internal.Config;
+import logbook.internal.IntLinkedHashMap;
 import lombok.Data;
 
 /**
@@ -17,7 +17,16 @@ public class ShipMstCollection implements Serializable {
     private static final long serialVersionUID = 3473178293202796312L;
 
     /** 艦娘 */
-    private Map<Integer, ShipMst> shipMap = new LinkedHashMap<>();
+    private Map<Integer, ShipMst> shipMap = new IntLinkedHashMap<>();
+
+    /**
+     * 艦娘を設定します。
+     *
+     * @param shipMap 艦娘
+     */
+    public void setShipMap(Map<Integer, ShipMst> shipMap) {
+        this.shipMap = IntLinkedHashMap.of(shipMap);
+    }
 
     /**
      * アプリケーションのデフォルト設定ディレクトリから{@link ShipMstCollection}を取得します、
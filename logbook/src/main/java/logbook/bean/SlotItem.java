@@ -4,7 +4,8 @@ import java.io.Serializable;
 
 import jakarta.json.JsonObject;
 
-import logbook.internal.JsonHelper;
+import logbook.processor.JsonBinder;
+import logbook.processor.JsonKey;
 import lombok.Data;
 
 /**
@@ -12,23 +13,29 @@ import lombok.Data;
  *
  */
 @Data
+@JsonBinder
 public class SlotItem implements Serializable {
 
     private static final long serialVersionUID = -5902864924857205128L;
 
     /** api_id */
+    @JsonKey("api_id")
     private Integer id;
 
     /** api_level */
+    @JsonKey("api_level")
     private Integer level;
 
     /** api_alv */
+    @JsonKey("api_alv")
     private Integer alv;
 
     /** api_locked */
+    @JsonKey("api_locked")
     private Boolean locked;
 
     /** api_slotitem_id */
+    @JsonKey("api_slotitem_id")
     private Integer slotitemId;
 
     /**
@@ -39,12 +46,7 @@ public class SlotItem implements Serializable {
      */
     public static SlotItem toSlotItem(JsonObject json) {
         SlotItem bean = new SlotItem();
-        JsonHelper.bind(json)
-                .setInteger("api_id", bean::setId)
-                .setInteger("api_level", bean::setLevel)
-                .setInteger("api_alv", bean::setAlv)
-                .setBoolean("api_locked", bean::setLocked)
-                .setInteger("api_slotitem_id", bean::setSlotitemId);
+        SlotItemJsonBinder.bind(json, bean);
         return bean;
     }
 }
@@ -1,11 +1,19 @@
 package logbook.bean;
 
 import java.io.Serializable;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import logbook.internal.Config;
+import logbook.internal.SlotItemType;
+import logbook.internal.state.Domain;
+import logbook.internal.state.StateStore;
+import logbook.internal.state.TrackedMap;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 
 /**
  * アイテムのコレクション
@@ -17,7 +25,62 @@ public class SlotItemCollection implements Serializable {
     private static final long serialVersionUID = -2530569251712024161L;
 
     /** アイテム */
-    private Map<Integer, SlotItem> slotitemMap = new LinkedHashMap<>();
+    private final TrackedMap<SlotItem> slotitemMap = new TrackedMap<>(Domain.SLOT_ITEM);
+
+    /** 装備の所有数(アイテムの変更に合わせて差分で更新する) */
+    @Getter(AccessLevel.NONE)
+    private final transient Counts counts = new Counts();
+
+    public SlotItemCollection() {
+        this.slotitemMap.observe(this.counts::changed);
+    }
+
+    /**
+     * アイテムを返します。
+     *
+     * @return アイテム
+     */
+    public Map<Integer, SlotItem> getSlotitemMap() {
+        return this.slotitemMap;
+    }
+
+    /**
+     * アイテムを置き換えます。差分は {@link StateStore} に変更として記録されます。
+     *
+     * @param slotitemMap アイテム
+     */
+    public void setSlotitemMap(Map<Integer, SlotItem> slotitemMap) {
+        this.slotitemMap.assign(slotitemMap);
+    }
+
+    /**
+     * 装備定義IDごとの所有数を返します。
+     *
+     * @param slotitemId 装備定義ID
+     * @return 所有数
+     */
+    public int countBySlotitemId(int slotitemId) {
+        return this.counts.count(slotitemId);
+    }
+
+    /**
+     * 装備定義IDごとの所有数をまとめて返します。
+     *
+     * @return 装備定義ID→所有数(コピー)
+     */
+    public Map<Integer, Integer> countsBySlotitemId() {
+        return this.counts.snapshot();
+    }
+
+    /**
+     * 指定されたいずれかの装備種の所有数を返します。
+     *
+     * @param types 装備種定数
+     * @return 所有数
+     */
+    public int countByType(SlotItemType... types) {
+        return this.counts.count(types);
+    }
 
     /**
      * アプリケーションのデフォルト設定ディレクトリから{@link SlotItemCollection}を取得します、
@@ -31,4 +94,96 @@ public class SlotItemCollection implements Serializable {
     public static SlotItemCollection get() {
         return Config.getDefault().get(SlotItemCollection.class, SlotItemCollection::new);
     }
+
+    /**
+     * 装備の所有数
+     * <p>
+     * 装備定義IDごとの数はアイテムの追加・削除・置き換えのたびに差分で更新します。
+     * 装備種ごとの数は装備定義から求めるため、装備マスタが置き換わったときだけ装備定義IDごとの数から数え直します。
+     * </p>
+     */
+    private static final class Counts {
+
+        /** 装備定義ID→所有数 */
+        private final Map<Integer, int[]> byId = new HashMap<>();
+
+        /** 装備種(api_type[2])→所有数 */
+        private final Map<Integer, int[]> byType = new HashMap<>();
+
+        /** {@link #byType} を数えたときの装備マスタ */
+        private Map<Integer, SlotitemMst> mstMap;
+
+        synchronized void changed(SlotItem oldValue, SlotItem newValue) {
+            Integer oldId = oldValue != null ? oldValue.getSlotitemId() : null;
+            Integer newId = newValue != null ? newValue.getSlotitemId() : null;
+            if (Objects.equals(oldId, newId)) {
+                return;
+            }
+            if (oldId != null) {
+                this.add(oldId, -1);
+            }
+            if (newId != null) {
+                this.add(newId, 1);
+            }
+        }
+
+        synchronized int count(int slotitemId) {
+            int[] count = this.byId.get(slotitemId);
+            return count != null ? count[0] : 0;
+        }
+
+        synchronized int count(SlotItemType... types) {
+            Map<Integer, SlotitemMst> current = SlotitemMstCollection.get().getSlotitemMap();
+            if (this.mstMap != current) {
+                this.mstMap = current;
+                this.byType.clear();
+                for (Map.Entry<Integer, int[]> entry : this.byId.entrySet()) {
+                    add(this.byType, this.type(entry.getKey()), entry.getValue()[0]);
+                }
+            }
+            int sum = 0;
+            for (SlotItemType type : types) {
+                int[] count = this.byType.get(type.getType());
+                if (count != null) {
+                    sum += count[0];
+                }
+            }
+            return sum;
+        }
+
+        synchronized Map<Integer, Integer> snapshot() {
+            Map<Integer, Integer> copy = new HashMap<>(this.byId.size() * 2);
+            for (Map.Entry<Integer, int[]> entry : this.byId.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue()[0]);
+            }
+            return copy;
+        }
+
+        private void add(Integer slotitemId, int delta) {
+            add(this.byId, slotitemId, delta);
+            if (this.mstMap != null) {
+                add(this.byType, this.type(slotitemId), delta);
+            }
+        }
+
+        private Integer type(Integer slotitemId) {
+            SlotitemMst mst = this.mstMap.get(slotitemId);
+            if (mst == null) {
+                return null;
+            }
+            List<Integer> type = mst.getType();
+            return type != null ? type.get(2) : null;
+        }
+
+        private static void add(Map<Integer, int[]> counts, Integer key, int delta) {
+            if (key == null) {
+                return;
+            }
+            int[] count = counts.computeIfAbsent(key, k -> new int[1]);
+            count[0] += delta;
+            if (count[0] <= 0) {
+                counts.remove(key);
+            }
+        }
+    }
 }
@@ -4,9 +4,11 @@ import java.io.Serializable;
 import java.util.List;
 
 import jakarta.json.JsonObject;
+import jakarta.json.stream.JsonParser;
 
-import logbook.internal.JsonHelper;
 import logbook.internal.SlotItemType;
+import logbook.processor.JsonBinder;
+import logbook.processor.JsonKey;
 import lombok.Data;
 
 /**
@@ -14,83 +16,109 @@ import lombok.Data;
  *
  */
 @Data
+@JsonBinder
 public class SlotitemMst implements Serializable {
 
     private static final long serialVersionUID = 383813721548687786L;
 
     /** api_id */
+    @JsonKey("api_id")
     private Integer id;
 
     /** api_sortno */
+    @JsonKey("api_sortno")
     private Integer sortno;
 
     /** api_name */
+    @JsonKey("api_name")
     private String name;
 
     /** api_type */
+    @JsonKey("api_type")
     private List<Integer> type;
 
     /** api_taik(耐久) */
+    @JsonKey("api_taik")
     private Integer taik;
 
     /** api_souk(装甲) */
+    @JsonKey("api_souk")
     private Integer souk;
 
     /** api_houg(火力) */
+    @JsonKey("api_houg")
     private Integer houg;
 
     /** api_raig(雷装) */
+    @JsonKey("api_raig")
     private Integer raig;
 
     /** api_soku(速力) */
+    @JsonKey("api_soku")
     private Integer soku;
 
     /** api_baku(爆装) */
+    @JsonKey("api_baku")
     private Integer baku;
 
     /** api_tyku(対空) */
+    @JsonKey("api_tyku")
     private Integer tyku;
 
     /** api_tais(対潜) */
+    @JsonKey("api_tais")
     private Integer tais;
 
     /** api_atap(?) */
+    @JsonKey("api_atap")
     private Integer atap;
 
     /** api_houm(命中/対爆) */
+    @JsonKey("api_houm")
     private Integer houm;
 
     /** api_raim(雷撃命中) */
+    @JsonKey("api_raim")
     private Integer raim;
 
     /** api_houk(回避/迎撃) */
+    @JsonKey("api_houk")
     private Integer houk;
 
     /** api_raik(雷撃回避) */
+    @JsonKey("api_raik")
     private Integer raik;
 
     /** api_bakk(爆撃回避) */
+    @JsonKey("api_bakk")
     private Integer bakk;
 
     /** api_saku(索敵) */
+    @JsonKey("api_saku")
     private Integer saku;
 
     /** api_sakb(索敵妨害) */
+    @JsonKey("api_sakb")
     private Integer sakb;
 
     /** api_luck(運) */
+    @JsonKey("api_luck")
     private Integer luck;
 
     /** api_leng(射程) */
+    @JsonKey("api_leng")
     private Integer leng;
 
     /** api_rare(レアリティ) */
+    @JsonKey("api_rare")
     private Integer rare;
 
     /** api_cost(配置コスト) */
+    @JsonKey("api_cost")
     private Integer cost;
 
     /** api_distance(航続距離) */
+    @JsonKey("api_distance")
     private Integer distance;
 
     @Override
@@ -156,32 +184,23 @@ public class SlotitemMst implements Serializable {
      */
     public static SlotitemMst toSlotitem(JsonObject json) {
         SlotitemMst bean = new SlotitemMst();
-        JsonHelper.bind(json)
-                .setInteger("api_id", bean::setId)
-                .setInteger("api_sortno", bean::setSortno)
-                .setString("api_name", bean::setName)
-                .setIntegerList("api_type", bean::setType)
-                .setInteger("api_taik", bean::setTaik)
-                .setInteger("api_souk", bean::setSouk)
-                .setInteger("api_houg", bean::setHoug)
-                .setInteger("api_raig", bean::setRaig)
-                .setInteger("api_soku", bean::setSoku)
-                .setInteger("api_baku", bean::setBaku)
-                .setInteger("api_tyku", bean::setTyku)
-                .setInteger("api_tais", bean::setTais)
-                .setInteger("api_atap", bean::setAtap)
-                .setInteger("api_houm", bean::setHoum)
-                .setInteger("api_raim", bean::setRaim)
-                .setInteger("api_houk", bean::setHouk)
-                .setInteger("api_raik", bean::setRaik)
-                .setInteger("api_bakk", bean::setBakk)
-                .setInteger("api_saku", bean::setSaku)
-                .setInteger("api_sakb", bean::setSakb)
-                .setInteger("api_luck", bean::setLuck)
-                .setInteger("api_leng", bean::setLeng)
-                .setInteger("api_rare", bean::setRare)
-                .setInteger("api_cost", bean::setCost)
-                .setInteger("api_distance", bean::setDistance);
+        SlotitemMstJsonBinder.bind(json, bean);
+        return bean;
+    }
+
+    /**
+     * JsonParserから{@link SlotitemMst}を構築します
+     * <p>
+     * {@code parser} はオブジェクトの開始({@code START_OBJECT})まで読み進めておきます。
+     * オブジェクトの終わりまで読み進めて戻ります。
+     * </p>
+     *
+     * @param parser JsonParser
+     * @return {@link SlotitemMst}
+     */
+    public static SlotitemMst toSlotitem(JsonParser parser) {
+        SlotitemMst bean = new SlotitemMst();
+        SlotitemMstJsonBinder.bind(parser, bean, null);
         return bean;
     }
 }
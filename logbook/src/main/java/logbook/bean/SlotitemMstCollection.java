@@ -1,10 +1,10 @@
 package logbook.bean;
 
 import java.io.Serializable;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import logbook.internal.Config;
+import logbook.internal.IntLinkedHashMap;
 import lombok.Data;
 
 /**
@@ -17,7 +17,16 @@ public class SlotitemMstCollection implements Serializable {
     private static final long serialVersionUID = 8409969154221160905L;
 
     /** アイテム */
-    private Map<Integer, SlotitemMst> slotitemMap = new LinkedHashMap<>();
+    private Map<Integer, SlotitemMst> slotitemMap = new IntLinkedHashMap<>();
+
+    /**
+     * アイテムを設定します。
+     *
+     * @param slotitemMap アイテム
+     */
+    public void setSlotitemMap(Map<Integer, SlotitemMst> slotitemMap) {
+        this.slotitemMap = IntLinkedHashMap.of(slotitemMap);
+    }
 
     /**
      * アプリケーションのデフォルト設定ディレクトリから{@link SlotitemMstCollection}を取得します、
@@ -8,8 +8,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -20,7 +22,10 @@ import logbook.Messages;
 import logbook.api.API;
 import logbook.api.APIListenerSpi;
 import logbook.internal.Tuple.Pair;
+import logbook.internal.metrics.LatencyTimer;
+import logbook.internal.metrics.MetricsRegistry;
 import logbook.internal.proxy.ProxyContentListenerLogger;
+import logbook.internal.state.StateStore;
 import logbook.plugin.PluginServices;
 import logbook.proxy.ContentListenerSpi;
 import logbook.proxy.RequestMetaData;
@@ -43,6 +48,9 @@ public final class APIListener implements ContentListenerSpi {
 
     private final List<Pair<String, APIListenerSpi>> all = new ArrayList<>();
 
+    /** JsonObjectを作らずに文字列のまま渡すURI */
+    private final Set<String> textUris;
+
     public APIListener() {
         Function<APIListenerSpi, Stream<Pair<String, APIListenerSpi>>> mapper = impl -> {
             API target = impl.getClass().getAnnotation(API.class);
@@ -57,6 +65,12 @@ public final class APIListener implements ContentListenerSpi {
         this.services = PluginServices.instances(APIListenerSpi.class)
                 .flatMap(mapper)
                 .collect(Collectors.groupingBy(Pair::getKey));
+        this.textUris = this.all.isEmpty()
+                ? this.services.entrySet().stream()
+                        .filter(e -> e.getValue().stream().allMatch(p -> p.getValue() instanceof APITextListener))
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toUnmodifiableSet())
+                : Set.of();
     }
 
     @Override
@@ -75,6 +89,14 @@ public final class APIListener implements ContentListenerSpi {
             while (((read = stream.read()) != -1) && (read != '=')) {
             }
 
+            if (this.textUris.contains(requestMetaData.getRequestURI())) {
+                // JsonObjectを作らずに文字列のまま渡します
+                try (stream) {
+                    this.sendText(requestMetaData, responseMetaData,
+                            new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                return;
+            }
             try (JsonReader jsonreader = Json.createReader(stream)) {
                 JsonObject json = jsonreader.readObject();
 
@@ -119,19 +141,30 @@ public final class APIListener implements ContentListenerSpi {
         List<Pair<String, APIListenerSpi>> pairs = this.services.getOrDefault(uri, Collections.emptyList());
 
         for (Pair<String, APIListenerSpi> pair : pairs) {
-            Runnable task = () -> this.createTask(pair, json, req, res);
+            APIListenerSpi handler = pair.getValue();
+            Runnable task = () -> this.createTask(handler, req, () -> handler.accept(json, req, res), json::toString);
             ThreadManager.getExecutorService().submit(task);
         }
 
         for (Pair<String, APIListenerSpi> pair : this.all) {
-            Runnable task = () -> this.createTask(pair, json, req, res);
+            APIListenerSpi handler = pair.getValue();
+            Runnable task = () -> this.createTask(handler, req, () -> handler.accept(json, req, res), json::toString);
+            ThreadManager.getExecutorService().submit(task);
+        }
+    }
+
+    void sendText(RequestMetaData req, ResponseMetaData res, String json) {
+        String uri = req.getRequestURI();
+        List<Pair<String, APIListenerSpi>> pairs = this.services.getOrDefault(uri, Collections.emptyList());
+
+        for (Pair<String, APIListenerSpi> pair : pairs) {
+            APITextListener handler = (APITextListener) pair.getValue();
+            Runnable task = () -> this.createTask(handler, req, () -> handler.accept(json, req, res), () -> json);
             ThreadManager.getExecutorService().submit(task);
         }
     }
 
-    private void createTask(Pair<String, APIListenerSpi> pair, JsonObject json, RequestMetaData req,
-            ResponseMetaData res) {
-        APIListenerSpi handler = pair.getValue();
+    private void createTask(APIListenerSpi handler, RequestMetaData req, Runnable accept, Supplier<String> body) {
         long startNanos = System.nanoTime();
         ProxyContentListenerLogger.Outcome outcome = ProxyContentListenerLogger.Outcome.SUCCESS;
         String errorDetail = null;
@@ -140,17 +173,31 @@ public final class APIListener implements ContentListenerSpi {
                 .setMessage(() -> Messages.getString("APIListener.0", //$NON-NLS-1$
                         handler.getClass().getName(), req.getRequestURI()))
                 .log();
-            handler.accept(json, req, res);
+            accept.run();
         } catch (Exception e) {
             outcome = ProxyContentListenerLogger.Outcome.ERROR;
             errorDetail = ProxyContentListenerLogger.formatCause(e);
             log.warn(Messages.getString("APIListener.1"), e); //$NON-NLS-1$
-            log.warn(json.toString());
+            log.warn(body.get());
         } finally {
-            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            long elapsedNanos = System.nanoTime() - startNanos;
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            // ハンドラが書き換えた状態を確定して画面に通知する
+            StateStore.commit();
+            recordHandlerMetrics(handler, outcome, elapsedNanos);
             ProxyContentListenerLogger.log(
                 contentListenerLog, handler.getClass().getName(),
                 ProxyContentListenerLogger.Layer.HANDLER, req, elapsedMs, outcome, errorDetail);
         }
     }
+
+    private static void recordHandlerMetrics(APIListenerSpi handler, ProxyContentListenerLogger.Outcome outcome,
+            long elapsedNanos) {
+        LatencyTimer timer = MetricsRegistry.timer("api_listener", "handler", handler.getClass().getName());
+        if (outcome == ProxyContentListenerLogger.Outcome.ERROR) {
+            timer.recordErrorNanos(elapsedNanos);
+        } else {
+            timer.recordNanos(elapsedNanos);
+        }
+    }
 }
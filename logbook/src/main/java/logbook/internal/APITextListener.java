@@ -0,0 +1,28 @@
+package logbook.internal;
+
+import jakarta.json.JsonObject;
+
+import logbook.api.APIListenerSpi;
+import logbook.proxy.RequestMetaData;
+import logbook.proxy.ResponseMetaData;
+
+/**
+ * レスポンスのJSONを文字列のまま受け取るリスナーです
+ * <p>
+ * 同じURIを受け取るリスナーがすべてこのインターフェイスを実装していて、URIを問わないリスナーも無い場合、
+ * {@link APIListener} はレスポンスをJsonObjectにせずに {@link #accept(String, RequestMetaData, ResponseMetaData)} を呼び出します。
+ * それ以外の場合は {@link #accept(JsonObject, RequestMetaData, ResponseMetaData)} が呼び出されます。
+ * </p>
+ */
+public interface APITextListener extends APIListenerSpi {
+
+    /**
+     * JSONの文字列を受け取ります。
+     *
+     * @param json APIのレスポンスに含まれるJSONの文字列(先頭の{@code svdata=}は除かれています)
+     * @param req リクエスト
+     * @param res レスポンス
+     */
+    void accept(String json, RequestMetaData req, ResponseMetaData res);
+
+}
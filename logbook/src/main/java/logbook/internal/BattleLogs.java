@@ -47,6 +47,8 @@ import logbook.bean.BattleLog;
 import logbook.internal.gui.BattleLogCollect;
 import logbook.internal.log.BattleResultLogFormat;
 import logbook.internal.log.LogWriter;
+import logbook.internal.metrics.LatencyTimer;
+import logbook.internal.metrics.MetricsRegistry;
 import lombok.Data;
 import lombok.Getter;
 
@@ -64,7 +66,14 @@ public class BattleLogs {
      * @param log 戦闘ログ
      */
     public static void write(BattleLog log) {
-        write0(log);
+        long startNanos = System.nanoTime();
+        boolean written = write0(log);
+        LatencyTimer timer = MetricsRegistry.timer("battle_log_write");
+        if (written) {
+            timer.recordSince(startNanos);
+        } else {
+            timer.recordErrorNanos(System.nanoTime() - startNanos);
+        }
         move();
         delete();
     }
@@ -141,7 +150,7 @@ public class BattleLogs {
         return dir.resolve(Paths.get(name.substring(0, 7), name + ext));
     }
 
-    private static void write0(BattleLog log) {
+    private static boolean write0(BattleLog log) {
         try {
             Path path = writePath(log.getTime());
 
@@ -157,8 +166,10 @@ public class BattleLogs {
                 OutputStream out = Files.newOutputStream(path);
                 toJson(log, out);
             }
+            return true;
         } catch (Exception e) {
             LoggerHolder.get().warn("戦闘ログの書き込み中に例外", e);
+            return false;
         }
     }
 
@@ -12,6 +12,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import logbook.bean.ConfigDefaults;
+import logbook.internal.metrics.MetricsRegistry;
 
 
 /**
@@ -65,8 +66,10 @@ public final class Config {
      * 読み込まれたすべてのインスタンスをファイルに書き込みます
      */
     public synchronized void store() {
+        long startNanos = System.nanoTime();
         this.map.entrySet()
                 .forEach(this::store);
+        MetricsRegistry.timer("config_store").recordSince(startNanos);
     }
 
     private void store(Entry<Class<?>, ?> entry) {
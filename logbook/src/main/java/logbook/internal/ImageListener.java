@@ -42,8 +42,12 @@ public class ImageListener implements ContentListenerSpi {
 
     @Override
     public boolean test(RequestMetaData request) {
+        // accept() で保存するものだけに絞る（音声・BGM・アトラス等のボディはプロキシで保持しない）
         String uri = request.getRequestURI();
-        return uri.startsWith("/kcs2/resources/") || uri.startsWith("/kcs2/img/");
+        return uri.startsWith("/kcs2/resources/ship/")
+                || uri.startsWith("/kcs2/img/common/")
+                || uri.startsWith("/kcs2/img/duty/")
+                || uri.startsWith("/kcs2/img/sally/");
     }
 
     @Override
@@ -0,0 +1,494 @@
+package logbook.internal;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * キーが int の、挿入順を保つ Map です。
+ * <p>
+ * 艦娘 ID・装備 ID のような int のキーを、オープンアドレス法(線形探索)のハッシュ表で引きます。
+ * 要素は挿入順に配列に並べ、ハッシュ表には配列の位置だけを持つため、{@link java.util.LinkedHashMap} と違って
+ * 要素ごとのエントリーオブジェクトやキーの {@link Integer} を持ちません。
+ * 繰り返しの順序は {@link java.util.LinkedHashMap}(挿入順)と同じで、既存のキーの値を置き換えても順序は変わりません。
+ * Jackson では通常の Map と同じ JSON になります。
+ * </p>
+ * <p>
+ * キーに null は使えません。スレッドセーフではありません。
+ * </p>
+ *
+ * @param <V> 値の型
+ */
+public final class IntLinkedHashMap<V> extends AbstractMap<Integer, V> implements Serializable {
+
+    private static final long serialVersionUID = -3927017236271367164L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** ハッシュ表(要素の位置 + 1。0 は空き) */
+    private int[] table;
+
+    /** 挿入順のキー */
+    private int[] keys;
+
+    /** 挿入順の値 */
+    private Object[] values;
+
+    /** 削除していない要素の場合 true */
+    private boolean[] live;
+
+    /** 使用済みの要素の数(削除した要素を含む) */
+    private int used;
+
+    private int size;
+
+    private transient int modCount;
+
+    private transient Set<Map.Entry<Integer, V>> entrySet;
+
+    private transient Collection<V> valuesView;
+
+    /**
+     * 空の Map を作成します。
+     */
+    public IntLinkedHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 空の Map を作成します。
+     *
+     * @param capacity 初期容量
+     */
+    public IntLinkedHashMap(int capacity) {
+        this.allocate(Math.max(capacity, 4));
+    }
+
+    /**
+     * 内容をコピーした Map を作成します。
+     *
+     * @param map 初期の内容
+     */
+    public IntLinkedHashMap(Map<Integer, ? extends V> map) {
+        this(map.size());
+        this.putAll(map);
+    }
+
+    /**
+     * Map を {@link IntLinkedHashMap} として返します。すでに {@link IntLinkedHashMap} の場合はそのまま返します。
+     *
+     * @param <V> 値の型
+     * @param map Map
+     * @return {@link IntLinkedHashMap}
+     */
+    public static <V> IntLinkedHashMap<V> of(Map<Integer, V> map) {
+        if (map instanceof IntLinkedHashMap<V> intMap) {
+            return intMap;
+        }
+        return new IntLinkedHashMap<>(map);
+    }
+
+    /**
+     * キーに対応する値を返します。
+     *
+     * @param key キー
+     * @return 値、キーがない場合は null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = this.indexOf(key);
+        return index >= 0 ? (V) this.values[index] : null;
+    }
+
+    /**
+     * キーがあるかを返します。
+     *
+     * @param key キー
+     * @return キーがある場合 true
+     */
+    public boolean containsKey(int key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    /**
+     * 値を設定します。新しいキーは末尾に追加します。
+     *
+     * @param key キー
+     * @param value 値
+     * @return 以前の値、キーがなかった場合は null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int index = this.indexOf(key);
+        if (index >= 0) {
+            V old = (V) this.values[index];
+            this.values[index] = value;
+            return old;
+        }
+        if (this.used == this.keys.length) {
+            if (this.size < this.used / 2) {
+                // 削除済みの要素が多い場合は詰めるだけにする
+                this.rehash(this.keys.length);
+            } else {
+                this.rehash(this.keys.length * 2);
+            }
+        }
+        int i = this.used++;
+        this.keys[i] = key;
+        this.values[i] = value;
+        this.live[i] = true;
+        this.insert(key, i);
+        this.size++;
+        this.modCount++;
+        return null;
+    }
+
+    /**
+     * キーを削除します。
+     *
+     * @param key キー
+     * @return 削除した値、キーがなかった場合は null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = this.slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        int index = this.table[slot] - 1;
+        V old = (V) this.values[index];
+        this.delete(slot);
+        this.values[index] = null;
+        this.live[index] = false;
+        this.size--;
+        this.modCount++;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer i ? this.get(i.intValue()) : null;
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        if (key instanceof Integer i) {
+            int index = this.indexOf(i.intValue());
+            if (index >= 0) {
+                @SuppressWarnings("unchecked")
+                V value = (V) this.values[index];
+                return value;
+            }
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer i && this.containsKey(i.intValue());
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < this.used; i++) {
+            if (this.live[i] && Objects.equals(this.values[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return this.put(key.intValue(), value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer i ? this.remove(i.intValue()) : null;
+    }
+
+    @Override
+    public void clear() {
+        if (this.used > 0) {
+            Arrays.fill(this.table, 0);
+            Arrays.fill(this.values, 0, this.used, null);
+            Arrays.fill(this.live, 0, this.used, false);
+            this.used = 0;
+            this.size = 0;
+            this.modCount++;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super Integer, ? super V> action) {
+        int mc = this.modCount;
+        for (int i = 0; i < this.used; i++) {
+            if (this.live[i]) {
+                action.accept(this.keys[i], (V) this.values[i]);
+            }
+        }
+        if (mc != this.modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        Set<Map.Entry<Integer, V>> es = this.entrySet;
+        if (es == null) {
+            es = this.entrySet = new EntrySet();
+        }
+        return es;
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> vs = this.valuesView;
+        if (vs == null) {
+            vs = this.valuesView = new Values();
+        }
+        return vs;
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.live = new boolean[capacity];
+        // 負荷率を 0.5 以下に保つ
+        this.table = new int[Integer.highestOneBit(capacity - 1) << 2];
+    }
+
+    /**
+     * 削除済みの要素を詰めて容量を変えます。
+     */
+    private void rehash(int capacity) {
+        int[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        boolean[] oldLive = this.live;
+        int oldUsed = this.used;
+        this.allocate(capacity);
+        int j = 0;
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldLive[i]) {
+                this.keys[j] = oldKeys[i];
+                this.values[j] = oldValues[i];
+                this.live[j] = true;
+                this.insert(oldKeys[i], j);
+                j++;
+            }
+        }
+        this.used = j;
+        this.modCount++;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int slotOf(int key) {
+        int[] tab = this.table;
+        int mask = tab.length - 1;
+        for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+            int e = tab[slot];
+            if (e == 0) {
+                return -1;
+            }
+            if (this.keys[e - 1] == key) {
+                return slot;
+            }
+        }
+    }
+
+    private int indexOf(int key) {
+        int slot = this.slotOf(key);
+        return slot >= 0 ? this.table[slot] - 1 : -1;
+    }
+
+    private void insert(int key, int index) {
+        int[] tab = this.table;
+        int mask = tab.length - 1;
+        int slot = hash(key) & mask;
+        while (tab[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        tab[slot] = index + 1;
+    }
+
+    /**
+     * ハッシュ表から位置を削除し、後続の要素を前に詰めます(墓標を残さない)。
+     */
+    private void delete(int slot) {
+        int[] tab = this.table;
+        int mask = tab.length - 1;
+        int gap = slot;
+        tab[gap] = 0;
+        for (int j = (gap + 1) & mask; tab[j] != 0; j = (j + 1) & mask) {
+            int home = hash(this.keys[tab[j] - 1]) & mask;
+            // home が (gap, j] の範囲にない要素は gap に移せる
+            boolean between = gap <= j ? (gap < home && home <= j) : (gap < home || home <= j);
+            if (!between) {
+                tab[gap] = tab[j];
+                tab[j] = 0;
+                gap = j;
+            }
+        }
+    }
+
+    private void removeAt(int index) {
+        this.remove(this.keys[index]);
+    }
+
+    /**
+     * 挿入順に要素の位置を返すイテレーター
+     */
+    private abstract class Itr<E> implements Iterator<E> {
+
+        private int next;
+
+        private int last = -1;
+
+        private int expectedModCount = IntLinkedHashMap.this.modCount;
+
+        Itr() {
+            this.next = this.advance(0);
+        }
+
+        private int advance(int from) {
+            int i = from;
+            while (i < IntLinkedHashMap.this.used && !IntLinkedHashMap.this.live[i]) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next < IntLinkedHashMap.this.used;
+        }
+
+        int nextIndex() {
+            if (IntLinkedHashMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next;
+            this.next = this.advance(this.next + 1);
+            return this.last;
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+            if (IntLinkedHashMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // 削除しても配列は詰めないため、位置はそのまま使える
+            IntLinkedHashMap.this.removeAt(this.last);
+            this.last = -1;
+            this.expectedModCount = IntLinkedHashMap.this.modCount;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, V>> {
+
+        @Override
+        public int size() {
+            return IntLinkedHashMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Map.Entry<?, ?> e && e.getKey() instanceof Integer key) {
+                int index = IntLinkedHashMap.this.indexOf(key);
+                return index >= 0 && Objects.equals(IntLinkedHashMap.this.values[index], e.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<Map.Entry<Integer, V>> iterator() {
+            return new Itr<>() {
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Map.Entry<Integer, V> next() {
+                    int index = this.nextIndex();
+                    int key = IntLinkedHashMap.this.keys[index];
+                    return new SimpleEntry<>(key, (V) IntLinkedHashMap.this.values[index]) {
+
+                        private static final long serialVersionUID = 1L;
+
+                        @Override
+                        public V setValue(V value) {
+                            super.setValue(value);
+                            // キーは残っているため構造は変わらない
+                            return IntLinkedHashMap.this.put(key, value);
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public void clear() {
+            IntLinkedHashMap.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public int size() {
+            return IntLinkedHashMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return IntLinkedHashMap.this.containsValue(o);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Itr<>() {
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public V next() {
+                    return (V) IntLinkedHashMap.this.values[this.nextIndex()];
+                }
+            };
+        }
+
+        @Override
+        public void clear() {
+            IntLinkedHashMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package logbook.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParsingException;
+
+/**
+ * {@link JsonParser} から値を読むための補助クラスです
+ * <p>
+ * JsonObject を作らずに Bean を組み立てる JSON バインダー（{@code logbook.processor.JsonBinder}）から使います。
+ * 変換の結果は {@link JsonHelper} の同名のメソッドと同じです。
+ * 各メソッドは値の最初のイベント（{@code parser.next()} の戻り値）を受け取り、値の終わりまで読み進めます。
+ * </p>
+ */
+public final class JsonReaders {
+
+    private JsonReaders() {
+    }
+
+    /**
+     * 値をIntegerに変換します<br>
+     * 値が"N/A"の場合、nullを返します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return Integer
+     * @see JsonHelper#toInteger(JsonValue)
+     */
+    public static Integer toInteger(JsonParser parser, Event event) {
+        if (event == Event.VALUE_NUMBER) {
+            return parser.isIntegralNumber() ? parser.getInt() : parser.getBigDecimal().intValue();
+        }
+        if (event == Event.VALUE_STRING && "N/A".equals(parser.getString())) {
+            return null;
+        }
+        return new BigDecimal(toString(parser, event)).intValue();
+    }
+
+    /**
+     * 値をLongに変換します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return Long
+     * @see JsonHelper#toLong(JsonValue)
+     */
+    public static Long toLong(JsonParser parser, Event event) {
+        if (event == Event.VALUE_NUMBER) {
+            return parser.isIntegralNumber() ? parser.getLong() : parser.getBigDecimal().longValue();
+        }
+        return new BigDecimal(toString(parser, event)).longValue();
+    }
+
+    /**
+     * 値をDoubleに変換します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return Double
+     * @see JsonHelper#toDouble(JsonValue)
+     */
+    public static Double toDouble(JsonParser parser, Event event) {
+        if (event == Event.VALUE_NUMBER) {
+            return parser.getBigDecimal().doubleValue();
+        }
+        return new BigDecimal(toString(parser, event)).doubleValue();
+    }
+
+    /**
+     * 値をBigDecimalに変換します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return BigDecimal
+     * @see JsonHelper#toBigDecimal(JsonValue)
+     */
+    public static BigDecimal toBigDecimal(JsonParser parser, Event event) {
+        if (event == Event.VALUE_NUMBER) {
+            return parser.getBigDecimal();
+        }
+        return new BigDecimal(toString(parser, event));
+    }
+
+    /**
+     * 値をStringに変換します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return String
+     * @see JsonHelper#toString(JsonValue)
+     */
+    public static String toString(JsonParser parser, Event event) {
+        return switch (event) {
+        case VALUE_STRING -> parser.getString();
+        case VALUE_NUMBER -> parser.getBigDecimal().toString();
+        case VALUE_TRUE -> "true";
+        case VALUE_FALSE -> "false";
+        case VALUE_NULL -> null;
+        default -> parser.getValue().toString();
+        };
+    }
+
+    /**
+     * 値をBooleanに変換します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return 数値の場合は0以外ならtrue、それ以外はfalse以外ならtrue
+     * @see JsonHelper#toBoolean(JsonValue)
+     */
+    public static Boolean toBoolean(JsonParser parser, Event event) {
+        if (event == Event.VALUE_NUMBER) {
+            return parser.getBigDecimal().signum() != 0;
+        }
+        if (event == Event.START_ARRAY) {
+            parser.skipArray();
+        } else if (event == Event.START_OBJECT) {
+            parser.skipObject();
+        }
+        return event != Event.VALUE_FALSE;
+    }
+
+    /**
+     * 配列をIntegerのListに変換します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return IntegerのList
+     * @see JsonHelper#toIntegerList(jakarta.json.JsonArray)
+     */
+    public static List<Integer> toIntegerList(JsonParser parser, Event event) {
+        List<Integer> list = new ArrayList<>();
+        for (Event e = first(parser, event); e != Event.END_ARRAY; e = parser.next()) {
+            list.add(e == Event.VALUE_NULL ? null : toInteger(parser, e));
+        }
+        return list;
+    }
+
+    /**
+     * 配列をLongのListに変換します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return LongのList
+     * @see JsonHelper#toLongList(jakarta.json.JsonArray)
+     */
+    public static List<Long> toLongList(JsonParser parser, Event event) {
+        return toList(parser, event, e -> toLong(parser, e));
+    }
+
+    /**
+     * 配列をDoubleのListに変換します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return DoubleのList
+     * @see JsonHelper#toDoubleList(jakarta.json.JsonArray)
+     */
+    public static List<Double> toDoubleList(JsonParser parser, Event event) {
+        return toList(parser, event, e -> toDouble(parser, e));
+    }
+
+    /**
+     * 配列をBigDecimalのListに変換します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return BigDecimalのList
+     * @see JsonHelper#toBigDecimalList(jakarta.json.JsonArray)
+     */
+    public static List<BigDecimal> toBigDecimalList(JsonParser parser, Event event) {
+        return toList(parser, event, e -> toBigDecimal(parser, e));
+    }
+
+    /**
+     * 配列をStringのListに変換します
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @return StringのList
+     * @see JsonHelper#toStringList(jakarta.json.JsonArray)
+     */
+    public static List<String> toStringList(JsonParser parser, Event event) {
+        return toList(parser, event, e -> toString(parser, e));
+    }
+
+    /**
+     * オブジェクトの配列をMapに変換します
+     *
+     * @param <K> Mapのキーの型
+     * @param <R> Mapの内容の型
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @param keyMapper valueMapperで変換したオブジェクトからキーを取り出すFunction
+     * @param valueMapper 要素のオブジェクトの開始({@code START_OBJECT})まで読み進めたJsonParserを受け取り、
+     * オブジェクトの終わりまで読み進めて変換するFunction
+     * @return 変換後のMap
+     * @see JsonHelper#toMap(jakarta.json.JsonArray, Function, Function)
+     */
+    public static <K, R> Map<K, R> toMap(JsonParser parser, Event event, Function<R, K> keyMapper,
+            Function<JsonParser, R> valueMapper) {
+        Map<K, R> map = new LinkedHashMap<>();
+        for (Event e = first(parser, event); e != Event.END_ARRAY; e = parser.next()) {
+            if (e != Event.START_OBJECT) {
+                throw new JsonParsingException("オブジェクトではありません: " + e, parser.getLocation());
+            }
+            R r = valueMapper.apply(parser);
+            map.put(keyMapper.apply(r), r);
+        }
+        return map;
+    }
+
+    /**
+     * バインダーが扱わないキーの値を {@code other} に渡します。{@code other} が null の場合は読み飛ばします。
+     *
+     * @param parser JsonParser
+     * @param event 値の最初のイベント
+     * @param key キー
+     * @param other 値を受け取るBiConsumer
+     */
+    public static void other(JsonParser parser, Event event, String key, BiConsumer<String, JsonValue> other) {
+        if (other != null) {
+            other.accept(key, parser.getValue());
+        } else if (event == Event.START_ARRAY) {
+            parser.skipArray();
+        } else if (event == Event.START_OBJECT) {
+            parser.skipObject();
+        }
+    }
+
+    private static <R> List<R> toList(JsonParser parser, Event event, Function<Event, R> function) {
+        List<R> list = new ArrayList<>();
+        for (Event e = first(parser, event); e != Event.END_ARRAY; e = parser.next()) {
+            list.add(e == Event.VALUE_NULL ? null : function.apply(e));
+        }
+        return list;
+    }
+
+    private static Event first(JsonParser parser, Event event) {
+        if (event != Event.START_ARRAY) {
+            throw new JsonParsingException("配列ではありません: " + event, parser.getLocation());
+        }
+        return parser.next();
+    }
+}
@@ -0,0 +1,199 @@
+package logbook.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.json.JsonException;
+
+/**
+ * JSON の文字列からオブジェクトのメンバーの値を文字列のまま切り出します
+ * <p>
+ * 値の中身は解析せず、括弧と文字列の範囲だけをたどります。
+ * api_start2 のような大きなレスポンスを JsonObject にせず、値ごとに別のスレッドで {@code JsonParser} に渡すために使います。
+ * 値が正しい JSON かどうかは、切り出した値を解析する側で検出されます。
+ * </p>
+ */
+public final class JsonSlices {
+
+    private final String text;
+
+    private int pos;
+
+    private JsonSlices(String text) {
+        this.text = text;
+    }
+
+    /**
+     * オブジェクトのメンバーを値の文字列ごとに返します
+     * <p>
+     * 次の例は {@code {"api_result":1,"api_data":{"api_mst_ship":[...],"api_mst_stype":[...]}}} から
+     * {@code api_data} のメンバーを切り出す例です。
+     * </p>
+     * <pre><code>Map&lt;String, String&gt; data = JsonSlices.members(json, "api_data");
+     * String ships = data.get("api_mst_ship"); // "[...]"</code></pre>
+     *
+     * @param json JSONの文字列
+     * @param path メンバーを返すオブジェクトまでのキー
+     * @return キー→値の文字列(JSON での順序)、{@code path} のオブジェクトが無い場合はnull
+     * @throws JsonException JSON の構造が壊れている場合
+     */
+    public static Map<String, String> members(String json, String... path) {
+        JsonSlices slices = new JsonSlices(json);
+        for (String key : path) {
+            if (slices.peek() != '{' || !slices.find(key)) {
+                return null;
+            }
+        }
+        if (slices.peek() != '{') {
+            return null;
+        }
+        Map<String, String> members = new LinkedHashMap<>();
+        slices.expect('{');
+        if (slices.peek() == '}') {
+            return members;
+        }
+        do {
+            String key = slices.string();
+            slices.expect(':');
+            slices.peek();
+            int start = slices.pos;
+            slices.skipValue();
+            members.put(key, json.substring(start, slices.pos));
+        } while (slices.next(',', '}') == ',');
+        return members;
+    }
+
+    /**
+     * オブジェクトのメンバーから {@code key} を探し、見つかった場合は値の先頭まで読み進めます
+     */
+    private boolean find(String key) {
+        this.expect('{');
+        if (this.peek() == '}') {
+            return false;
+        }
+        do {
+            String name = this.string();
+            this.expect(':');
+            if (name.equals(key)) {
+                this.peek();
+                return true;
+            }
+            this.skipValue();
+        } while (this.next(',', '}') == ',');
+        return false;
+    }
+
+    /**
+     * 空白を読み飛ばし、次の文字を返します
+     */
+    private char peek() {
+        while (this.pos < this.text.length()) {
+            char c = this.text.charAt(this.pos);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return c;
+            }
+            this.pos++;
+        }
+        throw this.error("JSONが途中で終わっています");
+    }
+
+    private void expect(char c) {
+        if (this.peek() != c) {
+            throw this.error("'" + c + "'がありません");
+        }
+        this.pos++;
+    }
+
+    private char next(char a, char b) {
+        char c = this.peek();
+        if (c != a && c != b) {
+            throw this.error("'" + a + "'または'" + b + "'がありません");
+        }
+        this.pos++;
+        return c;
+    }
+
+    private String string() {
+        if (this.peek() != '"') {
+            throw this.error("文字列がありません");
+        }
+        int start = this.pos + 1;
+        this.skipString();
+        String value = this.text.substring(start, this.pos - 1);
+        return value.indexOf('\\') < 0 ? value : unescape(value);
+    }
+
+    private void skipString() {
+        this.pos++;
+        while (true) {
+            char c = this.charAt(this.pos++);
+            if (c == '\\') {
+                this.pos++;
+            } else if (c == '"') {
+                return;
+            }
+        }
+    }
+
+    private void skipValue() {
+        char c = this.peek();
+        if (c == '"') {
+            this.skipString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = this.charAt(this.pos);
+                if (c == '"') {
+                    this.skipString();
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                this.pos++;
+            } while (depth > 0);
+        } else {
+            while (this.pos < this.text.length() && ",}] \t\n\r".indexOf(this.text.charAt(this.pos)) < 0) {
+                this.pos++;
+            }
+        }
+    }
+
+    private char charAt(int index) {
+        if (index >= this.text.length()) {
+            throw this.error("JSONが途中で終わっています");
+        }
+        return this.text.charAt(index);
+    }
+
+    private JsonException error(String message) {
+        return new JsonException(message + " (" + this.pos + "文字目)");
+    }
+
+    private static String unescape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i + 1 >= value.length()) {
+                sb.append(c);
+                continue;
+            }
+            c = value.charAt(++i);
+            switch (c) {
+            case 'b' -> sb.append('\b');
+            case 'f' -> sb.append('\f');
+            case 'n' -> sb.append('\n');
+            case 'r' -> sb.append('\r');
+            case 't' -> sb.append('\t');
+            case 'u' -> {
+                sb.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                i += 4;
+            }
+            default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
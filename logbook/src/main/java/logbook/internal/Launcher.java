@@ -16,6 +16,8 @@ import logbook.internal.capture.ApiCaptureWriter;
 import logbook.internal.gui.Main;
 import logbook.internal.metrics.LogbookBuildInfo;
 import logbook.internal.metrics.LogbookMetrics;
+import logbook.internal.metrics.MetricsRegistry;
+import logbook.internal.proxy.ProxyAccessRingLog;
 import logbook.internal.proxy.ProxyHolder;
 import logbook.plugin.JarBasedPlugin;
 import logbook.plugin.PluginContainer;
@@ -62,6 +64,7 @@ public final class Launcher {
             mBeanServer.registerMBean(buildInfo, buildInfo.getObjectName());
             LogbookMetrics metrics = new LogbookMetrics();
             mBeanServer.registerMBean(metrics, metrics.getObjectName());
+            MetricsRegistry.publish(mBeanServer);
         } catch (Exception e) {
             LoggerHolder.get().warn("JMXメトリクスの登録に失敗しました", e);
         }
@@ -112,6 +115,8 @@ public final class Launcher {
         } catch (Exception e) {
             LoggerHolder.get().warn("プロキシサーバースレッドの終了処理中に例外が発生", e); //$NON-NLS-1$
         }
+        // プロキシサーバースレッドはデーモンのため、停止を待たずにリングログを閉じる
+        ProxyAccessRingLog.shutdown();
     }
 
     /**
@@ -1,17 +1,9 @@
 package logbook.internal;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 
 import logbook.bean.DeckPortCollection;
-import logbook.bean.ShipMst;
-import logbook.bean.SlotItem;
-import logbook.bean.SlotItemCollection;
-import logbook.bean.SlotitemMst;
 import logbook.internal.gui.ShipItem;
 import lombok.Builder;
 
@@ -115,23 +107,8 @@ public interface ShipFilter extends Predicate<ShipItem> {
                 return false;
             if (this.text.isEmpty())
                 return true;
-            Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
-                    .getSlotitemMap();
-            List<Supplier<String>> texts = Arrays.asList(
-                    () -> Ships.shipMst(ship.getShip()).map(ShipMst::getName).orElse(""),
-                    () -> ship.getType(),
-                    () -> Items.slotitemMst(itemMap.get(ship.getSlot1())).map(SlotitemMst::getName).orElse(""),
-                    () -> Items.slotitemMst(itemMap.get(ship.getSlot2())).map(SlotitemMst::getName).orElse(""),
-                    () -> Items.slotitemMst(itemMap.get(ship.getSlot3())).map(SlotitemMst::getName).orElse(""),
-                    () -> Items.slotitemMst(itemMap.get(ship.getSlot4())).map(SlotitemMst::getName).orElse(""),
-                    () -> Items.slotitemMst(itemMap.get(ship.getSlot5())).map(SlotitemMst::getName).orElse(""),
-                    () -> Items.slotitemMst(itemMap.get(ship.getSlotEx())).map(SlotitemMst::getName).orElse(""));
-            for (Supplier<String> supplier : texts) {
-                if (supplier.get().contains(this.text)) {
-                    return true;
-                }
-            }
-            return false;
+            // 艦名・艦種・装備名は行の更新時に連結済み
+            return ship.getSearchText().contains(this.text);
         }
     }
 
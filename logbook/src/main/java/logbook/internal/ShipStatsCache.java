@@ -0,0 +1,189 @@
+package logbook.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import logbook.bean.Ship;
+import logbook.bean.ShipCollection;
+import logbook.bean.ShipMstCollection;
+import logbook.bean.SlotitemMstCollection;
+import logbook.internal.state.ChangeEvent;
+import logbook.internal.state.Domain;
+import logbook.internal.state.StateStore;
+
+/**
+ * {@link Ships} の艦娘1隻ごとの計算結果(火力・制空値など)のキャッシュです。
+ * <p>
+ * 艦娘の値は {@code clone()} してから {@link ShipCollection} に {@code put} し直されるため、
+ * 艦娘のインスタンスが同じで装備の版({@link Domain#SLOT_ITEM})とマスタが変わっていなければ計算結果も変わりません。
+ * 装備の付け替え・改修・熟練度の変化は艦娘か装備の置き換えとして記録されるため、それで無効になります。
+ * </p>
+ * <p>
+ * キャッシュするのは {@link ShipCollection} に入っている艦娘だけです。戦闘中の敵艦や
+ * 演習相手など、それ以外の艦娘は毎回計算します。
+ * </p>
+ */
+final class ShipStatsCache {
+
+    private static final int NONE_INT = Integer.MIN_VALUE;
+
+    /** 艦娘ID→計算結果 */
+    private static final Map<Integer, Stats> CACHE = new ConcurrentHashMap<>();
+
+    static {
+        StateStore.subscribe(Domain.SHIP, ShipStatsCache::onShipChanged);
+    }
+
+    private ShipStatsCache() {
+    }
+
+    /**
+     * 艦娘の計算結果を取得します。
+     *
+     * @param ship 艦娘
+     * @return 計算結果
+     */
+    static Stats get(Ship ship) {
+        Integer id = ship.getId();
+        if (id == null || ShipCollection.get().getShipMap().get(id) != ship) {
+            return new Stats(ship);
+        }
+        Stats stats = CACHE.get(id);
+        if (stats == null || !stats.isValid(ship)) {
+            stats = new Stats(ship);
+            CACHE.put(id, stats);
+        }
+        return stats;
+    }
+
+    private static void onShipChanged(ChangeEvent event) {
+        if (event.reset()) {
+            CACHE.clear();
+            return;
+        }
+        for (Integer id : event.removed()) {
+            CACHE.remove(id);
+        }
+        for (Integer id : event.updated()) {
+            CACHE.remove(id);
+        }
+    }
+
+    /**
+     * 艦娘1隻分の計算結果。値は初めて参照したときに計算します
+     */
+    static final class Stats {
+
+        private final Ship ship;
+
+        private final long slotItemVersion;
+
+        private final Object slotitemMst;
+
+        private final Object shipMst;
+
+        private volatile int hPower = NONE_INT;
+
+        private volatile int tPower = NONE_INT;
+
+        private volatile int airSuperiority = NONE_INT;
+
+        private volatile int transportPoint = NONE_INT;
+
+        private volatile double weightAntiAircraft = Double.NaN;
+
+        private volatile double rocketBarrageActivationRate = Double.NaN;
+
+        private volatile double decision33ItemView = Double.NaN;
+
+        private volatile double decision33ShipView = Double.NaN;
+
+        private volatile double touchPlaneStartProbability = Double.NaN;
+
+        private Stats(Ship ship) {
+            this.ship = ship;
+            this.slotItemVersion = StateStore.version(Domain.SLOT_ITEM);
+            this.slotitemMst = SlotitemMstCollection.get().getSlotitemMap();
+            this.shipMst = ShipMstCollection.get().getShipMap();
+        }
+
+        private boolean isValid(Ship ship) {
+            return this.ship == ship
+                    && this.slotItemVersion == StateStore.version(Domain.SLOT_ITEM)
+                    && this.slotitemMst == SlotitemMstCollection.get().getSlotitemMap()
+                    && this.shipMst == ShipMstCollection.get().getShipMap();
+        }
+
+        int hPower() {
+            int v = this.hPower;
+            if (v == NONE_INT) {
+                this.hPower = v = Ships.computeHPower(this.ship);
+            }
+            return v;
+        }
+
+        int tPower() {
+            int v = this.tPower;
+            if (v == NONE_INT) {
+                this.tPower = v = Ships.computeTPower(this.ship);
+            }
+            return v;
+        }
+
+        int airSuperiority() {
+            int v = this.airSuperiority;
+            if (v == NONE_INT) {
+                this.airSuperiority = v = Ships.computeAirSuperiority(this.ship);
+            }
+            return v;
+        }
+
+        int transportPoint() {
+            int v = this.transportPoint;
+            if (v == NONE_INT) {
+                this.transportPoint = v = Ships.computeTransportPoint(this.ship);
+            }
+            return v;
+        }
+
+        double weightAntiAircraft() {
+            double v = this.weightAntiAircraft;
+            if (Double.isNaN(v)) {
+                this.weightAntiAircraft = v = Ships.computeWeightAntiAircraft(this.ship);
+            }
+            return v;
+        }
+
+        double rocketBarrageActivationRate() {
+            double v = this.rocketBarrageActivationRate;
+            if (Double.isNaN(v)) {
+                this.rocketBarrageActivationRate = v = Ships.computeRocketBarrageActivationRate(this.ship);
+            }
+            return v;
+        }
+
+        double decision33ItemView() {
+            double v = this.decision33ItemView;
+            if (Double.isNaN(v)) {
+                this.decision33ItemView = v = Ships.computeDecision33ItemView(this.ship);
+            }
+            return v;
+        }
+
+        double decision33ShipView() {
+            double v = this.decision33ShipView;
+            if (Double.isNaN(v)) {
+                this.decision33ShipView = v = Ships.computeDecision33ShipView(this.ship);
+            }
+            return v;
+        }
+
+        double touchPlaneStartProbability() {
+            double v = this.touchPlaneStartProbability;
+            if (Double.isNaN(v)) {
+                this.touchPlaneStartProbability = v = Ships.computeTouchPlaneStartProbability(this.ship);
+            }
+            return v;
+        }
+    }
+}
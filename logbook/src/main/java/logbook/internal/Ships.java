@@ -475,6 +475,16 @@ public class Ships {
      * @return 砲撃戦火力
      */
     public static int hPower(Ship ship) {
+        return ShipStatsCache.get(ship).hPower();
+    }
+
+    /**
+     * {@link #hPower(Ship)} を計算します(キャッシュを使わない)
+     *
+     * @param ship 艦娘
+     * @return {@link #hPower(Ship)}
+     */
+    static int computeHPower(Ship ship) {
         List<SlotitemMst> items = getSlotitemMst(ship).collect(Collectors.toList());
         // 艦攻艦爆搭載艦
         boolean isPasedoCarrier = items.stream()
@@ -516,6 +526,16 @@ public class Ships {
      * @return 対潜火力
      */
     public static int tPower(Ship ship) {
+        return ShipStatsCache.get(ship).tPower();
+    }
+
+    /**
+     * {@link #tPower(Ship)} を計算します(キャッシュを使わない)
+     *
+     * @param ship 艦娘
+     * @return {@link #tPower(Ship)}
+     */
+    static int computeTPower(Ship ship) {
         // [ 艦船の対潜 ÷ 5 ] + 装備の対潜 × 2 + 25
         int tais = getSlotitemMst(ship)
                 .mapToInt(SlotitemMst::getTais)
@@ -540,6 +560,16 @@ public class Ships {
      * @return 制空値
      */
     public static int airSuperiority(Ship ship) {
+        return ShipStatsCache.get(ship).airSuperiority();
+    }
+
+    /**
+     * {@link #airSuperiority(Ship)} を計算します(キャッシュを使わない)
+     *
+     * @param ship 艦娘
+     * @return {@link #airSuperiority(Ship)}
+     */
+    static int computeAirSuperiority(Ship ship) {
         Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
                 .getSlotitemMap();
         Map<Integer, SlotitemMst> itemMstMap = SlotitemMstCollection.get()
@@ -633,6 +663,16 @@ public class Ships {
      * @return 加重対空値
      */
     public static double weightAntiAircraft(Ship ship) {
+        return ShipStatsCache.get(ship).weightAntiAircraft();
+    }
+
+    /**
+     * {@link #weightAntiAircraft(Ship)} を計算します(キャッシュを使わない)
+     *
+     * @param ship 艦娘
+     * @return {@link #weightAntiAircraft(Ship)}
+     */
+    static double computeWeightAntiAircraft(Ship ship) {
         // 装備マスタ
         Map<Integer, SlotitemMst> itemMstMap = SlotitemMstCollection.get()
                 .getSlotitemMap();
@@ -688,6 +728,16 @@ public class Ships {
      * @return 噴進弾幕発動率
      */
     public static double rocketBarrageActivationRate(Ship ship) {
+        return ShipStatsCache.get(ship).rocketBarrageActivationRate();
+    }
+
+    /**
+     * {@link #rocketBarrageActivationRate(Ship)} を計算します(キャッシュを使わない)
+     *
+     * @param ship 艦娘
+     * @return {@link #rocketBarrageActivationRate(Ship)}
+     */
+    static double computeRocketBarrageActivationRate(Ship ship) {
         List<SlotitemMst> items = getSlotitemMst(ship).collect(Collectors.toList());
         long rocketCount = items.stream()
                 .filter(e -> e.getId() == 274) // 噴進砲改二
@@ -734,24 +784,42 @@ public class Ships {
      * @return 判定式(33)
      */
     public static Decision33 decision33(List<Ship> ships, double branchCoefficient) {
+        //  索敵スコア＝(装備倍率×装備索敵値)の和＋√(各艦娘の素索敵)の和－[0.4×司令部レベル(端数切り上げ)]＋2×(6－出撃艦数)
+
+        // (装備係数(索敵)×(装備索敵値+改修係数(索敵)×√★))の和
+        double itemView = 0;
+        // √(各艦娘の素索敵)の和
+        double shipView = 0;
+        for (Ship ship : ships) {
+            ShipStatsCache.Stats stats = ShipStatsCache.get(ship);
+            itemView += stats.decision33ItemView();
+            shipView += stats.decision33ShipView();
+        }
+        // [0.4×司令部レベル(端数切り上げ)]
+        double levelScore = Math.ceil(Basic.get().getLevel() * 0.4D);
+        // 2×(6－出撃艦数)
+        double fleetScore = 2 * (6 - ships.size());
+
+        return new Decision33(branchCoefficient, itemView, shipView, levelScore, fleetScore);
+    }
+
+    /**
+     * 判定式(33)の艦娘1隻分の装備索敵を計算します(キャッシュを使わない)
+     *
+     * @param ship 艦娘
+     * @return (装備係数(索敵)×(装備索敵値+改修係数(索敵)×√★))の和
+     */
+    static double computeDecision33ItemView(Ship ship) {
         // 装備マスタ
         Map<Integer, SlotitemMst> itemMstMap = SlotitemMstCollection.get()
                 .getSlotitemMap();
         // 装備
         Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
                 .getSlotitemMap();
-        // 艦娘から装備を取り出すFunction
-        Function<Ship, Stream<SlotItem>> toSlotItem = ship -> {
-            return Stream.concat(ship.getSlot().stream(), Stream.of(ship.getSlotEx()))
-                    .map(itemMap::get)
-                    .filter(Objects::nonNull);
-        };
-
-        //  索敵スコア＝(装備倍率×装備索敵値)の和＋√(各艦娘の素索敵)の和－[0.4×司令部レベル(端数切り上げ)]＋2×(6－出撃艦数)
 
-        // (装備係数(索敵)×(装備索敵値+改修係数(索敵)×√★))の和
-        double itemView = ships.stream()
-                .flatMap(toSlotItem)
+        return Stream.concat(ship.getSlot().stream(), Stream.of(ship.getSlotEx()))
+                .map(itemMap::get)
+                .filter(Objects::nonNull)
                 .mapToDouble(e -> {
                     SlotitemMst mst = itemMstMap.get(e.getSlotitemId());
                     if (mst != null) {
@@ -766,19 +834,18 @@ public class Ships {
                     return 0;
                 })
                 .sum();
-        // √(各艦娘の素索敵)の和
-        double shipView = ships.stream()
-                .mapToDouble(e -> e.getSakuteki().get(0) - getSlotitemMst(e)
-                        .mapToInt(SlotitemMst::getSaku)
-                        .sum())
-                .map(Math::sqrt)
-                .sum();
-        // [0.4×司令部レベル(端数切り上げ)]
-        double levelScore = Math.ceil(Basic.get().getLevel() * 0.4D);
-        // 2×(6－出撃艦数)
-        double fleetScore = 2 * (6 - ships.size());
+    }
 
-        return new Decision33(branchCoefficient, itemView, shipView, levelScore, fleetScore);
+    /**
+     * 判定式(33)の艦娘1隻分の素索敵を計算します(キャッシュを使わない)
+     *
+     * @param ship 艦娘
+     * @return √(素索敵)
+     */
+    static double computeDecision33ShipView(Ship ship) {
+        return Math.sqrt(ship.getSakuteki().get(0) - getSlotitemMst(ship)
+                .mapToInt(SlotitemMst::getSaku)
+                .sum());
     }
 
     /**
@@ -788,14 +855,28 @@ public class Ships {
      * @return 触接開始率
      */
     public static double touchPlaneStartProbability(List<Ship> ships) {
+        double sum = 0;
+        for (Ship ship : ships) {
+            sum += ShipStatsCache.get(ship).touchPlaneStartProbability();
+        }
+        return sum;
+    }
+
+    /**
+     * 艦娘1隻分の触接開始率の和を計算します(キャッシュを使わない)
+     *
+     * @param ship 艦娘
+     * @return {0.04 × 艦載機の索敵値 × √(搭載数)}の和
+     */
+    static double computeTouchPlaneStartProbability(Ship ship) {
         Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
                 .getSlotitemMap();
         Map<Integer, SlotitemMst> itemMstMap = SlotitemMstCollection.get()
                 .getSlotitemMap();
         // 艦娘からスロット毎に装備を取り出す
-        Function<Ship, Stream<Pair<SlotitemMst, Integer>>> onSlotItem = ship -> {
-            List<Integer> slot = ship.getSlot();
-            List<Integer> onslot = ship.getOnslot();
+        Function<Ship, Stream<Pair<SlotitemMst, Integer>>> onSlotItem = s -> {
+            List<Integer> slot = s.getSlot();
+            List<Integer> onslot = s.getOnslot();
             List<Pair<SlotitemMst, Integer>> pair = new ArrayList<>();
 
             for (int i = 0, l = slot.size(); i < l; i++) {
@@ -818,7 +899,7 @@ public class Ships {
         ToDoubleFunction<Pair<SlotitemMst, Integer>> calc = pair -> 0.04D * pair.getKey().getSaku()
                 * Math.sqrt(pair.getValue());
 
-        return ships.stream()
+        return Stream.of(ship)
                 .flatMap(onSlotItem)
                 .filter(filter)
                 .mapToDouble(calc)
@@ -856,6 +937,16 @@ public class Ships {
      * @return TP
      */
     public static int transportPoint(Ship ship) {
+        return ShipStatsCache.get(ship).transportPoint();
+    }
+
+    /**
+     * {@link #transportPoint(Ship)} を計算します(キャッシュを使わない)
+     *
+     * @param ship 艦娘
+     * @return {@link #transportPoint(Ship)}
+     */
+    static int computeTransportPoint(Ship ship) {
         Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
                 .getSlotitemMap();
         Map<Integer, SlotitemMst> itemMstMap = SlotitemMstCollection.get()
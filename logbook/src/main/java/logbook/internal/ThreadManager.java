@@ -3,6 +3,8 @@ package logbook.internal;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import logbook.internal.metrics.MetricsRegistry;
+
 /**
  * スレッドを管理します
  * <p>
@@ -16,9 +18,16 @@ public final class ThreadManager {
      * <p>
      * 軽量スレッド（Virtual Thread）を使用し、大量のタスクを効率的に処理します。
      * Platform Threadと異なり、スレッド数の制限がなく、数百万のタスクを同時実行可能です。
+     * 未完了のタスク数は {@code executor_backlog} ゲージとして JMX に公開します。
      * </p>
      */
-    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final TrackingExecutorService EXECUTOR = new TrackingExecutorService(
+            Executors.newVirtualThreadPerTaskExecutor());
+
+    static {
+        MetricsRegistry.gauge("executor_backlog", EXECUTOR::pendingTasks);
+        MetricsRegistry.gauge("executor_completed_tasks", EXECUTOR::completedTasks);
+    }
 
     /**
      * アプリケーションで共有するExecutorService
@@ -0,0 +1,89 @@
+package logbook.internal;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 投入済みで未完了のタスク数（バックログ）を数える {@link ExecutorService} です。
+ * <p>
+ * {@code submit} / {@code invokeAll} などはすべて {@link #execute(Runnable)} を経由するため、
+ * ここでタスクを包んで開始前から完了までを数えます。
+ * </p>
+ */
+final class TrackingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final LongAdder pending = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+
+    TrackingExecutorService(ExecutorService delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    /**
+     * 投入済みで未完了のタスク数を返します。
+     *
+     * @return 未完了のタスク数
+     */
+    long pendingTasks() {
+        return this.pending.sum();
+    }
+
+    /**
+     * 完了したタスク数を返します。
+     *
+     * @return 完了したタスク数
+     */
+    long completedTasks() {
+        return this.completed.sum();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command);
+        this.pending.increment();
+        try {
+            this.delegate.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    this.pending.decrement();
+                    this.completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.pending.decrement();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        this.delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return this.delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return this.delegate.awaitTermination(timeout, unit);
+    }
+}
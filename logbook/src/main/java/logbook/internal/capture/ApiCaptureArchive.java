@@ -0,0 +1,270 @@
+package logbook.internal.capture;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import logbook.internal.JsonMappers;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * 保存済み API キャプチャ（{@code {captureDir}/segments}）の検索。
+ * <p>
+ * サイドカーインデックス（{@link ApiCaptureSegmentIndex}）がある範囲は、
+ * URI パス・時刻・requestId をインデックス上で判定し、一致したフレームだけを展開する。
+ * インデックスの無い旧形式セグメントや、異常終了でインデックスに載らなかった範囲は全走査する。
+ * 時刻条件がある場合は、ファイル名の日付で範囲外のセグメントを読まずに除外する。
+ * 辞書モードで書かれたフレームは dictID から {@link ApiCaptureDictionaries} の辞書を引いて展開する。
+ * </p>
+ */
+@Slf4j
+public final class ApiCaptureArchive {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile(
+            "(\\d{4}-\\d{2}-\\d{2})(?:\\.part(\\d+))?\\.jsonl\\.zst");
+
+    private static final ObjectReader ENVELOPE_READER = JsonMappers.LENIENT_READER
+            .forType(ApiCaptureEnvelope.class);
+
+    private final Path segmentsDir;
+    private final ZoneId zone;
+    private final ApiCaptureDictionaries dictionaries;
+
+    /**
+     * @param captureDir キャプチャ保存先（{@code segments} の親ディレクトリ）
+     */
+    public ApiCaptureArchive(Path captureDir) {
+        this(captureDir, ZoneId.systemDefault());
+    }
+
+    /**
+     * @param captureDir キャプチャ保存先
+     * @param zone セグメント名の日付を解釈するタイムゾーン
+     */
+    public ApiCaptureArchive(Path captureDir, ZoneId zone) {
+        this.segmentsDir = Objects.requireNonNull(captureDir).resolve("segments");
+        this.zone = Objects.requireNonNull(zone);
+        this.dictionaries = new ApiCaptureDictionaries(captureDir);
+    }
+
+    /**
+     * セグメントを日付・part 順に返す。
+     */
+    public List<Path> segments() throws IOException {
+        if (!Files.isDirectory(this.segmentsDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(this.segmentsDir)) {
+            return files.filter(p -> SEGMENT_NAME.matcher(p.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(ApiCaptureArchive::segmentDate)
+                            .thenComparingInt(ApiCaptureArchive::segmentPart))
+                    .toList();
+        }
+    }
+
+    /**
+     * 条件に一致するレコードを記録順に返す。
+     */
+    public List<ApiCaptureEnvelope> query(ApiCaptureQuery query) throws IOException {
+        List<ApiCaptureEnvelope> result = new ArrayList<>();
+        forEach(query, envelope -> {
+            result.add(envelope);
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * 条件に一致するレコードを記録順に渡す。
+     *
+     * @param action {@code false} を返すと検索を打ち切る
+     */
+    public void forEach(ApiCaptureQuery query, Predicate<ApiCaptureEnvelope> action) throws IOException {
+        Objects.requireNonNull(query);
+        Objects.requireNonNull(action);
+        for (Path segment : segments()) {
+            if (!mayContain(segment, query)) {
+                continue;
+            }
+            if (!forEachInSegment(segment, query, action)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * ファイル名の日付が時刻条件の範囲と重なり得るか（タイムゾーン差を考慮し前後 1 日の余裕を持つ）。
+     */
+    private boolean mayContain(Path segment, ApiCaptureQuery query) {
+        LocalDate date = segmentDate(segment);
+        if (query.from() != null
+                && date.isBefore(LocalDate.ofInstant(query.from(), this.zone).minusDays(1))) {
+            return false;
+        }
+        return query.to() == null
+                || !date.isAfter(LocalDate.ofInstant(query.to(), this.zone).plusDays(1));
+    }
+
+    private boolean forEachInSegment(Path segment, ApiCaptureQuery query, Predicate<ApiCaptureEnvelope> action)
+            throws IOException {
+        ApiCaptureSegmentIndex index = ApiCaptureSegmentIndex.load(ApiCaptureSegmentIndex.indexPath(segment));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long expected = 0L;
+            for (ApiCaptureSegmentIndex.Entry entry : index.entries()) {
+                if (entry.offset() < expected || entry.end() > size) {
+                    continue;
+                }
+                if (entry.offset() > expected
+                        && !scanRange(segment, channel, expected, entry.offset(), index, query, action)) {
+                    return false;
+                }
+                expected = entry.end();
+                if (query.matchesTime(entry.capturedAt())
+                        && query.matchesRequestId(entry.requestId())
+                        && query.matchesUriPath(index.uriPath(entry.pathId()))) {
+                    ApiCaptureEnvelope envelope = readFrame(channel, entry);
+                    if (envelope != null && !action.test(envelope)) {
+                        return false;
+                    }
+                }
+            }
+            if (expected < size) {
+                return scanRange(segment, channel, expected, size, index, query, action);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * インデックスに載っていない範囲を展開し、行ごとに判定する。
+     */
+    private boolean scanRange(Path segment, FileChannel channel, long start, long end,
+            ApiCaptureSegmentIndex index, ApiCaptureQuery query, Predicate<ApiCaptureEnvelope> action)
+            throws IOException {
+        ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        ApiCaptureDictionary dictionary = this.dictionaries.get(index.dictionaryId()).orElse(null);
+        try (InputStream decoded = ApiCaptureFrameCodec.newDecoderInputStream(
+                new ByteBufferInputStream(mapped),
+                dictionary);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(decoded, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ApiCaptureEnvelope envelope = parse(line);
+                if (envelope != null && query.matches(envelope) && !action.test(envelope)) {
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            // 書き込み途中で終了したフレームなど。読めた分までを返す
+            log.debug("APIキャプチャセグメントの展開を中断しました: {} [{}, {})", segment, start, end, e);
+        }
+        return true;
+    }
+
+    private ApiCaptureEnvelope readFrame(FileChannel channel, ApiCaptureSegmentIndex.Entry entry) throws IOException {
+        byte[] frame = new byte[entry.length()];
+        ByteBuffer buf = ByteBuffer.wrap(frame);
+        long position = entry.offset();
+        while (buf.hasRemaining()) {
+            int read = channel.read(buf, position);
+            if (read < 0) {
+                return null;
+            }
+            position += read;
+        }
+        long dictionaryId = ApiCaptureFrameCodec.dictionaryIdOf(frame);
+        ApiCaptureDictionary dictionary = null;
+        if (dictionaryId != 0) {
+            dictionary = this.dictionaries.get(dictionaryId).orElse(null);
+            if (dictionary == null) {
+                return null;
+            }
+        }
+        try (InputStream decoded = ApiCaptureFrameCodec.newDecoderInputStream(
+                new ByteArrayInputStream(frame),
+                dictionary)) {
+            return parse(new String(decoded.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static ApiCaptureEnvelope parse(String line) {
+        try {
+            return ENVELOPE_READER.readValue(line);
+        } catch (JacksonException e) {
+            log.debug("APIキャプチャレコードの解析に失敗しました", e);
+            return null;
+        }
+    }
+
+    private static LocalDate segmentDate(Path segment) {
+        Matcher m = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        m.matches();
+        return LocalDate.parse(m.group(1));
+    }
+
+    private static int segmentPart(Path segment) {
+        Matcher m = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        m.matches();
+        return m.group(2) != null ? Integer.parseInt(m.group(2)) : 1;
+    }
+
+    /**
+     * マップしたセグメント範囲を読む {@link InputStream}。
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buf;
+
+        ByteBufferInputStream(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public int read() {
+            return this.buf.hasRemaining() ? this.buf.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!this.buf.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, this.buf.remaining());
+            this.buf.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return this.buf.remaining();
+        }
+    }
+}
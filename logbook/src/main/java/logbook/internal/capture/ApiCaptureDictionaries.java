@@ -0,0 +1,112 @@
+package logbook.internal.capture;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * キャプチャ保存先の辞書ディレクトリ（{@code {captureDir}/dictionaries}）。
+ * <p>
+ * 辞書は {@code {dictID}.dict}、書き込みに使う辞書は {@code current}（dictID の 10 進テキスト）で指定する。
+ * 一度読み込んだ辞書はインスタンス内でキャッシュする。
+ * </p>
+ */
+@Slf4j
+public final class ApiCaptureDictionaries {
+
+    static final String DIRECTORY = "dictionaries";
+
+    static final String CURRENT = "current";
+
+    private final Path captureDir;
+    private final Path dir;
+    private final Map<Long, Optional<ApiCaptureDictionary>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param captureDir キャプチャ保存先（{@code segments} の親ディレクトリ）
+     */
+    public ApiCaptureDictionaries(Path captureDir) {
+        this.captureDir = Objects.requireNonNull(captureDir);
+        this.dir = captureDir.resolve(DIRECTORY);
+    }
+
+    /**
+     * 指定したキャプチャ保存先の辞書ディレクトリか。
+     */
+    boolean isFor(Path captureDir) {
+        return this.captureDir.equals(captureDir);
+    }
+
+    /**
+     * dictID に対応する辞書。存在しない・読み込めない場合は空。
+     */
+    public Optional<ApiCaptureDictionary> get(long id) {
+        if (id == 0) {
+            return Optional.empty();
+        }
+        return this.cache.computeIfAbsent(id, this::read);
+    }
+
+    /**
+     * 書き込みに使う辞書（{@code current} の指す辞書）。未設定の場合は空。
+     */
+    public Optional<ApiCaptureDictionary> current() {
+        Path pointer = this.dir.resolve(CURRENT);
+        if (!Files.isRegularFile(pointer)) {
+            return Optional.empty();
+        }
+        try {
+            return get(Long.parseLong(Files.readString(pointer, StandardCharsets.UTF_8).strip()));
+        } catch (IOException | NumberFormatException e) {
+            log.warn("APIキャプチャ辞書の指定を読み込めませんでした: {}", pointer, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 辞書を保存する。
+     *
+     * @param activate {@code true} の場合、以降の書き込みで使う辞書にする
+     * @return 保存先
+     */
+    public Path save(ApiCaptureDictionary dictionary, boolean activate) throws IOException {
+        Files.createDirectories(this.dir);
+        Path file = path(dictionary.id());
+        Files.write(file, dictionary.content());
+        this.cache.put(dictionary.id(), Optional.of(dictionary));
+        if (activate) {
+            Files.writeString(this.dir.resolve(CURRENT), Long.toString(dictionary.id()), StandardCharsets.UTF_8);
+        }
+        return file;
+    }
+
+    private Path path(long id) {
+        return this.dir.resolve(Long.toString(id) + ".dict");
+    }
+
+    private Optional<ApiCaptureDictionary> read(long id) {
+        Path file = path(id);
+        if (!Files.isRegularFile(file)) {
+            log.warn("APIキャプチャ辞書が見つかりません: {}", file);
+            return Optional.empty();
+        }
+        try {
+            ApiCaptureDictionary dictionary = ApiCaptureDictionary.of(Files.readAllBytes(file));
+            if (dictionary.id() != id) {
+                log.warn("APIキャプチャ辞書の dictID が一致しません: {} (actual={})", file, dictionary.id());
+                return Optional.empty();
+            }
+            return Optional.of(dictionary);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("APIキャプチャ辞書を読み込めませんでした: {}", file, e);
+            return Optional.empty();
+        }
+    }
+}
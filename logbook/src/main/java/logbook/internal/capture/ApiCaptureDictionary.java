@@ -0,0 +1,63 @@
+package logbook.internal.capture;
+
+import java.util.Objects;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictTrainer;
+
+/**
+ * API キャプチャ圧縮用の学習済み zstd 辞書。
+ * <p>
+ * {@link #id()} は zstd 辞書ヘッダの dictID で、辞書付きで圧縮したフレームのヘッダにも同じ値が入る。
+ * 読み込み側はフレームまたはセグメントインデックスの dictID から
+ * {@link ApiCaptureDictionaries} を引いて展開する。
+ * </p>
+ *
+ * @param id zstd dictID（0 以外）
+ * @param content 辞書本体
+ */
+public record ApiCaptureDictionary(long id, byte[] content) {
+
+    /** 既定の辞書サイズ（zstd CLI の {@code --train} 既定値と同じ 112,640 バイト） */
+    public static final int DEFAULT_DICTIONARY_SIZE = 112_640;
+
+    public ApiCaptureDictionary {
+        Objects.requireNonNull(content);
+        if (id == 0) {
+            throw new IllegalArgumentException("dictionary id must not be 0");
+        }
+    }
+
+    /**
+     * 辞書本体から dictID を読み取って生成する。
+     *
+     * @throws IllegalArgumentException zstd 辞書形式でない場合
+     */
+    public static ApiCaptureDictionary of(byte[] content) {
+        return new ApiCaptureDictionary(Zstd.getDictIdFromDict(content), content);
+    }
+
+    /**
+     * サンプルから辞書を学習する。
+     *
+     * @param samples 1 レコード分の JSONL 行（圧縮前）
+     * @param sampleBufferSize 学習に使うサンプルの合計上限（バイト）
+     * @param dictionarySize 辞書サイズ（バイト）
+     * @throws IllegalStateException サンプル不足などで学習に失敗した場合
+     */
+    public static ApiCaptureDictionary train(Iterable<byte[]> samples, int sampleBufferSize, int dictionarySize) {
+        ZstdDictTrainer trainer = new ZstdDictTrainer(sampleBufferSize, dictionarySize);
+        for (byte[] sample : samples) {
+            if (!trainer.addSample(sample)) {
+                break;
+            }
+        }
+        byte[] content;
+        try {
+            content = trainer.trainSamples();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("zstd 辞書の学習に失敗しました（サンプル不足の可能性があります）", e);
+        }
+        return of(content);
+    }
+}
@@ -0,0 +1,131 @@
+package logbook.internal.capture;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+
+import logbook.internal.JsonMappers;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * 保存済み API キャプチャから zstd 辞書を学習するツール。
+ *
+ * <pre>
+ * java -p app -m logbook/logbook.internal.capture.ApiCaptureDictionaryTool \
+ *     --dir captures [--size 112640] [--samples-mb 64] [--no-activate]
+ * </pre>
+ * <p>
+ * 学習した辞書は {@code {captureDir}/dictionaries/{dictID}.dict} に保存し、
+ * {@code --no-activate} を指定しない限り以降の書き込みに使う辞書（{@code current}）にする。
+ * 辞書モードは設定 {@code apiCaptureDictionaryEnabled} で有効にする。
+ * 学習後、同じサンプルを辞書なし / 辞書ありの 1 レコード 1 フレームで圧縮したサイズを表示する。
+ * </p>
+ */
+public final class ApiCaptureDictionaryTool {
+
+    private static final String USAGE = "Usage: ApiCaptureDictionaryTool --dir <captureDir>"
+            + " [--size <dictBytes>] [--samples-mb <mb>] [--no-activate]";
+
+    private static final ObjectWriter JSON_WRITER = JsonMappers.MAPPER.writer();
+
+    private ApiCaptureDictionaryTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String dir = option(args, "--dir");
+        if (dir == null) {
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        int dictionarySize;
+        int sampleBufferSize;
+        try {
+            String size = option(args, "--size");
+            String samplesMb = option(args, "--samples-mb");
+            dictionarySize = size != null ? Integer.parseInt(size) : ApiCaptureDictionary.DEFAULT_DICTIONARY_SIZE;
+            sampleBufferSize = (samplesMb != null ? Integer.parseInt(samplesMb) : 64) * 1024 * 1024;
+        } catch (NumberFormatException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        boolean activate = !hasFlag(args, "--no-activate");
+
+        Path captureDir = Path.of(dir);
+        List<byte[]> samples = collectSamples(captureDir, sampleBufferSize);
+        System.out.println("samples=" + samples.size());
+
+        ApiCaptureDictionary dictionary = ApiCaptureDictionary.train(samples, sampleBufferSize, dictionarySize);
+        Path saved = new ApiCaptureDictionaries(captureDir).save(dictionary, activate);
+        System.out.println("wrote " + saved + " (dictID=" + dictionary.id() + ", " + dictionary.content().length
+                + " bytes" + (activate ? ", active" : "") + ")");
+
+        long raw = 0;
+        long plain = 0;
+        long withDictionary = 0;
+        try (ZstdCompressCtx plainContext = new ZstdCompressCtx();
+                ZstdCompressCtx dictionaryContext = new ZstdCompressCtx()) {
+            plainContext.setLevel(Zstd.defaultCompressionLevel());
+            dictionaryContext.setLevel(Zstd.defaultCompressionLevel());
+            dictionaryContext.loadDict(dictionary.content());
+            for (byte[] sample : samples) {
+                raw += sample.length;
+                plain += plainContext.compress(sample).length;
+                withDictionary += dictionaryContext.compress(sample).length;
+            }
+        }
+        System.out.printf("raw=%d plain=%d (%.2fx) dictionary=%d (%.2fx)%n",
+                raw, plain, ratio(raw, plain), withDictionary, ratio(raw, withDictionary));
+    }
+
+    /**
+     * 新しいレコードを優先し、合計が上限に収まる範囲の JSONL 行を集める。
+     */
+    static List<byte[]> collectSamples(Path captureDir, int sampleBufferSize) throws Exception {
+        ApiCaptureArchive archive = new ApiCaptureArchive(captureDir);
+        Deque<byte[]> samples = new ArrayDeque<>();
+        long[] total = new long[1];
+        archive.forEach(ApiCaptureQuery.all(), envelope -> {
+            byte[] sample = (JSON_WRITER.writeValueAsString(envelope) + "\n").getBytes(StandardCharsets.UTF_8);
+            if (sample.length > sampleBufferSize) {
+                return true;
+            }
+            samples.addLast(sample);
+            total[0] += sample.length;
+            while (total[0] > sampleBufferSize) {
+                total[0] -= samples.removeFirst().length;
+            }
+            return true;
+        });
+        return new ArrayList<>(samples);
+    }
+
+    private static double ratio(long raw, long compressed) {
+        return compressed > 0 ? (double) raw / compressed : 0.0;
+    }
+
+    private static String option(String[] args, String name) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (name.equals(args[i])) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasFlag(String[] args, String flag) {
+        for (String arg : args) {
+            if (flag.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
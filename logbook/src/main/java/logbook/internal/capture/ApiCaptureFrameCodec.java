@@ -0,0 +1,89 @@
+package logbook.internal.capture;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+
+/**
+ * API キャプチャの 1 レコード = 1 zstd フレーム圧縮。
+ * <p>
+ * 圧縮コンテキストと出力バッファはセグメントを開いている間再利用する。
+ * 辞書を指定した場合はフレームヘッダに dictID が入り、インデックスヘッダにも同じ値を記録する。
+ * 単一スレッド（ライター worker）で使う前提。
+ * </p>
+ */
+final class ApiCaptureFrameCodec implements AutoCloseable {
+
+    private final ZstdCompressCtx context;
+    private final long dictionaryId;
+    private byte[] output = new byte[0];
+
+    /**
+     * @param dictionary 圧縮に使う辞書（辞書なしの場合は {@code null}）
+     */
+    ApiCaptureFrameCodec(ApiCaptureDictionary dictionary) {
+        this.context = new ZstdCompressCtx();
+        this.context.setLevel(Zstd.defaultCompressionLevel());
+        if (dictionary != null) {
+            this.context.loadDict(dictionary.content());
+            this.dictionaryId = dictionary.id();
+        } else {
+            this.dictionaryId = 0L;
+        }
+    }
+
+    /**
+     * 使用中の dictID（辞書なしは 0）。
+     */
+    long dictionaryId() {
+        return this.dictionaryId;
+    }
+
+    /**
+     * {@code src[0, length)} を 1 フレームに圧縮し、結果を {@link #buffer()} の先頭に置く。
+     *
+     * @return フレーム長
+     */
+    int compress(byte[] src, int length) {
+        int bound = (int) Zstd.compressBound(length);
+        if (this.output.length < bound) {
+            this.output = new byte[bound];
+        }
+        return this.context.compressByteArray(this.output, 0, this.output.length, src, 0, length);
+    }
+
+    /**
+     * 直前の {@link #compress(byte[], int)} の出力先。
+     */
+    byte[] buffer() {
+        return this.output;
+    }
+
+    @Override
+    public void close() {
+        this.context.close();
+    }
+
+    /**
+     * 連結フレームを展開するストリームを返す。
+     *
+     * @param dictionary フレームの圧縮に使われた辞書（辞書なしの場合は {@code null}）
+     */
+    static InputStream newDecoderInputStream(InputStream in, ApiCaptureDictionary dictionary) throws IOException {
+        ZstdInputStreamNoFinalizer decoder = new ZstdInputStreamNoFinalizer(in);
+        if (dictionary != null) {
+            decoder.setDict(dictionary.content());
+        }
+        return decoder;
+    }
+
+    /**
+     * フレームヘッダの dictID（辞書なし・判定不能の場合は 0）。
+     */
+    static long dictionaryIdOf(byte[] frame) {
+        return Zstd.getDictIdFromFrame(frame);
+    }
+}
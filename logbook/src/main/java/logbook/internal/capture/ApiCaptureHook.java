@@ -14,15 +14,21 @@ public final class ApiCaptureHook {
     private ApiCaptureHook() {
     }
 
+    /**
+     * 記録が有効かつ対象 URI かどうか（ボディを保持する必要があるか）を返す。
+     *
+     * @param uri リクエスト URI
+     * @return 記録対象の場合 true
+     */
+    public static boolean wantsBody(String uri) {
+        return ApiCaptureGate.isCaptureActive() && ApiCapturePolicy.shouldCapture(uri);
+    }
+
     /**
      * 記録が有効かつ対象 URI の場合、ボディ原文をキューへ追加する。
      */
     public static void captureIfNeeded(RequestMetaData request, ResponseMetaData response) {
-        if (!ApiCaptureGate.isCaptureActive()) {
-            return;
-        }
-        String uri = request.getRequestURI();
-        if (!ApiCapturePolicy.shouldCapture(uri)) {
+        if (!wantsBody(request.getRequestURI())) {
             return;
         }
         String requestBody = ApiCaptureBodies.readRequestBody(request);
@@ -0,0 +1,79 @@
+package logbook.internal.capture;
+
+import java.time.Instant;
+
+/**
+ * {@link ApiCaptureArchive} の検索条件。
+ * <p>
+ * 各条件は {@code null} で無条件。すべての条件を AND で評価する。
+ * </p>
+ *
+ * @param uriPath URI パス（完全一致。末尾が {@code *} の場合は前方一致）
+ * @param from 記録時刻の下限（含む）
+ * @param to 記録時刻の上限（含まない）
+ * @param requestId アクセスログと同一の相関 ID
+ */
+public record ApiCaptureQuery(
+        String uriPath,
+        Instant from,
+        Instant to,
+        String requestId) {
+
+    /**
+     * 無条件（全件）。
+     */
+    public static ApiCaptureQuery all() {
+        return new ApiCaptureQuery(null, null, null, null);
+    }
+
+    public ApiCaptureQuery withUriPath(String uriPath) {
+        return new ApiCaptureQuery(uriPath, this.from, this.to, this.requestId);
+    }
+
+    public ApiCaptureQuery withRange(Instant from, Instant to) {
+        return new ApiCaptureQuery(this.uriPath, from, to, this.requestId);
+    }
+
+    public ApiCaptureQuery withRequestId(String requestId) {
+        return new ApiCaptureQuery(this.uriPath, this.from, this.to, requestId);
+    }
+
+    /**
+     * URI パス条件に一致するか。
+     */
+    boolean matchesUriPath(String path) {
+        if (this.uriPath == null) {
+            return true;
+        }
+        if (path == null) {
+            return false;
+        }
+        if (this.uriPath.endsWith("*")) {
+            return path.startsWith(this.uriPath.substring(0, this.uriPath.length() - 1));
+        }
+        return this.uriPath.equals(path);
+    }
+
+    /**
+     * 記録時刻（epoch ミリ秒）が範囲内か。
+     */
+    boolean matchesTime(long epochMilli) {
+        if (this.from != null && epochMilli < this.from.toEpochMilli()) {
+            return false;
+        }
+        return this.to == null || epochMilli < this.to.toEpochMilli();
+    }
+
+    boolean matchesRequestId(String id) {
+        return this.requestId == null || this.requestId.equals(id);
+    }
+
+    /**
+     * 全走査時にエンベロープ単位で判定する。
+     */
+    boolean matches(ApiCaptureEnvelope envelope) {
+        return matchesUriPath(envelope.uriPath())
+                && (envelope.capturedAt() == null || matchesTime(envelope.capturedAt().toEpochMilli()))
+                && matchesRequestId(envelope.requestId());
+    }
+}
@@ -0,0 +1,117 @@
+package logbook.internal.capture;
+
+import java.io.BufferedOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+import logbook.internal.JsonMappers;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * 保存済み API キャプチャを条件で抽出し、JSONL で標準出力へ書き出すツール。
+ *
+ * <pre>
+ * java -p app -m logbook/logbook.internal.capture.ApiCaptureQueryTool \
+ *     --dir captures --uri /kcsapi/api_req_map/next --from 2026-07-12T21:00 --to 2026-07-12T22:00
+ * </pre>
+ * <p>
+ * 時刻は ISO-8601 の Instant（{@code 2026-07-12T12:00:00Z}）、ローカル日時（{@code 2026-07-12T21:00}）、
+ * 日付（{@code 2026-07-12}、その日の 0 時）のいずれか。ローカル日時はシステム既定タイムゾーンで解釈する。
+ * </p>
+ */
+public final class ApiCaptureQueryTool {
+
+    private static final String USAGE = "Usage: ApiCaptureQueryTool --dir <captureDir>"
+            + " [--uri <path | prefix*>] [--from <time>] [--to <time>] [--request-id <id>] [--limit <n>] [--count]";
+
+    private static final ObjectWriter JSON_WRITER = JsonMappers.MAPPER.writer()
+            .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+
+    private ApiCaptureQueryTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String dir = option(args, "--dir");
+        if (dir == null) {
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        ApiCaptureQuery query;
+        long limit;
+        try {
+            query = new ApiCaptureQuery(
+                    option(args, "--uri"),
+                    parseTime(option(args, "--from")),
+                    parseTime(option(args, "--to")),
+                    option(args, "--request-id"));
+            String limitValue = option(args, "--limit");
+            limit = limitValue != null ? Long.parseLong(limitValue) : Long.MAX_VALUE;
+            if (limit < 0) {
+                throw new NumberFormatException("--limit must not be negative: " + limitValue);
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        boolean countOnly = hasFlag(args, "--count");
+
+        long[] matched = new long[1];
+        ApiCaptureArchive archive = new ApiCaptureArchive(Path.of(dir));
+        try (PrintStream out = new PrintStream(new BufferedOutputStream(System.out), false, StandardCharsets.UTF_8)) {
+            archive.forEach(query, envelope -> {
+                // 上限に達していれば書き出さずに止める（--limit 0 は 1 件も出さない）
+                if (matched[0] >= limit) {
+                    return false;
+                }
+                if (!countOnly) {
+                    out.println(JSON_WRITER.writeValueAsString(envelope));
+                }
+                return ++matched[0] < limit;
+            });
+            if (countOnly) {
+                out.println(matched[0]);
+            }
+        }
+    }
+
+    static Instant parseTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.endsWith("Z") || value.matches(".*[+-]\\d{2}:\\d{2}$")) {
+            return Instant.parse(value);
+        }
+        if (value.indexOf('T') < 0) {
+            return LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        }
+        return LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static String option(String[] args, String name) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (name.equals(args[i])) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasFlag(String[] args, String flag) {
+        for (String arg : args) {
+            if (flag.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
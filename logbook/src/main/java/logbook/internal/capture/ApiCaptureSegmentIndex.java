@@ -0,0 +1,258 @@
+package logbook.internal.capture;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * API キャプチャセグメントのサイドカーインデックス（{@code {セグメント名}.idx}）。
+ * <p>
+ * セグメントは 1 レコード = 1 zstd フレームで書かれるため、
+ * インデックスのオフセットからフレーム単位でランダムアクセスできる。
+ * 形式は追記専用のバイナリで、ヘッダ（magic, version, v2 以降は圧縮辞書の dictID）の後に
+ * 次の 2 種類のエントリが並ぶ。
+ * </p>
+ * <ul>
+ * <li>{@code 'P'}: URI パス辞書（pathId, uriPath）</li>
+ * <li>{@code 'R'}: レコード（offset, length, capturedAt epoch ミリ秒, pathId, requestId）</li>
+ * </ul>
+ * <p>
+ * 異常終了で末尾が欠けた場合は完全なエントリまでを有効とし、
+ * 書き込み再開時に欠けた末尾を切り詰める。インデックスに載らない範囲は
+ * 読み込み側（{@link ApiCaptureArchive}）が全走査で補う。
+ * </p>
+ */
+final class ApiCaptureSegmentIndex {
+
+    /** {@code "LBCI"} */
+    static final int MAGIC = 0x4C424349;
+
+    static final short VERSION = 2;
+
+    /** 辞書 ID を持たない初版 */
+    static final short VERSION_1 = 1;
+
+    static final String SUFFIX = ".idx";
+
+    private static final int HEADER_LENGTH_V1 = Integer.BYTES + Short.BYTES;
+
+    private static final byte TAG_PATH = 'P';
+
+    private static final byte TAG_RECORD = 'R';
+
+    private static final ApiCaptureSegmentIndex EMPTY = new ApiCaptureSegmentIndex(List.of(), List.of(), 0L, 0);
+
+    private final List<Entry> entries;
+    private final List<String> paths;
+    private final long dictionaryId;
+    private final long validLength;
+
+    private ApiCaptureSegmentIndex(List<Entry> entries, List<String> paths, long dictionaryId, long validLength) {
+        this.entries = entries;
+        this.paths = paths;
+        this.dictionaryId = dictionaryId;
+        this.validLength = validLength;
+    }
+
+    /**
+     * セグメントに対応するインデックスのパス。
+     */
+    static Path indexPath(Path segment) {
+        return segment.resolveSibling(segment.getFileName().toString() + SUFFIX);
+    }
+
+    /**
+     * インデックスを読み込む。存在しない・ヘッダ不一致の場合は空を返す。
+     */
+    static ApiCaptureSegmentIndex load(Path indexFile) throws IOException {
+        if (!Files.isRegularFile(indexFile)) {
+            return EMPTY;
+        }
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        if (buf.remaining() < HEADER_LENGTH_V1 || buf.getInt() != MAGIC) {
+            return EMPTY;
+        }
+        short version = buf.getShort();
+        long dictionaryId;
+        if (version == VERSION_1) {
+            dictionaryId = 0L;
+        } else if (version == VERSION && buf.remaining() >= Long.BYTES) {
+            dictionaryId = buf.getLong();
+        } else {
+            return EMPTY;
+        }
+        List<Entry> entries = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        long valid = buf.position();
+        try {
+            while (buf.hasRemaining()) {
+                byte tag = buf.get();
+                if (tag == TAG_PATH) {
+                    int id = buf.getInt();
+                    String path = readString(buf);
+                    if (id != paths.size()) {
+                        break;
+                    }
+                    paths.add(path);
+                } else if (tag == TAG_RECORD) {
+                    long offset = buf.getLong();
+                    int length = buf.getInt();
+                    long capturedAt = buf.getLong();
+                    int pathId = buf.getInt();
+                    String requestId = readString(buf);
+                    entries.add(new Entry(offset, length, capturedAt, pathId, requestId));
+                } else {
+                    break;
+                }
+                valid = buf.position();
+            }
+        } catch (BufferUnderflowException e) {
+            // 末尾の欠けたエントリは無視する
+        }
+        return new ApiCaptureSegmentIndex(
+                Collections.unmodifiableList(entries),
+                Collections.unmodifiableList(paths),
+                dictionaryId,
+                valid);
+    }
+
+    /**
+     * 書き込み用に開く。既存インデックスは有効な末尾まで切り詰めて追記する。
+     * <p>
+     * 既存インデックスと dictID が異なるセグメントへは追記しないこと（呼び出し側で part を切り替える）。
+     * </p>
+     *
+     * @param indexFile インデックスファイル
+     * @param segmentSize 現在のセグメントサイズ（0 の場合は既存インデックスを破棄する）
+     * @param dictionaryId 新規作成時にヘッダへ記録する dictID（辞書なしは 0）
+     */
+    static Writer openWriter(Path indexFile, long segmentSize, long dictionaryId) throws IOException {
+        ApiCaptureSegmentIndex existing = segmentSize > 0 ? load(indexFile) : EMPTY;
+        FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            channel.truncate(existing.validLength);
+            channel.position(existing.validLength);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            if (existing.validLength == 0) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeLong(dictionaryId);
+            }
+            return new Writer(out, existing.paths);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * オフセット昇順のレコードエントリ。
+     */
+    List<Entry> entries() {
+        return this.entries;
+    }
+
+    /**
+     * pathId に対応する URI パス。未知の ID は {@code null}。
+     */
+    String uriPath(int pathId) {
+        return pathId >= 0 && pathId < this.paths.size() ? this.paths.get(pathId) : null;
+    }
+
+    /**
+     * セグメントの圧縮に使った dictID（辞書なし・インデックスなしは 0）。
+     */
+    long dictionaryId() {
+        return this.dictionaryId;
+    }
+
+    boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = Short.toUnsignedInt(buf.getShort());
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * インデックスの 1 レコード。
+     *
+     * @param offset セグメント内のフレーム開始位置
+     * @param length フレーム長（バイト）
+     * @param capturedAt 記録時刻（epoch ミリ秒）
+     * @param pathId URI パス辞書の ID
+     * @param requestId アクセスログと同一の相関 ID
+     */
+    record Entry(long offset, int length, long capturedAt, int pathId, String requestId) {
+
+        long end() {
+            return this.offset + this.length;
+        }
+    }
+
+    /**
+     * インデックスの追記。{@link ApiCaptureSegmentStore} の worker スレッドからのみ使う。
+     */
+    static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> pathIds = new HashMap<>();
+
+        private Writer(DataOutputStream out, List<String> paths) {
+            this.out = out;
+            for (int i = 0; i < paths.size(); i++) {
+                this.pathIds.put(paths.get(i), i);
+            }
+        }
+
+        void append(long offset, int length, long capturedAt, String uriPath, String requestId) throws IOException {
+            Integer pathId = this.pathIds.get(uriPath);
+            if (pathId == null) {
+                pathId = this.pathIds.size();
+                this.out.writeByte(TAG_PATH);
+                this.out.writeInt(pathId);
+                writeString(uriPath);
+                this.pathIds.put(uriPath, pathId);
+            }
+            this.out.writeByte(TAG_RECORD);
+            this.out.writeLong(offset);
+            this.out.writeInt(length);
+            this.out.writeLong(capturedAt);
+            this.out.writeInt(pathId);
+            writeString(requestId);
+        }
+
+        void flush() throws IOException {
+            this.out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.out.close();
+        }
+
+        private void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, 0xFFFF);
+            this.out.writeShort(length);
+            this.out.write(bytes, 0, length);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package logbook.internal.capture;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
@@ -10,10 +11,10 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.jetty.compression.zstandard.ZstandardCompression;
 
 import logbook.internal.JsonMappers;
 import tools.jackson.core.StreamWriteFeature;
@@ -22,7 +23,11 @@ import tools.jackson.databind.ObjectWriter;
 /**
  * API キャプチャ専用の日次セグメント（JSONL + zstd）書き込み。
  * <p>
- * {@link ApiCaptureRecord} を {@link ApiCaptureEnvelope} に詰め、ストリームへ直書きする。
+ * {@link ApiCaptureRecord} を {@link ApiCaptureEnvelope} に詰め、1 レコード = 1 zstd フレームとして追記する。
+ * 連結フレームのため {@code zstd -d} でそのまま展開でき、各フレームの位置は
+ * {@link ApiCaptureSegmentIndex} のサイドカーインデックスに記録する。
+ * 辞書モードでは {@link ApiCaptureDictionaries#current()} の辞書で圧縮し、dictID をインデックスヘッダに記録する。
+ * 既存 part と dictID が異なる場合は追記せず次の part へ切り替える。
  * 日付変更、または同一 part への書き込み件数が上限以上のときは<strong>次の書き込み</strong>で part を切り替える。
  * part 件数はプロセス内メモリ上の累計で、セグメント close 後も同一 part では引き継ぐ。
  * プロセス再起動時は 0 から数え直す（ディスク上の既存行は見ない）。
@@ -41,9 +46,9 @@ final class ApiCaptureSegmentStore {
     private static final ObjectWriter JSON_WRITER = JsonMappers.MAPPER.writer()
             .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
 
-    private final ZstandardCompression zstandard;
     private final Supplier<LocalDate> today;
     private final int maxSegmentRecords;
+    private final BooleanSupplier useDictionary;
 
     private LocalDate currentDate;
     private int currentPart;
@@ -51,7 +56,13 @@ final class ApiCaptureSegmentStore {
     private int partRecords;
     private Path currentSegmentPath;
     private OutputStream fileOutput;
-    private OutputStream compressedOutput;
+    private ApiCaptureSegmentIndex.Writer indexWriter;
+    private ApiCaptureFrameCodec codec;
+    private ApiCaptureDictionaries dictionaries;
+    /** 次に書くフレームのセグメント内オフセット */
+    private long currentOffset;
+    /** 1 レコード分の圧縮前 JSONL（レコードごとに再利用） */
+    private final FrameBuffer frameBuffer = new FrameBuffer();
 
     ApiCaptureSegmentStore() {
         this(LocalDate::now, MAX_SEGMENT_RECORDS);
@@ -69,17 +80,21 @@ final class ApiCaptureSegmentStore {
      * @param maxSegmentRecords セグメント回転の件数上限（テスト用に縮小可）
      */
     ApiCaptureSegmentStore(Supplier<LocalDate> today, int maxSegmentRecords) {
+        this(today, maxSegmentRecords, () -> false);
+    }
+
+    /**
+     * @param today テスト用に日付を注入する
+     * @param maxSegmentRecords セグメント回転の件数上限（テスト用に縮小可）
+     * @param useDictionary セグメントを開くときに辞書モードで書くか
+     */
+    ApiCaptureSegmentStore(Supplier<LocalDate> today, int maxSegmentRecords, BooleanSupplier useDictionary) {
         this.today = Objects.requireNonNull(today);
         if (maxSegmentRecords <= 0) {
             throw new IllegalArgumentException("maxSegmentRecords must be positive");
         }
         this.maxSegmentRecords = maxSegmentRecords;
-        try {
-            this.zstandard = new ZstandardCompression();
-            this.zstandard.start();
-        } catch (Exception e) {
-            throw new IllegalStateException("Zstandard の初期化に失敗しました", e);
-        }
+        this.useDictionary = Objects.requireNonNull(useDictionary);
     }
 
     /**
@@ -93,36 +108,60 @@ final class ApiCaptureSegmentStore {
         Files.createDirectories(captureDir.resolve("segments"));
         boolean opened = openIfNeeded(captureDir);
         ApiCaptureEnvelope envelope = ApiCaptureEnvelope.from(record, Instant.now());
-        JSON_WRITER.writeValue(this.compressedOutput, envelope);
-        this.compressedOutput.write('\n');
+        this.frameBuffer.reset();
+        JSON_WRITER.writeValue(this.frameBuffer, envelope);
+        this.frameBuffer.write('\n');
+        int length = this.codec.compress(this.frameBuffer.array(), this.frameBuffer.size());
+        this.fileOutput.write(this.codec.buffer(), 0, length);
+        this.indexWriter.append(
+                this.currentOffset,
+                length,
+                envelope.capturedAt().toEpochMilli(),
+                envelope.uriPath(),
+                envelope.requestId());
+        this.currentOffset += length;
         this.partRecords++;
         return opened;
     }
 
     boolean isOpen() {
-        return this.compressedOutput != null;
+        return this.fileOutput != null;
     }
 
+    /**
+     * フレームは書き込みごとに完結しているため、バッファ中のインデックスのみ flush する。
+     */
     void flushEncoderQuietly() {
-        if (this.compressedOutput == null) {
+        if (this.indexWriter == null) {
             return;
         }
         try {
-            this.compressedOutput.flush();
+            this.indexWriter.flush();
         } catch (IOException e) {
-            log.debug("APIキャプチャエンコーダの flush に失敗しました", e);
+            log.debug("APIキャプチャインデックスの flush に失敗しました", e);
         }
     }
 
     void closeQuietly() {
-        if (this.compressedOutput != null) {
+        if (this.indexWriter != null) {
+            try {
+                this.indexWriter.close();
+            } catch (IOException e) {
+                log.debug("APIキャプチャインデックスのクローズに失敗しました", e);
+            }
+        }
+        if (this.fileOutput != null) {
             try {
-                this.compressedOutput.close();
+                this.fileOutput.close();
             } catch (IOException e) {
                 log.debug("APIキャプチャセグメントのクローズに失敗しました", e);
             }
         }
-        this.compressedOutput = null;
+        if (this.codec != null) {
+            this.codec.close();
+        }
+        this.indexWriter = null;
+        this.codec = null;
         this.fileOutput = null;
         this.currentSegmentPath = null;
         // partRecords は維持（同一 part への再 APPEND 時に件数天井へ引き継ぐ）
@@ -142,7 +181,7 @@ final class ApiCaptureSegmentStore {
         if (date == null) {
             date = LocalDate.now(ZoneId.systemDefault());
         }
-        if (this.compressedOutput != null) {
+        if (this.fileOutput != null) {
             if (date.equals(this.currentDate)
                     && this.partRecords < this.maxSegmentRecords) {
                 return false;
@@ -165,19 +204,54 @@ final class ApiCaptureSegmentStore {
         if (this.currentPart <= 0) {
             this.currentPart = findLatestPart(segmentsDir, baseName);
         }
+        ApiCaptureDictionary dictionary = selectDictionary(captureDir);
+        long dictionaryId = dictionary != null ? dictionary.id() : 0L;
         this.currentSegmentPath = segmentsDir.resolve(partFileName(baseName, this.currentPart));
+        while (Files.exists(this.currentSegmentPath)
+                && ApiCaptureSegmentIndex.load(ApiCaptureSegmentIndex.indexPath(this.currentSegmentPath))
+                        .dictionaryId() != dictionaryId) {
+            // 辞書の異なるフレームを同一セグメントに混在させない
+            this.currentPart = Math.max(this.currentPart, 1) + 1;
+            this.partRecords = 0;
+            this.currentSegmentPath = segmentsDir.resolve(partFileName(baseName, this.currentPart));
+        }
         boolean append = Files.exists(this.currentSegmentPath);
         this.fileOutput = Files.newOutputStream(
                 this.currentSegmentPath,
                 StandardOpenOption.CREATE,
                 StandardOpenOption.WRITE,
                 append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
-        this.compressedOutput = this.zstandard.newEncoderOutputStream(
-                this.fileOutput,
-                this.zstandard.getDefaultEncoderConfig());
+        this.currentOffset = append ? Files.size(this.currentSegmentPath) : 0L;
+        try {
+            this.codec = new ApiCaptureFrameCodec(dictionary);
+            this.indexWriter = ApiCaptureSegmentIndex.openWriter(
+                    ApiCaptureSegmentIndex.indexPath(this.currentSegmentPath),
+                    this.currentOffset,
+                    dictionaryId);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly();
+            throw e;
+        }
         return true;
     }
 
+    /**
+     * 辞書モードなら {@code current} の辞書を返す。未設定・読み込み失敗時は辞書なしで書く。
+     */
+    private ApiCaptureDictionary selectDictionary(Path captureDir) {
+        if (!this.useDictionary.getAsBoolean()) {
+            return null;
+        }
+        if (this.dictionaries == null || !this.dictionaries.isFor(captureDir)) {
+            this.dictionaries = new ApiCaptureDictionaries(captureDir);
+        }
+        ApiCaptureDictionary dictionary = this.dictionaries.current().orElse(null);
+        if (dictionary == null) {
+            log.warn("APIキャプチャ辞書が未設定のため辞書なしで記録します: {}", captureDir);
+        }
+        return dictionary;
+    }
+
     static int findLatestPart(Path segmentsDir, String baseName) throws IOException {
         Path first = segmentsDir.resolve(baseName + ".jsonl.zst");
         if (!Files.exists(first)) {
@@ -201,4 +275,18 @@ final class ApiCaptureSegmentStore {
         }
         return baseName + ".part" + part + ".jsonl.zst";
     }
+
+    /**
+     * 内部配列をコピーせずに書き出すための {@link ByteArrayOutputStream}。
+     */
+    private static final class FrameBuffer extends ByteArrayOutputStream {
+
+        FrameBuffer() {
+            super(8192);
+        }
+
+        byte[] array() {
+            return this.buf;
+        }
+    }
 }
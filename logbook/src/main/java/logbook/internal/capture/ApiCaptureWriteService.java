@@ -1,6 +1,7 @@
 package logbook.internal.capture;
 
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -10,6 +11,7 @@ import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import logbook.bean.AppConfig;
+import logbook.internal.metrics.MetricsRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -69,14 +71,27 @@ final class ApiCaptureWriteService {
     }
 
     /**
-     * 本番用インスタンスを生成する。
+     * 本番用インスタンスを生成する。キュー長は {@code api_capture_queue_depth} ゲージとして公開する。
      */
     static ApiCaptureWriteService createDefault() {
-        return new ApiCaptureWriteService(
+        ApiCaptureWriteService service = new ApiCaptureWriteService(
                 ApiCaptureGate::isCaptureActive,
                 () -> Path.of(AppConfig.get().getApiCaptureDir()),
                 ApiCaptureFlushPolicy.DEFAULT,
-                System::nanoTime);
+                System::nanoTime,
+                new ApiCaptureSegmentStore(
+                        LocalDate::now,
+                        ApiCaptureSegmentStore.MAX_SEGMENT_RECORDS,
+                        () -> AppConfig.get().isApiCaptureDictionaryEnabled()));
+        MetricsRegistry.gauge("api_capture_queue_depth", service::queueDepth);
+        return service;
+    }
+
+    /**
+     * 未処理の命令数（レコード・flush・shutdown）。
+     */
+    int queueDepth() {
+        return this.queue.size();
     }
 
     private void startWorker() {
@@ -11,8 +11,6 @@ import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.stream.Collectors;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -21,7 +19,6 @@ import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.SortedList;
-import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.control.Button;
@@ -130,21 +127,17 @@ public class AirBaseController extends WindowController {
     /** 中隊 */
     private ObservableList<Plane> planes = FXCollections.observableArrayList();
 
-    private Timeline timeline;
-
-    /** 更新検知用 ハッシュ・コード */
-    private int hashCode;
+    /** 画面の更新 */
+    private PulseScheduler.Task updateTask;
 
     @FXML
     void initialize() {
         try {
             TableTool.setVisible(this.planeTable, this.getClass() + "#" + "planeTable");
             // SplitPaneの分割サイズ
-            Timeline x = new Timeline();
-            x.getKeyFrames().add(new KeyFrame(Duration.millis(1), (e) -> {
+            PulseScheduler.runLater(() -> {
                 Tools.Controls.setSplitWidth(this.splitPane, this.getClass() + "#" + "splitPane");
-            }));
-            x.play();
+            });
             this.areaTable.setShowRoot(false);
             this.airBase.setCellValueFactory(new TreeItemPropertyValueFactory<>("name"));
             this.actionKind.setCellValueFactory(new TreeItemPropertyValueFactory<>("actionKind"));
@@ -169,12 +162,9 @@ public class AirBaseController extends WindowController {
                     .selectedItemProperty()
                     .addListener(this::plane);
 
-            this.timeline = new Timeline();
-            this.timeline.setCycleCount(Timeline.INDEFINITE);
-            this.timeline.getKeyFrames().add(new KeyFrame(
-                    javafx.util.Duration.seconds(1),
-                    this::update));
-            this.timeline.play();
+            // 基地航空隊が変わった時だけ更新する
+            this.updateTask = PulseScheduler.schedule("AirBaseController", Duration.seconds(1),
+                    PulseScheduler.showing(this), () -> Mapinfo.get().getAirBase().hashCode(), this::update);
             this.setAirBase();
         } catch (Exception e) {
             LoggerHolder.get().error("FXMLの初期化に失敗しました", e);
@@ -224,28 +214,17 @@ public class AirBaseController extends WindowController {
 
     /**
      * 画面の更新
-     *
-     * @param e ActionEvent
      */
-    void update(ActionEvent e) {
-        int hashCode = Mapinfo.get()
-                .getAirBase()
-                .hashCode();
-        if (this.hashCode != hashCode) {
-            int selection = this.areaTable.getSelectionModel().getSelectedIndex();
-            this.setAirBase();
-            this.areaTable.getSelectionModel().select(selection);
-            this.hashCode = hashCode;
-        }
+    void update() {
+        int selection = this.areaTable.getSelectionModel().getSelectedIndex();
+        this.setAirBase();
+        this.areaTable.getSelectionModel().select(selection);
     }
 
     /**
      * 基地航空隊を設定する
      */
     private void setAirBase() {
-        this.hashCode = Mapinfo.get()
-                .getAirBase()
-                .hashCode();
         // ルート要素(非表示)
         TreeItem<AreaTable> root = new TreeItem<AreaTable>(new AreaTable());
         this.areaTable.setRoot(root);
@@ -402,8 +381,8 @@ public class AirBaseController extends WindowController {
      */
     @Override
     protected void onWindowHidden(WindowEvent e) {
-        if (this.timeline != null) {
-            this.timeline.stop();
+        if (this.updateTask != null) {
+            this.updateTask.cancel();
         }
     }
 
@@ -11,9 +11,6 @@ import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
@@ -177,8 +174,8 @@ public class BattleDetail extends WindowController {
     /** 演習かどうか */
     private boolean isPractice;
 
-    /** 周期タイマー（後方互換性のため保持、使用は非推奨） */
-    private Timeline timeline = new Timeline();
+    /** 周期的な更新（後方互換性のため保持、使用は非推奨） */
+    private PulseScheduler.Task intervalTask;
 
     /** ハッシュ・コード */
     private int hashCode;
@@ -198,10 +195,12 @@ public class BattleDetail extends WindowController {
      */
     @Deprecated
     void setInterval(Supplier<BattleLog> supplier) {
-        this.timeline.setCycleCount(Animation.INDEFINITE);
-        this.timeline.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(1000),
-                e -> this.setData(supplier.get())));
-        this.timeline.play();
+        if (this.intervalTask != null) {
+            this.intervalTask.cancel();
+        }
+        // 同じ戦闘の場合は setData() が何もしないため、入力の比較はしない
+        this.intervalTask = PulseScheduler.schedule("BattleDetail", javafx.util.Duration.millis(1000),
+                PulseScheduler.showing(this), null, () -> this.setData(supplier.get()));
     }
 
     /**
@@ -935,8 +934,9 @@ public class BattleDetail extends WindowController {
      */
     @Override
     protected void onWindowHidden(WindowEvent e) {
-        if (this.timeline != null) {
-            this.timeline.stop();
+        if (this.intervalTask != null) {
+            this.intervalTask.cancel();
+            this.intervalTask = null;
         }
         // イベント駆動更新のリスナーを解除
         if (this.battleResultUpdateListener != null) {
@@ -18,8 +18,6 @@ import java.util.stream.Collectors;
 
 import org.controlsfx.control.CheckComboBox;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
@@ -53,7 +51,6 @@ import javafx.scene.control.cell.TreeItemPropertyValueFactory;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.VBox;
 import javafx.util.Callback;
-import javafx.util.Duration;
 import logbook.bean.AppViewConfig;
 import logbook.bean.AppViewConfig.BattleLogConfig;
 import logbook.bean.BattleLog;
@@ -250,12 +247,10 @@ public class BattleLogController extends WindowController {
             TableTool.setVisible(this.detail, this.getClass().toString() + "#" + "detail");
             TableTool.setVisible(this.aggregate, this.getClass().toString() + "#" + "aggregate");
             // SplitPaneの分割サイズ
-            Timeline x = new Timeline();
-            x.getKeyFrames().add(new KeyFrame(Duration.millis(1), (e) -> {
+            PulseScheduler.runLater(() -> {
                 Tools.Controls.setSplitWidth(this.splitPane1, this.getClass() + "#" + "splitPane1");
                 Tools.Controls.setSplitWidth(this.splitPane2, this.getClass() + "#" + "splitPane2");
-            }));
-            x.play();
+            });
             // 統計
             this.collect.setShowRoot(false);
 
@@ -7,8 +7,6 @@ import java.util.Comparator;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
@@ -31,7 +29,6 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyEvent;
-import javafx.util.Duration;
 import logbook.bean.AppConfig;
 import logbook.bean.AppSeaAreaExp;
 import logbook.bean.AppSeaAreaExpCollection;
@@ -131,11 +128,9 @@ public class CalcExpController extends WindowController {
     @FXML
     void initialize() {
         // SplitPaneの分割サイズ
-        Timeline x = new Timeline();
-        x.getKeyFrames().add(new KeyFrame(Duration.millis(1), (e) -> {
+        PulseScheduler.runLater(() -> {
             Tools.Controls.setSplitWidth(this.splitPane, this.getClass() + "#" + "splitPane");
-        }));
-        x.play();
+        });
         // Spinnerに最小値最大値現在値を設定
         this.nowLv.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, ExpTable.maxLv(), 1, 1));
         this.goalLv.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, ExpTable.maxLv(), 1, 1));
@@ -21,10 +21,6 @@ import java.util.concurrent.TimeUnit;
 
 import javax.imageio.ImageIO;
 
-import javafx.animation.Animation;
-import javafx.animation.Animation.Status;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ObservableValue;
@@ -139,7 +135,7 @@ public class CaptureController extends WindowController {
     private ScreenCapture sc;
 
     /** 周期キャプチャ */
-    private Timeline timeline = new Timeline();
+    private PulseScheduler.Task captureTask;
 
     /** 動画キャプチャ ステータス */
     private boolean processRunning;
@@ -151,7 +147,7 @@ public class CaptureController extends WindowController {
     private Path directPath;
 
     /** 出撃連動動画キャプチャ用チェック */
-    private Timeline autoBattleCaptureTimeline;
+    private PulseScheduler.Task autoBattleCaptureTask;
 
     @FXML
     void initialize() {
@@ -198,18 +194,17 @@ public class CaptureController extends WindowController {
 
     private void toggleAutoBattleCapture(ObservableValue<? extends Boolean> ob, Boolean prev, Boolean value) {
         if (value) {
-            if (this.autoBattleCaptureTimeline == null) {
+            if (this.autoBattleCaptureTask == null) {
                 // 本来は observer pattern を使いたいところだが Java 11 になってからにする
                 this.mapInfoLastModified = Mapinfo.get().getLastModified();
-                this.autoBattleCaptureTimeline = new Timeline();
-                this.autoBattleCaptureTimeline.setCycleCount(Timeline.INDEFINITE);
-                this.autoBattleCaptureTimeline.getKeyFrames().add(new KeyFrame(Duration.seconds(3), this::checkBattleStartEnd));
-                this.autoBattleCaptureTimeline.play();
+                // 出撃から90秒の経過も見るため、入力の比較はしない
+                this.autoBattleCaptureTask = PulseScheduler.schedule("CaptureController#autoBattleCapture",
+                        Duration.seconds(3), null, null, () -> this.checkBattleStartEnd(null));
             }
         } else {
-            if (this.autoBattleCaptureTimeline != null) {
-                this.autoBattleCaptureTimeline.stop();
-                this.autoBattleCaptureTimeline = null;
+            if (this.autoBattleCaptureTask != null) {
+                this.autoBattleCaptureTask.cancel();
+                this.autoBattleCaptureTask = null;
             }
         }
     }
@@ -337,7 +332,7 @@ public class CaptureController extends WindowController {
 
     @FXML
     void capture(ActionEvent event) {
-        boolean running = this.timeline.getStatus() == Status.RUNNING;
+        boolean running = this.captureTask != null;
         if (running) {
             this.stopTimeLine();
         }
@@ -354,12 +349,9 @@ public class CaptureController extends WindowController {
                 this.setCatureButtonState(ButtonState.START);
             } else {
                 // キャプチャ中で無ければ開始する
-                this.timeline.setCycleCount(Animation.INDEFINITE);
-                this.timeline.getKeyFrames().clear();
-                this.timeline.getKeyFrames()
-                        .add(new KeyFrame(javafx.util.Duration.millis(100),
-                                this::captureAction));
-                this.timeline.play();
+                // キャプチャするのはゲーム画面のため、このウインドウを最小化していても続ける
+                this.captureTask = PulseScheduler.schedule("CaptureController", Duration.millis(100), null, null,
+                        () -> this.captureAction(null));
                 // キャプチャボタンテキストの変更
                 this.setCatureButtonState(ButtonState.STOP);
             }
@@ -569,8 +561,9 @@ public class CaptureController extends WindowController {
     @Override
     protected void onWindowHidden(WindowEvent e) {
         this.images.clear();
-        this.timeline.stop();
-        Optional.ofNullable(this.autoBattleCaptureTimeline).ifPresent(Timeline::stop);
+        this.stopTimeLine();
+        Optional.ofNullable(this.autoBattleCaptureTask).ifPresent(PulseScheduler.Task::cancel);
+        this.autoBattleCaptureTask = null;
         this.stopProcess();
     }
 
@@ -592,8 +585,9 @@ public class CaptureController extends WindowController {
      * タイムラインを停止
      */
     private void stopTimeLine() {
-        if (this.timeline.getStatus() == Status.RUNNING) {
-            this.timeline.stop();
+        if (this.captureTask != null) {
+            this.captureTask.cancel();
+            this.captureTask = null;
         }
     }
 
@@ -14,8 +14,6 @@ import java.util.stream.Collectors;
 
 import org.controlsfx.control.CheckListView;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -31,7 +29,6 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.DirectoryChooser;
 import javafx.stage.WindowEvent;
-import javafx.util.Duration;
 import logbook.bean.AppConfig;
 import logbook.internal.ThreadManager;
 import logbook.internal.gui.ScreenCapture.ImageData;
@@ -69,11 +66,9 @@ public class CaptureSaveController extends WindowController {
     @FXML
     void initialize() {
         // SplitPaneの分割サイズ
-        Timeline x = new Timeline();
-        x.getKeyFrames().add(new KeyFrame(Duration.millis(1), (e) -> {
+        PulseScheduler.runLater(() -> {
             Tools.Controls.setSplitWidth(this.splitPane, this.getClass() + "#" + "splitPane");
-        }));
-        x.play();
+        });
         this.image.fitWidthProperty().bind(this.imageParent.widthProperty());
         this.image.fitHeightProperty().bind(this.imageParent.heightProperty());
     }
@@ -391,6 +391,9 @@ public class ConfigController extends WindowController {
     @FXML
     private Button apiCaptureDirRef;
 
+    @FXML
+    private CheckBox apiCaptureDictionaryEnabled;
+
     /** セッション中に API 記録の同意ダイアログを通過したか */
     private boolean apiCaptureConsentAcceptedInSession;
 
@@ -615,6 +618,7 @@ public class ConfigController extends WindowController {
         if (ApiCaptureGate.isUiAvailable()) {
             this.apiCaptureEnabled.setSelected(conf.isApiCaptureEnabled());
             this.apiCaptureDir.setText(conf.getApiCaptureDir() != null ? conf.getApiCaptureDir() : "");
+            this.apiCaptureDictionaryEnabled.setSelected(conf.isApiCaptureDictionaryEnabled());
         } else {
             this.apiCapturePane.setVisible(false);
             this.apiCapturePane.setManaged(false);
@@ -749,6 +753,7 @@ public class ConfigController extends WindowController {
                         conf.isApiCaptureConsentAccepted() || this.apiCaptureConsentAcceptedInSession);
             }
             conf.setApiCaptureDir(this.apiCaptureDir.getText());
+            conf.setApiCaptureDictionaryEnabled(this.apiCaptureDictionaryEnabled.isSelected());
         }
 
         conf.setFfmpegPath(this.ffmpegPath.getText());
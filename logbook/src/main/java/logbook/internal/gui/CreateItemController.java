@@ -24,8 +24,6 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -53,7 +51,6 @@ import javafx.scene.control.TreeTableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.cell.TreeItemPropertyValueFactory;
 import javafx.scene.image.ImageView;
-import javafx.util.Duration;
 import logbook.bean.AppConfig;
 import logbook.bean.AppViewConfig;
 import logbook.bean.AppViewConfig.CreateItemLogConfig;
@@ -143,11 +140,9 @@ public class CreateItemController extends WindowController {
         try {
             TableTool.setVisible(this.detail, this.getClass() + "#" + "detail");
             // SplitPaneの分割サイズ
-            Timeline x = new Timeline();
-            x.getKeyFrames().add(new KeyFrame(Duration.millis(1), (e) -> {
+            PulseScheduler.runLater(() -> {
                 Tools.Controls.setSplitWidth(this.splitPane, this.getClass() + "#" + "splitPane");
-            }));
-            x.play();
+            });
             this.detail.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
             this.detail.setOnKeyPressed(TableTool::defaultOnKeyPressedHandler);
             SortedList<CreateItem> sorted = new SortedList<CreateItem>(this.detailItems);
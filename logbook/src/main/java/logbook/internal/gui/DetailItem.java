@@ -130,6 +130,18 @@ public class DetailItem {
                 .toString();
     }
 
+    /**
+     * 別の行の値を反映します
+     *
+     * @param item 行
+     */
+    public void update(DetailItem item) {
+        this.setAlv(item.getAlv());
+        this.setLevel(item.getLevel());
+        this.setShip(item.getShip());
+        this.setShipId(item.getShipId());
+    }
+
     /**
      * 装備から装備詳細を生成します
      *
@@ -14,6 +14,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javafx.collections.ObservableList;
 import javafx.css.PseudoClass;
@@ -31,7 +32,6 @@ import logbook.Messages;
 import logbook.bean.AppCondition;
 import logbook.bean.AppConfig;
 import logbook.bean.DeckPort;
-import logbook.bean.NdockCollection;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
 import logbook.bean.ShipMst;
@@ -39,6 +39,8 @@ import logbook.bean.ShipgraphCollection;
 import logbook.internal.Items;
 import logbook.internal.LoggerHolder;
 import logbook.internal.Ships;
+import logbook.internal.state.ChangeSet;
+import logbook.internal.state.Domain;
 import logbook.plugin.gui.FleetTabRemark;
 import logbook.plugin.gui.Plugin;
 import logbook.plugin.gui.Updateable;
@@ -56,14 +58,11 @@ public class FleetTabPane extends ScrollPane {
     /** 艦娘達 */
     private List<Ship> shipList;
 
-    /** 艦隊のハッシュ・コード */
-    private int portHashCode;
+    /** 艦娘・装備・艦隊・入渠ドックの変更の購読 */
+    private final StateSubscription subscription;
 
-    /** 艦娘達のハッシュ・コード */
-    private int shipsHashCode;
-
-    /** 入渠中の艦娘達のハッシュ・コード */
-    private int ndocksHashCode;
+    /** 表示中の艦隊に関係する変更があったフラグ */
+    private boolean changed = true;
 
     /** 疲労回復予想時刻 */
     private long condRecoverEpoch = Long.MAX_VALUE;
@@ -184,6 +183,8 @@ public class FleetTabPane extends ScrollPane {
      */
     public FleetTabPane(DeckPort port) {
         this.port = port;
+        this.subscription = StateSubscription.subscribe("FleetTabPane", this::onChanged,
+                Domain.SHIP, Domain.SLOT_ITEM, Domain.DECK_PORT, Domain.NDOCK);
         try {
             FXMLLoader loader = InternalFXMLLoader.load("logbook/gui/fleet_tab.fxml");
             loader.setRoot(this);
@@ -240,30 +241,34 @@ public class FleetTabPane extends ScrollPane {
      * @param port 艦隊
      */
     public void update(DeckPort port) {
-        this.port = port;
+        if (this.port != port) {
+            this.port = port;
+            this.changed = true;
+        }
         this.update();
     }
 
+    /**
+     * 変更の購読をやめます。タブを取り除く時に呼んでください
+     */
+    public void close() {
+        this.subscription.close();
+    }
+
     /**
      * 画面を更新します
      */
     public void update() {
-        Map<Integer, Ship> shipMap = ShipCollection.get()
-                .getShipMap();
-        this.shipList = this.port.getShip()
-                .stream()
-                .map(shipMap::get)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-
-        int ndocksHashCode = NdockCollection.get().getNdockSet().hashCode();
-
-        if (this.portHashCode != this.port.hashCode() || this.shipsHashCode != this.shipList.hashCode()
-                || this.ndocksHashCode != ndocksHashCode || this.combinedFlag != AppCondition.get().isCombinedFlag()) {
+        if (this.changed || this.combinedFlag != AppCondition.get().isCombinedFlag()) {
+            Map<Integer, Ship> shipMap = ShipCollection.get()
+                    .getShipMap();
+            this.shipList = this.port.getShip()
+                    .stream()
+                    .map(shipMap::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
             this.updateShips();
-            this.portHashCode = this.port.hashCode();
-            this.shipsHashCode = this.shipList.hashCode();
-            this.ndocksHashCode = ndocksHashCode;
+            this.changed = false;
             this.combinedFlag = AppCondition.get().isCombinedFlag();
         }
         if (this.condRecoverEpoch != Long.MAX_VALUE && ZonedDateTime.now(ZoneId.systemDefault()).toEpochSecond() > this.condRecoverEpoch) {
@@ -275,6 +280,25 @@ public class FleetTabPane extends ScrollPane {
         }
     }
 
+    /**
+     * 変更が表示中の艦隊に関係する場合に更新が必要なことを記録します
+     *
+     * @param changes 変更
+     */
+    private void onChanged(ChangeSet changes) {
+        if (this.changed) {
+            return;
+        }
+        // 入渠ドックの変更は艦娘の状態（入渠中）の表示に関係する
+        this.changed = changes.contains(Domain.NDOCK)
+                || changes.affects(Domain.DECK_PORT, List.of(this.port.getId()))
+                || changes.affects(Domain.SHIP, this.port.getShip())
+                || (this.shipList != null && changes.affects(Domain.SLOT_ITEM, this.shipList.stream()
+                        .flatMap(ship -> Stream.concat(ship.getSlot().stream(), Stream.of(ship.getSlotEx())))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList())));
+    }
+
     /**
      * タブに設定するスタイル
      *
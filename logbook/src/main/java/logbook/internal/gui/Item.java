@@ -455,16 +455,27 @@ public class Item implements Comparable<Item> {
      * @return 所有装備
      */
     public static Item toItem(SlotitemMst slotitem) {
-        String type = SlotitemEquiptypeCollection.get()
-                .getEquiptypeMap()
-                .get(slotitem.getType().get(2))
-                .getName();
-        Integer count = (int) SlotItemCollection.get()
+        int count = (int) SlotItemCollection.get()
                 .getSlotitemMap()
                 .values()
                 .stream()
                 .filter(e -> e.getSlotitemId().equals(slotitem.getId()))
                 .count();
+        return toItem(slotitem, count);
+    }
+
+    /**
+     * 装備定義と所有数から所有装備を生成します
+     *
+     * @param slotitem 装備定義
+     * @param count 所有数
+     * @return 所有装備
+     */
+    public static Item toItem(SlotitemMst slotitem, int count) {
+        String type = SlotitemEquiptypeCollection.get()
+                .getEquiptypeMap()
+                .get(slotitem.getType().get(2))
+                .getName();
         Item item = new Item();
         item.setId(slotitem.getId());
         item.setType2(slotitem.getType().get(2));
@@ -11,6 +11,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -22,8 +23,7 @@ import org.controlsfx.control.textfield.TextFields;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import logbook.internal.JsonMappers;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.beans.Observable;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.value.ObservableValue;
@@ -31,6 +31,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
+import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
@@ -49,6 +50,7 @@ import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
+import javafx.stage.WindowEvent;
 import javafx.util.Duration;
 import logbook.Messages;
 import logbook.bean.AppItemTableConfig;
@@ -61,6 +63,7 @@ import logbook.bean.SlotitemMstCollection;
 import logbook.internal.Items;
 import logbook.internal.LoggerHolder;
 import logbook.internal.Ships;
+import logbook.internal.state.Domain;
 import logbook.plugin.PluginServices;
 import lombok.Data;
 
@@ -194,6 +197,10 @@ public class ItemItemController extends WindowController {
     @FXML
     private TableColumn<DetailItem, Ship> ship;
 
+    /** 一覧の行(所有数が変わった行はソートを評価し直す) */
+    private ObservableList<Item> items = FXCollections.observableArrayList(
+            item -> new Observable[] { item.countProperty() });
+
     /** 一覧 */
     private FilteredList<Item> types;
 
@@ -203,17 +210,24 @@ public class ItemItemController extends WindowController {
     /** フィルターの更新停止 */
     private boolean disableFilterUpdate;
 
+    /** 装備・艦娘が変わったフラグ */
+    private boolean changed;
+
+    /** 装備・艦娘の変更の購読 */
+    private StateSubscription subscription;
+
+    /** 画面の更新 */
+    private PulseScheduler.Task updateTask;
+
     @FXML
     void initialize() {
         try {
             TableTool.setVisible(this.typeTable, this.getClass().toString() + "#" + "typeTable");
             TableTool.setVisible(this.detailTable, this.getClass().toString() + "#" + "detailTable");
             // SplitPaneの分割サイズ
-            Timeline x = new Timeline();
-            x.getKeyFrames().add(new KeyFrame(Duration.millis(1), (e) -> {
+            PulseScheduler.runLater(() -> {
                 Tools.Controls.setSplitWidth(this.splitPane, this.getClass() + "#" + "splitPane");
-            }));
-            x.play();
+            });
             this.filter.expandedProperty().addListener((ob, o, n) -> saveConfig());
             this.textFilter.selectedProperty().addListener((ob, ov, nv) -> {
                 this.textValue.setDisable(!nv);
@@ -306,14 +320,13 @@ public class ItemItemController extends WindowController {
             this.detailTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
             this.detailTable.setOnKeyPressed(TableTool::defaultOnKeyPressedHandler);
             // 行を作る
-            ObservableList<Item> items = SlotitemMstCollection.get()
-                    .getSlotitemMap()
-                    .values()
-                    .stream()
-                    .map(Item::toItem)
-                    .filter(e -> e.getCount() > 0)
-                    .sorted(Comparator.comparing(Item::getType3).thenComparing(Comparator.comparing(Item::getName)))
-                    .collect(Collectors.toCollection(FXCollections::observableArrayList));
+            this.subscription = StateSubscription.subscribe("ItemItemController", changes -> this.changed = true,
+                    Domain.SLOT_ITEM, Domain.SHIP);
+            Map<Integer, Integer> counts = SlotItemCollection.get().countsBySlotitemId();
+            this.items.setAll(ownedSlotitemMst(counts).stream()
+                    .map(e -> Item.toItem(e, counts.get(e.getId())))
+                    .collect(Collectors.toList()));
+            List<Item> items = this.items;
             // テキストフィルター
             this.textValue.setItems(items.stream()
                     .map(Item::typeProperty)
@@ -328,7 +341,7 @@ public class ItemItemController extends WindowController {
                             .collect(Collectors.toList())));
 
             // 装備一覧(装備一覧)
-            this.types = new FilteredList<>(items);
+            this.types = new FilteredList<>(this.items);
             SortedList<Item> sortedListTypes = new SortedList<>(this.types);
             this.typeTable.setItems(sortedListTypes);
             sortedListTypes.comparatorProperty().bind(this.typeTable.comparatorProperty());
@@ -343,6 +356,9 @@ public class ItemItemController extends WindowController {
                     .addListener(this::detail);
             
             loadConfig();
+
+            this.updateTask = PulseScheduler.schedule("ItemItemController", Duration.seconds(1),
+                    PulseScheduler.showing(this), null, () -> this.update(null));
         } catch (Exception e) {
             LoggerHolder.get().error("FXMLの初期化に失敗しました", e);
         }
@@ -401,28 +417,87 @@ public class ItemItemController extends WindowController {
             // 選択
             this.detailName.setText(value.getName());
             // 行を作る
-            List<DetailItem> items = SlotItemCollection.get()
-                    .getSlotitemMap()
-                    .values()
-                    .stream()
-                    .filter(e -> e.getSlotitemId().equals(value.idProperty().get()))
-                    .sorted(Comparator.comparing(SlotItem::getAlv,
-                            Comparator.nullsFirst(Comparator.naturalOrder()))
-                            .reversed())
-                    .sorted(Comparator.comparing(SlotItem::getLevel,
-                            Comparator.nullsFirst(Comparator.naturalOrder()))
-                            .reversed())
-                    .map(DetailItem::toDetailItem)
-                    .sorted(Comparator.comparing(DetailItem::getShipId,
-                            Comparator.nullsFirst(Comparator.naturalOrder())))
-                    .collect(Collectors.toList());
-            this.details.addAll(items);
+            this.details.addAll(detailItems(value));
         } else {
             // 未選択
             this.detailName.setText("");
         }
     }
 
+    /**
+     * 装備・艦娘が変わった場合、所有数や所持艦娘が変わった行だけ画面を更新する
+     *
+     * @param e ActionEvent
+     */
+    private void update(ActionEvent e) {
+        if (!this.changed) {
+            return;
+        }
+        this.changed = false;
+
+        Map<Integer, Integer> counts = SlotItemCollection.get().countsBySlotitemId();
+        TableTool.reconcile(this.items, ownedSlotitemMst(counts), SlotitemMst::getId, Item::getId,
+                mst -> Item.toItem(mst, counts.get(mst.getId())),
+                (item, mst) -> item.setCount(counts.get(mst.getId())));
+
+        Item selected = this.typeTable.getSelectionModel().getSelectedItem();
+        if (selected != null) {
+            TableTool.reconcile(this.details, detailItems(selected), DetailItem::getId, DetailItem::getId,
+                    Function.identity(), DetailItem::update);
+        }
+    }
+
+    @Override
+    protected void onWindowHidden(WindowEvent e) {
+        if (this.updateTask != null) {
+            this.updateTask.cancel();
+        }
+        if (this.subscription != null) {
+            this.subscription.close();
+        }
+    }
+
+    /**
+     * 所有している装備の装備定義を一覧の順に並べて返す
+     *
+     * @param counts 装備定義IDごとの所有数
+     * @return 装備定義
+     */
+    private static List<SlotitemMst> ownedSlotitemMst(Map<Integer, Integer> counts) {
+        return SlotitemMstCollection.get()
+                .getSlotitemMap()
+                .values()
+                .stream()
+                .filter(e -> counts.containsKey(e.getId()))
+                .sorted(Comparator.comparing((SlotitemMst e) -> e.getType().get(3))
+                        .thenComparing(Comparator.comparing(SlotitemMst::getName)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 選択した装備の詳細の行を作る
+     *
+     * @param value 装備
+     * @return 詳細の行
+     */
+    private static List<DetailItem> detailItems(Item value) {
+        return SlotItemCollection.get()
+                .getSlotitemMap()
+                .values()
+                .stream()
+                .filter(e -> e.getSlotitemId().equals(value.idProperty().get()))
+                .sorted(Comparator.comparing(SlotItem::getAlv,
+                        Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .reversed())
+                .sorted(Comparator.comparing(SlotItem::getLevel,
+                        Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .reversed())
+                .map(DetailItem::toDetailItem)
+                .sorted(Comparator.comparing(DetailItem::getShipId,
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+    }
+
     /**
      * 装備アイコンを表示するセル
      */
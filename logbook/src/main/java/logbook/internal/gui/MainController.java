@@ -15,9 +15,6 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -25,6 +22,7 @@ import javafx.fxml.FXML;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Labeled;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.control.TitledPane;
@@ -52,12 +50,13 @@ import logbook.bean.SlotItemCollection;
 import logbook.internal.Audios;
 import logbook.internal.BouyomiChanUtils;
 import logbook.internal.BouyomiChanUtils.Type;
-import logbook.internal.Items;
 import logbook.internal.LoggerHolder;
 import logbook.internal.Ships;
 import logbook.internal.SlotItemType;
 import logbook.internal.Tuple;
 import logbook.internal.proxy.ProxyHolder;
+import logbook.internal.state.ChangeSet;
+import logbook.internal.state.Domain;
 import logbook.plugin.PluginServices;
 import logbook.plugin.lifecycle.StartUp;
 
@@ -77,11 +76,17 @@ public class MainController extends WindowController {
 
     private String shipFormat;
 
-    /** 艦隊コレクションのハッシュ・コード */
-    private long portHashCode;
+    /** 艦隊コレクションが変わったフラグ */
+    private boolean portChanged = true;
 
-    /** 入渠ドックコレクションのハッシュ・コード */
-    private long ndockHashCode;
+    /** 入渠ドックコレクションが変わったフラグ */
+    private boolean ndockChanged = true;
+
+    /** 表示中の遠征の表示フラグ */
+    private boolean missionShown;
+
+    /** 表示中の入渠ドックの表示フラグ */
+    private boolean ndockShown;
 
     /** 任務コレクションのハッシュ・コード */
     private long questHashCode;
@@ -157,17 +162,16 @@ public class MainController extends WindowController {
             // メニューにメイン画面のコントローラを渡す
             this.mainMenuController.setParentController(this);
 
-            Timeline timeline = new Timeline(1);
-            timeline.setCycleCount(Animation.INDEFINITE);
-            timeline.getKeyFrames().add(new KeyFrame(
-                    javafx.util.Duration.seconds(1),
-                    this::update));
-
             // 古い任務を除く
             AppQuestCollection.get()
                     .update();
 
-            timeline.play();
+            // 艦隊・入渠ドックの変更を受け取る(メイン画面は終了まで閉じないため購読をやめない)
+            StateSubscription.subscribe("MainController", this::onChanged, Domain.DECK_PORT, Domain.NDOCK);
+
+            // 通知があるため最小化していても更新する
+            PulseScheduler.schedule("MainController", javafx.util.Duration.seconds(1), null, null,
+                    () -> this.update(null));
 
             // 開始処理（JavaFX Application Thread で実行し、primaryStage が確実に設定された後に実行される）
             PluginServices.instances(StartUp.class)
@@ -253,16 +257,13 @@ public class MainController extends WindowController {
      * 所有装備/所有艦娘の更新
      */
     private void button() {
-        // 装備
-        Integer slotitem = (int) SlotItemCollection.get()
-                .getSlotitemMap()
-                .values()
-                .stream()
-                .filter(e -> !Items.slotitemMst(e).get().is(SlotItemType. 戦闘糧食,SlotItemType.補給物資,SlotItemType.応急修理要員))
-                .count();
+        // 装備（糧食・補給物資・応急修理要員を除く）
+        SlotItemCollection slotItems = SlotItemCollection.get();
+        Integer slotitem = slotItems.getSlotitemMap().size()
+                - slotItems.countByType(SlotItemType.戦闘糧食, SlotItemType.補給物資, SlotItemType.応急修理要員);
         Integer maxSlotitem = Basic.get()
                 .getMaxSlotitem();
-        this.item.setText(MessageFormat.format(this.itemFormat, slotitem, maxSlotitem));
+        setTextIfChanged(this.item, MessageFormat.format(this.itemFormat, slotitem, maxSlotitem));
 
         boolean itemFully = maxSlotitem - slotitem <= AppConfig.get().getItemFullyThreshold();
         if (itemFully) {
@@ -279,7 +280,7 @@ public class MainController extends WindowController {
                 .size();
         Integer maxChara = Basic.get()
                 .getMaxChara();
-        this.ship.setText(MessageFormat.format(this.shipFormat, chara, maxChara));
+        setTextIfChanged(this.ship, MessageFormat.format(this.shipFormat, chara, maxChara));
 
         boolean shipFully = maxChara - chara <= AppConfig.get().getShipFullyThreshold();
         if (shipFully) {
@@ -334,12 +335,10 @@ public class MainController extends WindowController {
      * 艦隊の確認
      */
     private void checkPort() {
-        Map<Integer, DeckPort> ports = DeckPortCollection.get()
-                .getDeckPortMap();
         boolean show = AppConfig.get().isShowMission();
-        long newHashCode = hashCode(ports, show);
-        boolean change = this.portHashCode != newHashCode;
-        this.portHashCode = newHashCode;
+        boolean change = this.portChanged || this.missionShown != show;
+        this.portChanged = false;
+        this.missionShown = show;
 
         this.fleetTab(change);
         this.mission(change, show);
@@ -360,7 +359,13 @@ public class MainController extends WindowController {
                     .filter(e -> e instanceof FleetTabPane)
                     .count();
             if (ports.size() != tabsize) {
-                tabs.removeIf(e -> e.getContent() instanceof FleetTabPane);
+                tabs.removeIf(e -> {
+                    if (e.getContent() instanceof FleetTabPane) {
+                        ((FleetTabPane) e.getContent()).close();
+                        return true;
+                    }
+                    return false;
+                });
                 for (DeckPort port : ports.values()) {
                     FleetTabPane pane = new FleetTabPane(port);
                     Tab tab = new Tab(port.getName(), pane);
@@ -460,22 +465,21 @@ public class MainController extends WindowController {
                 .getNdockMap();
         ObservableList<Node> ndock = this.ndockbox.getChildren();
         boolean show = AppConfig.get().isShowNdock();
-        long newHashCode = hashCode(ndockMap, show);
-        if (this.ndockHashCode != newHashCode) {
+        if (this.ndockChanged || this.ndockShown != show) {
             this.ndockPane.setVisible(show);
             this.ndockPane.setManaged(show);
 
-            // ハッシュ・コードが変わっている場合入渠ドックの更新
+            // 変更がある場合入渠ドックの更新
             ndock.clear();
             ndockMap.values()
                     .stream()
                     .filter(n -> 1 < n.getCompleteTime())
                     .map(NdockPane::new)
                     .forEach(ndock::add);
-            // ハッシュ・コードの更新
-            this.ndockHashCode = newHashCode;
+            this.ndockChanged = false;
+            this.ndockShown = show;
         } else {
-            // ハッシュ・コードが変わっていない場合updateメソッドを呼ぶ
+            // 変更がない場合updateメソッドを呼ぶ
             for (Node node : ndock) {
                 if (node instanceof NdockPane) {
                     ((NdockPane) node).update();
@@ -690,6 +694,28 @@ public class MainController extends WindowController {
                 Tuple.of("${kanjiName}", kanji));
     }
 
+    /**
+     * 艦隊・入渠ドックの変更を記録します。画面は次の更新で作り直します
+     *
+     * @param changes 変更
+     */
+    private void onChanged(ChangeSet changes) {
+        this.portChanged |= changes.contains(Domain.DECK_PORT);
+        this.ndockChanged |= changes.contains(Domain.NDOCK);
+    }
+
+    /**
+     * 文字列が変わった場合だけラベルに設定します
+     *
+     * @param label ラベル
+     * @param text 文字列
+     */
+    private static void setTextIfChanged(Labeled label, String text) {
+        if (!text.equals(label.getText())) {
+            label.setText(text);
+        }
+    }
+
     private static long hashCode(Map<?, ?> map, boolean show) {
         long h = 59;
         Iterator<?> i = map.entrySet().iterator();
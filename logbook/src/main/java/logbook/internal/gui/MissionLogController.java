@@ -15,8 +15,6 @@ import java.util.Map.Entry;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -34,7 +32,6 @@ import javafx.scene.control.TreeTableColumn.SortType;
 import javafx.scene.control.TreeTableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.cell.TreeItemPropertyValueFactory;
-import javafx.util.Duration;
 import logbook.bean.Mission;
 import logbook.bean.MissionCollection;
 import logbook.internal.BattleLogs.Unit;
@@ -164,13 +161,11 @@ public class MissionLogController extends WindowController {
         TableTool.setVisible(this.detail, this.getClass() + "#" + "detail");
         TableTool.setVisible(this.aggregate, this.getClass() + "#" + "aggregate");
         // SplitPaneの分割サイズ
-        Timeline x = new Timeline();
-        x.getKeyFrames().add(new KeyFrame(Duration.millis(1), (e) -> {
+        PulseScheduler.runLater(() -> {
             Tools.Controls.setSplitWidth(this.splitPane1, this.getClass() + "#" + "splitPane1");
             Tools.Controls.setSplitWidth(this.splitPane2, this.getClass() + "#" + "splitPane2");
             Tools.Controls.setSplitWidth(this.splitPane3, this.getClass() + "#" + "splitPane3");
-        }));
-        x.play();
+        });
 
         // 集計
         this.collect.setShowRoot(false);
@@ -0,0 +1,291 @@
+package logbook.internal.gui;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+import javafx.application.Platform;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import logbook.internal.LoggerHolder;
+import logbook.internal.metrics.MetricsRegistry;
+
+/**
+ * 画面の定期的な更新をまとめて実行します
+ * <p>
+ * 各画面が {@code Timeline} を持つ代わりに、1 つのタイマーで次に実行する時刻まで待ち、
+ * その時刻に実行する更新を {@link Platform#runLater(Runnable)} でまとめて JavaFX スレッドへ渡します。
+ * 実行する時刻は間隔の倍数の時刻に揃えるため、同じ間隔の更新は同じパルス（フレーム）で実行されます。
+ * 待機は JavaFX のアニメーションではなく専用のスレッドで行うため、待機中にパルスを要求し続けることはありません。
+ * </p>
+ * <p>
+ * 非表示・最小化されたウインドウの更新と、入力（{@code input}）が前回から変わっていない更新は実行しません。
+ * 更新ごとに JavaFX スレッドで使った時間を {@code fx_pulse} として記録します。
+ * </p>
+ * <p>
+ * すべてのメソッドは JavaFX スレッドから呼び出してください。
+ * </p>
+ */
+final class PulseScheduler {
+
+    /** 次に実行する時刻まで待つスレッド */
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "PulseScheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** 画面で共有するスケジューラー */
+    private static final PulseScheduler SHARED = new PulseScheduler(System::currentTimeMillis,
+            (delay, action) -> TIMER.schedule(action, delay, TimeUnit.MILLISECONDS), Platform::runLater);
+
+    /** 現在時刻 */
+    private final LongSupplier clock;
+
+    /** 待機 */
+    private final Timer timer;
+
+    /** JavaFX スレッド */
+    private final Executor fx;
+
+    /** 定期的な更新 */
+    private final List<Task> tasks = new ArrayList<>();
+
+    /** 次のパルスで 1 度だけ実行する処理 */
+    private final Queue<Runnable> once = new ArrayDeque<>();
+
+    /** タイマーが発火する時刻（待機していない場合は {@link Long#MAX_VALUE}） */
+    private long armedAt = Long.MAX_VALUE;
+
+    /** 待機中のタイマー */
+    private Future<?> armed;
+
+    /** 待機し直した回数（取り消したタイマーが渡したパルスを無視するため） */
+    private long generation;
+
+    /**
+     * @param clock 現在時刻
+     * @param timer 待機
+     * @param fx JavaFX スレッドで実行する Executor
+     */
+    PulseScheduler(LongSupplier clock, Timer timer, Executor fx) {
+        this.clock = clock;
+        this.timer = timer;
+        this.fx = fx;
+    }
+
+    /**
+     * 定期的な更新を登録します
+     *
+     * @param name メトリクスとログに使う名前
+     * @param interval 間隔
+     * @param active 更新するかを返すBooleanSupplier、null の場合は常に更新する
+     * @param input 更新の入力を表す値(版やハッシュ・コードなど)を返すLongSupplier、
+     * null でない場合は登録時または前回の更新時から値が変わった時だけ更新する
+     * @param action 更新
+     * @return 登録した更新
+     */
+    static Task schedule(String name, Duration interval, BooleanSupplier active, LongSupplier input,
+            Runnable action) {
+        return SHARED.add(name, (long) interval.toMillis(), active, input, action);
+    }
+
+    /**
+     * 次のパルスで 1 度だけ実行します
+     * <p>
+     * 画面の構築（レイアウト）が終わってから行う処理に使います。
+     * </p>
+     *
+     * @param action 処理
+     */
+    static void runLater(Runnable action) {
+        SHARED.post(action);
+    }
+
+    /**
+     * ウインドウが表示されていて最小化されていない場合に true を返すBooleanSupplierを返します
+     *
+     * @param controller ウインドウを持つコントローラー
+     * @return BooleanSupplier
+     */
+    static BooleanSupplier showing(WindowController controller) {
+        return () -> {
+            Stage window = controller.getWindow();
+            return window != null && window.isShowing() && !window.isIconified();
+        };
+    }
+
+    /**
+     * 定期的な更新を登録します
+     *
+     * @param name メトリクスとログに使う名前
+     * @param interval 間隔（ミリ秒）
+     * @param active 更新するかを返すBooleanSupplier、null の場合は常に更新する
+     * @param input 更新の入力を表す値を返すLongSupplier、null の場合は毎回更新する
+     * @param action 更新
+     * @return 登録した更新
+     */
+    Task add(String name, long interval, BooleanSupplier active, LongSupplier input, Runnable action) {
+        Task task = new Task(this, name, interval, active, input, action);
+        if (input != null) {
+            task.lastInput = input.getAsLong();
+        }
+        task.due = task.next(this.clock.getAsLong());
+        this.tasks.add(task);
+        this.arm(task.due);
+        return task;
+    }
+
+    /**
+     * 次のパルスで 1 度だけ実行します
+     *
+     * @param action 処理
+     */
+    void post(Runnable action) {
+        this.once.add(action);
+        this.arm(this.clock.getAsLong() + 1);
+    }
+
+    private void arm(long at) {
+        if (at >= this.armedAt) {
+            return;
+        }
+        this.armedAt = at;
+        if (this.armed != null) {
+            this.armed.cancel(false);
+        }
+        long generation = ++this.generation;
+        this.armed = this.timer.schedule(Math.max(1, at - this.clock.getAsLong()),
+                () -> this.fx.execute(() -> this.fire(generation)));
+    }
+
+    private void fire(long generation) {
+        // 取り消す前に発火していたタイマーのパルスは、後のタイマーのパルスに任せる
+        if (generation == this.generation) {
+            this.pulse();
+        }
+    }
+
+    private void pulse() {
+        this.armedAt = Long.MAX_VALUE;
+        this.armed = null;
+        for (int i = this.once.size(); i > 0; i--) {
+            run("once", this.once.poll());
+        }
+        long now = this.clock.getAsLong();
+        long next = this.once.isEmpty() ? Long.MAX_VALUE : now + 1;
+        for (Task task : new ArrayList<>(this.tasks)) {
+            if (task.cancelled) {
+                continue;
+            }
+            if (task.due <= now) {
+                task.run();
+                task.due = task.next(now);
+            } else if (task.due - now > task.interval) {
+                // 時計が戻った
+                task.due = task.next(now);
+            }
+            next = Math.min(next, task.due);
+        }
+        if (next != Long.MAX_VALUE) {
+            this.arm(next);
+        }
+    }
+
+    private static void run(String name, Runnable action) {
+        long startNanos = System.nanoTime();
+        try {
+            action.run();
+        } catch (Exception e) {
+            LoggerHolder.get().warn("画面の更新に失敗しました: " + name, e);
+        } finally {
+            MetricsRegistry.timer("fx_pulse", "task", name).recordSince(startNanos);
+        }
+    }
+
+    /**
+     * 次に実行する時刻までの待機
+     */
+    @FunctionalInterface
+    interface Timer {
+
+        /**
+         * 指定した時間の後に実行します（JavaFX スレッド以外から実行してよい）
+         *
+         * @param delay 待つ時間（ミリ秒）
+         * @param action 処理
+         * @return 取り消しに使うFuture
+         */
+        Future<?> schedule(long delay, Runnable action);
+    }
+
+    /**
+     * 定期的な更新
+     */
+    static final class Task {
+
+        private final PulseScheduler scheduler;
+
+        private final String name;
+
+        private final long interval;
+
+        private final BooleanSupplier active;
+
+        private final LongSupplier input;
+
+        private final Runnable action;
+
+        /** 次に実行する時刻 */
+        private long due;
+
+        /** 前回の入力 */
+        private long lastInput;
+
+        private boolean cancelled;
+
+        private Task(PulseScheduler scheduler, String name, long interval, BooleanSupplier active,
+                LongSupplier input, Runnable action) {
+            this.scheduler = scheduler;
+            this.name = name;
+            this.interval = Math.max(1, interval);
+            this.active = active;
+            this.input = input;
+            this.action = action;
+        }
+
+        /**
+         * 登録を解除します
+         */
+        void cancel() {
+            this.cancelled = true;
+            this.scheduler.tasks.remove(this);
+        }
+
+        private long next(long now) {
+            return (now / this.interval + 1) * this.interval;
+        }
+
+        private void run() {
+            if (this.active != null && !this.active.getAsBoolean()) {
+                return;
+            }
+            if (this.input != null) {
+                long value = this.input.getAsLong();
+                if (value == this.lastInput) {
+                    return;
+                }
+                this.lastInput = value;
+            }
+            PulseScheduler.run(this.name, this.action);
+        }
+    }
+}
@@ -5,8 +5,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.SortedList;
@@ -28,6 +26,7 @@ import logbook.bean.ShipMst;
 import logbook.internal.LoggerHolder;
 import logbook.internal.Ships;
 import logbook.internal.Time;
+import logbook.internal.state.Domain;
 
 /**
  * お風呂に入りたい艦娘のコントローラー
@@ -84,9 +83,17 @@ public class RequireNdockController extends WindowController {
 
     private ObservableList<RequireNdock> ndocks = FXCollections.observableArrayList();
 
-    private int ndocksHashCode;
+    /** 艦娘・入渠ドックが変わったフラグ */
+    private boolean changed = true;
 
-    private Timeline timeline;
+    /** 表示中の一覧のフィルターの状態 */
+    private int filterState = -1;
+
+    /** 艦娘・入渠ドックの変更の購読 */
+    private StateSubscription subscription;
+
+    /** 画面の更新 */
+    private PulseScheduler.Task updateTask;
 
     @FXML
     void initialize() {
@@ -124,12 +131,10 @@ public class RequireNdockController extends WindowController {
         this.table.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         this.table.setOnKeyPressed(TableTool::defaultOnKeyPressedHandler);
 
-        this.timeline = new Timeline();
-        this.timeline.setCycleCount(Timeline.INDEFINITE);
-        this.timeline.getKeyFrames().add(new KeyFrame(
-                javafx.util.Duration.seconds(1),
-                this::update));
-        this.timeline.play();
+        this.subscription = StateSubscription.subscribe("RequireNdockController", changes -> this.changed = true,
+                Domain.SHIP, Domain.NDOCK);
+        this.updateTask = PulseScheduler.schedule("RequireNdockController", javafx.util.Duration.seconds(1),
+                PulseScheduler.showing(this), null, () -> this.update(null));
 
         this.update(null);
     }
@@ -141,21 +146,25 @@ public class RequireNdockController extends WindowController {
      */
     @FXML
     void update(ActionEvent e) {
-        List<Ship> ndockList = ShipCollection.get()
-                .getShipMap()
-                .values()
-                .stream()
-                .filter(this::filter)
-                .collect(Collectors.toList());
-        if (this.ndocksHashCode == ndockList.hashCode()) {
+        int filter = (this.includeNdock.isSelected() ? 4 : 0)
+                + (this.slightDamage.isSelected() ? 2 : 0)
+                + (this.damage.isSelected() ? 1 : 0);
+        if (!this.changed && this.filterState == filter) {
             this.ndocks.forEach(RequireNdock::update);
         } else {
+            List<Ship> ndockList = ShipCollection.get()
+                    .getShipMap()
+                    .values()
+                    .stream()
+                    .filter(this::filter)
+                    .collect(Collectors.toList());
             this.ndocks.clear();
             ndockList.stream()
                     .sorted(Comparator.comparing(Ship::getNdockTime, Comparator.reverseOrder()))
                     .map(RequireNdock::toRequireNdock)
                     .forEach(this.ndocks::add);
-            this.ndocksHashCode = ndockList.hashCode();
+            this.changed = false;
+            this.filterState = filter;
         }
     }
 
@@ -248,8 +257,11 @@ public class RequireNdockController extends WindowController {
 
     @Override
     protected void onWindowHidden(WindowEvent e) {
-        if (this.timeline != null) {
-            this.timeline.stop();
+        if (this.updateTask != null) {
+            this.updateTask.cancel();
+        }
+        if (this.subscription != null) {
+            this.subscription.close();
         }
     }
 }
@@ -24,8 +24,6 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.SortedList;
@@ -42,7 +40,6 @@ import javafx.scene.control.SplitPane;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.util.Duration;
 import javafx.util.StringConverter;
 import logbook.bean.AppConfig;
 import logbook.bean.AppViewConfig;
@@ -172,11 +169,9 @@ public class ResourceChartController extends WindowController {
     void initialize() {
         TableTool.setVisible(this.table, this.getClass().toString() + "#" + "table");
         // SplitPaneの分割サイズ
-        Timeline x = new Timeline();
-        x.getKeyFrames().add(new KeyFrame(Duration.millis(1), (e) -> {
+        PulseScheduler.runLater(() -> {
             Tools.Controls.setSplitWidth(this.splitPane, this.getClass() + "#" + "splitPane");
-        }));
-        x.play();
+        });
         this.term.setItems(FXCollections.observableArrayList(ScaleOption.values()));
         loadConfig();
         
@@ -8,8 +8,6 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
@@ -38,7 +36,8 @@ public class ShipController extends WindowController {
     @FXML
     private TabPane tab;
 
-    private Timeline timeline;
+    /** 画面の更新 */
+    private PulseScheduler.Task updateTask;
 
     @FXML
     void initialize() {
@@ -99,12 +98,8 @@ public class ShipController extends WindowController {
 
             this.addStatistics();
 
-            this.timeline = new Timeline();
-            this.timeline.setCycleCount(Timeline.INDEFINITE);
-            this.timeline.getKeyFrames().add(new KeyFrame(
-                    Duration.seconds(5),
-                    this::update));
-            this.timeline.play();
+            this.updateTask = PulseScheduler.schedule("ShipController", Duration.seconds(5),
+                    PulseScheduler.showing(this), null, () -> this.update(null));
 
         } catch (Exception e) {
             LoggerHolder.get().error("FXMLの初期化に失敗しました", e);
@@ -235,8 +230,13 @@ public class ShipController extends WindowController {
 
     @Override
     protected void onWindowHidden(WindowEvent e) {
-        if (this.timeline != null) {
-            this.timeline.stop();
+        if (this.updateTask != null) {
+            this.updateTask.cancel();
+        }
+        for (Tab tab : this.tab.getTabs()) {
+            if (tab.getContent() instanceof ShipTablePane) {
+                ((ShipTablePane) tab.getContent()).close();
+            }
         }
     }
 }
@@ -126,6 +126,12 @@ public class ShipItem {
     /** 補強 */
     private IntegerProperty slotEx = new SimpleIntegerProperty();
 
+    /** 値を反映した回数 */
+    private IntegerProperty revision = new SimpleIntegerProperty();
+
+    /** テキストフィルターの検索対象(艦名・艦種・装備名を改行で区切って連結したもの) */
+    private String searchText = "";
+
     /**
      * IDを取得します。
      * @return ID
@@ -870,6 +876,18 @@ public class ShipItem {
         this.slotEx.set(slotEx);
     }
 
+    /**
+     * テキストフィルターの検索対象を取得します。
+     * <p>
+     * 艦名・艦種・装備名を改行で区切って連結した文字列です。
+     * 行を更新したときに作り直すため、フィルターの評価では装備の検索や文字列の生成をしません。
+     * </p>
+     * @return テキストフィルターの検索対象
+     */
+    public String getSearchText() {
+        return this.searchText;
+    }
+
     @Override
     public String toString() {
         Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
@@ -918,24 +936,35 @@ public class ShipItem {
     }
 
     /**
-     * 艦娘から所有艦娘を生成します
+     * 値を反映した回数を取得します。
+     * <p>
+     * {@link #update(Ship)} のたびに増えます。同じ艦娘を反映し直した場合も増えるため、
+     * 艦隊・遠征・入渠など艦娘の外にある値でフィルターやソートを評価し直す契機に使います。
+     * </p>
+     * @return 値を反映した回数
+     */
+    public IntegerProperty revisionProperty() {
+        return this.revision;
+    }
+
+    /**
+     * 艦娘の値を反映します
+     * <p>
+     * 値を反映した回数({@link #revisionProperty()})は最後に増やします。これを契機にフィルターやソートを評価し直すときに、
+     * 他の値がすでに新しくなっているようにするためです。
+     * </p>
      *
      * @param ship 艦娘
-     * @return 所有艦娘
      */
-    public static ShipItem toShipItem(Ship ship) {
+    public void update(Ship ship) {
         String type = Ships.stype(ship)
                 .map(Stype::getName)
                 .orElse("");
-        ShipItem shipItem = new ShipItem();
-        shipItem.setId(ship.getId());
-        shipItem.setFleet(Ships.deckPort(ship).map(DeckPort::getId).map(Object::toString).orElse(""));
-        shipItem.setShip(ship);
-        shipItem.setType(type);
-        shipItem.setLv(ship.getLv());
-        shipItem.setExp(ship.getExp().get(0));
-        shipItem.setNext(ship.getExp().get(1));
-        shipItem.setCond(ship.getCond());
+        this.setType(type);
+        this.setLv(ship.getLv());
+        this.setExp(ship.getExp().get(0));
+        this.setNext(ship.getExp().get(1));
+        this.setCond(ship.getCond());
         Set<String> label = new LinkedHashSet<>();
         SeaArea area = SeaArea.fromArea(ship.getSallyArea());
         if (area != null) {
@@ -948,46 +977,79 @@ public class ShipItem {
             label.addAll(shipLabels);
         }
 
-        shipItem.setLabel(FXCollections.observableSet(label));
-        shipItem.setSeiku(Ships.airSuperiority(ship));
-        shipItem.setHPower(Ships.hPower(ship));
-        shipItem.setRPower(Ships.rPower(ship));
-        shipItem.setYPower(Ships.yPower(ship));
-        shipItem.setTPower(Ships.tPower(ship));
-
-        shipItem.setKaryoku(ship.getKaryoku().get(0) - Ships.sumItemParam(ship, SlotitemMst::getHoug));
-        shipItem.setRaisou(ship.getRaisou().get(0) - Ships.sumItemParam(ship, SlotitemMst::getRaig));
-        shipItem.setTaiku(ship.getTaiku().get(0) - Ships.sumItemParam(ship, SlotitemMst::getTyku));
-        shipItem.setLucky(ship.getLucky().get(0) - Ships.sumItemParam(ship, SlotitemMst::getLuck));
-        shipItem.setMaxhp(ship.getMaxhp());
-        shipItem.setSoukou(ship.getSoukou().get(0) - Ships.sumItemParam(ship, SlotitemMst::getSouk));
+        this.setSeiku(Ships.airSuperiority(ship));
+        this.setHPower(Ships.hPower(ship));
+        this.setRPower(Ships.rPower(ship));
+        this.setYPower(Ships.yPower(ship));
+        this.setTPower(Ships.tPower(ship));
+
+        this.setKaryoku(ship.getKaryoku().get(0) - Ships.sumItemParam(ship, SlotitemMst::getHoug));
+        this.setRaisou(ship.getRaisou().get(0) - Ships.sumItemParam(ship, SlotitemMst::getRaig));
+        this.setTaiku(ship.getTaiku().get(0) - Ships.sumItemParam(ship, SlotitemMst::getTyku));
+        this.setLucky(ship.getLucky().get(0) - Ships.sumItemParam(ship, SlotitemMst::getLuck));
+        this.setMaxhp(ship.getMaxhp());
+        this.setSoukou(ship.getSoukou().get(0) - Ships.sumItemParam(ship, SlotitemMst::getSouk));
         // 装備からではなく定義から計算する（念のため従来の計算方法も上に残す）
         Ships.shipMst(ship).filter(s -> ship.getKyouka() != null && ship.getKyouka().size() >= 5).ifPresent((mst) -> {
-            Optional.ofNullable(mst.getHoug()).filter(list -> list != null && list.size() > 0).map(list -> list.get(0) + ship.getKyouka().get(0)).ifPresent(shipItem::setKaryoku);
-            Optional.ofNullable(mst.getRaig()).filter(list -> list != null && list.size() > 0).map(list -> list.get(0) + ship.getKyouka().get(1)).ifPresent(shipItem::setRaisou);
-            Optional.ofNullable(mst.getTyku()).filter(list -> list != null && list.size() > 0).map(list -> list.get(0) + ship.getKyouka().get(2)).ifPresent(shipItem::setTaiku);
-            Optional.ofNullable(mst.getSouk()).filter(list -> list != null && list.size() > 0).map(list -> list.get(0) + ship.getKyouka().get(3)).ifPresent(shipItem::setSoukou);
-            Optional.ofNullable(mst.getLuck()).filter(list -> list != null && list.size() > 0).map(list -> list.get(0) + ship.getKyouka().get(4)).ifPresent(shipItem::setLucky);
+            Optional.ofNullable(mst.getHoug()).filter(list -> list != null && list.size() > 0).map(list -> list.get(0) + ship.getKyouka().get(0)).ifPresent(this::setKaryoku);
+            Optional.ofNullable(mst.getRaig()).filter(list -> list != null && list.size() > 0).map(list -> list.get(0) + ship.getKyouka().get(1)).ifPresent(this::setRaisou);
+            Optional.ofNullable(mst.getTyku()).filter(list -> list != null && list.size() > 0).map(list -> list.get(0) + ship.getKyouka().get(2)).ifPresent(this::setTaiku);
+            Optional.ofNullable(mst.getSouk()).filter(list -> list != null && list.size() > 0).map(list -> list.get(0) + ship.getKyouka().get(3)).ifPresent(this::setSoukou);
+            Optional.ofNullable(mst.getLuck()).filter(list -> list != null && list.size() > 0).map(list -> list.get(0) + ship.getKyouka().get(4)).ifPresent(this::setLucky);
         });
 
         // 以下の対潜・索敵・回避は定義からでは計算できない
-        shipItem.setTais(Ships.getTaisen(ship));
-        shipItem.setSakuteki(Ships.getSakuteki(ship));
-        shipItem.setKaihi(Ships.getKaihi(ship));
+        this.setTais(Ships.getTaisen(ship));
+        this.setSakuteki(Ships.getSakuteki(ship));
+        this.setKaihi(Ships.getKaihi(ship));
 
         if (ship.getSoku() != null) {
-            shipItem.setSoku(ship.getSoku());
+            this.setSoku(ship.getSoku());
         }
-        shipItem.setLeng(ship.getLeng());
+        this.setLeng(ship.getLeng());
 
         int slotNum = ship.getSlotnum();
-        shipItem.setSlot1(ship.getSlot().get(0) == -1 && slotNum <= 0 ? 0 : ship.getSlot().get(0));
-        shipItem.setSlot2(ship.getSlot().get(1) == -1 && slotNum <= 1 ? 0 : ship.getSlot().get(1));
-        shipItem.setSlot3(ship.getSlot().get(2) == -1 && slotNum <= 2 ? 0 : ship.getSlot().get(2));
-        shipItem.setSlot4(ship.getSlot().get(3) == -1 && slotNum <= 3 ? 0 : ship.getSlot().get(3));
-        shipItem.setSlot5(ship.getSlot().get(4) == -1 && slotNum <= 4 ? 0 : ship.getSlot().get(4));
-        shipItem.setSlotEx(ship.getSlotEx());
+        this.setSlot1(ship.getSlot().get(0) == -1 && slotNum <= 0 ? 0 : ship.getSlot().get(0));
+        this.setSlot2(ship.getSlot().get(1) == -1 && slotNum <= 1 ? 0 : ship.getSlot().get(1));
+        this.setSlot3(ship.getSlot().get(2) == -1 && slotNum <= 2 ? 0 : ship.getSlot().get(2));
+        this.setSlot4(ship.getSlot().get(3) == -1 && slotNum <= 3 ? 0 : ship.getSlot().get(3));
+        this.setSlot5(ship.getSlot().get(4) == -1 && slotNum <= 4 ? 0 : ship.getSlot().get(4));
+        this.setSlotEx(ship.getSlotEx());
+
+        Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
+                .getSlotitemMap();
+        Function<Integer, String> slotItemName = itemId -> Items.slotitemMst(itemMap.get(itemId))
+                .map(SlotitemMst::getName)
+                .orElse("");
+        this.searchText = new StringJoiner("\n")
+                .add(Ships.shipMst(ship).map(ShipMst::getName).orElse(""))
+                .add(type)
+                .add(slotItemName.apply(this.slot1.get()))
+                .add(slotItemName.apply(this.slot2.get()))
+                .add(slotItemName.apply(this.slot3.get()))
+                .add(slotItemName.apply(this.slot4.get()))
+                .add(slotItemName.apply(this.slot5.get()))
+                .add(slotItemName.apply(this.slotEx.get()))
+                .toString();
+
+        if (!label.equals(this.getLabel())) {
+            this.setLabel(FXCollections.observableSet(label));
+        }
+        this.setFleet(Ships.deckPort(ship).map(DeckPort::getId).map(Object::toString).orElse(""));
+        this.setShip(ship);
+        this.revision.set(this.revision.get() + 1);
+    }
 
+    /**
+     * 艦娘から所有艦娘を生成します
+     *
+     * @param ship 艦娘
+     * @return 所有艦娘
+     */
+    public static ShipItem toShipItem(Ship ship) {
+        ShipItem shipItem = new ShipItem();
+        shipItem.setId(ship.getId());
+        shipItem.update(ship);
         return shipItem;
     }
 
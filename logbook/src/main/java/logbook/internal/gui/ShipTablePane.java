@@ -26,6 +26,7 @@ import org.controlsfx.control.textfield.TextFields;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import logbook.internal.JsonMappers;
 
+import javafx.beans.Observable;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
@@ -61,6 +62,7 @@ import logbook.bean.AppShipTableConfig;
 import logbook.bean.AppShipTableConfig.AppShipTableTabConfig;
 import logbook.bean.DeckPort;
 import logbook.bean.DeckPortCollection;
+import logbook.bean.NdockCollection;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
 import logbook.bean.ShipLabelCollection;
@@ -68,10 +70,14 @@ import logbook.bean.ShipMst;
 import logbook.bean.ShipMstCollection;
 import logbook.bean.SlotItem;
 import logbook.bean.SlotItemCollection;
+import logbook.bean.SlotitemMstCollection;
+import logbook.bean.StypeCollection;
 import logbook.internal.Items;
 import logbook.internal.LoggerHolder;
 import logbook.internal.ShipFilter;
 import logbook.internal.Ships;
+import logbook.internal.state.ChangeSet;
+import logbook.internal.state.Domain;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.val;
@@ -341,8 +347,9 @@ public class ShipTablePane extends VBox {
     /** 艦娘達 */
     private final Supplier<List<Ship>> shipSupplier;
 
-    /** 艦娘達 */
-    private final ObservableList<ShipItem> shipItems = FXCollections.observableArrayList();
+    /** 艦娘達(値を反映し直した行はフィルターとソートを評価し直す) */
+    private final ObservableList<ShipItem> shipItems = FXCollections.observableArrayList(
+            item -> new Observable[] { item.revisionProperty() });
 
     /** フィルター */
     private final FilteredList<ShipItem> filteredShipItems = new FilteredList<>(this.shipItems);
@@ -353,8 +360,26 @@ public class ShipTablePane extends VBox {
     /** フィルターの更新停止 */
     private boolean disableFilterUpdate;
 
-    /** 艦娘一覧のハッシュ・コード */
-    private int shipsHashCode;
+    /** 艦娘のラベルの版（いずれかの一覧でラベルを追加・除去するたびに増える） */
+    private static long labelsVersion;
+
+    /** 表示中のラベルの版 */
+    private long shownLabelsVersion = -1;
+
+    /** 艦娘・装備・艦隊・入渠ドックの変更の購読 */
+    private final StateSubscription subscription;
+
+    /** 画面に反映していない変更 */
+    private ChangeSet changes = new ChangeSet();
+
+    /** 表示中の艦娘・装備・艦種の定義（api_start2 で置き換わる） */
+    private List<Map<Integer, ?>> masters = List.of();
+
+    /** 表示中の入渠中の艦娘 */
+    private Set<Integer> ndockShips = Set.of();
+
+    /** 表示中の遠征中の艦娘 */
+    private Set<Integer> missionShips = Set.of();
 
     /** 艦隊名 */
     private String fleetName;
@@ -392,6 +417,8 @@ public class ShipTablePane extends VBox {
     public ShipTablePane(Supplier<List<Ship>> shipSupplier, String fleetName) {
         this.shipSupplier = shipSupplier;
         this.fleetName = fleetName;
+        this.subscription = StateSubscription.subscribe("ShipTablePane", changes -> this.changes.addAll(changes),
+                Domain.SHIP, Domain.SLOT_ITEM, Domain.DECK_PORT, Domain.NDOCK);
         try {
             FXMLLoader loader = InternalFXMLLoader.load("logbook/gui/ship_table.fxml");
             loader.setRoot(this);
@@ -553,6 +580,13 @@ public class ShipTablePane extends VBox {
         this.enable = false;
     }
 
+    /**
+     * 変更の購読をやめます。ウインドウを閉じる時に呼んでください
+     */
+    public void close() {
+        this.subscription.close();
+    }
+
     /**
      * 画面を更新する
      *
@@ -562,16 +596,28 @@ public class ShipTablePane extends VBox {
             if (!this.enable) {
                 return;
             }
-            List<Ship> ships = this.shipSupplier.get();
-
-            if (this.shipsHashCode != ships.hashCode()) {
-                // ハッシュ・コードが変わっている場合画面の更新
-                this.shipsHashCode = ships.hashCode();
-
-                this.shipItems.clear();
-                this.shipItems.addAll(ships.stream()
-                        .map(ShipItem::toShipItem)
-                        .collect(Collectors.toList()));
+            // 艦娘一覧は艦娘・装備・艦隊・入渠ドックとラベル・定義から作られる
+            List<Map<Integer, ?>> masters = List.of(ShipMstCollection.get().getShipMap(),
+                    SlotitemMstCollection.get().getSlotitemMap(), StypeCollection.get().getStypeMap());
+            boolean all = this.shownLabelsVersion != labelsVersion || !identical(this.masters, masters)
+                    || this.changes.isReset(Domain.SLOT_ITEM);
+            if (all || !this.changes.isEmpty()) {
+                // ラベル・定義が変わった場合は艦娘が同じでも表示する値が変わるため全行を書き換える
+                // それ以外は艦娘が置き換わった行と、装備・艦隊・入渠の変更に関係する艦娘の行だけ書き換える
+                Set<Integer> affected = all ? Set.of() : this.affectedShips(this.changes);
+                this.changes = new ChangeSet();
+                this.shownLabelsVersion = labelsVersion;
+                this.masters = masters;
+                this.ndockShips = new HashSet<>(NdockCollection.get().getNdockSet());
+                this.missionShips = new HashSet<>(DeckPortCollection.get().getMissionShips());
+                List<Ship> ships = this.shipSupplier.get();
+
+                TableTool.reconcile(this.shipItems, ships, Ship::getId, ShipItem::getId, ShipItem::toShipItem,
+                        (item, ship) -> {
+                            if (all || item.getShip() != ship || affected.contains(item.getId())) {
+                                item.update(ship);
+                            }
+                        });
 
                 this.updateLabel();
             }
@@ -580,6 +626,90 @@ public class ShipTablePane extends VBox {
         }
     }
 
+    /**
+     * 装備・艦隊・入渠の変更に関係する艦娘を返します
+     *
+     * @param changes 変更
+     * @return 艦娘ID
+     */
+    private Set<Integer> affectedShips(ChangeSet changes) {
+        Set<Integer> affected = new HashSet<>();
+        // 変わった装備を持っていた艦娘(装備を付け替えた艦娘は艦娘ごと置き換わる)
+        Set<Integer> items = changes.ids(Domain.SLOT_ITEM);
+        if (!items.isEmpty()) {
+            for (ShipItem item : this.shipItems) {
+                Ship ship = item.getShip();
+                if (items.contains(ship.getSlotEx()) || ship.getSlot().stream().anyMatch(items::contains)) {
+                    affected.add(item.getId());
+                }
+            }
+        }
+        // 変わった艦隊に居た艦娘と居る艦娘
+        Set<Integer> decks = changes.ids(Domain.DECK_PORT);
+        if (!decks.isEmpty()) {
+            for (ShipItem item : this.shipItems) {
+                String fleet = item.getFleet();
+                if (fleet != null && !fleet.isEmpty() && decks.contains(Integer.valueOf(fleet))) {
+                    affected.add(item.getId());
+                }
+            }
+            Map<Integer, DeckPort> deckMap = DeckPortCollection.get().getDeckPortMap();
+            for (Integer id : decks) {
+                DeckPort port = deckMap.get(id);
+                if (port != null) {
+                    affected.addAll(port.getShip());
+                }
+            }
+        }
+        // 遠征・入渠に出入りした艦娘
+        if (changes.isReset(Domain.DECK_PORT)) {
+            addDifference(affected, this.missionShips, DeckPortCollection.get().getMissionShips());
+        }
+        if (changes.contains(Domain.NDOCK)) {
+            addDifference(affected, this.ndockShips, NdockCollection.get().getNdockSet());
+        }
+        return affected;
+    }
+
+    /**
+     * 片方にだけ含まれる要素を加えます
+     *
+     * @param to 加える先
+     * @param before 変更前
+     * @param after 変更後
+     */
+    private static void addDifference(Set<Integer> to, Set<Integer> before, Set<Integer> after) {
+        for (Integer id : before) {
+            if (!after.contains(id)) {
+                to.add(id);
+            }
+        }
+        for (Integer id : after) {
+            if (!before.contains(id)) {
+                to.add(id);
+            }
+        }
+    }
+
+    /**
+     * 要素が順に同じインスタンスかを返します
+     *
+     * @param a リスト
+     * @param b リスト
+     * @return 同じインスタンスの場合 true
+     */
+    private static boolean identical(List<?> a, List<?> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * ラベルの更新
      */
@@ -679,6 +809,7 @@ public class ShipTablePane extends VBox {
                     val labels = labelMap.computeIfAbsent(ship.getId(), k -> new LinkedHashSet<>());
                     labels.add(label);
                 }
+                labelsVersion++;
                 this.updateLabel();
                 this.updateFilter();
                 this.table.refresh();
@@ -735,6 +866,7 @@ public class ShipTablePane extends VBox {
                         return v;
                     });
                 }
+                labelsVersion++;
                 this.updateLabel();
                 this.updateFilter();
                 this.table.refresh();
@@ -869,7 +1001,8 @@ public class ShipTablePane extends VBox {
     private Predicate<ShipItem> createFilter() {
         Predicate<ShipItem> filter = null;
 
-        if (this.textFilter.isSelected()) {
+        // 空のテキストは全件に一致するためフィルターに加えない
+        if (this.textFilter.isSelected() && !this.textValue.getText().isEmpty()) {
             filter = ShipFilter.TextFilter.builder()
                     .text(this.textValue.getText())
                     .build();
@@ -0,0 +1,98 @@
+package logbook.internal.gui;
+
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import logbook.internal.LoggerHolder;
+import logbook.internal.state.ChangeEvent;
+import logbook.internal.state.ChangeSet;
+import logbook.internal.state.Domain;
+import logbook.internal.state.StateStore;
+
+/**
+ * {@link StateStore} の変更通知を JavaFX スレッドで受け取ります
+ * <p>
+ * API ハンドラのスレッドで届いた {@link ChangeEvent} を {@link ChangeSet} にまとめ、JavaFX スレッドで渡します。
+ * 渡す前に届いた通知は同じ {@link ChangeSet} にまとめるため、1 回の API で複数の区分が変わっても処理は 1 回です。
+ * </p>
+ * <p>
+ * 画面を閉じる時は {@link #close()} で購読をやめてください。
+ * </p>
+ */
+final class StateSubscription {
+
+    private final String name;
+
+    private final Domain[] domains;
+
+    private final Consumer<ChangeSet> listener;
+
+    private final Consumer<ChangeEvent> receiver = this::receive;
+
+    /** 渡していない変更（無い場合は null、this でロックする） */
+    private ChangeSet pending;
+
+    private volatile boolean closed;
+
+    private StateSubscription(String name, Consumer<ChangeSet> listener, Domain... domains) {
+        this.name = name;
+        this.domains = domains.clone();
+        this.listener = listener;
+    }
+
+    /**
+     * 区分の変更を購読します
+     *
+     * @param name ログに使う名前
+     * @param listener JavaFX スレッドで変更を受け取る処理
+     * @param domains 区分
+     * @return 購読
+     */
+    static StateSubscription subscribe(String name, Consumer<ChangeSet> listener, Domain... domains) {
+        StateSubscription subscription = new StateSubscription(name, listener, domains);
+        for (Domain domain : subscription.domains) {
+            StateStore.subscribe(domain, subscription.receiver);
+        }
+        return subscription;
+    }
+
+    /**
+     * 購読をやめます。まだ渡していない変更は捨てます
+     */
+    void close() {
+        this.closed = true;
+        for (Domain domain : this.domains) {
+            StateStore.unsubscribe(domain, this.receiver);
+        }
+    }
+
+    private void receive(ChangeEvent event) {
+        boolean first;
+        synchronized (this) {
+            first = this.pending == null;
+            if (first) {
+                this.pending = new ChangeSet();
+            }
+            this.pending.add(event);
+        }
+        if (first) {
+            Platform.runLater(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        ChangeSet changes;
+        synchronized (this) {
+            changes = this.pending;
+            this.pending = null;
+        }
+        if (changes == null || this.closed) {
+            return;
+        }
+        try {
+            this.listener.accept(changes);
+        } catch (Exception e) {
+            LoggerHolder.get().warn("画面の更新に失敗しました: " + this.name, e);
+        }
+    }
+}
@@ -2,8 +2,17 @@ package logbook.internal.gui;
 
 import java.io.IOException;
 import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
+import javafx.collections.ObservableList;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableRow;
@@ -101,6 +110,62 @@ class TableTool {
         Tools.Tables.setColumnOrder(table, key);
     }
 
+    /**
+     * 行をキーで突き合わせ、元データとの差分だけを行に反映します。
+     * <p>
+     * 既存の行は作り直さず {@code update} で値を書き換え、元データにない行だけを削除し、新しい元データの行だけを追加します。
+     * 行のインスタンスが変わらないため、選択状態や FilteredList・SortedList の状態はそのまま残ります。
+     * 並び順が変わった場合だけ、既存の行のインスタンスを使って全体を並べ直します。
+     * </p>
+     *
+     * @param rows 行
+     * @param sources 元データ（表示順）
+     * @param sourceKey 元データのキー
+     * @param rowKey 行のキー
+     * @param create 行を作る
+     * @param update 既存の行に元データを反映する（変更がなければ何もしない）
+     */
+    static <S, R, K> void reconcile(ObservableList<R> rows, List<? extends S> sources,
+            Function<? super S, K> sourceKey, Function<? super R, K> rowKey,
+            Function<? super S, ? extends R> create, BiConsumer<? super R, ? super S> update) {
+        Map<K, R> current = new HashMap<>(rows.size() * 2);
+        for (R row : rows) {
+            current.put(rowKey.apply(row), row);
+        }
+        List<R> target = new ArrayList<>(sources.size());
+        Set<R> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (S source : sources) {
+            R row = current.remove(sourceKey.apply(source));
+            if (row == null) {
+                row = create.apply(source);
+                created.add(row);
+            } else {
+                update.accept(row, source);
+            }
+            target.add(row);
+        }
+        // 無くなった行の削除
+        if (!current.isEmpty()) {
+            Set<R> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+            removed.addAll(current.values());
+            rows.removeIf(removed::contains);
+        }
+        // 新しい行の挿入
+        for (int i = 0; i < target.size(); i++) {
+            R row = target.get(i);
+            if (i < rows.size() && rows.get(i) == row) {
+                continue;
+            }
+            if (created.contains(row)) {
+                rows.add(i, row);
+            } else {
+                // 並び順が変わっている
+                rows.setAll(target);
+                return;
+            }
+        }
+    }
+
     static <T> Callback<TableColumn<T, Integer>, TableCell<T, Integer>> getRowCountCellFactory() {
         return e -> {
             TableCell<T, Integer> cell = new TableCell<T, Integer>() {
@@ -3,9 +3,11 @@ package logbook.internal.gui;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javafx.animation.Timeline;
+import javafx.beans.Observable;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.SortedList;
@@ -53,9 +55,9 @@ public class UseitemController extends WindowController {
     @FXML
     private TableColumn<UseitemItem, String> description;
 
-    private ObservableList<UseitemItem> items = FXCollections.observableArrayList();
-
-    private int itemsHashCode;
+    /** 行(個数が変わった行はソートを評価し直す) */
+    private ObservableList<UseitemItem> items = FXCollections.observableArrayList(
+            item -> new Observable[] { item.countProperty() });
 
     private Timeline timeline;
 
@@ -92,11 +94,9 @@ public class UseitemController extends WindowController {
                 .filter(this::filter)
                 .sorted(Comparator.comparing(UseitemItem::getId))
                 .collect(Collectors.toList());
-        if (this.itemsHashCode != items.hashCode()) {
-            this.items.clear();
-            this.items.addAll(items);
-            this.itemsHashCode = items.hashCode();
-        }
+        // 個数などが変わった行だけ書き換える
+        TableTool.reconcile(this.items, items, UseitemItem::getId, UseitemItem::getId,
+                Function.identity(), UseitemItem::update);
     }
 
     /**
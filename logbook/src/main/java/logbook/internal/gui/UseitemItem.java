@@ -82,6 +82,17 @@ public class UseitemItem {
         return this.description;
     }
 
+    /**
+     * 別の行の値を反映します
+     *
+     * @param item 行
+     */
+    public void update(UseitemItem item) {
+        this.setName(item.getName());
+        this.setCount(item.getCount());
+        this.setDescription(item.getDescription());
+    }
+
     /** Useitem API での ID と material ID のマッピング */
     private static final Map<Integer, Integer> MATERIALS_MAP = new HashMap<>();
     
@@ -130,9 +141,7 @@ public class UseitemItem {
         } else if (ITEMS_MAP.containsKey(item.getId())) {
             // 装備系
             final int slotitemId = ITEMS_MAP.get(item.getId());
-            ret.setCount((int)SlotItemCollection.get().getSlotitemMap().values().stream()
-                    .filter(slotitem -> slotitem.getSlotitemId() == slotitemId)
-                    .count());
+            ret.setCount(SlotItemCollection.get().countBySlotitemId(slotitemId));
         } else {
             // その他の純粋なアイテム
             Optional.ofNullable(UseitemCollection.get().getUseitemMap().get(item.getId()))
@@ -0,0 +1,150 @@
+package logbook.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ロックフリーの対数線形バケット・ヒストグラム（HDR Histogram 風）です。
+ * <p>
+ * 値（マイクロ秒）を 2 のべき乗ごとに 8 分割したバケットで数えるため、
+ * 相対誤差はおおむね 12.5% 以内に収まります。記録は {@link AtomicLongArray} への加算のみで、
+ * 記録側スレッド同士がロックで待つことはありません。
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** 記録できる最大の指数（2^41 マイクロ秒 ≒ 25 日で頭打ち） */
+    private static final int MAX_EXPONENT = 40;
+
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 値を記録します。負の値は 0 として扱います。
+     *
+     * @param micros 値（マイクロ秒）
+     */
+    public void record(long micros) {
+        long value = Math.max(0L, micros);
+        this.buckets.incrementAndGet(bucketIndex(value));
+        this.count.increment();
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * 記録数を返します。
+     *
+     * @return 記録数
+     */
+    public long count() {
+        return this.count.sum();
+    }
+
+    /**
+     * 合計を返します。
+     *
+     * @return 合計（マイクロ秒）
+     */
+    public long sum() {
+        return this.sum.sum();
+    }
+
+    /**
+     * 最大値を返します。
+     *
+     * @return 最大値（マイクロ秒）
+     */
+    public long max() {
+        return this.max.get();
+    }
+
+    /**
+     * 現在の値を読み取ります。記録と並行して呼ばれた場合、各値は厳密には同時点のものではありません。
+     *
+     * @return スナップショット
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = this.buckets.get(i);
+        }
+        return new Snapshot(this.count.sum(), this.sum.sum(), this.max.get(), counts);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + sub;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + sub) * width + width - 1;
+    }
+
+    /**
+     * ヒストグラムのある時点の値です。
+     *
+     * @param count 記録数
+     * @param sum 合計（マイクロ秒）
+     * @param max 最大値（マイクロ秒）
+     * @param counts バケットごとの記録数
+     */
+    public record Snapshot(long count, long sum, long max, long[] counts) {
+
+        /**
+         * 平均値を返します。
+         *
+         * @return 平均（マイクロ秒）、記録が無い場合 {@code 0}
+         */
+        public double mean() {
+            return this.count > 0 ? (double) this.sum / this.count : 0.0;
+        }
+
+        /**
+         * パーセンタイルを返します。値は該当バケットの上限（最大値を超えない）です。
+         *
+         * @param quantile 0.0 〜 1.0
+         * @return パーセンタイル値（マイクロ秒）、記録が無い場合 {@code 0}
+         */
+        public long percentile(double quantile) {
+            long total = 0L;
+            for (long c : this.counts) {
+                total += c;
+            }
+            if (total == 0L) {
+                return 0L;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+            long seen = 0L;
+            for (int i = 0; i < this.counts.length; i++) {
+                seen += this.counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), this.max);
+                }
+            }
+            return this.max;
+        }
+    }
+}
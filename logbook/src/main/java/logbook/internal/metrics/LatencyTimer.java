@@ -0,0 +1,108 @@
+package logbook.internal.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 処理時間（{@link LatencyHistogram}）とエラー数を記録するメトリクスです。
+ * <p>
+ * インスタンスは {@link MetricsRegistry#timer(String)} から取得します。
+ * </p>
+ */
+public final class LatencyTimer implements LatencyTimerMXBean {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    LatencyTimer() {
+    }
+
+    /**
+     * 処理時間を記録します。
+     *
+     * @param nanos 処理時間（ナノ秒）
+     */
+    public void recordNanos(long nanos) {
+        this.histogram.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * 処理時間を記録します。
+     *
+     * @param millis 処理時間（ミリ秒）
+     */
+    public void recordMillis(long millis) {
+        this.histogram.record(TimeUnit.MILLISECONDS.toMicros(millis));
+    }
+
+    /**
+     * エラーとなった処理の処理時間を記録します。
+     *
+     * @param nanos 処理時間（ナノ秒）
+     */
+    public void recordErrorNanos(long nanos) {
+        this.errors.increment();
+        recordNanos(nanos);
+    }
+
+    /**
+     * 開始時刻から現在までを記録します。
+     *
+     * @param startNanos {@link System#nanoTime()} で取得した開始時刻
+     */
+    public void recordSince(long startNanos) {
+        recordNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * ヒストグラムのスナップショットを返します。
+     *
+     * @return スナップショット
+     */
+    public LatencyHistogram.Snapshot snapshot() {
+        return this.histogram.snapshot();
+    }
+
+    @Override
+    public long getCount() {
+        return this.histogram.count();
+    }
+
+    @Override
+    public long getErrors() {
+        return this.errors.sum();
+    }
+
+    @Override
+    public double getSumMillis() {
+        return this.histogram.sum() / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long count = this.histogram.count();
+        return count > 0 ? this.histogram.sum() / MICROS_PER_MILLI / count : 0.0;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return this.histogram.snapshot().percentile(0.50) / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getP90Millis() {
+        return this.histogram.snapshot().percentile(0.90) / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return this.histogram.snapshot().percentile(0.99) / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return this.histogram.max() / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,66 @@
+package logbook.internal.metrics;
+
+/**
+ * 処理時間のヒストグラムとエラー数を JMX 経由で公開する MXBean インターフェースです。
+ * <p>
+ * 値は起動時からの累積です。ミリ秒の値は内部のマイクロ秒精度から換算します。
+ * </p>
+ */
+public interface LatencyTimerMXBean {
+
+    /**
+     * 記録数。
+     *
+     * @return 記録数（エラーを含む）
+     */
+    long getCount();
+
+    /**
+     * エラー数。
+     *
+     * @return エラーとして記録された数
+     */
+    long getErrors();
+
+    /**
+     * 処理時間の合計。
+     *
+     * @return 合計（ミリ秒）
+     */
+    double getSumMillis();
+
+    /**
+     * 処理時間の平均。
+     *
+     * @return 平均（ミリ秒）
+     */
+    double getMeanMillis();
+
+    /**
+     * 処理時間の 50 パーセンタイル。
+     *
+     * @return p50（ミリ秒）
+     */
+    double getP50Millis();
+
+    /**
+     * 処理時間の 90 パーセンタイル。
+     *
+     * @return p90（ミリ秒）
+     */
+    double getP90Millis();
+
+    /**
+     * 処理時間の 99 パーセンタイル。
+     *
+     * @return p99（ミリ秒）
+     */
+    double getP99Millis();
+
+    /**
+     * 処理時間の最大値。
+     *
+     * @return 最大（ミリ秒）
+     */
+    double getMaxMillis();
+}
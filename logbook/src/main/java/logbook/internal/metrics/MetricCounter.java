@@ -0,0 +1,38 @@
+package logbook.internal.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ロックフリーの単調増加カウンタです。
+ * <p>
+ * インスタンスは {@link MetricsRegistry#counter(String)} から取得します。
+ * </p>
+ */
+public final class MetricCounter implements MetricCounterMXBean {
+
+    private final LongAdder value = new LongAdder();
+
+    MetricCounter() {
+    }
+
+    /**
+     * 1 加算します。
+     */
+    public void increment() {
+        this.value.increment();
+    }
+
+    /**
+     * 加算します。
+     *
+     * @param delta 加算する値
+     */
+    public void add(long delta) {
+        this.value.add(delta);
+    }
+
+    @Override
+    public long getValue() {
+        return this.value.sum();
+    }
+}
@@ -0,0 +1,14 @@
+package logbook.internal.metrics;
+
+/**
+ * 単調増加するカウンタを JMX 経由で公開する MXBean インターフェースです。
+ */
+public interface MetricCounterMXBean {
+
+    /**
+     * 起動時からの累積値。
+     *
+     * @return 累積値
+     */
+    long getValue();
+}
@@ -0,0 +1,27 @@
+package logbook.internal.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * 取得のたびに値を計算するゲージです。
+ * <p>
+ * インスタンスは {@link MetricsRegistry#gauge(String, DoubleSupplier)} で登録します。
+ * </p>
+ */
+final class MetricGauge implements MetricGaugeMXBean {
+
+    private final DoubleSupplier supplier;
+
+    MetricGauge(DoubleSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public double getValue() {
+        try {
+            return this.supplier.getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+}
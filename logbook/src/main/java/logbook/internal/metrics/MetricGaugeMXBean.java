@@ -0,0 +1,14 @@
+package logbook.internal.metrics;
+
+/**
+ * 取得時点の値を JMX 経由で公開する MXBean インターフェースです。
+ */
+public interface MetricGaugeMXBean {
+
+    /**
+     * 現在値。
+     *
+     * @return 現在値
+     */
+    double getValue();
+}
@@ -0,0 +1,212 @@
+package logbook.internal.metrics;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import logbook.internal.LoggerHolder;
+
+/**
+ * 実行時メトリクス（処理時間・カウンタ・ゲージ）の登録先です。
+ * <p>
+ * メトリクスは名前（と任意のラベル 1 つ）ごとに 1 インスタンスで、初回取得時に生成します。
+ * 取得済みのメトリクスへの記録はロックを取りません。
+ * {@link #publish(MBeanServer)} 以降は、生成したメトリクスを次の ObjectName で JMX に登録します。
+ * </p>
+ * <ul>
+ * <li>{@code logbook:type=Timer,name=<名前>[,<ラベル名>=<値>]} … {@link LatencyTimerMXBean}</li>
+ * <li>{@code logbook:type=Counter,name=<名前>[,<ラベル名>=<値>]} … {@link MetricCounterMXBean}</li>
+ * <li>{@code logbook:type=Gauge,name=<名前>} … {@link MetricGaugeMXBean}</li>
+ * </ul>
+ * <p>
+ * ラベル値（URI パスなど）の種類は名前ごとに {@link #MAX_LABEL_VALUES} までとし、
+ * 超えた分は {@link #OVERFLOW_LABEL_VALUE} にまとめます。
+ * </p>
+ */
+public final class MetricsRegistry {
+
+    /** 名前ごとのラベル値の上限 */
+    static final int MAX_LABEL_VALUES = 256;
+
+    /** 上限を超えたラベル値の集約先 */
+    static final String OVERFLOW_LABEL_VALUE = "other";
+
+    private static final String DOMAIN = "logbook";
+
+    private static final Map<String, Object> METRICS = new ConcurrentHashMap<>();
+
+    private static final Map<String, Set<String>> LABEL_VALUES = new HashMap<>();
+
+    /** 上限を超えたラベル値のキー→集約先のメトリクス（JMX には登録しない） */
+    private static final Map<String, Object> OVERFLOW_ALIASES = new ConcurrentHashMap<>();
+
+    /** {@link #OVERFLOW_ALIASES} に覚えるキーの上限 */
+    private static final int MAX_OVERFLOW_ALIASES = 4096;
+
+    private static MBeanServer server;
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * 処理時間メトリクスを返します。
+     *
+     * @param name 名前（snake_case）
+     * @return 処理時間メトリクス
+     */
+    public static LatencyTimer timer(String name) {
+        return timer(name, null, null);
+    }
+
+    /**
+     * ラベル付きの処理時間メトリクスを返します。
+     *
+     * @param name 名前（snake_case）
+     * @param labelName ラベル名
+     * @param labelValue ラベル値（{@code null} や空は {@code none}）
+     * @return 処理時間メトリクス
+     */
+    public static LatencyTimer timer(String name, String labelName, String labelValue) {
+        Object metric = lookup(objectName("Timer", name, labelName, labelValue));
+        if (metric == null) {
+            metric = create("Timer", name, labelName, labelValue, LatencyTimer::new);
+        }
+        return (LatencyTimer) metric;
+    }
+
+    /**
+     * カウンタを返します。
+     *
+     * @param name 名前（snake_case）
+     * @return カウンタ
+     */
+    public static MetricCounter counter(String name) {
+        return counter(name, null, null);
+    }
+
+    /**
+     * ラベル付きのカウンタを返します。
+     *
+     * @param name 名前（snake_case）
+     * @param labelName ラベル名
+     * @param labelValue ラベル値（{@code null} や空は {@code none}）
+     * @return カウンタ
+     */
+    public static MetricCounter counter(String name, String labelName, String labelValue) {
+        Object metric = lookup(objectName("Counter", name, labelName, labelValue));
+        if (metric == null) {
+            metric = create("Counter", name, labelName, labelValue, MetricCounter::new);
+        }
+        return (MetricCounter) metric;
+    }
+
+    /**
+     * ゲージを登録します。同じ名前で登録済みの場合は何もしません。
+     *
+     * @param name 名前（snake_case）
+     * @param supplier 値の取得元（JMX から読まれるたびに呼ばれる）
+     */
+    public static void gauge(String name, DoubleSupplier supplier) {
+        create("Gauge", name, null, null, () -> new MetricGauge(supplier));
+    }
+
+    /**
+     * 生成済みおよび以降に生成するメトリクスを JMX に登録します。
+     *
+     * @param mBeanServer 登録先
+     */
+    public static synchronized void publish(MBeanServer mBeanServer) {
+        server = mBeanServer;
+        METRICS.forEach(MetricsRegistry::register);
+    }
+
+    private static Object lookup(String key) {
+        Object metric = METRICS.get(key);
+        return metric != null ? metric : OVERFLOW_ALIASES.get(key);
+    }
+
+    private static synchronized Object create(String type, String name, String labelName, String labelValue,
+            Supplier<?> factory) {
+        String value = labelName != null ? boundedLabelValue(name, labelValue) : null;
+        String key = objectName(type, name, labelName, value);
+        Object metric = METRICS.get(key);
+        if (metric == null) {
+            metric = factory.get();
+            METRICS.put(key, metric);
+            if (server != null) {
+                register(key, metric);
+            }
+        }
+        if (labelName != null && OVERFLOW_ALIASES.size() < MAX_OVERFLOW_ALIASES) {
+            // 上限を超えたラベル値も次回からロックを取らずに集約先を引けるようにする
+            String rawKey = objectName(type, name, labelName, labelValue);
+            if (!rawKey.equals(key)) {
+                OVERFLOW_ALIASES.putIfAbsent(rawKey, metric);
+            }
+        }
+        return metric;
+    }
+
+    private static String boundedLabelValue(String name, String labelValue) {
+        String value = sanitize(labelValue);
+        Set<String> values = LABEL_VALUES.computeIfAbsent(name, k -> new HashSet<>());
+        if (values.contains(value)) {
+            return value;
+        }
+        if (values.size() >= MAX_LABEL_VALUES) {
+            return OVERFLOW_LABEL_VALUE;
+        }
+        values.add(value);
+        return value;
+    }
+
+    private static void register(String key, Object metric) {
+        try {
+            ObjectName objectName = new ObjectName(key);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metric, objectName);
+            }
+        } catch (JMException e) {
+            LoggerHolder.get().warn("JMXメトリクスの登録に失敗しました: " + key, e);
+        }
+    }
+
+    private static String objectName(String type, String name, String labelName, String labelValue) {
+        StringBuilder sb = new StringBuilder(DOMAIN).append(":type=").append(type)
+                .append(",name=").append(sanitize(name));
+        if (labelName != null) {
+            sb.append(',').append(sanitize(labelName)).append('=').append(sanitize(labelValue));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * ObjectName の値としてクォート無しで使えない文字を置き換えます。
+     */
+    static String sanitize(String value) {
+        if (value == null || value.isEmpty()) {
+            return "none";
+        }
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean invalid = c == ',' || c == '=' || c == ':' || c == '"' || c == '*' || c == '?'
+                    || c == '\n' || c == '\r';
+            if (invalid && sb == null) {
+                sb = new StringBuilder(value.length()).append(value, 0, i);
+            }
+            if (sb != null) {
+                sb.append(invalid ? '_' : c);
+            }
+        }
+        return sb != null ? sb.toString() : value;
+    }
+}
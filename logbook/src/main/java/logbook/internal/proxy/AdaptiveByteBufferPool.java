@@ -0,0 +1,318 @@
+package logbook.internal.proxy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.io.RetainableByteBuffer;
+import org.eclipse.jetty.util.component.ContainerLifeCycle;
+import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
+import org.eclipse.jetty.util.thread.Scheduler;
+
+import logbook.bean.AppConfig;
+import logbook.internal.metrics.MetricCounter;
+import logbook.internal.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 観測した取得サイズに合わせて {@link ArrayByteBufferPool} の大きさを切り替えるバッファプール。
+ * <p>
+ * 取得要求を 2 のべき乗のサイズクラス（{@value #FACTOR} バイト〜{@value #MAX_ADAPTIVE_CAPACITY} バイト、それ以上）に分けて数え、
+ * {@value #EVALUATE_INTERVAL_SECONDS} 秒ごとに次を行う。
+ * </p>
+ * <ul>
+ * <li>要求サイズの 99 パーセンタイルを収めるよう、プールする最大サイズ（maxCapacity）を決める。
+ * 設定値（{@link AppConfig#getProxyBufferPoolMaxCapacity()}）を下限とし、縮小は {@value #SHRINK_EVALUATIONS} 回続けて小さい値になった場合のみ</li>
+ * <li>保持するメモリの上限を、サイズクラスごとの取得数（バケット上限 {@value #MAX_BUCKET_SIZE} 個まで）から見積もる。
+ * 設定値（{@link AppConfig#getProxyBufferPoolMaxMemory()}）が 0 より大きい場合はその値で固定</li>
+ * <li>取得が無い状態が {@link AppConfig#getProxyBufferPoolIdleTrimSeconds()} 秒続いたら、再利用待ちのバッファを解放する</li>
+ * </ul>
+ * <p>
+ * {@link ArrayByteBufferPool} のサイズは生成時に決まるため、変更時は新しいプールに差し替える。
+ * 差し替え前に取得されたバッファは元のプールへ返却され、元のプールごと破棄される。
+ * 統計は {@link MetricsRegistry} のカウンタ（{@code proxy_buffer_acquires{size}} / {@code proxy_buffer_oversize{size}} /
+ * {@code proxy_buffer_miss_bytes}）として JMX に公開する。
+ * </p>
+ */
+@Slf4j
+public final class AdaptiveByteBufferPool extends ContainerLifeCycle implements ByteBufferPool {
+
+    /** バケットの単位（最小のサイズクラス） */
+    static final int FACTOR = 4096;
+
+    /** バケットごとに保持するバッファ数の上限 */
+    static final int MAX_BUCKET_SIZE = 64;
+
+    /** 適応で広げる maxCapacity の上限 */
+    static final int MAX_ADAPTIVE_CAPACITY = 4 * 1024 * 1024;
+
+    /** サイズクラスの数（最後は {@link #MAX_ADAPTIVE_CAPACITY} 超） */
+    static final int SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_ADAPTIVE_CAPACITY / FACTOR) + 2;
+
+    /** 評価の間隔（秒） */
+    static final long EVALUATE_INTERVAL_SECONDS = 60;
+
+    /** 縮小までに必要な連続評価回数 */
+    static final int SHRINK_EVALUATIONS = 5;
+
+    /** maxCapacity を決めるパーセンタイル */
+    private static final double CAPACITY_PERCENTILE = 0.99;
+
+    /** 自動見積もりの保持メモリの下限 */
+    private static final long MIN_AUTO_MEMORY = 4L * 1024 * 1024;
+
+    private static final MetricCounter[] ACQUIRES = new MetricCounter[SIZE_CLASSES];
+
+    private static final MetricCounter[] OVERSIZE = new MetricCounter[SIZE_CLASSES];
+
+    /** プールの総保持量の増分（新規確保の近似） */
+    private static final MetricCounter MISS_BYTES = MetricsRegistry.counter("proxy_buffer_miss_bytes");
+
+    static {
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            ACQUIRES[i] = MetricsRegistry.counter("proxy_buffer_acquires", "size", sizeClassLabel(i));
+            OVERSIZE[i] = MetricsRegistry.counter("proxy_buffer_oversize", "size", sizeClassLabel(i));
+        }
+    }
+
+    private final int configuredCapacity;
+    private final long configuredMemory;
+    private final boolean adaptive;
+    private final long idleTrimNanos;
+    private final LongAdder[] window = new LongAdder[SIZE_CLASSES];
+    private final Scheduler scheduler;
+
+    private volatile Current current;
+    private long lastActiveNanos;
+    private long lastMemory;
+    private int shrinkVotes;
+
+    /**
+     * 設定からバッファプールを作成します。
+     *
+     * @param config アプリケーション設定
+     */
+    public AdaptiveByteBufferPool(AppConfig config) {
+        this(config.getProxyBufferPoolMaxCapacity(), config.getProxyBufferPoolMaxMemory(),
+                config.isProxyBufferPoolAdaptive(),
+                TimeUnit.SECONDS.toNanos(Math.max(0, config.getProxyBufferPoolIdleTrimSeconds())));
+    }
+
+    AdaptiveByteBufferPool(int maxCapacity, long maxMemory, boolean adaptive, long idleTrimNanos) {
+        this.configuredCapacity = normalizeCapacity(maxCapacity);
+        this.configuredMemory = Math.max(0, maxMemory);
+        this.adaptive = adaptive;
+        this.idleTrimNanos = idleTrimNanos;
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            this.window[i] = new LongAdder();
+        }
+        this.current = newCurrent(this.configuredCapacity, this.configuredMemory);
+        this.lastActiveNanos = System.nanoTime();
+        this.scheduler = new ScheduledExecutorScheduler("logbook-buffer-pool", true);
+        addBean(this.scheduler);
+    }
+
+    @Override
+    public RetainableByteBuffer.Mutable acquire(int size, boolean direct) {
+        int sizeClass = sizeClass(size);
+        ACQUIRES[sizeClass].increment();
+        this.window[sizeClass].increment();
+        Current current = this.current;
+        if (size > current.maxCapacity) {
+            OVERSIZE[sizeClass].increment();
+        }
+        return (RetainableByteBuffer.Mutable) current.pool.acquire(size, direct);
+    }
+
+    @Override
+    public void clear() {
+        this.current.pool.clear();
+    }
+
+    /**
+     * 現在のプールを返します。
+     *
+     * @return 現在のプール
+     */
+    public ArrayByteBufferPool getDelegate() {
+        return this.current.pool;
+    }
+
+    /**
+     * 現在プールしている最大サイズを返します。
+     *
+     * @return maxCapacity（バイト）
+     */
+    public int getMaxCapacity() {
+        return this.current.maxCapacity;
+    }
+
+    /**
+     * 現在の保持メモリの上限を返します。
+     *
+     * @return 上限（バイト）、Jetty 既定の場合は 0
+     */
+    public long getMaxMemory() {
+        return this.current.maxMemory;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        schedule();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        this.current.pool.clear();
+    }
+
+    private void schedule() {
+        if (!isRunning() && !isStarting()) {
+            return;
+        }
+        this.scheduler.schedule(() -> {
+            try {
+                evaluate(System.nanoTime());
+            } catch (RuntimeException e) {
+                log.warn("バッファプールの評価に失敗しました", e);
+            }
+            schedule();
+        }, EVALUATE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 直近の取得状況からプールの大きさを見直します。
+     *
+     * @param now 現在時刻（{@link System#nanoTime()}）
+     */
+    synchronized void evaluate(long now) {
+        long[] counts = new long[SIZE_CLASSES];
+        long total = 0;
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            counts[i] = this.window[i].sumThenReset();
+            total += counts[i];
+        }
+        Current current = this.current;
+        long memory = current.pool.getHeapMemory() + current.pool.getDirectMemory();
+        if (memory > this.lastMemory) {
+            MISS_BYTES.add(memory - this.lastMemory);
+        }
+        this.lastMemory = memory;
+
+        if (total == 0) {
+            if (this.idleTrimNanos > 0 && memory > 0 && now - this.lastActiveNanos >= this.idleTrimNanos) {
+                current.pool.clear();
+                this.lastMemory = current.pool.getHeapMemory() + current.pool.getDirectMemory();
+                this.lastActiveNanos = now;
+                log.debug("アイドルのためバッファプールを解放しました: {} bytes", memory - this.lastMemory);
+            }
+            return;
+        }
+        this.lastActiveNanos = now;
+        if (!this.adaptive) {
+            return;
+        }
+
+        int capacity = targetCapacity(counts, total, this.configuredCapacity);
+        if (capacity < current.maxCapacity && ++this.shrinkVotes < SHRINK_EVALUATIONS) {
+            capacity = current.maxCapacity;
+        } else if (capacity >= current.maxCapacity) {
+            this.shrinkVotes = 0;
+        }
+        long maxMemory = this.configuredMemory > 0 ? this.configuredMemory
+                : targetMemory(counts, capacity, Runtime.getRuntime().maxMemory());
+        if (capacity == current.maxCapacity && !memoryChanged(current.maxMemory, maxMemory)) {
+            return;
+        }
+        this.current = newCurrent(capacity, maxMemory);
+        this.shrinkVotes = 0;
+        this.lastMemory = 0;
+        current.pool.clear();
+        log.info("バッファプールを変更しました: maxCapacity={} -> {}, maxMemory={} -> {}",
+                current.maxCapacity, capacity, current.maxMemory, maxMemory);
+    }
+
+    /**
+     * 要求サイズのサイズクラスを返します。
+     *
+     * @param size 要求サイズ（バイト）
+     * @return サイズクラス（0 が {@value #FACTOR} バイト以下、最後が {@value #MAX_ADAPTIVE_CAPACITY} バイト超）
+     */
+    static int sizeClass(int size) {
+        if (size <= FACTOR) {
+            return 0;
+        }
+        int sizeClass = 32 - Integer.numberOfLeadingZeros((size - 1) / FACTOR);
+        return Math.min(sizeClass, SIZE_CLASSES - 1);
+    }
+
+    /**
+     * 要求サイズの 99 パーセンタイルを収める maxCapacity を返します。
+     *
+     * @param counts サイズクラスごとの取得数
+     * @param total 取得数の合計
+     * @param floor 下限
+     * @return maxCapacity（バイト）
+     */
+    static int targetCapacity(long[] counts, long total, int floor) {
+        long threshold = (long) Math.ceil(total * CAPACITY_PERCENTILE);
+        long cumulative = 0;
+        int sizeClass = SIZE_CLASSES - 1;
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            cumulative += counts[i];
+            if (cumulative >= threshold) {
+                sizeClass = i;
+                break;
+            }
+        }
+        int capacity = (int) Math.min(MAX_ADAPTIVE_CAPACITY, (long) FACTOR << Math.min(sizeClass, SIZE_CLASSES - 2));
+        return Math.max(floor, capacity);
+    }
+
+    /**
+     * サイズクラスごとの取得数から保持メモリの上限を見積もります。
+     *
+     * @param counts サイズクラスごとの取得数
+     * @param capacity maxCapacity（これを超えるサイズクラスはプールされないため数えない）
+     * @param heapLimit JVM の最大ヒープ
+     * @return 上限（バイト）
+     */
+    static long targetMemory(long[] counts, int capacity, long heapLimit) {
+        long memory = 0;
+        for (int i = 0; i < SIZE_CLASSES - 1 && ((long) FACTOR << i) <= capacity; i++) {
+            memory += Math.min(counts[i], MAX_BUCKET_SIZE) * ((long) FACTOR << i);
+        }
+        long ceiling = Math.max(MIN_AUTO_MEMORY, heapLimit / 8);
+        return Math.min(ceiling, Math.max(MIN_AUTO_MEMORY, memory));
+    }
+
+    private static boolean memoryChanged(long before, long after) {
+        // 見積もりの揺れで差し替えが続かないよう、2 倍以上変わった場合のみ
+        return after > before * 2 || after * 2 < before;
+    }
+
+    private static int normalizeCapacity(int maxCapacity) {
+        int capacity = Math.max(FACTOR, Math.min(MAX_ADAPTIVE_CAPACITY, maxCapacity));
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private static String sizeClassLabel(int sizeClass) {
+        if (sizeClass == SIZE_CLASSES - 1) {
+            return "over";
+        }
+        int kib = (FACTOR << sizeClass) / 1024;
+        return kib >= 1024 ? (kib / 1024) + "m" : kib + "k";
+    }
+
+    private static Current newCurrent(int maxCapacity, long maxMemory) {
+        ArrayByteBufferPool pool = new ArrayByteBufferPool(0, FACTOR, maxCapacity, MAX_BUCKET_SIZE, maxMemory,
+                maxMemory);
+        return new Current(pool, maxCapacity, maxMemory);
+    }
+
+    private record Current(ArrayByteBufferPool pool, int maxCapacity, long maxMemory) {
+    }
+}
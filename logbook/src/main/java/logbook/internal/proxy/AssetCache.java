@@ -0,0 +1,805 @@
+package logbook.internal.proxy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.jetty.http.HttpHeader;
+
+import logbook.internal.metrics.MetricCounter;
+import logbook.internal.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ゲームの静的リソース（{@code /kcs2/resources/}・{@code /kcs2/img/}）をトンネル内でローカルから返すキャッシュ。
+ * <p>
+ * キーはパスと {@code version} クエリ（他のクエリは無視）。アップストリームの 200 応答を、
+ * {@code Cache-Control} が {@code no-store} / {@code no-cache} / {@code private} でなく、
+ * {@code Set-Cookie} や {@code Accept-Encoding} 以外の {@code Vary} を含まない場合に保存する。
+ * </p>
+ * <ul>
+ * <li>ディスク: ボディは SHA-256 で名前を付けたファイル（{@code objects/xx/<hash>}）に置き、
+ *     メタデータは追記型の索引（{@value #INDEX_FILE}）に記録する。起動時に索引を詰め直し、参照の無いファイルを消す</li>
+ * <li>メモリ: 最近返したボディを指定バイト数まで保持する（LRU）</li>
+ * <li>鮮度: {@code s-maxage} / {@code max-age}、無い場合は {@code Last-Modified} からの経過時間の 10%（最大 1 日）。
+ *     鮮度切れでも {@code ETag} か {@code Last-Modified} があれば {@link #MAX_STALE_MILLIS} までは古い内容を返し、
+ *     バックグラウンドで条件付きリクエストにより再検証する（304 なら鮮度を延長、それ以外は破棄して次回取り直す）</li>
+ * </ul>
+ * <p>容量の上限は設けていない。不要になったら {@value #DIRECTORY_NAME} ディレクトリごと削除してよい。</p>
+ */
+@Slf4j
+final class AssetCache
+{
+    /** キャッシュディレクトリの名前（リソースディレクトリの下） */
+    static final String DIRECTORY_NAME = "asset-cache";
+
+    /** アクセスログの結果: 鮮度内のキャッシュから応答 */
+    static final String STATUS_HIT = "HIT";
+
+    /** アクセスログの結果: 鮮度切れのキャッシュから応答（バックグラウンドで再検証） */
+    static final String STATUS_STALE = "STALE";
+
+    /** アクセスログの結果: 対象だがアップストリームへ転送 */
+    static final String STATUS_MISS = "MISS";
+
+    /** 索引ファイル */
+    static final String INDEX_FILE = "index.tsv";
+
+    /** 鮮度切れ後、再検証中に古い内容を返してよい期間 */
+    static final long MAX_STALE_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    /** 保存するボディの上限 */
+    static final int MAX_ENTRY_BYTES = 16 * 1024 * 1024;
+
+    /** 経験的な鮮度の上限 */
+    private static final long MAX_HEURISTIC_FRESH_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static final String OBJECTS_DIR = "objects";
+
+    private static final String TOMBSTONE = "-";
+
+    private static final int INDEX_FIELDS = 11;
+
+    private static final List<String> CACHEABLE_PREFIXES = List.of("/kcs2/resources/", "/kcs2/img/");
+
+    private static final MetricCounter HITS = MetricsRegistry.counter("asset_cache_hits");
+
+    private static final MetricCounter STALE_HITS = MetricsRegistry.counter("asset_cache_stale_hits");
+
+    private static final MetricCounter MISSES = MetricsRegistry.counter("asset_cache_misses");
+
+    private static final MetricCounter STORES = MetricsRegistry.counter("asset_cache_stores");
+
+    private static final MetricCounter SERVED_BYTES = MetricsRegistry.counter("asset_cache_served_bytes");
+
+    private final Path directory;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> hot = new LinkedHashMap<>(64, 0.75f, true);
+    private final long maxHotBytes;
+    private long hotBytes;
+    private final Executor executor;
+    private final Revalidator revalidator;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Object indexLock = new Object();
+
+    AssetCache(Path directory, long maxHotBytes, Executor executor, Revalidator revalidator)
+    {
+        this.directory = directory;
+        this.maxHotBytes = maxHotBytes;
+        this.executor = executor;
+        this.revalidator = revalidator;
+    }
+
+    /**
+     * キャッシュを開き、ディスクの索引を読み込む。
+     *
+     * @param directory キャッシュディレクトリ
+     * @param maxHotBytes メモリに保持するボディの合計バイト数
+     * @param executor ディスク書き込みと再検証に使う Executor
+     * @param revalidator 条件付きリクエストの実装
+     * @return キャッシュ
+     * @throws IOException ディレクトリを作成できない場合
+     */
+    static AssetCache open(Path directory, long maxHotBytes, Executor executor, Revalidator revalidator)
+        throws IOException
+    {
+        Files.createDirectories(directory.resolve(OBJECTS_DIR));
+        AssetCache cache = new AssetCache(directory, maxHotBytes, executor, revalidator);
+        cache.load();
+        return cache;
+    }
+
+    /**
+     * キャッシュの対象となるリクエストか（GET で対象パス、Range 指定なし）。
+     *
+     * @param request ヘッダー受信済みのリクエスト
+     * @return 対象の場合 true
+     */
+    static boolean isCacheable(CaptureHolder2.HttpRequest request)
+    {
+        String path = request.getUriPath();
+        if (!"GET".equals(request.getMethod()) || path == null)
+        {
+            return false;
+        }
+        if (request.getHeader(HttpHeader.RANGE) != null || request.getHeader(HttpHeader.AUTHORIZATION) != null)
+        {
+            return false;
+        }
+        for (String prefix : CACHEABLE_PREFIXES)
+        {
+            if (path.startsWith(prefix))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * キャッシュのキー（パス + {@code version} クエリ）を返す。
+     *
+     * @param uri リクエスト URI
+     * @return キー
+     */
+    static String key(String uri)
+    {
+        int query = uri.indexOf('?');
+        if (query < 0)
+        {
+            return uri;
+        }
+        String path = uri.substring(0, query);
+        for (String param : uri.substring(query + 1).split("&"))
+        {
+            if (param.startsWith("version="))
+            {
+                return path + "?" + param;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * キャッシュから応答を引く。鮮度切れの場合は再検証を予約する。
+     *
+     * @param request ヘッダー受信済みのリクエスト（{@link #isCacheable} が true）
+     * @param nowMillis 現在時刻
+     * @return 応答、キャッシュに無い・使えない場合は null
+     */
+    Hit lookup(CaptureHolder2.HttpRequest request, long nowMillis)
+    {
+        String key = key(request.getUri());
+        Entry entry = this.index.get(key);
+        if (entry == null || !acceptsEncoding(request.getHeader(HttpHeader.ACCEPT_ENCODING), entry.contentEncoding))
+        {
+            MISSES.increment();
+            return null;
+        }
+        long age = nowMillis - entry.storedAtMillis;
+        boolean stale = age >= entry.freshMillis;
+        if (stale && (!entry.hasValidator() || age >= entry.freshMillis + MAX_STALE_MILLIS))
+        {
+            MISSES.increment();
+            return null;
+        }
+        boolean notModified = entry.etag != null && matchesEtag(request.getHeader(HttpHeader.IF_NONE_MATCH), entry.etag);
+        byte[] body = notModified ? null : body(entry);
+        if (!notModified && body == null)
+        {
+            MISSES.increment();
+            return null;
+        }
+        if (stale)
+        {
+            STALE_HITS.increment();
+            revalidateAsync(entry);
+        }
+        else
+        {
+            HITS.increment();
+        }
+        if (body != null)
+        {
+            SERVED_BYTES.add(body.length);
+        }
+        return new Hit(entry, body, stale, Math.max(0, age / 1000));
+    }
+
+    /**
+     * アップストリームの応答を保存する（ディスクへの書き込みはバックグラウンド）。
+     *
+     * @param uri リクエスト URI
+     * @param origin 取得元（{@code https://ホスト[:ポート]}、再検証に使う）
+     * @param response 受信済みの応答
+     * @param body 応答ボディ（Content-Encoding 適用済みのまま）
+     * @param nowMillis 受信時刻
+     * @return 保存対象だった場合 true
+     */
+    boolean store(String uri, String origin, CaptureHolder2.HttpResponse response, byte[] body, long nowMillis)
+    {
+        if (response.getStatus() != 200 || origin == null || body.length == 0 || body.length > MAX_ENTRY_BYTES
+            || response.getHeader(HttpHeader.SET_COOKIE) != null || !isStorableVary(response.getHeader(HttpHeader.VARY)))
+        {
+            return false;
+        }
+        String cacheControl = response.getHeader(HttpHeader.CACHE_CONTROL);
+        if (hasDirective(cacheControl, "no-store") || hasDirective(cacheControl, "no-cache")
+            || hasDirective(cacheControl, "private"))
+        {
+            return false;
+        }
+        String lastModified = response.getHeader(HttpHeader.LAST_MODIFIED);
+        String contentType = response.getContentType();
+        String contentEncoding = response.getHeader(HttpHeader.CONTENT_ENCODING);
+        String etag = response.getHeader(HttpHeader.ETAG);
+        long freshMillis = freshMillis(cacheControl, lastModified, nowMillis);
+        try
+        {
+            // ハッシュの計算も、応答を中継するスレッドではなくバックグラウンドで行う
+            this.executor.execute(() -> {
+                Entry entry = new Entry(key(uri), origin, sha256(body), body.length, contentType, contentEncoding,
+                    etag, lastModified, cacheControl, freshMillis, nowMillis);
+                putHot(entry.sha256, body);
+                persist(entry, body);
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            return false;
+        }
+        STORES.increment();
+        return true;
+    }
+
+    /**
+     * 応答のヘッダー部分（ステータス行から空行まで）を組み立てる。
+     *
+     * @param hit キャッシュの応答
+     * @return ヘッダーのバイト列
+     */
+    static ByteBuffer responseHead(Hit hit)
+    {
+        Entry entry = hit.entry;
+        StringBuilder sb = new StringBuilder(256);
+        if (hit.body == null)
+        {
+            sb.append("HTTP/1.1 304 Not Modified\r\n");
+        }
+        else
+        {
+            sb.append("HTTP/1.1 200 OK\r\n");
+            appendHeader(sb, "Content-Type", entry.contentType);
+            appendHeader(sb, "Content-Encoding", entry.contentEncoding);
+            appendHeader(sb, "Content-Length", String.valueOf(hit.body.length));
+        }
+        appendHeader(sb, "ETag", entry.etag);
+        appendHeader(sb, "Last-Modified", entry.lastModified);
+        appendHeader(sb, "Cache-Control", entry.cacheControl);
+        appendHeader(sb, "Age", String.valueOf(hit.ageSeconds));
+        sb.append("\r\n");
+        return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static void appendHeader(StringBuilder sb, String name, String value)
+    {
+        if (value != null && !value.isEmpty())
+        {
+            sb.append(name).append(": ").append(value).append("\r\n");
+        }
+    }
+
+    private byte[] body(Entry entry)
+    {
+        synchronized (this.hot)
+        {
+            byte[] body = this.hot.get(entry.sha256);
+            if (body != null)
+            {
+                return body;
+            }
+        }
+        try
+        {
+            byte[] body = Files.readAllBytes(objectPath(entry.sha256));
+            if (body.length != entry.size)
+            {
+                invalidate(entry.key);
+                return null;
+            }
+            putHot(entry.sha256, body);
+            return body;
+        }
+        catch (NoSuchFileException e)
+        {
+            // 書き込み前、または手動で消された
+            return null;
+        }
+        catch (IOException e)
+        {
+            log.debug("Failed to read cached asset {}: {}", entry.key, e.toString());
+            return null;
+        }
+    }
+
+    private void putHot(String sha256, byte[] body)
+    {
+        if (body.length > this.maxHotBytes)
+        {
+            return;
+        }
+        synchronized (this.hot)
+        {
+            byte[] previous = this.hot.put(sha256, body);
+            if (previous != null)
+            {
+                this.hotBytes -= previous.length;
+            }
+            this.hotBytes += body.length;
+            var iterator = this.hot.values().iterator();
+            while (this.hotBytes > this.maxHotBytes && iterator.hasNext())
+            {
+                this.hotBytes -= iterator.next().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    private void persist(Entry entry, byte[] body)
+    {
+        try
+        {
+            Path object = objectPath(entry.sha256);
+            if (!Files.exists(object))
+            {
+                Files.createDirectories(object.getParent());
+                Path temp = Files.createTempFile(object.getParent(), entry.sha256, ".tmp");
+                Files.write(temp, body);
+                Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            this.index.put(entry.key, entry);
+            appendIndex(entry.toLine());
+        }
+        catch (IOException e)
+        {
+            log.debug("Failed to store cached asset {}: {}", entry.key, e.toString());
+        }
+    }
+
+    private void invalidate(String key)
+    {
+        if (this.index.remove(key) != null)
+        {
+            appendIndex(key + "\t" + TOMBSTONE);
+        }
+    }
+
+    private void revalidateAsync(Entry entry)
+    {
+        if (!this.revalidating.add(entry.key))
+        {
+            return;
+        }
+        try
+        {
+            this.executor.execute(() -> {
+                try
+                {
+                    revalidate(entry);
+                }
+                finally
+                {
+                    this.revalidating.remove(entry.key);
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            this.revalidating.remove(entry.key);
+        }
+    }
+
+    /**
+     * 条件付きリクエストで再検証し、結果を索引に反映する。
+     *
+     * @param entry 鮮度切れのエントリ
+     */
+    void revalidate(Entry entry)
+    {
+        Validation validation;
+        try
+        {
+            validation = this.revalidator.revalidate(entry);
+        }
+        catch (Exception e)
+        {
+            // 古い内容は最大保持期間まで使い続ける
+            log.debug("Failed to revalidate cached asset {}: {}", entry.key, e.toString());
+            return;
+        }
+        if (this.index.get(entry.key) != entry)
+        {
+            return;
+        }
+        if (validation.status() == 304)
+        {
+            String cacheControl = validation.cacheControl() != null ? validation.cacheControl() : entry.cacheControl;
+            long now = System.currentTimeMillis();
+            Entry refreshed = new Entry(entry.key, entry.origin, entry.sha256, entry.size, entry.contentType,
+                entry.contentEncoding, entry.etag, entry.lastModified, cacheControl,
+                freshMillis(cacheControl, entry.lastModified, now), now);
+            this.index.put(entry.key, refreshed);
+            appendIndex(refreshed.toLine());
+        }
+        else
+        {
+            log.debug("Cached asset {} changed upstream (status {}), dropping", entry.key, validation.status());
+            invalidate(entry.key);
+        }
+    }
+
+    private void appendIndex(String line)
+    {
+        synchronized (this.indexLock)
+        {
+            try (BufferedWriter writer = Files.newBufferedWriter(this.directory.resolve(INDEX_FILE),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND))
+            {
+                writer.write(line);
+                writer.newLine();
+            }
+            catch (IOException e)
+            {
+                log.debug("Failed to append asset cache index: {}", e.toString());
+            }
+        }
+    }
+
+    private void load() throws IOException
+    {
+        Path indexFile = this.directory.resolve(INDEX_FILE);
+        int lines = 0;
+        if (Files.exists(indexFile))
+        {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8))
+            {
+                lines++;
+                String[] fields = line.split("\t", -1);
+                if (fields.length == 2 && TOMBSTONE.equals(fields[1]))
+                {
+                    this.index.remove(fields[0]);
+                    continue;
+                }
+                Entry entry = Entry.parse(fields);
+                if (entry != null)
+                {
+                    this.index.put(entry.key, entry);
+                }
+            }
+        }
+        if (lines > this.index.size())
+        {
+            compact(indexFile);
+        }
+        log.debug("アセットキャッシュを読み込みました（{}件）", this.index.size());
+    }
+
+    /**
+     * 索引を現在の内容で書き直し、参照されないボディのファイルを消す。
+     */
+    private void compact(Path indexFile) throws IOException
+    {
+        Path temp = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+        Set<String> referenced = new HashSet<>();
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8))
+        {
+            for (Entry entry : this.index.values())
+            {
+                referenced.add(entry.sha256);
+                writer.write(entry.toLine());
+                writer.newLine();
+            }
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        try (Stream<Path> files = Files.walk(this.directory.resolve(OBJECTS_DIR), 2))
+        {
+            files.filter(Files::isRegularFile)
+                .filter(file -> !referenced.contains(file.getFileName().toString()))
+                .forEach(file -> {
+                    try
+                    {
+                        Files.deleteIfExists(file);
+                    }
+                    catch (IOException e)
+                    {
+                        log.trace("IGNORED", e);
+                    }
+                });
+        }
+    }
+
+    private Path objectPath(String sha256)
+    {
+        return this.directory.resolve(OBJECTS_DIR).resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    /**
+     * 応答の鮮度（保存からの有効期間）を求める。
+     *
+     * @param cacheControl Cache-Control ヘッダー
+     * @param lastModified Last-Modified ヘッダー
+     * @param nowMillis 受信時刻
+     * @return 有効期間（ミリ秒）
+     */
+    static long freshMillis(String cacheControl, String lastModified, long nowMillis)
+    {
+        long maxAge = directiveSeconds(cacheControl, "s-maxage");
+        if (maxAge < 0)
+        {
+            maxAge = directiveSeconds(cacheControl, "max-age");
+        }
+        if (maxAge >= 0)
+        {
+            return TimeUnit.SECONDS.toMillis(maxAge);
+        }
+        if (lastModified != null)
+        {
+            try
+            {
+                long modified = ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+                return Math.clamp((nowMillis - modified) / 10, 0, MAX_HEURISTIC_FRESH_MILLIS);
+            }
+            catch (DateTimeParseException e)
+            {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static long directiveSeconds(String cacheControl, String name)
+    {
+        if (cacheControl == null)
+        {
+            return -1;
+        }
+        for (String directive : cacheControl.split(","))
+        {
+            String d = directive.trim().toLowerCase(Locale.ROOT);
+            if (d.startsWith(name + "="))
+            {
+                try
+                {
+                    return Long.parseLong(d.substring(name.length() + 1).replace("\"", "").trim());
+                }
+                catch (NumberFormatException e)
+                {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean hasDirective(String cacheControl, String name)
+    {
+        if (cacheControl == null)
+        {
+            return false;
+        }
+        for (String directive : cacheControl.split(","))
+        {
+            String d = directive.trim().toLowerCase(Locale.ROOT);
+            if (d.equals(name) || d.startsWith(name + "="))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStorableVary(String vary)
+    {
+        if (vary == null)
+        {
+            return true;
+        }
+        for (String field : vary.split(","))
+        {
+            if (!field.trim().equalsIgnoreCase("Accept-Encoding"))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean acceptsEncoding(String acceptEncoding, String contentEncoding)
+    {
+        if (contentEncoding == null || contentEncoding.isEmpty() || "identity".equalsIgnoreCase(contentEncoding))
+        {
+            return true;
+        }
+        if (acceptEncoding == null)
+        {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(","))
+        {
+            String c = coding.trim();
+            int semicolon = c.indexOf(';');
+            String name = semicolon < 0 ? c : c.substring(0, semicolon).trim();
+            if (name.equalsIgnoreCase(contentEncoding) || name.equals("*"))
+            {
+                return !c.replace(" ", "").endsWith(";q=0");
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag)
+    {
+        if (ifNoneMatch == null)
+        {
+            return false;
+        }
+        String weakless = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(","))
+        {
+            String c = candidate.trim();
+            if (c.equals("*") || (c.startsWith("W/") ? c.substring(2) : c).equals(weakless))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sha256(byte[] body)
+    {
+        try
+        {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 条件付きリクエストの実装（{@link ReverseConnectHandler} が上位プロキシ設定を含めて提供する）。
+     */
+    @FunctionalInterface
+    interface Revalidator
+    {
+        /**
+         * エントリの ETag / Last-Modified を付けて取得元に問い合わせる。
+         *
+         * @param entry 鮮度切れのエントリ
+         * @return 結果
+         * @throws Exception 問い合わせに失敗した場合
+         */
+        Validation revalidate(Entry entry) throws Exception;
+    }
+
+    /**
+     * 再検証の結果。
+     *
+     * @param status ステータスコード
+     * @param cacheControl 304 応答の Cache-Control（無い場合は null）
+     */
+    record Validation(int status, String cacheControl)
+    {
+    }
+
+    /**
+     * キャッシュから返す応答。
+     *
+     * @param entry エントリ
+     * @param body ボディ、304 で返す場合は null
+     * @param stale 鮮度切れ（再検証中）の場合 true
+     * @param ageSeconds 保存からの経過秒数
+     */
+    record Hit(Entry entry, byte[] body, boolean stale, long ageSeconds)
+    {
+    }
+
+    /**
+     * 索引の 1 エントリ。
+     */
+    static final class Entry
+    {
+        final String key;
+        final String origin;
+        final String sha256;
+        final long size;
+        final String contentType;
+        final String contentEncoding;
+        final String etag;
+        final String lastModified;
+        final String cacheControl;
+        final long freshMillis;
+        final long storedAtMillis;
+
+        Entry(String key, String origin, String sha256, long size, String contentType, String contentEncoding,
+            String etag, String lastModified, String cacheControl, long freshMillis, long storedAtMillis)
+        {
+            this.key = key;
+            this.origin = origin;
+            this.sha256 = sha256;
+            this.size = size;
+            this.contentType = contentType;
+            this.contentEncoding = contentEncoding;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.cacheControl = cacheControl;
+            this.freshMillis = freshMillis;
+            this.storedAtMillis = storedAtMillis;
+        }
+
+        boolean hasValidator()
+        {
+            return this.etag != null || this.lastModified != null;
+        }
+
+        String toLine()
+        {
+            return String.join("\t", this.key, this.origin, this.sha256, String.valueOf(this.size),
+                field(this.contentType), field(this.contentEncoding), field(this.etag), field(this.lastModified),
+                field(this.cacheControl), String.valueOf(this.freshMillis), String.valueOf(this.storedAtMillis));
+        }
+
+        static Entry parse(String[] fields)
+        {
+            if (fields.length != INDEX_FIELDS)
+            {
+                return null;
+            }
+            try
+            {
+                return new Entry(fields[0], fields[1], fields[2], Long.parseLong(fields[3]), value(fields[4]),
+                    value(fields[5]), value(fields[6]), value(fields[7]), value(fields[8]), Long.parseLong(fields[9]),
+                    Long.parseLong(fields[10]));
+            }
+            catch (NumberFormatException e)
+            {
+                return null;
+            }
+        }
+
+        private static String field(String value)
+        {
+            return value == null ? "" : value.replace('\t', ' ').replace('\r', ' ').replace('\n', ' ');
+        }
+
+        private static String value(String field)
+        {
+            return field.isEmpty() ? null : field;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package logbook.internal.proxy;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import logbook.internal.ThreadManager;
+import logbook.internal.capture.ApiCaptureHook;
+import logbook.plugin.PluginServices;
+import logbook.proxy.ContentListenerSpi;
+import logbook.proxy.RequestMetaData;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * キャプチャしたHTTPトランザクションを ContentListenerSpi プラグインへ配る共通処理。
+ * <p>
+ * HTTPSトンネル（{@link ReverseConnectHandler}）と HTTPプロキシ（{@link ReverseProxyServlet}）は、
+ * どちらも受信したリクエスト・レスポンスを {@link CaptureHolder2.HttpTransaction} に詰めてここへ渡す。
+ * ボディを保持するかの判定、Content-Length の検証、レスポンスボディの解凍、APIキャプチャ、
+ * リスナーの呼び出しと処理ログは、入口によらずこのクラスだけで行う。
+ * </p>
+ * <p>
+ * インスタンスはプロキシサーバーの起動ごとに1つ作り、両方の入口で共有する
+ * （HTTPプロキシへはサーブレットコンテキストの属性 {@link #ATTRIBUTE} で渡す）。
+ * </p>
+ */
+@Slf4j
+final class CaptureDispatcher
+{
+    /** サーブレットコンテキストの属性名 */
+    static final String ATTRIBUTE = CaptureDispatcher.class.getName();
+
+    private static final Logger contentListenerLog =
+        LoggerFactory.getLogger("logbook.internal.proxy.ContentListenerLog");
+
+    private final List<ContentListenerSpi> listeners;
+    private final ResponseBodyDecompressor decompressor;
+    private final Executor executor;
+
+    /**
+     * @param listeners 配信先のリスナー
+     * @param decompressor レスポンスボディの解凍処理
+     * @param executor リスナーの accept() を実行する Executor
+     */
+    CaptureDispatcher(List<ContentListenerSpi> listeners, ResponseBodyDecompressor decompressor, Executor executor)
+    {
+        this.listeners = List.copyOf(listeners);
+        this.decompressor = decompressor;
+        this.executor = executor;
+    }
+
+    /**
+     * プラグインから読み込んだリスナーで作成する。
+     *
+     * @return インスタンス
+     */
+    static CaptureDispatcher create()
+    {
+        List<ContentListenerSpi> listeners;
+        try
+        {
+            listeners = PluginServices.instances(ContentListenerSpi.class)
+                .collect(Collectors.toList());
+            log.debug("コンテンツリスナーを初期化しました（{}個）", listeners.size());
+        }
+        catch (Exception e)
+        {
+            log.error("Failed to initialize content listeners", e);
+            listeners = Collections.emptyList();
+        }
+        return new CaptureDispatcher(listeners, ResponseBodyDecompressor.createDefault(),
+            ThreadManager.getExecutorService());
+    }
+
+    /**
+     * リクエスト行とヘッダーだけで、ボディを保持する必要があるかを判定する。
+     *
+     * <p>APIキャプチャの対象か、いずれかのContentListenerSpiの{@link ContentListenerSpi#test(RequestMetaData)}が
+     * trueを返す場合に保持する。この時点ではリクエストボディは未受信のため、test()には渡らない。
+     * test()が例外を投げた場合は、取りこぼさないよう保持する側に倒す。</p>
+     *
+     * @param httpRequest ヘッダー受信済みのリクエスト
+     * @return ボディを保持する場合true
+     */
+    boolean isBodyWanted(CaptureHolder2.HttpRequest httpRequest)
+    {
+        String uri = httpRequest.getUri();
+        if (uri == null || ApiCaptureHook.wantsBody(uri))
+        {
+            return true;
+        }
+        if (this.listeners.isEmpty())
+        {
+            return false;
+        }
+        RequestMetaDataWrapper req = new RequestMetaDataWrapper();
+        req.set(httpRequest);
+        for (ContentListenerSpi listener : this.listeners)
+        {
+            try
+            {
+                if (listener.test(req))
+                {
+                    return true;
+                }
+            }
+            catch (Exception e)
+            {
+                log.trace("Listener {} failed during test() at header time - retaining body",
+                    listener.getClass().getSimpleName(), e);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 完了したトランザクションを検証し、APIキャプチャと関心のあるリスナーへ配る。
+     * リスナーの accept() は Executor で非同期に実行するため、このメソッドはすぐに戻る。
+     *
+     * @param transaction リクエスト・レスポンスとも受信済みのトランザクション
+     * @param bodyWanted {@link #isBodyWanted} の結果（リクエストヘッダー受信時に判定したもの）
+     * @return アクセスログに記録する結果
+     */
+    Result dispatch(CaptureHolder2.HttpTransaction transaction, boolean bodyWanted)
+    {
+        Result result = verify(transaction);
+        return result.isComplete() ? deliver(transaction, bodyWanted) : result;
+    }
+
+    /**
+     * {@link #deliver} を Executor で実行する（解凍・test()も呼び出し元のスレッドから外す）。
+     * 事前に {@link #verify} で検証しておくこと。解凍の失敗など、完了しなかった場合は結果をログに出力する
+     * （アクセスログは記録済みのため、同期で配る場合の呼び出し元と同じ内容をここで出す）。
+     *
+     * @param transaction 検証済みのトランザクション（以降、呼び出し元は変更しないこと）
+     * @param bodyWanted {@link #isBodyWanted} の結果
+     */
+    void deliverAsync(CaptureHolder2.HttpTransaction transaction, boolean bodyWanted)
+    {
+        if (this.listeners.isEmpty() || !transaction.isRetainBody() || !bodyWanted)
+        {
+            return;
+        }
+        try
+        {
+            this.executor.execute(() -> {
+                Result result = deliver(transaction, bodyWanted);
+                if (!result.isComplete())
+                {
+                    log.debug("取込をスキップ {} {}: {} {}",
+                        transaction.getRequest().getMethod(), transaction.getRequest().getUri(),
+                        result.outcome(), result.errorDetail());
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            log.trace("Capture processing rejected - application is shutting down");
+        }
+    }
+
+    /**
+     * レスポンスボディが Content-Length どおりに揃っているかを検証する（圧縮後のデータサイズで比較）。
+     * ネットワーク障害やサーバー側の切断で不完全なデータを検出する。
+     *
+     * @param transaction リクエスト・レスポンスとも受信済みのトランザクション
+     * @return 揃っている場合 {@link Result#COMPLETE}
+     */
+    Result verify(CaptureHolder2.HttpTransaction transaction)
+    {
+        CaptureHolder2.HttpRequest httpRequest = transaction.getRequest();
+        CaptureHolder2.HttpResponse httpResponse = transaction.getResponse();
+        long expectedLength = httpResponse.getContentLength();
+        if (expectedLength > 0)
+        {
+            long actualLength = httpResponse.getBodySize();  // 圧縮後の受信バイト数
+            if (actualLength != expectedLength)
+            {
+                log.debug("Content-Length mismatch detected - rejecting incomplete data: expected {} bytes, but received {} bytes ({} bytes missing, {}% received). ContentListenerSpi will not be invoked for request {} {}",
+                    expectedLength, actualLength, expectedLength - actualLength,
+                    String.format("%.1f", (actualLength * 100.0 / expectedLength)),
+                    httpRequest.getMethod(), httpRequest.getUri());
+                return new Result(ProxyAccessLogger.Outcome.CONTENT_LENGTH_MISMATCH,
+                    String.format("expected %d bytes, received %d bytes", expectedLength, actualLength));
+            }
+        }
+        return Result.COMPLETE;
+    }
+
+    /**
+     * 検証済みのトランザクションを解凍し、APIキャプチャと関心のあるリスナーへ配る。
+     *
+     * @param transaction 検証済みのトランザクション
+     * @param bodyWanted {@link #isBodyWanted} の結果
+     * @return アクセスログに記録する結果
+     */
+    private Result deliver(CaptureHolder2.HttpTransaction transaction, boolean bodyWanted)
+    {
+        CaptureHolder2.HttpRequest httpRequest = transaction.getRequest();
+        CaptureHolder2.HttpResponse httpResponse = transaction.getResponse();
+
+        // リスナーが空、またはヘッダー時点で誰も関心を示さずボディを保持していない場合は
+        // 非同期処理を起動する必要なし
+        if (this.listeners.isEmpty() || !transaction.isRetainBody() || !bodyWanted)
+        {
+            log.trace("No content listeners interested, skipping processing for {} {}",
+                httpRequest.getMethod(), httpRequest.getUri());
+            return Result.COMPLETE;
+        }
+
+        RequestMetaDataWrapper req = new RequestMetaDataWrapper();
+        if (httpRequest.getMethod() != null)
+        {
+            req.set(httpRequest);
+        }
+        else
+        {
+            // Fallback: Use minimal info if HttpRequest is incomplete
+            req.setMethod("UNKNOWN");
+            req.setRequestURI(httpRequest.getUri() != null ? httpRequest.getUri() : "unknown");
+        }
+        req.setRequestId(transaction.getRequestId());
+
+        ResponseMetaDataWrapper res = new ResponseMetaDataWrapper();
+        try
+        {
+            if (httpResponse.getStatus() != 0)
+            {
+                res.set(httpResponse, this.decompressor);
+            }
+        }
+        catch (IOException e)
+        {
+            // 圧縮解凍処理でエラーが発生した場合、リスナーに流さない
+            log.error("レスポンスボディの処理に失敗しました（解凍エラー）: {} {}",
+                httpRequest.getMethod(), httpRequest.getUri(), e);
+            return new Result(ProxyAccessLogger.Outcome.DECOMPRESS_ERROR, e.getMessage());
+        }
+
+        log.debug("HTTP取込: {} {} → {} {} {} ({}B / {}B)",
+            httpRequest.getMethod(), httpRequest.getUri(),
+            httpResponse.getVersion(), httpResponse.getStatus(), httpResponse.getReason(),
+            httpRequest.getBodySize(), httpResponse.getBodySize());
+
+        // invoke()自体は軽量（リスナーループ + test() + clone()のみ）なので同期的に実行
+        // 各リスナーの実際の処理（JSONパース、ファイルI/Oなど）は invoke()内で非同期化される
+        this.invoke(req, res);
+        return Result.COMPLETE;
+    }
+
+    /**
+     * Invoke content listeners with the captured request/response data.
+     *
+     * @param baseReq the base request metadata
+     * @param baseRes the base response metadata
+     */
+    private void invoke(RequestMetaDataWrapper baseReq, ResponseMetaDataWrapper baseRes)
+    {
+        ApiCaptureHook.captureIfNeeded(baseReq, baseRes);
+
+        log.debug("Processing request: {}", baseReq.getRequestURI());
+
+        for (ContentListenerSpi listener : this.listeners)
+        {
+            // listener.test()の保護（ユーザー実装の例外をキャッチ）
+            // test()の最適化: cloneを省略してbaseReqを直接使用
+            // 注意: test()内でgetParameterMap()を取得して変更すると、後続リスナーに影響する可能性がある
+            // （既存実装のAPIListener/ImageListenerはgetRequestURI()のみ使用するため現時点では問題なし）
+            boolean isInterested;
+            try
+            {
+                isInterested = listener.test(baseReq);
+            }
+            catch (Exception e)
+            {
+                log.warn("Listener {} failed during test() - skipping this listener",
+                    listener.getClass().getSimpleName(), e);
+                continue;
+            }
+
+            if (!isInterested)
+            {
+                log.trace("Listener {} not interested in request {}",
+                    listener.getClass().getSimpleName(), baseReq.getRequestURI());
+                continue;
+            }
+
+            // accept()用にclone（並列実行の安全性確保）
+            RequestMetaDataWrapper req = baseReq.clone();
+            ResponseMetaDataWrapper res = baseRes.clone();
+
+            Runnable task = () -> {
+                long startNanos = System.nanoTime();
+                ProxyContentListenerLogger.Outcome outcome = ProxyContentListenerLogger.Outcome.SUCCESS;
+                String errorDetail = null;
+                try
+                {
+                    log.trace("Processing request {} with listener {}",
+                        req.getRequestURI(), listener.getClass().getSimpleName());
+
+                    listener.accept(req, res);
+
+                    log.trace("Successfully processed request {} with listener {}",
+                        req.getRequestURI(), listener.getClass().getSimpleName());
+                }
+                catch (Exception e)
+                {
+                    outcome = ProxyContentListenerLogger.Outcome.ERROR;
+                    errorDetail = ProxyContentListenerLogger.formatCause(e);
+                    log.warn("Content listener {} failed to process request",
+                        listener.getClass().getSimpleName(), e);
+                }
+                finally
+                {
+                    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    ProxyContentListenerLogger.log(
+                        contentListenerLog, listener, req, elapsedMs, outcome, errorDetail);
+                }
+            };
+
+            try
+            {
+                this.executor.execute(task);
+            }
+            catch (RejectedExecutionException e)
+            {
+                // アプリケーション終了時のみ発生（稀）
+                log.trace("Listener {} processing rejected - application is shutting down",
+                    listener.getClass().getSimpleName());
+            }
+        }
+    }
+
+    /**
+     * 配信の結果（アクセスログの記録内容）。
+     *
+     * @param outcome 結果
+     * @param errorDetail エラーの詳細（正常時はnull）
+     */
+    record Result(ProxyAccessLogger.Outcome outcome, String errorDetail)
+    {
+        /** 正常完了 */
+        static final Result COMPLETE = new Result(ProxyAccessLogger.Outcome.COMPLETE, null);
+
+        /**
+         * トランザクションを次へ進めてよい結果か（不完全・解凍失敗の場合は false）。
+         *
+         * @return 正常完了の場合 true
+         */
+        boolean isComplete()
+        {
+            return this.outcome == ProxyAccessLogger.Outcome.COMPLETE;
+        }
+    }
+}
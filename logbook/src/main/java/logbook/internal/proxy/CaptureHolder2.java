@@ -5,11 +5,13 @@ import java.io.InputStream;
 import java.io.SequenceInputStream;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+
 /**
  * HTTPリクエスト/レスポンスペアをより効率的に管理するCaptureHolderの改良版。
  * <p>
@@ -19,6 +21,12 @@ import java.util.UUID;
  * <li>生のバイト列とメタデータへの効率的なアクセスを提供</li>
  * <li>単一トンネル内での複数トランザクションをサポート（Keep-Alive）</li>
  * </ul>
+ * <p>
+ * ヘッダーは Jetty の {@link HttpFields} に保持する。名前の比較は大文字小文字を区別せず、
+ * よく使うヘッダーは {@link HttpHeader} で引ける。パーサーが作った {@link HttpField} はコピーせずに追加し、
+ * {@link HttpRequest#getHeaders()} / {@link HttpResponse#getHeaders()} は不変のビューを返す
+ * （リスナーごとのメタデータはこのビューを共有する）。同名のヘッダーが複数ある場合、単一値の取得は最初の値を返す。
+ * </p>
  */
 public class CaptureHolder2 {
     
@@ -30,9 +38,12 @@ public class CaptureHolder2 {
         private String uri;
         private String uriPath;
         private String version;
-        private final Map<String, String> headers = new LinkedHashMap<>();
+        private final HttpFields.Mutable headers = HttpFields.build();
+        /** getHeaders() が返す不変のビュー（ヘッダー追加で作り直す） */
+        private HttpFields immutableHeaders;
         private final List<byte[]> bodyChunks = new ArrayList<>();
         private int totalBodySize = 0;
+        private int skippedBodySize = 0;
         
         public void setRequestLine(String method, String uri, String version) {
             this.method = method;
@@ -42,7 +53,17 @@ public class CaptureHolder2 {
         }
         
         public void addHeader(String name, String value) {
-            headers.put(name, value);
+            addHeader(new HttpField(HttpHeader.CACHE.get(name), name, value));
+        }
+
+        /**
+         * ヘッダーを追加する（パーサーが作った {@link HttpField} をそのまま保持する）。
+         *
+         * @param field ヘッダー
+         */
+        public void addHeader(HttpField field) {
+            headers.add(field);
+            immutableHeaders = null;
         }
         
         public void addBodyChunk(byte[] data) {
@@ -51,6 +72,24 @@ public class CaptureHolder2 {
                 totalBodySize += data.length;
             }
         }
+
+        /**
+         * 保持しているボディのバイト数を取得する。
+         *
+         * @return 保持バイト数
+         */
+        public int getRetainedBodySize() {
+            return totalBodySize;
+        }
+
+        /**
+         * 保持しないボディのバイト数だけを加算する（{@link HttpTransaction#isRetainBody()} が false の場合）。
+         *
+         * @param length バイト数
+         */
+        public void skipBodyChunk(int length) {
+            skippedBodySize += length;
+        }
         
         public String getMethod() {
             return method;
@@ -71,10 +110,24 @@ public class CaptureHolder2 {
             return version;
         }
         
-        public Map<String, String> getHeaders() {
-            return Collections.unmodifiableMap(headers);
+        /**
+         * 全ヘッダーの不変のビューを取得する（追加が無い間は同じインスタンスを返す）。
+         *
+         * @return ヘッダー
+         */
+        public HttpFields getHeaders() {
+            HttpFields fields = immutableHeaders;
+            if (fields == null) {
+                fields = headers.asImmutable();
+                immutableHeaders = fields;
+            }
+            return fields;
         }
         
+        public String getHeader(HttpHeader header) {
+            return headers.get(header);
+        }
+
         public String getHeader(String name) {
             return headers.get(name);
         }
@@ -86,15 +139,20 @@ public class CaptureHolder2 {
          * @return ヘッダー値、未設定時はnull
          */
         public String getHeaderIgnoreCase(String name) {
-            return lookupHeaderIgnoreCase(headers, name);
+            return headers.get(name);
         }
 
         public String getContentType() {
-            return getHeaderIgnoreCase("Content-Type");
+            return headers.get(HttpHeader.CONTENT_TYPE);
         }
         
+        /**
+         * 受信したボディのバイト数を取得する（保持しなかった分を含む）。
+         *
+         * @return 受信バイト数
+         */
         public int getBodySize() {
-            return totalBodySize;
+            return totalBodySize + skippedBodySize;
         }
         
         public InputStream getBodyAsStream() {
@@ -131,8 +189,10 @@ public class CaptureHolder2 {
             uriPath = null;
             version = null;
             headers.clear();
+            immutableHeaders = null;
             bodyChunks.clear();
             totalBodySize = 0;
+            skippedBodySize = 0;
         }
     }
     
@@ -143,9 +203,12 @@ public class CaptureHolder2 {
         private String version;
         private int status;
         private String reason;
-        private final Map<String, String> headers = new LinkedHashMap<>();
+        private final HttpFields.Mutable headers = HttpFields.build();
+        /** getHeaders() が返す不変のビュー（ヘッダー追加で作り直す） */
+        private HttpFields immutableHeaders;
         private final List<byte[]> bodyChunks = new ArrayList<>();
         private int totalBodySize = 0;
+        private int skippedBodySize = 0;
         private long contentLength = -1;  // Content-Lengthヘッダーの値（未設定時は-1）
         
         public void setStatusLine(String version, int status, String reason) {
@@ -155,12 +218,26 @@ public class CaptureHolder2 {
         }
         
         public void addHeader(String name, String value) {
-            headers.put(name, value);
+            addHeader(new HttpField(HttpHeader.CACHE.get(name), name, value));
+        }
+
+        public void addHeader(HttpHeader header, String value) {
+            addHeader(new HttpField(header, value));
+        }
+
+        /**
+         * ヘッダーを追加する（パーサーが作った {@link HttpField} をそのまま保持する）。
+         *
+         * @param field ヘッダー
+         */
+        public void addHeader(HttpField field) {
+            headers.add(field);
+            immutableHeaders = null;
             
             // Content-Lengthヘッダーを自動的にパースして保存
-            if ("Content-Length".equalsIgnoreCase(name) && value != null) {
+            if (field.getHeader() == HttpHeader.CONTENT_LENGTH && field.getValue() != null) {
                 try {
-                    contentLength = Long.parseLong(value.trim());
+                    contentLength = Long.parseLong(field.getValue().trim());
                 } catch (NumberFormatException e) {
                     // パース失敗時は-1のまま（無効なContent-Length）
                     contentLength = -1;
@@ -174,6 +251,24 @@ public class CaptureHolder2 {
                 totalBodySize += data.length;
             }
         }
+
+        /**
+         * 保持しているボディのバイト数を取得する。
+         *
+         * @return 保持バイト数
+         */
+        public int getRetainedBodySize() {
+            return totalBodySize;
+        }
+
+        /**
+         * 保持しないボディのバイト数だけを加算する（{@link HttpTransaction#isRetainBody()} が false の場合）。
+         *
+         * @param length バイト数
+         */
+        public void skipBodyChunk(int length) {
+            skippedBodySize += length;
+        }
         
         public String getVersion() {
             return version;
@@ -187,10 +282,24 @@ public class CaptureHolder2 {
             return reason;
         }
         
-        public Map<String, String> getHeaders() {
-            return Collections.unmodifiableMap(headers);
+        /**
+         * 全ヘッダーの不変のビューを取得する（追加が無い間は同じインスタンスを返す）。
+         *
+         * @return ヘッダー
+         */
+        public HttpFields getHeaders() {
+            HttpFields fields = immutableHeaders;
+            if (fields == null) {
+                fields = headers.asImmutable();
+                immutableHeaders = fields;
+            }
+            return fields;
         }
         
+        public String getHeader(HttpHeader header) {
+            return headers.get(header);
+        }
+
         public String getHeader(String name) {
             return headers.get(name);
         }
@@ -202,11 +311,11 @@ public class CaptureHolder2 {
          * @return ヘッダー値、未設定時はnull
          */
         public String getHeaderIgnoreCase(String name) {
-            return lookupHeaderIgnoreCase(headers, name);
+            return headers.get(name);
         }
         
         public String getContentType() {
-            return getHeaderIgnoreCase("Content-Type");
+            return headers.get(HttpHeader.CONTENT_TYPE);
         }
         
         /**
@@ -220,12 +329,12 @@ public class CaptureHolder2 {
         }
         
         /**
-         * 実際に受信したボディのバイト数を取得する（圧縮後のサイズ）。
+         * 実際に受信したボディのバイト数を取得する（圧縮後のサイズ、保持しなかった分を含む）。
          * 
          * @return 受信バイト数
          */
         public int getBodySize() {
-            return totalBodySize;
+            return totalBodySize + skippedBodySize;
         }
         
         public InputStream getBodyAsStream() {
@@ -261,8 +370,10 @@ public class CaptureHolder2 {
             status = 0;
             reason = null;
             headers.clear();
+            immutableHeaders = null;
             bodyChunks.clear();
             totalBodySize = 0;
+            skippedBodySize = 0;
             contentLength = -1;
         }
     }
@@ -281,6 +392,17 @@ public class CaptureHolder2 {
         private long responseStartTimeMillis = 0;
         /** アップストリームからレスポンス全体を受信した時刻（ミリ秒） */
         private long responseCompleteTimeMillis = 0;
+        /**
+         * ボディを保持するか（リクエストヘッダー受信完了時に決まる）。
+         * false の場合、ボディはトンネルをそのまま流れ、バイト数だけを数える。
+         */
+        private volatile boolean retainBody = true;
+        /** アップストリームへの接続時間（ミリ秒、トンネル最初のトランザクションのみ。それ以外は-1） */
+        private long upstreamConnectMillis = -1;
+        /** アップストリーム接続に事前接続済みソケットを使ったか */
+        private boolean upstreamConnectPooled;
+        /** アセットキャッシュの結果（HIT / STALE / MISS、対象外はnull） */
+        private String assetCacheStatus;
         
         public HttpRequest getRequest() {
             return request;
@@ -354,6 +476,71 @@ public class CaptureHolder2 {
         public long getResponseCompleteTime() {
             return responseCompleteTimeMillis;
         }
+
+        /**
+         * リクエスト・レスポンスのボディを保持するかを設定します。
+         *
+         * @param retainBody 保持する場合 true
+         */
+        public void setRetainBody(boolean retainBody) {
+            this.retainBody = retainBody;
+        }
+
+        /**
+         * リクエスト・レスポンスのボディを保持するかを取得します。
+         *
+         * @return 保持する場合 true（既定）
+         */
+        public boolean isRetainBody() {
+            return retainBody;
+        }
+
+        /**
+         * アップストリームへの接続時間を設定します（トンネル確立時のみ）。
+         *
+         * @param connectMillis 接続時間（ミリ秒）、不明な場合は-1
+         * @param pooled 事前接続済みソケットを使った場合 true
+         */
+        public void setUpstreamConnect(long connectMillis, boolean pooled) {
+            this.upstreamConnectMillis = connectMillis;
+            this.upstreamConnectPooled = pooled;
+        }
+
+        /**
+         * アップストリームへの接続時間を取得します。
+         *
+         * @return 接続時間（ミリ秒）、このトランザクションで接続していない場合は-1
+         */
+        public long getUpstreamConnectMillis() {
+            return upstreamConnectMillis;
+        }
+
+        /**
+         * アップストリーム接続に事前接続済みソケットを使ったかを取得します。
+         *
+         * @return 使った場合 true
+         */
+        public boolean isUpstreamConnectPooled() {
+            return upstreamConnectPooled;
+        }
+
+        /**
+         * アセットキャッシュの結果を設定します。
+         *
+         * @param assetCacheStatus HIT / STALE / MISS、対象外はnull
+         */
+        public void setAssetCacheStatus(String assetCacheStatus) {
+            this.assetCacheStatus = assetCacheStatus;
+        }
+
+        /**
+         * アセットキャッシュの結果を取得します。
+         *
+         * @return HIT / STALE / MISS、対象外はnull
+         */
+        public String getAssetCacheStatus() {
+            return assetCacheStatus;
+        }
         
         public void clear() {
             request.clear();
@@ -362,6 +549,10 @@ public class CaptureHolder2 {
             requestId = null;
             responseStartTimeMillis = 0;
             responseCompleteTimeMillis = 0;
+            retainBody = true;
+            upstreamConnectMillis = -1;
+            upstreamConnectPooled = false;
+            assetCacheStatus = null;
         }
     }
     
@@ -437,33 +628,17 @@ public class CaptureHolder2 {
         completedTransactions.clear();
     }
     
-    private static String lookupHeaderIgnoreCase(Map<String, String> headers, String name) {
-        if (headers == null || name == null) {
-            return null;
-        }
-        String value = headers.get(name);
-        if (value != null) {
-            return value;
-        }
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-            if (name.equalsIgnoreCase(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        return null;
-    }
-
     /**
      * 総メモリ使用量の推定値を取得します（モニタリング用）。
      * @return おおよそのメモリ使用量（バイト単位）
      */
     public long getMemoryUsage() {
         long total = 0;
-        total += currentTransaction.getRequest().getBodySize();
-        total += currentTransaction.getResponse().getBodySize();
+        total += currentTransaction.getRequest().getRetainedBodySize();
+        total += currentTransaction.getResponse().getRetainedBodySize();
         for (HttpTransaction transaction : completedTransactions) {
-            total += transaction.getRequest().getBodySize();
-            total += transaction.getResponse().getBodySize();
+            total += transaction.getRequest().getRetainedBodySize();
+            total += transaction.getResponse().getRetainedBodySize();
         }
         return total;
     }
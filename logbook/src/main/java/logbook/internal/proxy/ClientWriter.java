@@ -0,0 +1,246 @@
+package logbook.internal.proxy;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
+
+/**
+ * トンネルのクライアント（ブラウザ）側 EndPoint への書き込みを、受け付けた順に 1 つずつ行う。
+ * <p>
+ * クライアントへはアップストリームからの転送に加えて、アセットキャッシュや共有接続の応答も書き込む。
+ * EndPoint は同時に 1 つの書き込みしか受け付けない（重なると {@code WritePendingException}）ため、
+ * 書き込み中に届いたものは前の書き込みが終わるまで待たせる。
+ * 応答を後から書く場合は {@link #reserve()} で先に順番を取り、それより後に届いた書き込みは
+ * 取った枠を {@link Slot#end()} するまで待たせる。1 つの枠には何回かに分けて書き込める。
+ * </p>
+ * <p>
+ * 実際の書き込みは {@link Sink} に 1 バッファずつ渡す（{@link ReverseConnectHandler} のサブクラスが
+ * 書き込みを差し替えられるよう、{@code write(EndPoint, ByteBuffer, Callback, ConcurrentMap)} を経由させる）。
+ * </p>
+ * <p>書き込みが失敗した後は、待っている書き込みもすべて同じ原因で失敗させる。</p>
+ */
+final class ClientWriter
+{
+    /**
+     * 1 バッファの書き込み先。
+     */
+    @FunctionalInterface
+    interface Sink
+    {
+        /**
+         * バッファを書き込む（完了はコールバックで通知する）。
+         *
+         * @param buffer 書き込むバッファ
+         * @param callback 書き込みの完了を通知するコールバック
+         */
+        void write(ByteBuffer buffer, Callback callback);
+    }
+
+    private final Sink sink;
+
+    /** 書き込み待ちの枠（先頭の枠から順に書く） */
+    private final Deque<Slot> queue = new ArrayDeque<>();
+
+    /** 書き込み中のバッファ（無い場合は null） */
+    private Piece writing;
+
+    /** 書き込みに失敗した原因（失敗していない場合は null） */
+    private Throwable failure;
+
+    ClientWriter(Sink sink)
+    {
+        this.sink = sink;
+    }
+
+    /**
+     * 待っている書き込みの後に書き込む。
+     *
+     * @param callback すべてのバッファの書き込みの完了を通知するコールバック
+     * @param buffers 書き込むバッファ
+     */
+    void write(Callback callback, ByteBuffer... buffers)
+    {
+        Slot slot = reserve();
+        slot.write(callback, buffers);
+        slot.end();
+    }
+
+    /**
+     * 書き込みの順番だけを先に取る。取った枠を {@link Slot#end()} するまで、後の書き込みは待たされる。
+     *
+     * @return 書き込みの枠
+     */
+    Slot reserve()
+    {
+        Slot slot = new Slot();
+        synchronized (this)
+        {
+            this.queue.addLast(slot);
+        }
+        return slot;
+    }
+
+    private void flush()
+    {
+        Piece piece = null;
+        List<Piece> failed = new ArrayList<>();
+        Throwable cause;
+        synchronized (this)
+        {
+            if (this.writing != null)
+            {
+                return;
+            }
+            cause = this.failure;
+            if (cause != null)
+            {
+                // 失敗した後は、どの枠の書き込みも待たせずに失敗させる
+                for (Slot slot : this.queue)
+                {
+                    failed.addAll(slot.pieces);
+                    slot.pieces.clear();
+                }
+                this.queue.removeIf(slot -> slot.ended);
+            }
+            else
+            {
+                Slot slot = this.queue.peekFirst();
+                while (slot != null && slot.ended && slot.pieces.isEmpty())
+                {
+                    this.queue.pollFirst();
+                    slot = this.queue.peekFirst();
+                }
+                if (slot == null || slot.pieces.isEmpty())
+                {
+                    return;
+                }
+                piece = slot.pieces.pollFirst();
+                this.writing = piece;
+            }
+        }
+        if (piece != null)
+        {
+            this.sink.write(piece.buffer, new Completion(piece));
+        }
+        for (Piece p : failed)
+        {
+            p.callback.failed(cause);
+        }
+    }
+
+    private void complete(Piece piece, Throwable x)
+    {
+        synchronized (this)
+        {
+            this.writing = null;
+            if (x != null && this.failure == null)
+            {
+                this.failure = x;
+            }
+        }
+        if (x == null)
+        {
+            piece.callback.succeeded();
+        }
+        else
+        {
+            piece.callback.failed(x);
+        }
+        flush();
+    }
+
+    /**
+     * 書き込みの枠。
+     */
+    final class Slot
+    {
+        /** 書き込み待ちのバッファ（{@link ClientWriter} でロックする） */
+        private final Deque<Piece> pieces = new ArrayDeque<>();
+
+        /** これ以上書き込まない */
+        private boolean ended;
+
+        private Slot()
+        {
+        }
+
+        /**
+         * この枠にバッファを追加する（前の枠が書き終わるまでは待つ）。
+         *
+         * @param callback すべてのバッファの書き込みの完了を通知するコールバック
+         * @param buffers 書き込むバッファ
+         */
+        void write(Callback callback, ByteBuffer... buffers)
+        {
+            synchronized (ClientWriter.this)
+            {
+                if (this.ended)
+                {
+                    throw new IllegalStateException("already ended");
+                }
+                if (buffers.length == 0)
+                {
+                    this.pieces.addLast(new Piece(BufferUtil.EMPTY_BUFFER, callback));
+                }
+                for (int i = 0; i < buffers.length; i++)
+                {
+                    // 途中のバッファの失敗は、後のバッファを失敗させることで最後のコールバックに伝わる
+                    this.pieces.addLast(new Piece(buffers[i], i == buffers.length - 1 ? callback : Callback.NOOP));
+                }
+            }
+            flush();
+        }
+
+        /**
+         * この枠への書き込みを終える。以降、後の枠の書き込みが進む。
+         */
+        void end()
+        {
+            synchronized (ClientWriter.this)
+            {
+                this.ended = true;
+            }
+            flush();
+        }
+    }
+
+    /**
+     * 書き込み待ちのバッファ。
+     */
+    private record Piece(ByteBuffer buffer, Callback callback)
+    {
+    }
+
+    private final class Completion implements Callback
+    {
+        private final Piece piece;
+
+        private Completion(Piece piece)
+        {
+            this.piece = piece;
+        }
+
+        @Override
+        public void succeeded()
+        {
+            complete(this.piece, null);
+        }
+
+        @Override
+        public void failed(Throwable x)
+        {
+            complete(this.piece, x);
+        }
+
+        @Override
+        public InvocationType getInvocationType()
+        {
+            return this.piece.callback.getInvocationType();
+        }
+    }
+}
@@ -9,6 +9,6 @@ public class Filter {
     /** キャプチャーするリクエストのバイトサイズ上限 */
     public static final int MAX_POST_FIELD_SIZE = 1024 * 1024 * 12;
 
-    /** setAttribute用のキー(CaptureHolder) */
+    /** setAttribute用のキー(CaptureHolder2.HttpTransaction) */
     public static final String CONTENT_HOLDER = "logbook.content-holder";
 }
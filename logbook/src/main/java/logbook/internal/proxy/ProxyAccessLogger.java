@@ -5,10 +5,13 @@ import java.net.SocketAddress;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.io.EndPoint;
 import org.slf4j.Logger;
 import org.slf4j.MDC;
 
+import logbook.internal.metrics.MetricsRegistry;
+
 /**
  * プロキシのアクセスログをMDC経由で出力する。
  * <p>
@@ -27,6 +30,11 @@ import org.slf4j.MDC;
  * </ul>
  * <p><b>keep-alive:</b> 接続再利用時の重複ログ防止は {@link ReverseConnectHandler.HttpClientConnectionListener}
  * 側の {@code accessLogged} フラグが担当する。MDC 自体はログ出力のたびに開閉する。</p>
+ * <p><b>メトリクス:</b> upstream レイテンシ・ボディ受信時間は、ログレベルに関係なく
+ * URI パス別の {@code upstream_latency} / {@code upstream_body} として {@link MetricsRegistry} に記録する。
+ * ラベルの種類を抑えるため、{@code /kcsapi/} 以外のパスは {@code other} にまとめる。</p>
+ * <p><b>リング形式:</b> {@link ProxyAccessRingLog} が有効な場合は、ログレベルに関係なく
+ * 全トランザクションを固定長バイナリレコードとしても記録する。</p>
  */
 public final class ProxyAccessLogger
 {
@@ -77,6 +85,15 @@ public final class ProxyAccessLogger
      * elapsedMs - (responseComplete - requestStart)。解凍・リスナー処理等。
      */
     public static final String MDC_PROXY_OVERHEAD_MS = "proxyOverheadMs";
+    /**
+     * アップストリームへの接続時間（ミリ秒）。
+     * トンネル最初のトランザクションのみ。名前解決とTCP接続、事前接続済みソケット利用時は取り出しまで。それ以外は-1。
+     */
+    public static final String MDC_UPSTREAM_CONNECT_MS = "upstreamConnectMs";
+    /** アップストリーム接続に事前接続済みソケットを使ったか（true / false） */
+    public static final String MDC_UPSTREAM_CONNECT_POOLED = "upstreamConnectPooled";
+    /** アセットキャッシュの結果（HIT / STALE / MISS、対象外は空文字） */
+    public static final String MDC_ASSET_CACHE = "assetCache";
     /** トランザクション結果 */
     public static final String MDC_OUTCOME = "outcome";
     /** エラー詳細（正常時は空文字） */
@@ -105,6 +122,9 @@ public final class ProxyAccessLogger
     {
     }
 
+    /** URI パス別メトリクスの対象とするパスの接頭辞 */
+    private static final String METRICS_PATH_PREFIX = "/kcsapi/";
+
     /**
      * アクセスログをMDC付きで出力する。
      *
@@ -127,14 +147,23 @@ public final class ProxyAccessLogger
         Outcome outcome,
         String errorDetail)
     {
+        long elapsedMs = resolveElapsedMs(transaction, connectionStartTimeMillis);
+        TimingMetrics timing = resolveTimingMetrics(transaction, elapsedMs);
+        recordTimingMetrics(request, timing);
+
+        ProxyAccessRingLog ringLog = ProxyAccessRingLog.getInstance();
+        if (ringLog != null)
+        {
+            appendRingLog(ringLog, endPoint, request, response, transaction, connectionStartTimeMillis,
+                elapsedMs, timing, outcome);
+        }
+
         if (!logger.isDebugEnabled())
         {
             return;
         }
 
         ClientAddress clientAddress = resolveClientAddress(endPoint);
-        long elapsedMs = resolveElapsedMs(transaction, connectionStartTimeMillis);
-        TimingMetrics timing = resolveTimingMetrics(transaction, elapsedMs);
         Map<String, String> accessLogContext = buildAccessLogContext(
             clientAddress, request, response, transaction, elapsedMs, timing, outcome, errorDetail);
 
@@ -145,6 +174,8 @@ public final class ProxyAccessLogger
                 .addKeyValue(MDC_UPSTREAM_LATENCY_MS, timing.upstreamLatencyMs())
                 .addKeyValue(MDC_UPSTREAM_BODY_MS, timing.upstreamBodyMs())
                 .addKeyValue(MDC_PROXY_OVERHEAD_MS, timing.proxyOverheadMs())
+                .addKeyValue(MDC_UPSTREAM_CONNECT_MS, transaction.getUpstreamConnectMillis())
+                .addKeyValue(MDC_UPSTREAM_CONNECT_POOLED, transaction.isUpstreamConnectPooled())
                 .addKeyValue(MDC_STATUS, response.getStatus())
                 .addKeyValue(MDC_REQUEST_SIZE, request.getBodySize())
                 .addKeyValue(MDC_RESPONSE_SIZE, response.getBodySize())
@@ -226,19 +257,22 @@ public final class ProxyAccessLogger
         context.put(MDC_URI, uri);
         context.put(MDC_URI_PATH, nullToDefault(request.getUriPath(), "/"));
         context.put(MDC_REQUEST_ID, nullToEmpty(transaction.getRequestId()));
-        context.put(MDC_HOST, nullToEmpty(request.getHeaderIgnoreCase("Host")));
+        context.put(MDC_HOST, nullToEmpty(request.getHeader(HttpHeader.HOST)));
         context.put(MDC_STATUS, String.valueOf(response.getStatus()));
         context.put(MDC_REQUEST_SIZE, String.valueOf(request.getBodySize()));
         context.put(MDC_RESPONSE_SIZE, String.valueOf(response.getBodySize()));
         context.put(MDC_CONTENT_LENGTH, String.valueOf(response.getContentLength()));
-        context.put(MDC_CONTENT_ENCODING, nullToEmpty(response.getHeaderIgnoreCase("Content-Encoding")));
+        context.put(MDC_CONTENT_ENCODING, nullToEmpty(response.getHeader(HttpHeader.CONTENT_ENCODING)));
         context.put(MDC_CONTENT_TYPE, nullToEmpty(response.getContentType()));
-        context.put(MDC_TRANSFER_ENCODING, nullToEmpty(response.getHeaderIgnoreCase("Transfer-Encoding")));
+        context.put(MDC_TRANSFER_ENCODING, nullToEmpty(response.getHeader(HttpHeader.TRANSFER_ENCODING)));
         context.put(MDC_HTTP_VERSION, nullToEmpty(request.getVersion()));
         context.put(MDC_ELAPSED_MS, String.valueOf(elapsedMs));
         context.put(MDC_UPSTREAM_LATENCY_MS, String.valueOf(timing.upstreamLatencyMs()));
         context.put(MDC_UPSTREAM_BODY_MS, String.valueOf(timing.upstreamBodyMs()));
         context.put(MDC_PROXY_OVERHEAD_MS, String.valueOf(timing.proxyOverheadMs()));
+        context.put(MDC_UPSTREAM_CONNECT_MS, String.valueOf(transaction.getUpstreamConnectMillis()));
+        context.put(MDC_UPSTREAM_CONNECT_POOLED, String.valueOf(transaction.isUpstreamConnectPooled()));
+        context.put(MDC_ASSET_CACHE, nullToEmpty(transaction.getAssetCacheStatus()));
         context.put(MDC_OUTCOME, outcome.name());
         context.put(MDC_ERROR_DETAIL, nullToEmpty(errorDetail));
         return context;
@@ -281,6 +315,50 @@ public final class ProxyAccessLogger
         return new TimingMetrics(upstreamLatencyMs, upstreamBodyMs, proxyOverheadMs);
     }
 
+    private static void recordTimingMetrics(CaptureHolder2.HttpRequest request, TimingMetrics timing)
+    {
+        String uriPath = request.getUriPath();
+        String path = uriPath != null && uriPath.startsWith(METRICS_PATH_PREFIX) ? uriPath : "other";
+        if (timing.upstreamLatencyMs() >= 0)
+        {
+            MetricsRegistry.timer("upstream_latency", "path", path).recordMillis(timing.upstreamLatencyMs());
+        }
+        if (timing.upstreamBodyMs() >= 0)
+        {
+            MetricsRegistry.timer("upstream_body", "path", path).recordMillis(timing.upstreamBodyMs());
+        }
+    }
+
+    private static void appendRingLog(
+        ProxyAccessRingLog ringLog,
+        EndPoint endPoint,
+        CaptureHolder2.HttpRequest request,
+        CaptureHolder2.HttpResponse response,
+        CaptureHolder2.HttpTransaction transaction,
+        long connectionStartTimeMillis,
+        long elapsedMs,
+        TimingMetrics timing,
+        Outcome outcome)
+    {
+        long requestStartTime = transaction.getRequestStartTime();
+        int clientPort = endPoint != null && endPoint.getRemoteSocketAddress() instanceof InetSocketAddress inet
+            ? inet.getPort() : 0;
+        ringLog.append(
+            requestStartTime > 0 ? requestStartTime : connectionStartTimeMillis,
+            request.getMethod(),
+            nullToDefault(request.getUriPath(), "/"),
+            response.getStatus(),
+            outcome,
+            clientPort,
+            elapsedMs,
+            timing.upstreamLatencyMs(),
+            timing.upstreamBodyMs(),
+            timing.proxyOverheadMs(),
+            request.getBodySize(),
+            response.getBodySize(),
+            response.getContentLength());
+    }
+
     private static ClientAddress resolveClientAddress(EndPoint endPoint)
     {
         if (endPoint == null)
@@ -0,0 +1,388 @@
+package logbook.internal.proxy;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 固定長バイナリレコードをメモリマップしたリングファイルへ書き込むアクセスログ。
+ * <p>
+ * {@link ProxyAccessLogger} の MDC / logback 経由の出力はトランザクションごとに Map と文字列を組み立てるため、
+ * 長時間のセッションで全トランザクションを残す用途向けに、割り当てを伴わない書き込み先として用意する。
+ * ログレベルとは独立に、システムプロパティ {@value #FILE_PROPERTY} にファイルパスを指定すると有効になる。
+ * CSV / JSONL への変換は {@link ProxyAccessRingLogExportTool} で行う。
+ * </p>
+ * <p><b>ファイル形式（リトルエンディアン）:</b></p>
+ * <ul>
+ * <li>ヘッダ {@value #HEADER_SIZE} バイト: magic {@code "LBAR"}, version, レコード長, レコード数（容量）</li>
+ * <li>レコード {@value #RECORD_SIZE} バイト × 容量: 先頭 8 バイトが通し番号（1 始まり、0 は空き）</li>
+ * <li>URI パス辞書 {@code {ファイル名}.paths}: 1 行 1 パス、行番号（0 始まり）がレコードの pathId</li>
+ * </ul>
+ * <p><b>並行性:</b> 通し番号を {@link AtomicLong} で採番してスロットを決め、
+ * 通し番号を 0 にしてから各フィールドを書き、最後に通し番号を release 書き込みする。
+ * 読み込み側は通し番号をフィールドの前後で読み、一致しないレコード（書き込み途中・上書き中）を捨てる。
+ * 容量を超えると古いレコードから上書きする。</p>
+ */
+@Slf4j
+public final class ProxyAccessRingLog implements Closeable
+{
+    /** リングファイルのパスを指定するシステムプロパティ（未指定時は無効） */
+    public static final String FILE_PROPERTY = "logbook.proxy.accessRing";
+
+    /** 容量（レコード数）を指定するシステムプロパティ */
+    public static final String CAPACITY_PROPERTY = "logbook.proxy.accessRing.records";
+
+    /** 既定の容量（64 バイト × 262,144 = 16 MiB） */
+    public static final int DEFAULT_CAPACITY = 1 << 18;
+
+    /** {@code "LBAR"} */
+    static final int MAGIC = 0x4C424152;
+
+    static final short VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+
+    static final int RECORD_SIZE = 64;
+
+    static final String PATHS_SUFFIX = ".paths";
+
+    // レコード内オフセット
+    static final int OFF_SEQUENCE = 0;
+    static final int OFF_TIMESTAMP = 8;
+    static final int OFF_CLIENT_PORT = 16;
+    static final int OFF_PATH_ID = 20;
+    static final int OFF_STATUS = 24;
+    static final int OFF_OUTCOME = 26;
+    static final int OFF_METHOD = 27;
+    static final int OFF_ELAPSED = 28;
+    static final int OFF_REQUEST_SIZE = 32;
+    static final int OFF_RESPONSE_SIZE = 40;
+    static final int OFF_UPSTREAM_LATENCY = 48;
+    static final int OFF_UPSTREAM_BODY = 52;
+    static final int OFF_PROXY_OVERHEAD = 56;
+    static final int OFF_CONTENT_LENGTH = 60;
+
+    /** メソッドの符号（インデックス + 1。0 は不明・その他） */
+    static final List<String> METHODS = List.of("GET", "POST", "PUT", "DELETE", "HEAD", "OPTIONS", "PATCH", "CONNECT");
+
+    static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static volatile ProxyAccessRingLog instance;
+
+    private static volatile boolean initialized;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final AtomicLong nextSequence;
+    private final Map<String, Integer> pathIds = new ConcurrentHashMap<>();
+    private final BufferedWriter pathsWriter;
+
+    /** 次に追記する URI パスの ID（辞書ファイルの次の行番号。{@link #pathIds} でロックする） */
+    private int nextPathId;
+
+    private ProxyAccessRingLog(Path file, FileChannel channel, MappedByteBuffer buffer, int capacity,
+        long lastSequence, List<String> paths, BufferedWriter pathsWriter)
+    {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.nextSequence = new AtomicLong(lastSequence + 1);
+        for (int i = 0; i < paths.size(); i++)
+        {
+            this.pathIds.putIfAbsent(paths.get(i), i);
+        }
+        // 辞書ファイルに重複した行があると pathIds の件数は行数より少ないため、行数（読み込んだ最大の ID + 1）から採番する
+        this.nextPathId = paths.size();
+        this.pathsWriter = pathsWriter;
+    }
+
+    /**
+     * システムプロパティで有効化されている場合、共有インスタンスを返す。
+     *
+     * @return 共有インスタンス、無効・オープン失敗時は {@code null}
+     */
+    public static ProxyAccessRingLog getInstance()
+    {
+        if (initialized)
+        {
+            return instance;
+        }
+        synchronized (ProxyAccessRingLog.class)
+        {
+            if (!initialized)
+            {
+                String path = System.getProperty(FILE_PROPERTY);
+                if (path != null && !path.isBlank())
+                {
+                    try
+                    {
+                        instance = open(Path.of(path), Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+                        log.info("リング形式アクセスログを有効化しました: {}", path);
+                    }
+                    catch (IOException | RuntimeException e)
+                    {
+                        log.warn("リング形式アクセスログを開けませんでした: {}", path, e);
+                    }
+                }
+                initialized = true;
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * 共有インスタンスを閉じる。以降の {@link #getInstance()} はシステムプロパティからファイルを開き直す。
+     * プロキシサーバーの停止時とアプリケーションの終了時に呼ばれる（開いていなければ何もしない）。
+     */
+    public static void shutdown()
+    {
+        ProxyAccessRingLog ring;
+        synchronized (ProxyAccessRingLog.class)
+        {
+            ring = instance;
+            instance = null;
+            initialized = false;
+        }
+        if (ring != null)
+        {
+            try
+            {
+                ring.close();
+            }
+            catch (IOException | RuntimeException e)
+            {
+                log.warn("リング形式アクセスログを閉じられませんでした: {}", ring.getFile(), e);
+            }
+        }
+    }
+
+    /**
+     * リングファイルを開く。ヘッダが一致する既存ファイルには続きから書き込み、
+     * 一致しない場合（容量変更を含む）は作り直す。
+     *
+     * @param file リングファイル
+     * @param capacity 容量（レコード数）
+     * @return リングログ
+     * @throws IOException 入出力例外
+     */
+    public static ProxyAccessRingLog open(Path file, int capacity) throws IOException
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        long size = HEADER_SIZE + (long) RECORD_SIZE * capacity;
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try
+        {
+            boolean reuse = channel.size() == size && hasHeader(channel, capacity);
+            if (!reuse)
+            {
+                channel.truncate(0);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            Path pathsFile = pathsFile(file);
+            List<String> paths;
+            long lastSequence = 0L;
+            if (reuse)
+            {
+                paths = readPaths(pathsFile);
+                for (int slot = 0; slot < capacity; slot++)
+                {
+                    lastSequence = Math.max(lastSequence, buffer.getLong(HEADER_SIZE + slot * RECORD_SIZE));
+                }
+            }
+            else
+            {
+                buffer.putInt(0, MAGIC);
+                buffer.putShort(4, VERSION);
+                buffer.putShort(6, (short) RECORD_SIZE);
+                buffer.putInt(8, capacity);
+                Files.deleteIfExists(pathsFile);
+                paths = List.of();
+            }
+            BufferedWriter pathsWriter = Files.newBufferedWriter(pathsFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            return new ProxyAccessRingLog(file, channel, buffer, capacity, lastSequence, paths, pathsWriter);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 1 トランザクションを記録する。
+     *
+     * @param timestampMillis リクエスト開始時刻（epoch ミリ秒）
+     * @param method HTTP メソッド
+     * @param uriPath URI パス
+     * @param status HTTP ステータス
+     * @param outcome トランザクション結果
+     * @param clientPort 接続元ポート
+     * @param elapsedMs 所要時間
+     * @param upstreamLatencyMs upstream レイテンシ（不明時は -1）
+     * @param upstreamBodyMs upstream ボディ受信時間（不明時は -1）
+     * @param proxyOverheadMs プロキシのオーバーヘッド（不明時は -1）
+     * @param requestSize リクエストボディのバイト数
+     * @param responseSize レスポンスボディのバイト数
+     * @param contentLength Content-Length（不明時は -1）
+     */
+    public void append(long timestampMillis, String method, String uriPath, int status,
+        ProxyAccessLogger.Outcome outcome, int clientPort, long elapsedMs,
+        long upstreamLatencyMs, long upstreamBodyMs, long proxyOverheadMs,
+        long requestSize, long responseSize, long contentLength)
+    {
+        int pathId = pathId(uriPath);
+        long sequence = this.nextSequence.getAndIncrement();
+        int base = HEADER_SIZE + (int) ((sequence - 1) % this.capacity) * RECORD_SIZE;
+        ByteBuffer buf = this.buffer;
+        LONG_VIEW.setVolatile(buf, base + OFF_SEQUENCE, 0L);
+        buf.putLong(base + OFF_TIMESTAMP, timestampMillis);
+        buf.putInt(base + OFF_CLIENT_PORT, clientPort);
+        buf.putInt(base + OFF_PATH_ID, pathId);
+        buf.putShort(base + OFF_STATUS, (short) status);
+        buf.put(base + OFF_OUTCOME, (byte) outcome.ordinal());
+        buf.put(base + OFF_METHOD, methodCode(method));
+        buf.putInt(base + OFF_ELAPSED, clamp(elapsedMs));
+        buf.putLong(base + OFF_REQUEST_SIZE, requestSize);
+        buf.putLong(base + OFF_RESPONSE_SIZE, responseSize);
+        buf.putInt(base + OFF_UPSTREAM_LATENCY, clamp(upstreamLatencyMs));
+        buf.putInt(base + OFF_UPSTREAM_BODY, clamp(upstreamBodyMs));
+        buf.putInt(base + OFF_PROXY_OVERHEAD, clamp(proxyOverheadMs));
+        buf.putInt(base + OFF_CONTENT_LENGTH, clamp(contentLength));
+        LONG_VIEW.setRelease(buf, base + OFF_SEQUENCE, sequence);
+    }
+
+    /**
+     * リングファイルのパス。
+     *
+     * @return パス
+     */
+    public Path getFile()
+    {
+        return this.file;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        synchronized (this.pathIds)
+        {
+            this.pathsWriter.close();
+        }
+        this.buffer.force();
+        this.channel.close();
+    }
+
+    static Path pathsFile(Path file)
+    {
+        return file.resolveSibling(file.getFileName().toString() + PATHS_SUFFIX);
+    }
+
+    static List<String> readPaths(Path pathsFile) throws IOException
+    {
+        if (!Files.isRegularFile(pathsFile))
+        {
+            return List.of();
+        }
+        return new ArrayList<>(Files.readAllLines(pathsFile, StandardCharsets.UTF_8));
+    }
+
+    static boolean hasHeader(ByteBuffer header, int capacity)
+    {
+        return header.getInt(0) == MAGIC
+            && header.getShort(4) == VERSION
+            && header.getShort(6) == RECORD_SIZE
+            && (capacity < 0 || header.getInt(8) == capacity);
+    }
+
+    private static boolean hasHeader(FileChannel channel, int capacity) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining())
+        {
+            if (channel.read(header, header.position()) < 0)
+            {
+                return false;
+            }
+        }
+        return hasHeader(header, capacity);
+    }
+
+    /**
+     * URI パスを辞書 ID に変換する。未登録のパスは辞書ファイルへ追記する（初出時のみロックを取る）。
+     */
+    private int pathId(String uriPath)
+    {
+        String path = Objects.requireNonNullElse(uriPath, "/");
+        Integer id = this.pathIds.get(path);
+        if (id != null)
+        {
+            return id;
+        }
+        synchronized (this.pathIds)
+        {
+            id = this.pathIds.get(path);
+            if (id != null)
+            {
+                return id;
+            }
+            int newId = this.nextPathId;
+            try
+            {
+                this.pathsWriter.write(path.replace('\n', ' ').replace('\r', ' '));
+                this.pathsWriter.newLine();
+                this.pathsWriter.flush();
+            }
+            catch (IOException e)
+            {
+                log.debug("アクセスログの URI パス辞書へ書き込めませんでした: {}", path, e);
+                return -1;
+            }
+            this.nextPathId++;
+            this.pathIds.put(path, newId);
+            return newId;
+        }
+    }
+
+    private static byte methodCode(String method)
+    {
+        int index = method != null ? METHODS.indexOf(method) : -1;
+        return (byte) (index + 1);
+    }
+
+    private static int clamp(long value)
+    {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+}
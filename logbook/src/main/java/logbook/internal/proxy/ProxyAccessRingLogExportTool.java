@@ -0,0 +1,139 @@
+package logbook.internal.proxy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import logbook.internal.JsonMappers;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * {@link ProxyAccessRingLog} のリングファイルを CSV / JSONL へ書き出すツール。
+ *
+ * <pre>
+ * java -p app -m logbook/logbook.internal.proxy.ProxyAccessRingLogExportTool \
+ *     --file access.ring [--format csv|jsonl] [--out access.csv]
+ * </pre>
+ * <p>
+ * {@code --out} を省略した場合は標準出力へ書き出す。レコードは通し番号順（古い順）。
+ * </p>
+ */
+public final class ProxyAccessRingLogExportTool
+{
+    private static final String USAGE = "Usage: ProxyAccessRingLogExportTool --file <ringFile>"
+        + " [--format csv|jsonl] [--out <file>]";
+
+    private static final String CSV_HEADER = String.join(",",
+        "sequence", "timestampMillis", "method", ProxyAccessLogger.MDC_URI_PATH, ProxyAccessLogger.MDC_STATUS,
+        ProxyAccessLogger.MDC_OUTCOME, ProxyAccessLogger.MDC_CLIENT_PORT, ProxyAccessLogger.MDC_ELAPSED_MS,
+        ProxyAccessLogger.MDC_UPSTREAM_LATENCY_MS, ProxyAccessLogger.MDC_UPSTREAM_BODY_MS,
+        ProxyAccessLogger.MDC_PROXY_OVERHEAD_MS, ProxyAccessLogger.MDC_REQUEST_SIZE,
+        ProxyAccessLogger.MDC_RESPONSE_SIZE, ProxyAccessLogger.MDC_CONTENT_LENGTH);
+
+    private static final ObjectWriter JSON_WRITER = JsonMappers.MAPPER.writer();
+
+    private ProxyAccessRingLogExportTool()
+    {
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        String file = option(args, "--file");
+        String format = option(args, "--format");
+        String out = option(args, "--out");
+        if (format == null)
+        {
+            format = "csv";
+        }
+        if (file == null || !("csv".equals(format) || "jsonl".equals(format)))
+        {
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        List<ProxyAccessRingLogReader.Entry> entries = ProxyAccessRingLogReader.read(Path.of(file));
+        Writer writer = out != null
+            ? Files.newBufferedWriter(Path.of(out), StandardCharsets.UTF_8)
+            : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try
+        {
+            export(entries, format, writer);
+        }
+        finally
+        {
+            if (out != null)
+            {
+                writer.close();
+            }
+            else
+            {
+                writer.flush();
+            }
+        }
+        if (out != null)
+        {
+            System.err.println("wrote " + entries.size() + " records to " + out);
+        }
+    }
+
+    /**
+     * レコードを指定形式で書き出す。
+     *
+     * @param entries レコード
+     * @param format {@code csv} または {@code jsonl}
+     * @param writer 書き出し先
+     * @throws IOException 入出力例外
+     */
+    static void export(List<ProxyAccessRingLogReader.Entry> entries, String format, Writer writer)
+        throws IOException
+    {
+        if ("csv".equals(format))
+        {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        for (ProxyAccessRingLogReader.Entry e : entries)
+        {
+            if ("csv".equals(format))
+            {
+                writer.write(e.sequence() + "," + e.timestampMillis() + "," + e.method() + ","
+                    + csv(e.uriPath()) + "," + e.status() + "," + e.outcome() + "," + e.clientPort() + ","
+                    + e.elapsedMs() + "," + e.upstreamLatencyMs() + "," + e.upstreamBodyMs() + ","
+                    + e.proxyOverheadMs() + "," + e.requestSize() + "," + e.responseSize() + ","
+                    + e.contentLength());
+            }
+            else
+            {
+                writer.write(JSON_WRITER.writeValueAsString(e));
+            }
+            writer.write('\n');
+        }
+    }
+
+    private static String csv(String value)
+    {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0)
+        {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String option(String[] args, String name)
+    {
+        for (int i = 0; i < args.length - 1; i++)
+        {
+            if (name.equals(args[i]))
+            {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+}
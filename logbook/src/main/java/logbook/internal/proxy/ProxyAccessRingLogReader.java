@@ -0,0 +1,124 @@
+package logbook.internal.proxy;
+
+import static logbook.internal.proxy.ProxyAccessRingLog.*;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@link ProxyAccessRingLog} のリングファイルを読み込む。
+ * <p>
+ * 書き込み中のファイルも読み込める。書き込み途中・上書き中のレコードは読み飛ばす。
+ * </p>
+ */
+public final class ProxyAccessRingLogReader
+{
+    private ProxyAccessRingLogReader()
+    {
+    }
+
+    /**
+     * リングファイル内の有効なレコードを通し番号順に返す。
+     *
+     * @param file リングファイル
+     * @return レコード（古い順）
+     * @throws IOException 入出力例外、またはリングファイルではない場合
+     */
+    public static List<Entry> read(Path file) throws IOException
+    {
+        List<String> paths = readPaths(pathsFile(file));
+        List<Entry> entries = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.capacity() < HEADER_SIZE || !hasHeader(buf, -1))
+            {
+                throw new IOException("アクセスログのリングファイルではありません: " + file);
+            }
+            int capacity = buf.getInt(8);
+            long required = HEADER_SIZE + (long) RECORD_SIZE * capacity;
+            if (buf.capacity() < required)
+            {
+                throw new IOException("アクセスログのリングファイルが途中で切れています: " + file);
+            }
+            for (int slot = 0; slot < capacity; slot++)
+            {
+                int base = HEADER_SIZE + slot * RECORD_SIZE;
+                long sequence = (long) LONG_VIEW.getAcquire(buf, base + OFF_SEQUENCE);
+                if (sequence == 0L)
+                {
+                    continue;
+                }
+                int pathId = buf.getInt(base + OFF_PATH_ID);
+                int methodCode = buf.get(base + OFF_METHOD);
+                int outcome = buf.get(base + OFF_OUTCOME);
+                Entry entry = new Entry(
+                    sequence,
+                    buf.getLong(base + OFF_TIMESTAMP),
+                    methodCode > 0 && methodCode <= METHODS.size() ? METHODS.get(methodCode - 1) : "UNKNOWN",
+                    pathId >= 0 && pathId < paths.size() ? paths.get(pathId) : "",
+                    Short.toUnsignedInt(buf.getShort(base + OFF_STATUS)),
+                    outcome >= 0 && outcome < ProxyAccessLogger.Outcome.values().length
+                        ? ProxyAccessLogger.Outcome.values()[outcome].name() : "UNKNOWN",
+                    buf.getInt(base + OFF_CLIENT_PORT),
+                    buf.getInt(base + OFF_ELAPSED),
+                    buf.getInt(base + OFF_UPSTREAM_LATENCY),
+                    buf.getInt(base + OFF_UPSTREAM_BODY),
+                    buf.getInt(base + OFF_PROXY_OVERHEAD),
+                    buf.getLong(base + OFF_REQUEST_SIZE),
+                    buf.getLong(base + OFF_RESPONSE_SIZE),
+                    buf.getInt(base + OFF_CONTENT_LENGTH));
+                if ((long) LONG_VIEW.getAcquire(buf, base + OFF_SEQUENCE) == sequence)
+                {
+                    entries.add(entry);
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::sequence));
+        return entries;
+    }
+
+    /**
+     * リングファイルの 1 レコード。
+     *
+     * @param sequence 通し番号
+     * @param timestampMillis リクエスト開始時刻（epoch ミリ秒）
+     * @param method HTTP メソッド
+     * @param uriPath URI パス
+     * @param status HTTP ステータス
+     * @param outcome トランザクション結果（{@link ProxyAccessLogger.Outcome} の名前）
+     * @param clientPort 接続元ポート
+     * @param elapsedMs 所要時間
+     * @param upstreamLatencyMs upstream レイテンシ（不明時は -1）
+     * @param upstreamBodyMs upstream ボディ受信時間（不明時は -1）
+     * @param proxyOverheadMs プロキシのオーバーヘッド（不明時は -1）
+     * @param requestSize リクエストボディのバイト数
+     * @param responseSize レスポンスボディのバイト数
+     * @param contentLength Content-Length（不明時は -1）
+     */
+    public record Entry(
+        long sequence,
+        long timestampMillis,
+        String method,
+        String uriPath,
+        int status,
+        String outcome,
+        int clientPort,
+        int elapsedMs,
+        int upstreamLatencyMs,
+        int upstreamBodyMs,
+        int proxyOverheadMs,
+        long requestSize,
+        long responseSize,
+        int contentLength)
+    {
+    }
+}
@@ -22,7 +22,6 @@ import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.ConnectHandler;
-import org.eclipse.jetty.io.ArrayByteBufferPool;
 import org.eclipse.jetty.io.ssl.SslHandshakeListener;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 
@@ -84,19 +83,14 @@ public final class ProxyServerImpl implements ProxyServerSpi {
             // SSL Context Factoryの初期化（証明書の存在確認を含む）
             initializeSslFactories();
             
-            // バッファプールの設定（オプション）
-            ArrayByteBufferPool bufferPool = new ArrayByteBufferPool(
-                0,              // minCapacity
-                4096,           // factor
-                262144,          // maxCapacity (256KB)
-                64,            // maxBucketSize
-                0,              // maxHeapMemory (デフォルト)
-                0               // maxDirectMemory (デフォルト)
-            );
+            // バッファプールの設定（AppConfigに従い、通信量に合わせて大きさを調整する）
+            AdaptiveByteBufferPool bufferPool = new AdaptiveByteBufferPool(AppConfig.get());
             
-            // Serverをバッファプール指定で作成
+            // Serverをスレッドプール・バッファプール指定で作成
             // これにより、getServer().getByteBufferPool()でこのバッファプールが返される
-            this.server = new Server(null, null, bufferPool);
+            // スレッドプールはAppConfigの実行モデルに従う（defaultはnullでJetty既定）
+            this.server = new Server(ProxyThreadPools.newThreadPool(AppConfig.get()), null, bufferPool);
+            ProxyThreadPools.bindMetrics(this.server.getThreadPool(), bufferPool);
             
             boolean allowLocalOnly = AppConfig.get()
                     .isAllowOnlyFromLocalhost();
@@ -107,7 +101,7 @@ public final class ProxyServerImpl implements ProxyServerSpi {
             // The ConnectionFactory for HTTP/1.1.
             HttpConnectionFactory h1 = new HttpConnectionFactory(httpConfig);
 
-            ServerConnector connector = new ServerConnector(server, h1);            
+            ServerConnector connector = new ServerConnector(server, -1, ProxyThreadPools.selectors(AppConfig.get()), h1);
 
             connector.setPort(AppConfig.get().getListenPort());
             if (allowLocalOnly) {
@@ -122,6 +116,10 @@ public final class ProxyServerImpl implements ProxyServerSpi {
             // SSL証明書エラーリスナーをBeanとして登録（Jetty標準のContainerLifeCycleパターン）
             // ReverseConnectHandler.wrapWithSSLForDownstream()がgetBeans()で自動的に取得する
             proxy.addBean(createSslHandshakeListener());
+
+            // https（トンネル）とhttp（サーブレット）で同じ取込処理・リスナーを使う
+            CaptureDispatcher captureDispatcher = CaptureDispatcher.create();
+            proxy.setCaptureDispatcher(captureDispatcher);
             
             this.server.setHandler(proxy);
 
@@ -131,6 +129,7 @@ public final class ProxyServerImpl implements ProxyServerSpi {
             
             // httpはこっちのハンドラでプロキシ
             ServletContextHandler context = new ServletContextHandler("/", ServletContextHandler.SESSIONS);
+            context.setAttribute(CaptureDispatcher.ATTRIBUTE, captureDispatcher);
 
             //ReverseConnectHandler
             //└ServletConextHandler
@@ -143,7 +142,8 @@ public final class ProxyServerImpl implements ProxyServerSpi {
             context.addServlet(ProxyPacServlet.class, "/proxy.pac");
             
             ServletHolder holder = context.addServlet(ReverseProxyServlet.class, "/*");
-            holder.setInitParameter("maxThreads", "256");
+            // "-" はサーバーのスレッドプールをHttpClientと共有する指定
+            holder.setInitParameter("maxThreads", ProxyThreadPools.shareServerExecutor(AppConfig.get()) ? "-" : "256");
             holder.setInitParameter("timeout", "600000");
 
             try {
@@ -156,6 +156,7 @@ public final class ProxyServerImpl implements ProxyServerSpi {
                     } catch (Exception ex) {
                         log.warn("Proxyサーバーのシャットダウンで例外", ex);
                     }
+                    ProxyAccessRingLog.shutdown();
                 }
             } catch (Exception e) {
                 handleException(e);
@@ -0,0 +1,179 @@
+package logbook.internal.proxy;
+
+import java.util.Locale;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.eclipse.jetty.util.thread.VirtualThreadPool;
+
+import logbook.bean.AppConfig;
+import logbook.internal.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * プロキシサーバー（Jetty）の実行モデルの選択と、スレッドプール・バッファプールの統計公開。
+ * <p>
+ * 実行モデルは {@link AppConfig#getProxyExecutorMode()} で選ぶ。
+ * </p>
+ * <ul>
+ * <li>{@link Mode#DEFAULT}: Jetty 既定の {@link QueuedThreadPool}。HTTP プロキシのクライアントは専用プール（256 スレッド）</li>
+ * <li>{@link Mode#VIRTUAL}: {@link VirtualThreadPool}。タスクごとに仮想スレッドを起動する</li>
+ * <li>{@link Mode#BOUNDED}: 上限付きの {@link QueuedThreadPool}。予約スレッド数・セレクタ数を設定で固定する</li>
+ * </ul>
+ * <p>
+ * {@code VIRTUAL} / {@code BOUNDED} では HTTP プロキシ（{@link ReverseProxyServlet}）のクライアントもサーバーのプールを共有する。
+ * 統計は {@link MetricsRegistry} のゲージ（{@code proxy_threads*} / {@code proxy_buffer_*}）として JMX に公開する。
+ * バッファプールの値は {@link AdaptiveByteBufferPool} が現在使っているプールから読む。
+ * </p>
+ */
+@Slf4j
+public final class ProxyThreadPools {
+
+    /** スレッドプールの名前（スレッド名の接頭辞） */
+    static final String POOL_NAME = "logbook-proxy";
+
+    /** {@link Mode#BOUNDED} の最小スレッド数 */
+    private static final int BOUNDED_MIN_THREADS = 8;
+
+    /** {@link Mode#BOUNDED} のアイドルスレッドの保持時間（ミリ秒） */
+    private static final int BOUNDED_IDLE_TIMEOUT_MILLIS = 60_000;
+
+    /** 統計の取得元（サーバー起動ごとに差し替える） */
+    private static volatile ThreadPool currentThreadPool;
+
+    private static volatile AdaptiveByteBufferPool currentBufferPool;
+
+    static {
+        MetricsRegistry.gauge("proxy_threads", () -> threadPoolValue(ThreadPool::getThreads));
+        MetricsRegistry.gauge("proxy_threads_idle", () -> threadPoolValue(ThreadPool::getIdleThreads));
+        MetricsRegistry.gauge("proxy_threads_busy", () -> queuedValue(QueuedThreadPool::getBusyThreads));
+        MetricsRegistry.gauge("proxy_threads_queue", () -> queuedValue(QueuedThreadPool::getQueueSize));
+        MetricsRegistry.gauge("proxy_threads_low", () -> threadPoolValue(p -> p.isLowOnThreads() ? 1 : 0));
+        MetricsRegistry.gauge("proxy_buffer_heap_bytes", () -> bufferPoolValue(p -> p.getHeapMemory()));
+        MetricsRegistry.gauge("proxy_buffer_direct_bytes", () -> bufferPoolValue(p -> p.getDirectMemory()));
+        MetricsRegistry.gauge("proxy_buffer_available_heap_bytes",
+                () -> bufferPoolValue(p -> p.getAvailableHeapMemory()));
+        MetricsRegistry.gauge("proxy_buffer_available_direct_bytes",
+                () -> bufferPoolValue(p -> p.getAvailableDirectMemory()));
+        MetricsRegistry.gauge("proxy_buffer_max_capacity", () -> adaptiveValue(AdaptiveByteBufferPool::getMaxCapacity));
+        MetricsRegistry.gauge("proxy_buffer_max_memory", () -> adaptiveValue(AdaptiveByteBufferPool::getMaxMemory));
+    }
+
+    /**
+     * プロキシサーバーの実行モデル
+     */
+    public enum Mode {
+        /** Jetty 既定 */
+        DEFAULT,
+        /** 仮想スレッド */
+        VIRTUAL,
+        /** 上限付きのプラットフォームスレッド */
+        BOUNDED;
+
+        /**
+         * 設定値から実行モデルを返します。不明な値は {@link #DEFAULT} です。
+         *
+         * @param value 設定値（大文字小文字は区別しない）
+         * @return 実行モデル
+         */
+        public static Mode of(String value) {
+            if (value == null || value.isBlank()) {
+                return DEFAULT;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                log.warn("不明なプロキシ実行モデルのため既定値を使用します: {}", value);
+                return DEFAULT;
+            }
+        }
+    }
+
+    private ProxyThreadPools() {
+    }
+
+    /**
+     * 設定に従ってサーバーのスレッドプールを作成します。
+     *
+     * @param config アプリケーション設定
+     * @return スレッドプール、Jetty 既定を使う場合は {@code null}
+     */
+    static ThreadPool newThreadPool(AppConfig config) {
+        Mode mode = Mode.of(config.getProxyExecutorMode());
+        return switch (mode) {
+        case VIRTUAL -> {
+            VirtualThreadPool pool = new VirtualThreadPool();
+            pool.setName(POOL_NAME);
+            log.info("プロキシサーバーの実行モデル: {}", mode);
+            yield pool;
+        }
+        case BOUNDED -> {
+            int maxThreads = Math.max(BOUNDED_MIN_THREADS * 2, config.getProxyMaxThreads());
+            QueuedThreadPool pool = new QueuedThreadPool(maxThreads, BOUNDED_MIN_THREADS, BOUNDED_IDLE_TIMEOUT_MILLIS);
+            pool.setName(POOL_NAME);
+            pool.setReservedThreads(config.getProxyReservedThreads());
+            log.info("プロキシサーバーの実行モデル: {} (maxThreads={}, reservedThreads={}, selectors={})",
+                    mode, maxThreads, config.getProxyReservedThreads(), config.getProxySelectorThreads());
+            yield pool;
+        }
+        case DEFAULT -> null;
+        };
+    }
+
+    /**
+     * HTTP プロキシのクライアントがサーバーのスレッドプールを共有するかを返します。
+     *
+     * @param config アプリケーション設定
+     * @return 共有する場合 {@code true}
+     */
+    static boolean shareServerExecutor(AppConfig config) {
+        return Mode.of(config.getProxyExecutorMode()) != Mode.DEFAULT;
+    }
+
+    /**
+     * コネクタのセレクタ数を返します。
+     *
+     * @param config アプリケーション設定
+     * @return セレクタ数、Jetty 既定の場合は {@code -1}
+     */
+    static int selectors(AppConfig config) {
+        if (Mode.of(config.getProxyExecutorMode()) != Mode.BOUNDED) {
+            return -1;
+        }
+        int selectors = config.getProxySelectorThreads();
+        return selectors > 0 ? selectors : -1;
+    }
+
+    /**
+     * 統計の取得元を起動したサーバーのプールに切り替えます。
+     *
+     * @param threadPool サーバーのスレッドプール
+     * @param bufferPool サーバーのバッファプール
+     */
+    static void bindMetrics(ThreadPool threadPool, AdaptiveByteBufferPool bufferPool) {
+        currentThreadPool = threadPool;
+        currentBufferPool = bufferPool;
+    }
+
+    private static double threadPoolValue(ToIntFunction<ThreadPool> getter) {
+        ThreadPool pool = currentThreadPool;
+        return pool != null ? getter.applyAsInt(pool) : 0;
+    }
+
+    private static double queuedValue(ToIntFunction<QueuedThreadPool> getter) {
+        return currentThreadPool instanceof QueuedThreadPool pool ? getter.applyAsInt(pool) : 0;
+    }
+
+    private static double bufferPoolValue(ToLongFunction<ArrayByteBufferPool> getter) {
+        AdaptiveByteBufferPool pool = currentBufferPool;
+        return pool != null ? getter.applyAsLong(pool.getDelegate()) : 0;
+    }
+
+    private static double adaptiveValue(ToLongFunction<AdaptiveByteBufferPool> getter) {
+        AdaptiveByteBufferPool pool = currentBufferPool;
+        return pool != null ? getter.applyAsLong(pool) : 0;
+    }
+}
@@ -0,0 +1,238 @@
+package logbook.internal.proxy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.jetty.http.HttpFields;
+
+import logbook.proxy.RequestMetaData;
+
+/**
+ * リクエストメタデータのラッパークラス。完全なHTTPヘッダーサポート付き。
+ * CaptureHolder2と統合され、HTTPSトンネル（{@link ReverseConnectHandler}）と
+ * HTTPプロキシ（{@link ReverseProxyServlet}）の両方で{@link CaptureDispatcher}から使われる。
+ */
+class RequestMetaDataWrapper implements RequestMetaData, Cloneable
+{
+    private String contentType;
+    private String method;
+    private String requestURI;
+    private String uriPath;
+    private String queryString;
+    private String requestId = "";
+    /** 不変のヘッダー（CaptureHolder2のビューをクローン間で共有する） */
+    private HttpFields headers = HttpFields.EMPTY;
+    private byte[] requestBodyBytes = null;  // Store as byte array, not InputStream
+    /** パラメータ（クローン間で共有し、最初に参照したときに1回だけ解析する） */
+    private SharedParameters parameters = new SharedParameters();
+
+    /**
+     * Initialize from CaptureHolder2.HttpRequest.
+     * This is the primary and most efficient initialization method.
+     */
+    void set(CaptureHolder2.HttpRequest httpRequest)
+    {
+        this.method = httpRequest.getMethod();
+        this.requestURI = httpRequest.getUri();
+        this.uriPath = httpRequest.getUriPath();
+        this.headers = httpRequest.getHeaders();
+        this.contentType = httpRequest.getContentType();
+        this.parameters = new SharedParameters();
+        
+        // Extract query string from URI
+        if (requestURI != null && requestURI.contains("?"))
+        {
+            int queryIndex = requestURI.indexOf('?');
+            this.queryString = requestURI.substring(queryIndex + 1);
+        }
+        
+        // Store body as byte array (not InputStream) for thread-safe reuse
+        if (httpRequest.getBodySize() > 0)
+        {
+            this.requestBodyBytes = httpRequest.getBodyAsBytes();
+        }
+    }
+
+    void setMethod(String method)
+    {
+        this.method = method;
+        this.parameters = new SharedParameters();
+    }
+    
+    void setRequestURI(String requestURI)
+    {
+        this.requestURI = requestURI;
+        this.uriPath = UriPaths.normalize(requestURI);
+        this.parameters = new SharedParameters();
+        
+        // Extract query string from URI
+        if (requestURI != null && requestURI.contains("?"))
+        {
+            int queryIndex = requestURI.indexOf('?');
+            this.queryString = requestURI.substring(queryIndex + 1);
+        }
+    }
+    
+    void setContentType(String contentType)
+    {
+        this.contentType = contentType;
+        this.parameters = new SharedParameters();
+    }
+    
+    /**
+     * Get all HTTP headers (immutable, shared with clones).
+     */
+    public HttpFields getHeaders()
+    {
+        return headers;
+    }
+    
+    /**
+     * Get a specific HTTP header value (case-insensitive).
+     */
+    public String getHeader(String name)
+    {
+        return headers.get(name);
+    }
+
+    @Override
+    public String getContentType()
+    {
+        return contentType;
+    }
+
+    @Override
+    public String getMethod()
+    {
+        return method;
+    }
+
+    @Override
+    public Map<String, List<String>> getParameterMap()
+    {
+        return parameters().asMap();
+    }
+
+    @Override
+    public String getParameter(String key, String def)
+    {
+        String value = parameters().get(key);
+        return value != null ? value : def;
+    }
+
+    @Override
+    public int getInt(String key, int def)
+    {
+        return parameters().getInt(key, def);
+    }
+
+    private RequestParameters parameters()
+    {
+        return this.parameters.get(this);
+    }
+
+    @Override
+    public String getQueryString()
+    {
+        return queryString;
+    }
+
+    @Override
+    public String getRequestURI()
+    {
+        return requestURI;
+    }
+
+    @Override
+    public String getUriPath()
+    {
+        if (uriPath != null) {
+            return uriPath;
+        }
+        return UriPaths.normalize(requestURI);
+    }
+
+    @Override
+    public String getRequestId()
+    {
+        return requestId != null ? requestId : "";
+    }
+
+    void setRequestId(String requestId)
+    {
+        this.requestId = requestId != null ? requestId : "";
+    }
+
+    @Override
+    public Optional<InputStream> getRequestBody()
+    {
+        // Return a new ByteArrayInputStream each time for thread-safe reuse
+        if (requestBodyBytes != null && requestBodyBytes.length > 0)
+        {
+            return Optional.of(new ByteArrayInputStream(requestBodyBytes));
+        }
+        return Optional.empty();
+    }
+    
+    @Override
+    public RequestMetaDataWrapper clone()
+    {
+        try
+        {
+            RequestMetaDataWrapper copy = (RequestMetaDataWrapper) super.clone();
+            // Headers are immutable, share the reference
+            copy.requestId = this.requestId;
+            // Byte array is immutable reference, no need to copy the array itself
+            // (multiple clones can share the same byte array safely)
+            // Parameters are parsed at most once, share the holder (parsed or not yet)
+            copy.parameters = this.parameters;
+            return copy;
+        }
+        catch (CloneNotSupportedException e)
+        {
+            // This should never happen as we implement Cloneable
+            RequestMetaDataWrapper copy = new RequestMetaDataWrapper();
+            copy.contentType = this.contentType;
+            copy.method = this.method;
+            copy.requestURI = this.requestURI;
+            copy.uriPath = this.uriPath;
+            copy.queryString = this.queryString;
+            copy.requestId = this.requestId;
+            copy.headers = this.headers;
+            copy.requestBodyBytes = this.requestBodyBytes;  // Share the byte array reference
+            copy.parameters = this.parameters;  // Share the parameter holder
+            return copy;
+        }
+    }
+
+    /**
+     * 解析済みパラメータの共有先。クローンはこのオブジェクトを共有するため、
+     * どのリスナーが先に参照しても解析はトランザクションにつき1回になる。
+     */
+    private static final class SharedParameters
+    {
+        private volatile RequestParameters value;
+
+        RequestParameters get(RequestMetaDataWrapper owner)
+        {
+            RequestParameters result = this.value;
+            if (result == null)
+            {
+                synchronized (this)
+                {
+                    result = this.value;
+                    if (result == null)
+                    {
+                        result = RequestParameters.parse(owner.queryString, owner.method, owner.contentType,
+                            owner.requestBodyBytes);
+                        this.value = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package logbook.internal.proxy;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * リクエストのパラメータ（クエリ文字列と {@code application/x-www-form-urlencoded} のボディ）。
+ * <p>
+ * 不変のため、1回解析した結果をトランザクションのすべてのリスナー（クローン）で共有できる。
+ * 先頭の値は別に保持しており、{@link #get(String)} / {@link #getInt(String, int)} は {@code List} を経由しない。
+ * </p>
+ */
+@Slf4j
+final class RequestParameters
+{
+    /** パラメータなし */
+    static final RequestParameters EMPTY = new RequestParameters(Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<String, List<String>> map;
+    private final Map<String, String> first;
+
+    private RequestParameters(Map<String, List<String>> map, Map<String, String> first)
+    {
+        this.map = map;
+        this.first = first;
+    }
+
+    /**
+     * クエリ文字列と、POST の場合は URL エンコードされたボディを解析する。
+     *
+     * @param queryString クエリ文字列（null可）
+     * @param method HTTPメソッド
+     * @param contentType ボディの MIME タイプ（null可）
+     * @param body ボディ（null可）
+     * @return パラメータ
+     */
+    static RequestParameters parse(String queryString, String method, String contentType, byte[] body)
+    {
+        Map<String, List<String>> params = new LinkedHashMap<>();
+
+        // Parse query string parameters
+        if (queryString != null && !queryString.isEmpty())
+        {
+            parseParameterString(queryString, params);
+        }
+
+        // Parse POST body parameters (application/x-www-form-urlencoded)
+        if ("POST".equalsIgnoreCase(method) && body != null && body.length > 0)
+        {
+            String bodyContentType = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+            if (bodyContentType.contains("application/x-www-form-urlencoded"))
+            {
+                try
+                {
+                    parseParameterString(new String(body, StandardCharsets.UTF_8), params);
+                }
+                catch (Exception e)
+                {
+                    log.warn("Failed to parse POST body parameters", e);
+                }
+            }
+        }
+
+        if (params.isEmpty())
+        {
+            return EMPTY;
+        }
+        Map<String, String> first = new LinkedHashMap<>(params.size() * 2);
+        for (Map.Entry<String, List<String>> entry : params.entrySet())
+        {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            first.put(entry.getKey(), entry.getValue().get(0));
+        }
+        return new RequestParameters(Collections.unmodifiableMap(params), first);
+    }
+
+    /**
+     * すべてのパラメータ（変更不可）。
+     *
+     * @return パラメータのMap
+     */
+    Map<String, List<String>> asMap()
+    {
+        return this.map;
+    }
+
+    /**
+     * パラメータの先頭の値。
+     *
+     * @param key パラメータのキー
+     * @return 値、存在しない場合null
+     */
+    String get(String key)
+    {
+        return this.first.get(key);
+    }
+
+    /**
+     * パラメータの先頭の値を int で返す。
+     *
+     * @param key パラメータのキー
+     * @param def 存在しない場合のデフォルト値
+     * @return 値
+     * @throws NumberFormatException 値が整数でない場合
+     */
+    int getInt(String key, int def)
+    {
+        String value = this.first.get(key);
+        return value != null ? Integer.parseInt(value) : def;
+    }
+
+    /**
+     * Parse URL-encoded parameter string into a parameter map.
+     */
+    private static void parseParameterString(String paramString, Map<String, List<String>> params)
+    {
+        int start = 0;
+        int length = paramString.length();
+        while (start <= length)
+        {
+            int end = paramString.indexOf('&', start);
+            if (end < 0)
+            {
+                end = length;
+            }
+            int idx = paramString.indexOf('=', start);
+            if (idx == start)
+            {
+                // =value (no key)
+            }
+            else if (idx > start && idx < end)
+            {
+                String key = urlDecode(paramString.substring(start, idx));
+                String value = urlDecode(paramString.substring(idx + 1, end));
+                params.computeIfAbsent(key, k -> new ArrayList<>(1)).add(value);
+            }
+            else if (end > start)
+            {
+                // key with no value
+                params.computeIfAbsent(urlDecode(paramString.substring(start, end)), k -> new ArrayList<>(1)).add("");
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * URL decode a string.
+     */
+    private static String urlDecode(String encoded)
+    {
+        if (encoded.indexOf('%') < 0 && encoded.indexOf('+') < 0)
+        {
+            return encoded;
+        }
+        try
+        {
+            return URLDecoder.decode(encoded, StandardCharsets.UTF_8);
+        }
+        catch (Exception e)
+        {
+            log.warn("Failed to URL decode: {}", encoded, e);
+            return encoded;
+        }
+    }
+}
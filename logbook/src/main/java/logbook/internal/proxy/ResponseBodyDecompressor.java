@@ -14,7 +14,12 @@ import org.eclipse.jetty.compression.Compression;
 import org.eclipse.jetty.compression.brotli.BrotliCompression;
 import org.eclipse.jetty.compression.gzip.GzipCompression;
 import org.eclipse.jetty.compression.zstandard.ZstandardCompression;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 
+import logbook.internal.metrics.LatencyTimer;
+import logbook.internal.metrics.MetricCounter;
+import logbook.internal.metrics.MetricsRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -27,6 +32,10 @@ import lombok.extern.slf4j.Slf4j;
  * 解凍ファクトリとしてのみ利用する。ネイティブライブラリのロードはコンストラクタで行われ、
  * 解凍ストリームは呼び出しごとに try-with-resources で閉じる。{@code start()}/{@code stop()} や
  * Handler への addBean は Jetty サーバーコンポーネントとして統合する場合に必要であり、現状の用途では不要。
+ * <p>
+ * 解凍時間は Content-Encoding 別の {@code decompress} タイマー、解凍前後のバイト数は
+ * {@code decompress_input_bytes} / {@code decompress_output_bytes} カウンタに記録し、
+ * 累積の伸長率を {@code decompress_ratio} ゲージとして公開する。
  */
 @Slf4j
 final class ResponseBodyDecompressor
@@ -36,6 +45,18 @@ final class ResponseBodyDecompressor
         BrotliCompression.class,
         ZstandardCompression.class);
 
+    private static final MetricCounter INPUT_BYTES = MetricsRegistry.counter("decompress_input_bytes");
+
+    private static final MetricCounter OUTPUT_BYTES = MetricsRegistry.counter("decompress_output_bytes");
+
+    static
+    {
+        MetricsRegistry.gauge("decompress_ratio", () -> {
+            long input = INPUT_BYTES.getValue();
+            return input > 0 ? (double) OUTPUT_BYTES.getValue() / input : 0.0;
+        });
+    }
+
     private final CompressionRegistry registry;
 
     private ResponseBodyDecompressor(CompressionRegistry registry)
@@ -73,20 +94,51 @@ final class ResponseBodyDecompressor
      * @throws IOException 未対応のContent-Encoding、または解凍失敗時
      */
     byte[] decompress(byte[] bodyBytes, Map<String, String> headers) throws IOException
+    {
+        return decompressEncoded(bodyBytes, getHeaderCaseInsensitive(headers, "Content-Encoding"));
+    }
+
+    /**
+     * レスポンスボディを必要に応じて解凍する。
+     *
+     * @param bodyBytes 圧縮済みまたは非圧縮のボディバイト
+     * @param headers HTTPレスポンスヘッダー（キャプチャしたものをコピーせずに渡す）
+     * @return 解凍済みボディバイト
+     * @throws IOException 未対応のContent-Encoding、または解凍失敗時
+     */
+    byte[] decompress(byte[] bodyBytes, HttpFields headers) throws IOException
+    {
+        return decompressEncoded(bodyBytes, headers != null ? headers.get(HttpHeader.CONTENT_ENCODING) : null);
+    }
+
+    private byte[] decompressEncoded(byte[] bodyBytes, String contentEncoding) throws IOException
     {
         if (bodyBytes == null || bodyBytes.length == 0)
         {
             return new byte[0];
         }
 
-        Compression compression = registry.resolve(
-            getHeaderCaseInsensitive(headers, "Content-Encoding"), bodyBytes);
+        Compression compression = registry.resolve(contentEncoding, bodyBytes);
         if (compression == null)
         {
             return bodyBytes;
         }
 
-        byte[] decompressed = registry.decompress(compression, bodyBytes);
+        LatencyTimer timer = MetricsRegistry.timer("decompress", "encoding", compression.getEncodingName());
+        long startNanos = System.nanoTime();
+        byte[] decompressed;
+        try
+        {
+            decompressed = registry.decompress(compression, bodyBytes);
+        }
+        catch (IOException e)
+        {
+            timer.recordErrorNanos(System.nanoTime() - startNanos);
+            throw e;
+        }
+        timer.recordSince(startNanos);
+        INPUT_BYTES.add(bodyBytes.length);
+        OUTPUT_BYTES.add(decompressed.length);
         log.debug("レスポンス解凍: {} {}B → {}B",
             compression.getName(), bodyBytes.length, decompressed.length);
         return decompressed;
@@ -0,0 +1,182 @@
+package logbook.internal.proxy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import org.eclipse.jetty.http.HttpFields;
+
+import logbook.proxy.ResponseMetaData;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * レスポンスメタデータのラッパークラス。完全なHTTPヘッダーサポート付き。
+ * CaptureHolder2と統合され、HTTPSトンネル（{@link ReverseConnectHandler}）と
+ * HTTPプロキシ（{@link ReverseProxyServlet}）の両方で{@link CaptureDispatcher}から使われる。
+ */
+@Slf4j
+class ResponseMetaDataWrapper implements ResponseMetaData, Cloneable
+{
+    private int status;
+    private String reason;
+    private String contentType;
+    /** 不変のヘッダー（CaptureHolder2のビューをクローン間で共有する） */
+    private HttpFields headers = HttpFields.EMPTY;
+    private byte[] responseBodyBytes = null;  // Store as byte array, not InputStream
+
+    /**
+     * Initialize from CaptureHolder2.HttpResponse.
+     * This is the primary and most efficient initialization method.
+     * 
+     * @param httpResponse HTTPレスポンス
+     * @param decompressor レスポンスボディの解凍処理
+     * @throws IOException 圧縮解凍処理でエラーが発生した場合
+     */
+    void set(CaptureHolder2.HttpResponse httpResponse, ResponseBodyDecompressor decompressor) throws IOException
+    {
+        log.trace("ResponseMetaDataWrapper.set(HttpResponse) called: status={}, bodySize={}", 
+            httpResponse.getStatus(), httpResponse.getBodySize());
+        
+        this.status = httpResponse.getStatus();
+        this.reason = httpResponse.getReason();
+        this.headers = httpResponse.getHeaders();
+        this.contentType = httpResponse.getContentType();
+        
+        // レスポンスボディの処理（圧縮解凍を含む）
+        // エラーが発生した場合は例外をスローして上位に伝播
+        if (httpResponse.getBodySize() > 0)
+        {
+            this.responseBodyBytes = processResponseBody(httpResponse, decompressor);
+        }
+    }
+    
+    /**
+     * レスポンスボディを処理し、必要に応じて解凍する。
+     * 
+     * @param httpResponse HTTPレスポンス
+     * @param decompressor レスポンスボディの解凍処理
+     * @return 処理済みのボディバイト配列
+     * @throws IOException 圧縮解凍処理でエラーが発生した場合
+     */
+    private byte[] processResponseBody(CaptureHolder2.HttpResponse httpResponse, ResponseBodyDecompressor decompressor)
+        throws IOException
+    {
+        byte[] bodyBytes = getBodyBytes(httpResponse);
+        if (bodyBytes == null || bodyBytes.length == 0)
+        {
+            return new byte[0];
+        }
+
+        log.trace("Response headers: {}", headers);
+        return decompressor.decompress(bodyBytes, headers);
+    }
+    
+    /**
+     * HTTPレスポンスからボディバイトを取得する（圧縮後の生データ）。
+     */
+    private byte[] getBodyBytes(CaptureHolder2.HttpResponse httpResponse)
+    {
+        log.trace("Attempting to get body bytes: reportedSize={}", httpResponse.getBodySize());
+        
+        byte[] bodyBytes = httpResponse.getBodyAsBytes();
+        
+        log.trace("Successfully retrieved body bytes: actualSize={}", bodyBytes != null ? bodyBytes.length : 0);
+        
+        if (bodyBytes == null || bodyBytes.length == 0)
+        {
+            log.warn("Body bytes is null or empty despite getBodySize() = {}", httpResponse.getBodySize());
+        }
+        
+        return bodyBytes;
+    }
+
+    void setStatus(int status)
+    {
+        this.status = status;
+    }
+    
+    void setReason(String reason)
+    {
+        this.reason = reason;
+    }
+    
+    void setContentType(String contentType)
+    {
+        this.contentType = contentType;
+    }
+    
+    /**
+     * Get all HTTP headers (immutable, shared with clones).
+     */
+    public HttpFields getHeaders()
+    {
+        return headers;
+    }
+    
+    /**
+     * Get a specific HTTP header value (case-insensitive).
+     */
+    public String getHeader(String name)
+    {
+        return headers.get(name);
+    }
+    
+    /**
+     * Get the HTTP status reason phrase.
+     */
+    public String getReason()
+    {
+        return reason;
+    }
+
+    @Override
+    public int getStatus()
+    {
+        return status;
+    }
+
+    @Override
+    public String getContentType()
+    {
+        return contentType;
+    }
+
+    @Override
+    public Optional<InputStream> getResponseBody()
+    {
+        log.trace("ResponseMetaDataWrapper.getResponseBody() called: bodyBytes={}, size={} bytes", 
+            responseBodyBytes != null, responseBodyBytes != null ? responseBodyBytes.length : 0);
+        
+        // Return a new ByteArrayInputStream each time for thread-safe reuse
+        if (responseBodyBytes != null && responseBodyBytes.length > 0)
+        {
+            return Optional.of(new ByteArrayInputStream(responseBodyBytes));
+        }
+        return Optional.empty();
+    }
+    
+    @Override
+    public ResponseMetaDataWrapper clone()
+    {
+        try
+        {
+            ResponseMetaDataWrapper copy = (ResponseMetaDataWrapper) super.clone();
+            // Headers are immutable, share the reference
+            // Byte array is immutable reference, no need to copy the array itself
+            // (multiple clones can share the same byte array safely)
+            return copy;
+        }
+        catch (CloneNotSupportedException e)
+        {
+            // This should never happen as we implement Cloneable
+            ResponseMetaDataWrapper copy = new ResponseMetaDataWrapper();
+            copy.status = this.status;
+            copy.reason = this.reason;
+            copy.contentType = this.contentType;
+            copy.headers = this.headers;
+            copy.responseBodyBytes = this.responseBodyBytes;  // Share the byte array reference
+            return copy;
+        }
+    }
+}
@@ -19,15 +19,16 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -37,21 +38,26 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import javax.net.ssl.SSLEngine;
 
+import org.eclipse.jetty.client.ContentResponse;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpClientTransport;
+import org.eclipse.jetty.client.HttpProxy;
+import org.eclipse.jetty.client.transport.HttpClientConnectionFactory;
+import org.eclipse.jetty.client.transport.HttpClientTransportDynamic;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.transport.ClientConnectionFactoryOverHTTP2;
 
 import logbook.bean.AppConfig;
 import logbook.internal.ThreadManager;
-import logbook.internal.capture.ApiCaptureHook;
-import logbook.plugin.PluginServices;
-import logbook.proxy.ContentListenerSpi;
-import logbook.proxy.RequestMetaData;
+import logbook.internal.metrics.MetricCounter;
+import logbook.internal.metrics.MetricsRegistry;
 import logbook.proxy.ResponseMetaData;
 import lombok.extern.slf4j.Slf4j;
 
@@ -67,6 +73,7 @@ import org.eclipse.jetty.http.HttpURI;
 import org.eclipse.jetty.http.HttpVersion;
 import org.eclipse.jetty.io.AbstractConnection;
 import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.io.ClientConnector;
 import org.eclipse.jetty.io.Connection;
 import org.eclipse.jetty.io.EndPoint;
 import org.eclipse.jetty.io.EofException;
@@ -82,6 +89,7 @@ import org.eclipse.jetty.server.HttpStream;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.Response;
 import org.eclipse.jetty.server.TunnelSupport;
+import org.eclipse.jetty.util.BufferUtil;
 import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.HostPort;
 import org.eclipse.jetty.util.IteratingCallback;
@@ -109,7 +117,7 @@ import org.eclipse.jetty.util.ssl.X509;
  * <li><b>UpstreamConnection</b>: プロキシ→サーバー間の接続を処理。HttpParser.ResponseHandlerを使用して
  *     HTTPレスポンスをパースし、レスポンスボディをCaptureHolderに保存する。</li>
  * <li><b>HttpClientConnectionListener</b>: 各トンネルのCaptureHolderを管理し、HTTPトランザクション完了時に
- *     ContentListenerSpiプラグインを呼び出す。</li>
+ *     {@link CaptureDispatcher}（HTTPプロキシと共通）経由でContentListenerSpiプラグインを呼び出す。</li>
  * </ul>
  * 
  * <h3>Usage Example: Default HTTP Interception</h3>
@@ -174,17 +182,37 @@ public class ReverseConnectHandler extends Handler.Wrapper
     private ByteBufferPool bufferPool;
     
     /**
-     * ContentListenerSpiプラグインのリスト（全トンネルで共有）
-     * doStart()で初期化される
+     * キャプチャしたトランザクションの配信先（HTTPプロキシと共有、未設定ならdoStart()で作成）
      */
-    private static List<ContentListenerSpi> contentListeners;
+    private CaptureDispatcher captureDispatcher;
+
+    /**
+     * ボディを保持せずにトンネルへ流したバイト数（JMX: tunnel_skipped_body_bytes）
+     */
+    private static final MetricCounter SKIPPED_BODY_BYTES = MetricsRegistry.counter("tunnel_skipped_body_bytes");
     
     private SelectorManager selector;
     private long connectTimeout = 15000;
     private long idleTimeout = 30000;
     private int bufferSize = 4096;
     
-    private ResponseBodyDecompressor responseBodyDecompressor;
+    /** 接続先の名前解決キャッシュ（doStart()で初期化） */
+    private UpstreamDnsCache dnsCache;
+    
+    /** 事前接続済みソケットのプール（無効時はnull） */
+    private UpstreamConnectionPool upstreamPool;
+
+    /** 静的リソースのキャッシュ（無効時はnull） */
+    private AssetCache assetCache;
+
+    /** 解凍・リスナーのtest()をパースから切り離してExecutorで行う */
+    private boolean offloadCapture;
+
+    /** 静的リソースを共有のHTTP/2接続で送る（無効時はnull） */
+    private UpstreamMultiplexer multiplexer;
+
+    /** {@link #multiplexer} 専用のHttpClient（無効時はnull） */
+    private HttpClient multiplexClient;
 
     public ReverseConnectHandler()
     {
@@ -297,6 +325,15 @@ public class ReverseConnectHandler extends Handler.Wrapper
     {
         this.bufferSize = bufferSize;
     }
+
+    /**
+     * キャプチャしたトランザクションの配信先を設定する（HTTPプロキシと共有する場合、起動前に呼ぶ）。
+     * @param captureDispatcher 配信先
+     */
+    void setCaptureDispatcher(CaptureDispatcher captureDispatcher)
+    {
+        this.captureDispatcher = captureDispatcher;
+    }
     
     /**
      * Get the HttpClient used for connection management.
@@ -348,12 +385,82 @@ public class ReverseConnectHandler extends Handler.Wrapper
         // SSL Context Factoryはコンストラクタで設定済み
         // （ProxyServerImplから渡される）
         
-        // Initialize content listeners
-        initializeContentListeners();
-        
-        responseBodyDecompressor = ResponseBodyDecompressor.createDefault();
+        if (captureDispatcher == null)
+        {
+            captureDispatcher = CaptureDispatcher.create();
+        }
+        offloadCapture = AppConfig.get().isProxyOffloadCapture();
+
+        // 名前解決と事前接続はブロッキングのため、Jettyのスレッドプールではなく共有Executorで行う
+        dnsCache = new UpstreamDnsCache(ThreadManager.getExecutorService());
+        if (UpstreamConnectionPool.isEnabled())
+        {
+            upstreamPool = new UpstreamConnectionPool(dnsCache, ThreadManager.getExecutorService(), getConnectTimeout());
+            upstreamPool.start(getScheduler());
+        }
+
+        if (AppConfig.get().isProxyAssetCache())
+        {
+            try
+            {
+                assetCache = AssetCache.open(
+                    Paths.get(AppConfig.get().getResourcesDir(), AssetCache.DIRECTORY_NAME),
+                    Math.max(0, AppConfig.get().getProxyAssetCacheMemoryMb()) * 1024L * 1024L,
+                    ThreadManager.getExecutorService(),
+                    this::revalidateAsset);
+            }
+            catch (IOException e)
+            {
+                log.warn("アセットキャッシュを開けないため無効にします", e);
+            }
+        }
+
+        if (AppConfig.get().isProxyUpstreamHttp2())
+        {
+            // 解凍・User-Agentの設定を変えるため、再検証などに使うhttpClientとは分ける
+            if (multiplexClient == null)
+            {
+                multiplexClient = newMultiplexHttpClient();
+                addBean(multiplexClient);
+            }
+            multiplexer = new UpstreamMultiplexer(multiplexClient, getIdleTimeout());
+        }
 
         super.doStart();
+        scheduleStallCheck();
+    }
+
+    /**
+     * 書き込みが終わらないトンネル（ブラウザ・サーバーが受け取らない）を定期的にログへ出す。
+     * 件数は常に {@code tunnel_pipes_stalled} で JMX に公開している。
+     */
+    private void scheduleStallCheck()
+    {
+        getScheduler().schedule(() -> {
+            if (!isRunning())
+            {
+                return;
+            }
+            List<String> stalled = TunnelPipeStats.stalled(System.nanoTime());
+            if (!stalled.isEmpty())
+            {
+                log.info("書き込みが{}秒以上終わらないトンネルがあります（{}件）: {}",
+                    TimeUnit.NANOSECONDS.toSeconds(TunnelPipeStats.STALL_NANOS), stalled.size(),
+                    stalled.subList(0, Math.min(5, stalled.size())));
+            }
+            scheduleStallCheck();
+        }, TunnelPipeStats.STALL_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception
+    {
+        if (upstreamPool != null)
+        {
+            upstreamPool.close();
+            upstreamPool = null;
+        }
+        super.doStop();
     }
     
     /**
@@ -365,15 +472,89 @@ public class ReverseConnectHandler extends Handler.Wrapper
     protected HttpClient newHttpClient()
     {
         HttpClient client = new HttpClient();
+        configureHttpClient(client);
+        
+        log.debug("Created HttpClient for ReverseConnectHandler");
+        
+        return client;
+    }
+
+    /**
+     * 静的リソースを共有のHTTP/2接続で送るためのHttpClientを作成する。
+     *
+     * @return HttpClient
+     */
+    protected HttpClient newMultiplexHttpClient()
+    {
+        HttpClient client = new HttpClient(newHttp2Transport());
+        configureHttpClient(client);
+        // トンネルはボディを符号化されたまま中継するため、解凍せずブラウザのヘッダーをそのまま送る
+        client.getContentDecoderFactories().clear();
+        client.setUserAgentField(null);
+        client.addBean(UpstreamMultiplexer.connectionCounter());
+
+        log.debug("Created multiplexing HttpClient for ReverseConnectHandler");
+
+        return client;
+    }
+
+    private void configureHttpClient(HttpClient client)
+    {
         client.setExecutor(getExecutor());
         client.setScheduler(getScheduler());
         client.setByteBufferPool(getByteBufferPool());
         client.setConnectTimeout(getConnectTimeout());
         client.setIdleTimeout(getIdleTimeout());
-        
-        log.debug("Created HttpClient for ReverseConnectHandler");
-        
-        return client;
+        // トンネルと同じ経路（上位プロキシ）を通す
+        if (AppConfig.get().isUseProxy())
+        {
+            client.getProxyConfiguration().addProxy(
+                new HttpProxy(AppConfig.get().getProxyHost(), AppConfig.get().getProxyPort()));
+        }
+    }
+
+    /**
+     * HTTP/2とHTTP/1.1を扱うトランスポートを作成する。
+     * TLSではALPNでHTTP/2を選び、平文や非対応のホストはHTTP/1.1で接続する。
+     *
+     * @return トランスポート
+     */
+    private HttpClientTransport newHttp2Transport()
+    {
+        ClientConnector connector = new ClientConnector();
+        connector.setSelectors(1);
+        if (sslContextFactoryClient != null)
+        {
+            connector.setSslContextFactory(sslContextFactoryClient);
+        }
+        HTTP2Client http2Client = new HTTP2Client(connector);
+        return new HttpClientTransportDynamic(connector,
+            HttpClientConnectionFactory.HTTP11, new ClientConnectionFactoryOverHTTP2.HTTP2(http2Client));
+    }
+
+    /**
+     * 鮮度切れのアセットを条件付きリクエストで再検証する（共有Executorのスレッドで呼ばれる）。
+     *
+     * @param entry 鮮度切れのエントリ
+     * @return 結果
+     * @throws Exception 問い合わせに失敗した場合
+     */
+    private AssetCache.Validation revalidateAsset(AssetCache.Entry entry) throws Exception
+    {
+        ContentResponse response = httpClient.newRequest(entry.origin + entry.key)
+            .headers(headers -> {
+                if (entry.etag != null)
+                {
+                    headers.put(HttpHeader.IF_NONE_MATCH, entry.etag);
+                }
+                if (entry.lastModified != null)
+                {
+                    headers.put(HttpHeader.IF_MODIFIED_SINCE, entry.lastModified);
+                }
+            })
+            .timeout(getIdleTimeout(), TimeUnit.MILLISECONDS)
+            .send();
+        return new AssetCache.Validation(response.getStatus(), response.getHeaders().get(HttpHeader.CACHE_CONTROL));
     }
 
     protected SelectorManager newSelectorManager()
@@ -448,6 +629,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
 
             log.trace("Connecting to {}:{}", host, port);
 
+            long connectStartNanos = System.nanoTime();
             connectToServer(request, host, port, new Promise<>()
             {
                 @Override
@@ -456,6 +638,8 @@ public class ReverseConnectHandler extends Handler.Wrapper
                     ConnectContext connectContext = new ConnectContext(request, response, callback, request.getTunnelSupport().getEndPoint());
                     // 接続先情報をAttributesに保存（SSL証明書エラーログで使用）
                     connectContext.getContext().put("targetServerAddress", serverAddress);
+                    // この時点で接続済みのソケットはプールから取り出したもの
+                    connectContext.setUpstreamConnectStart(connectStartNanos, channel.isConnected());
                     log.trace("connected to server: {}", channel.isConnected() ? "connected" : "not connected");
                     if (channel.isConnected())
                         selector.accept(channel, connectContext);
@@ -497,6 +681,17 @@ public class ReverseConnectHandler extends Handler.Wrapper
                 log.trace("Connecting to {}:{}", host, port);
             }
             
+            if (upstreamPool != null)
+            {
+                SocketChannel pooled = upstreamPool.acquire(connectHost, connectPort);
+                if (pooled != null)
+                {
+                    log.trace("Using pre-connected socket to {}:{}", connectHost, connectPort);
+                    promise.succeeded(pooled);
+                    return;
+                }
+            }
+            
             channel = SocketChannel.open();
             channel.socket().setTcpNoDelay(true);
             channel.configureBlocking(false);
@@ -526,14 +721,20 @@ public class ReverseConnectHandler extends Handler.Wrapper
 
     /**
      * Creates the server address to connect to.
+     * 名前解決は{@link UpstreamDnsCache}を経由する（TTL内はキャッシュ、超過後はバックグラウンドで更新）。
      *
      * @param host The host from the CONNECT request
      * @param port The port from the CONNECT request
      * @return The InetSocketAddress to connect to.
+     * @throws UnknownHostException if the host cannot be resolved
      */
-    protected InetSocketAddress newConnectAddress(String host, int port)
+    protected InetSocketAddress newConnectAddress(String host, int port) throws UnknownHostException
     {
-        return new InetSocketAddress(host, port);
+        if (dnsCache == null)
+        {
+            return new InetSocketAddress(host, port);
+        }
+        return new InetSocketAddress(dnsCache.resolve(host), port);
     }
 
     protected void onConnectSuccess(ConnectContext connectContext, UpstreamConnection upstreamConnection)
@@ -542,6 +743,14 @@ public class ReverseConnectHandler extends Handler.Wrapper
         Request request = connectContext.getRequest();
         prepareContext(request, context);
 
+        // 接続時間（プール利用時は取り出しまで、新規接続時は名前解決とTCP接続まで）
+        long upstreamConnectNanos = connectContext.getUpstreamConnectNanos();
+        if (upstreamConnectNanos >= 0)
+        {
+            MetricsRegistry.timer("upstream_connect", "mode", connectContext.isUpstreamPooled() ? "pooled" : "fresh")
+                .recordNanos(upstreamConnectNanos);
+        }
+
         if (AppConfig.get().isUseProxy())
         {
             // UpstreamConnectionからEndPointを取得
@@ -712,6 +921,11 @@ public class ReverseConnectHandler extends Handler.Wrapper
                 // 両方に同じリスナーインスタンスを設定し、HTTPリクエスト/レスポンスをキャプチャ
                 downstreamConnection.setHttpClientListener(httpClientListener);
                 upstreamConnection.setHttpClientListener(httpClientListener);
+                
+                // 接続時間はトンネル最初のトランザクションのアクセスログに載せる
+                httpClientListener.getCaptureHolder().getCurrentTransaction().setUpstreamConnect(
+                    upstreamConnectNanos >= 0 ? TimeUnit.NANOSECONDS.toMillis(upstreamConnectNanos) : -1,
+                    connectContext.isUpstreamPooled());
             }
         }
 
@@ -1161,34 +1375,6 @@ public class ReverseConnectHandler extends Handler.Wrapper
     {
     }
     
-    /**
-     * ContentListenerSpiプラグインを初期化する。
-     * doStart()から呼ばれる。
-     */
-    private void initializeContentListeners()
-    {
-        try
-        {
-            contentListeners = PluginServices.instances(ContentListenerSpi.class)
-                .collect(Collectors.toList());
-            log.debug("コンテンツリスナーを初期化しました（{}個）", contentListeners.size());
-        }
-        catch (Exception e)
-        {
-            log.error("Failed to initialize content listeners", e);
-            contentListeners = Collections.emptyList();
-        }
-    }
-    
-    /**
-     * ContentListenerSpiプラグインのリストを取得する。
-     * @return ContentListenerSpiのリスト（変更不可）
-     */
-    private static List<ContentListenerSpi> getContentListeners()
-    {
-        return contentListeners != null ? contentListeners : Collections.emptyList();
-    }
-    
     /**
      * Creates a Connection.Listener for the downstream connection.
      * Override this method to provide a custom listener (e.g., HttpClient).
@@ -1220,8 +1406,6 @@ public class ReverseConnectHandler extends Handler.Wrapper
     {
         private static final Logger log = LoggerFactory.getLogger(HttpClientConnectionListener.class);
         private static final Logger accessLog = LoggerFactory.getLogger("logbook.internal.proxy.AccessLog");
-        private static final Logger contentListenerLog =
-            LoggerFactory.getLogger("logbook.internal.proxy.ContentListenerLog");
         
         private final ConnectContext connectContext;
         private final HttpClient httpClient;
@@ -1258,6 +1442,9 @@ public class ReverseConnectHandler extends Handler.Wrapper
 
         /** 現在のトランザクションでアクセスログを出力済みかどうか（keep-alive / マルチスレッド対応） */
         private final AtomicBoolean accessLogged = new AtomicBoolean(false);
+
+        /** 現在のトランザクションのボディをリスナー（またはAPIキャプチャ）が使うか */
+        private volatile boolean bodyWanted = true;
         
         public HttpClientConnectionListener(ConnectContext connectContext, HttpClient httpClient)
         {
@@ -1324,6 +1511,254 @@ public class ReverseConnectHandler extends Handler.Wrapper
             return clientDisconnectedEarly;
         }
 
+        /**
+         * リクエストヘッダー受信完了時に、現在のトランザクションのボディを保持するかを決める。
+         * 保持しない場合、リクエスト・レスポンスのボディはコピーせずにトンネルを流す。
+         */
+        void decideBodyRetention()
+        {
+            CaptureHolder2.HttpTransaction transaction = captureHolder.getCurrentTransaction();
+            bodyWanted = captureDispatcher.isBodyWanted(transaction.getRequest());
+            boolean cacheable = assetCache != null && AssetCache.isCacheable(transaction.getRequest());
+            transaction.setAssetCacheStatus(cacheable ? AssetCache.STATUS_MISS : null);
+            // アセットキャッシュへ保存するため、リスナーが使わなくても対象のボディは保持する
+            boolean retain = bodyWanted || cacheable;
+            transaction.setRetainBody(retain);
+            if (!retain)
+            {
+                log.trace("Body retention disabled for {} {}",
+                    transaction.getRequest().getMethod(), transaction.getRequest().getUri());
+            }
+        }
+
+        /**
+         * 現在のリクエストに対する応答をアセットキャッシュから引く（リクエストヘッダー受信完了時）。
+         *
+         * @return キャッシュの応答、対象外・キャッシュに無い場合は null
+         */
+        AssetCache.Hit lookupAssetCache()
+        {
+            CaptureHolder2.HttpTransaction transaction = captureHolder.getCurrentTransaction();
+            if (!AssetCache.STATUS_MISS.equals(transaction.getAssetCacheStatus()))
+            {
+                return null;
+            }
+            return assetCache.lookup(transaction.getRequest(), System.currentTimeMillis());
+        }
+
+        /**
+         * アセットキャッシュから応答したトランザクションを、アップストリームの応答と同じ形で記録して完了する。
+         *
+         * @param hit キャッシュの応答
+         */
+        void completeFromAssetCache(AssetCache.Hit hit)
+        {
+            CaptureHolder2.HttpTransaction transaction = captureHolder.getCurrentTransaction();
+            CaptureHolder2.HttpResponse response = transaction.getResponse();
+            long now = System.currentTimeMillis();
+            byte[] body = hit.body();
+            if (body != null)
+            {
+                response.setStatusLine(HttpVersion.HTTP_1_1.asString(), HttpStatus.OK_200, "OK");
+                if (hit.entry().contentType != null)
+                {
+                    response.addHeader(HttpHeader.CONTENT_TYPE, hit.entry().contentType);
+                }
+                if (hit.entry().contentEncoding != null)
+                {
+                    response.addHeader(HttpHeader.CONTENT_ENCODING, hit.entry().contentEncoding);
+                }
+                response.addHeader(HttpHeader.CONTENT_LENGTH, String.valueOf(body.length));
+                if (transaction.isRetainBody() && bodyWanted)
+                {
+                    response.addBodyChunk(body);
+                }
+                else
+                {
+                    response.skipBodyChunk(body.length);
+                }
+            }
+            else
+            {
+                response.setStatusLine(HttpVersion.HTTP_1_1.asString(), HttpStatus.NOT_MODIFIED_304, "Not Modified");
+            }
+            transaction.setResponseStartTime(now);
+            transaction.setResponseCompleteTime(now);
+            transaction.setAssetCacheStatus(hit.stale() ? AssetCache.STATUS_STALE : AssetCache.STATUS_HIT);
+            onSuccess();
+        }
+
+        /**
+         * アセットキャッシュの対象で、アップストリームから取得した応答を保存する。
+         */
+        private void storeAssetCache(CaptureHolder2.HttpTransaction transaction)
+        {
+            if (!AssetCache.STATUS_MISS.equals(transaction.getAssetCacheStatus()) || !transaction.isRetainBody())
+            {
+                return;
+            }
+            CaptureHolder2.HttpRequest request = transaction.getRequest();
+            CaptureHolder2.HttpResponse response = transaction.getResponse();
+            if (response.getStatus() == HttpStatus.OK_200)
+            {
+                assetCache.store(request.getUri(), upstreamOrigin(request), response, response.getBodyAsBytes(),
+                    System.currentTimeMillis());
+            }
+        }
+
+        /**
+         * リクエストの送信先（スキームとホスト）。Hostヘッダーが無い場合はCONNECT先を使う。
+         */
+        private String upstreamOrigin(CaptureHolder2.HttpRequest request)
+        {
+            String host = request.getHeader(HttpHeader.HOST);
+            if (host == null)
+            {
+                host = connectContext.getRequest().getHttpURI().getAuthority();
+            }
+            return (shouldUseSSLForUpstream(connectContext) ? "https://" : "http://") + host;
+        }
+
+        /**
+         * 現在のリクエストを共有のHTTP/2接続へ載せ替えるか（リクエストヘッダー受信完了時）。
+         *
+         * @return 載せ替える場合 true
+         */
+        boolean isMultiplexed()
+        {
+            return multiplexer != null && UpstreamMultiplexer.isEligible(captureHolder.getCurrentRequest());
+        }
+
+        /**
+         * 現在のリクエストを共有接続で送り、応答を受信した分からクライアントへ書き込みつつ、アップストリームの応答と同じ形で記録する。
+         * <p>
+         * 受信したボディは 1 つ前の分を書き込み、書き終えてから続きを受信する。
+         * 最後の分はトランザクションを完了してから書き込む（クライアントが次のリクエストを送る前に完了しておくため）。
+         * 検証以外の取込（解凍・リスナーへの配信）は、取込の別ステージ化の設定に関わらず Executor で行う。
+         * </p>
+         *
+         * @param slot クライアントへの書き込みの枠（HttpClientのスレッドから書き込み、最後に閉じる）
+         * @param abort 応答の途中で失敗した場合にクライアントとの接続を閉じる処理
+         */
+        void forwardMultiplexed(ClientWriter.Slot slot, Consumer<Throwable> abort)
+        {
+            CaptureHolder2.HttpTransaction transaction = captureHolder.getCurrentTransaction();
+            CaptureHolder2.HttpRequest request = transaction.getRequest();
+            multiplexer.send(upstreamOrigin(request), request, new UpstreamMultiplexer.Listener()
+            {
+                /** クライアントへまだ書き込んでいない、最後に受信したボディ */
+                private ByteBuffer held;
+                /** 受信したボディのバイト数 */
+                private long received;
+                /** ボディをチャンク形式で書き込むか */
+                private boolean chunked;
+                /** レスポンスヘッダーを書き込んだか */
+                private boolean headWritten;
+
+                @Override
+                public void onHeaders(org.eclipse.jetty.client.Response response)
+                {
+                    transaction.setResponseStartTime(System.currentTimeMillis());
+                    CaptureHolder2.HttpResponse captured = transaction.getResponse();
+                    captured.setStatusLine(response.getVersion().asString(), response.getStatus(),
+                        HttpStatus.getMessage(response.getStatus()));
+                    for (HttpField field : response.getHeaders())
+                    {
+                        if (UpstreamMultiplexer.isRelayed(field.getName()))
+                        {
+                            captured.addHeader(field);
+                        }
+                    }
+                    long contentLength = UpstreamMultiplexer.contentLength(response);
+                    chunked = contentLength < 0;
+                    headWritten = true;
+                    slot.write(written(response, null), UpstreamMultiplexer.responseHead(response, contentLength));
+                }
+
+                @Override
+                public void onContent(org.eclipse.jetty.client.Response response, byte[] data, Runnable demand)
+                {
+                    if (transaction.isRetainBody())
+                    {
+                        transaction.getResponse().addBodyChunk(data);
+                    }
+                    else
+                    {
+                        transaction.getResponse().skipBodyChunk(data.length);
+                    }
+                    received += data.length;
+                    ByteBuffer previous = held;
+                    held = chunked ? UpstreamMultiplexer.chunk(data) : ByteBuffer.wrap(data);
+                    if (previous == null)
+                    {
+                        demand.run();
+                    }
+                    else
+                    {
+                        slot.write(written(response, demand), previous);
+                    }
+                }
+
+                @Override
+                public void onComplete(org.eclipse.jetty.client.Response response)
+                {
+                    transaction.getResponse().addHeader(HttpHeader.CONTENT_LENGTH, String.valueOf(received));
+                    transaction.setResponseCompleteTime(System.currentTimeMillis());
+                    // 次のリクエストが届く前にトランザクションを完了しておく
+                    finishTransaction(true);
+                    ByteBuffer last = held != null ? held : BufferUtil.EMPTY_BUFFER;
+                    held = null;
+                    if (chunked)
+                    {
+                        slot.write(written(response, null), last, UpstreamMultiplexer.lastChunk());
+                    }
+                    else
+                    {
+                        slot.write(written(response, null), last);
+                    }
+                    slot.end();
+                }
+
+                @Override
+                public void onFailure(Throwable failure)
+                {
+                    recordAccessLog(ProxyAccessLogger.Outcome.UPSTREAM_DISCONNECT, failure.toString());
+                    captureHolder.completeTransaction();
+                    held = null;
+                    if (headWritten)
+                    {
+                        // 応答の途中では 502 を返せないため、接続を閉じて不完全な応答であることを伝える
+                        slot.end();
+                        abort.accept(failure);
+                        return;
+                    }
+                    slot.write(written(null, null), UpstreamMultiplexer.badGatewayHead());
+                    slot.end();
+                }
+
+                /**
+                 * クライアントへの書き込みの完了を受け取る。失敗した場合はアップストリームの受信もやめる。
+                 */
+                private Callback written(org.eclipse.jetty.client.Response response, Runnable demand)
+                {
+                    return Callback.from(
+                        () -> {
+                            if (demand != null)
+                            {
+                                demand.run();
+                            }
+                        },
+                        x -> {
+                            if (response != null)
+                            {
+                                response.abort(x);
+                            }
+                            abort.accept(x);
+                        });
+                }
+            });
+        }
+
         /**
          * アクセスログを1トランザクションにつき1回記録する。
          * <p>
@@ -1383,6 +1818,16 @@ public class ReverseConnectHandler extends Handler.Wrapper
          * This method efficiently processes HTTP transaction data from CaptureHolder2.
          */
         public void onSuccess()
+        {
+            finishTransaction(offloadCapture);
+        }
+
+        /**
+         * 受信し終えたトランザクションを取り込み、完了する。
+         *
+         * @param offload 検証だけを行い、解凍・リスナーへの配信とアセットキャッシュへの保存は Executor で行う場合 true
+         */
+        private void finishTransaction(boolean offload)
         {
             // Get current transaction from CaptureHolder2 for early checks
             CaptureHolder2.HttpRequest httpRequest = captureHolder.getCurrentRequest();
@@ -1421,97 +1866,33 @@ public class ReverseConnectHandler extends Handler.Wrapper
                         return;
                     }
                     
-                    // Content-Lengthとの不一致チェック（圧縮後のデータサイズで比較）
-                    // ネットワーク障害やサーバー側の切断で不完全なデータを検出
-                    // 非同期処理を開始する前に検証し、不完全なデータは早期にリジェクト
-                    long expectedLength = httpResponse.getContentLength();
-                    if (expectedLength > 0)
-                    {
-                        long actualLength = httpResponse.getBodySize();  // 圧縮後の受信バイト数
-                        
-                        if (actualLength != expectedLength)
-                        {
-                            log.debug("Content-Length mismatch detected - rejecting incomplete data: expected {} bytes, but received {} bytes ({} bytes missing, {}% received). ContentListenerSpi will not be invoked for request {} {}",
-                                expectedLength, actualLength, expectedLength - actualLength, 
-                                String.format("%.1f", (actualLength * 100.0 / expectedLength)),
-                                httpRequest.getMethod(), httpRequest.getUri());
-                            recordAccessLog(
-                                ProxyAccessLogger.Outcome.CONTENT_LENGTH_MISMATCH,
-                                String.format("expected %d bytes, received %d bytes", expectedLength, actualLength));
-                            return;
-                        }
-                    }
-                    
-                    // リスナーが登録されているかチェック
-                    // リスナーが空なら非同期処理を起動する必要なし（アクセスログは出力する）
-                    List<ContentListenerSpi> listeners = ReverseConnectHandler.getContentListeners();
-                    if (listeners.isEmpty())
+                    // 検証・解凍・リスナーへの配信はHTTPプロキシと共通の処理で行う
+                    // 取込の別ステージ化が有効な場合、ここでは検証だけを行い、解凍・test()はExecutorで行う
+                    // （パース中に呼ばれるため、ここで時間を使うとブラウザへの転送が止まる）
+                    CaptureDispatcher.Result result = offload
+                        ? captureDispatcher.verify(transaction)
+                        : captureDispatcher.dispatch(transaction, bodyWanted);
+                    if (result.outcome() == ProxyAccessLogger.Outcome.CONTENT_LENGTH_MISMATCH)
                     {
-                        log.trace("No content listeners registered, skipping processing for {} {}", 
-                            httpRequest.getMethod(), httpRequest.getUri());
-                        recordAccessLog(ProxyAccessLogger.Outcome.COMPLETE, null);
-                        holder.completeTransaction();
+                        recordAccessLog(result.outcome(), result.errorDetail());
                         return;
                     }
                     
-                    // Create RequestMetaDataWrapper efficiently from CaptureHolder2.HttpRequest
-                    RequestMetaDataWrapper req = new RequestMetaDataWrapper();
-                    if (httpRequest.getMethod() != null)
-                    {
-                        // Use efficient set() method that copies all metadata at once
-                        req.set(httpRequest);
-                    }
-                    else
-                    {
-                        // Fallback: Use minimal info if HttpRequest is incomplete
-                        req.setMethod("UNKNOWN");
-                        req.setRequestURI(httpRequest.getUri() != null ? httpRequest.getUri() : "unknown");
-                    }
-                    req.setRequestId(transaction.getRequestId());
+                    // アセットキャッシュの対象なら保存する（ボディの書き込みはバックグラウンド）
+                    storeAssetCache(transaction);
                     
-                    // Create ResponseMetaDataWrapper efficiently from CaptureHolder2.HttpResponse
-                    ResponseMetaDataWrapper res = new ResponseMetaDataWrapper();
-                    try
+                    // アクセスログの出力（completeTransaction()前に記録）
+                    recordAccessLog(result.outcome(), result.errorDetail());
+                    if (result.isComplete())
                     {
-                        if (httpResponse.getStatus() != 0)
+                        // Mark transaction as complete and prepare for next one (Keep-Alive support)
+                        holder.completeTransaction();
+                        if (offload)
                         {
-                            // Use efficient set() method that copies all metadata at once
-                            res.set(httpResponse);
-                        }
-                        else
-                        {
-                            // Fallback: Use Jetty Response if HttpResponse is incomplete
-                            Response response = connectContext.getResponse();
-                            if (response != null)
-                            {
-                                res.set(response);
-                            }
+                            // completeTransaction()で次のトランザクションに切り替わったため、以降は変更されない
+                            captureDispatcher.deliverAsync(transaction, bodyWanted);
                         }
                     }
-                    catch (IOException e)
-                    {
-                        // 圧縮解凍処理でエラーが発生した場合、invoke()に流さない
-                        log.error("レスポンスボディの処理に失敗しました（解凍エラー）: {} {}", 
-                            httpRequest.getMethod(), httpRequest.getUri(), e);
-                        recordAccessLog(ProxyAccessLogger.Outcome.DECOMPRESS_ERROR, e.getMessage());
-                        return;  // invoke()を呼ばずに処理を終了
-                    }
-
-                    log.debug("HTTP取込: {} {} → {} {} {} ({}B / {}B)", 
-                        httpRequest.getMethod(), httpRequest.getUri(),
-                        httpResponse.getVersion(), httpResponse.getStatus(), httpResponse.getReason(),
-                        httpRequest.getBodySize(), httpResponse.getBodySize());
-
-                    // アクセスログの出力（completeTransaction()前に記録）
-                    recordAccessLog(ProxyAccessLogger.Outcome.COMPLETE, null);
-
-                    // Mark transaction as complete and prepare for next one (Keep-Alive support)
-                    holder.completeTransaction();
-                    
-                    // Process captured data
-                    // invoke()自体は軽量（リスナーループ + test() + clone()のみ）なので同期的に実行
-                    // 各リスナーの実際の処理（JSONパース、ファイルI/Oなど）は invoke()内で非同期化される
-                    this.invoke(req, res);
                 }
             }
             catch (Exception e)
@@ -1529,98 +1910,6 @@ public class ReverseConnectHandler extends Handler.Wrapper
         {
             return httpClient;
         }
-        
-        /**
-         * Invoke content listeners with the captured request/response data.
-         * This method efficiently processes data from CaptureHolder2.HttpTransaction.
-         * 
-         * @param baseReq the base request metadata
-         * @param baseRes the base response metadata
-         */
-        private void invoke(RequestMetaDataWrapper baseReq, ResponseMetaDataWrapper baseRes)
-        {
-            ApiCaptureHook.captureIfNeeded(baseReq, baseRes);
-
-            // Get content listeners (validated in onSuccess(), guaranteed non-empty here)
-            List<ContentListenerSpi> listeners = ReverseConnectHandler.getContentListeners();
-            
-            log.debug("Processing request: {}", baseReq.getRequestURI());
-            
-            // Process each listener
-            for (ContentListenerSpi listener : listeners)
-            {
-                // listener.test()の保護（ユーザー実装の例外をキャッチ）
-                // test()の最適化: cloneを省略してbaseReqを直接使用
-                // 注意: test()内でgetParameterMap()を取得して変更すると、後続リスナーに影響する可能性がある
-                // （既存実装のAPIListener/ImageListenerはgetRequestURI()のみ使用するため現時点では問題なし）
-                boolean isInterested;
-                try
-                {
-                    isInterested = listener.test(baseReq);
-                }
-                catch (Exception e)
-                {
-                    log.warn("Listener {} failed during test() - skipping this listener", 
-                        listener.getClass().getSimpleName(), e);
-                    continue;
-                }
-                
-                if (!isInterested)
-                {
-                    log.trace("Listener {} not interested in request {}", 
-                        listener.getClass().getSimpleName(), baseReq.getRequestURI());
-                    continue;
-                }
-                
-                // accept()用にclone（並列実行の安全性確保）
-                // clone()は内部でCloneNotSupportedExceptionを処理済みなのでtry不要
-                RequestMetaDataWrapper req = baseReq.clone();
-                ResponseMetaDataWrapper res = baseRes.clone();
-                
-                // Process listener asynchronously
-                Runnable task = () -> {
-                    long startNanos = System.nanoTime();
-                    ProxyContentListenerLogger.Outcome outcome = ProxyContentListenerLogger.Outcome.SUCCESS;
-                    String errorDetail = null;
-                    try
-                    {
-                        log.trace("Processing request {} with listener {}", 
-                            req.getRequestURI(), listener.getClass().getSimpleName());
-                        
-                        listener.accept(req, res);
-                        
-                        log.trace("Successfully processed request {} with listener {}", 
-                            req.getRequestURI(), listener.getClass().getSimpleName());
-                    }
-                    catch (Exception e)
-                    {
-                        outcome = ProxyContentListenerLogger.Outcome.ERROR;
-                        errorDetail = ProxyContentListenerLogger.formatCause(e);
-                        log.warn("Content listener {} failed to process request", 
-                            listener.getClass().getSimpleName(), e);
-                    }
-                    finally
-                    {
-                        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
-                        ProxyContentListenerLogger.log(
-                            contentListenerLog, listener, req, elapsedMs, outcome, errorDetail);
-                    }
-                };
-                
-                // Virtual Thread Executorで非同期実行
-                // Virtual Threadsは常に利用可能なため、null/shutdownチェック不要
-                try
-                {
-                    ThreadManager.getExecutorService().submit(task);
-                }
-                catch (RejectedExecutionException e)
-                {
-                    // アプリケーション終了時のみ発生（稀）
-                    log.trace("Listener {} processing rejected - application is shutting down", 
-                        listener.getClass().getSimpleName());
-                }
-            }
-        }
     }
     
     /**
@@ -1814,6 +2103,9 @@ public class ReverseConnectHandler extends Handler.Wrapper
         private final Response response;
         private final Callback callback;
         private final EndPoint endPoint;
+        private long upstreamConnectStartNanos;
+        private boolean upstreamConnectRecorded;
+        private boolean upstreamPooled;
 
         public ConnectContext(Request request, Response response, Callback callback, EndPoint endPoint)
         {
@@ -1823,6 +2115,34 @@ public class ReverseConnectHandler extends Handler.Wrapper
             this.endPoint = endPoint;
         }
 
+        /**
+         * アップストリームへの接続開始時刻と、プールのソケットを使ったかを記録する。
+         *
+         * @param startNanos 接続開始時刻（{@link System#nanoTime()}）
+         * @param pooled プールの接続済みソケットを使った場合true
+         */
+        public void setUpstreamConnectStart(long startNanos, boolean pooled)
+        {
+            this.upstreamConnectStartNanos = startNanos;
+            this.upstreamConnectRecorded = true;
+            this.upstreamPooled = pooled;
+        }
+
+        /**
+         * 接続開始から現在までの時間を返す。
+         *
+         * @return 経過時間（ナノ秒）、未記録の場合は-1
+         */
+        public long getUpstreamConnectNanos()
+        {
+            return upstreamConnectRecorded ? System.nanoTime() - upstreamConnectStartNanos : -1;
+        }
+
+        public boolean isUpstreamPooled()
+        {
+            return upstreamPooled;
+        }
+
         public ConcurrentMap<String, Object> getContext()
         {
             return context;
@@ -1856,11 +2176,15 @@ public class ReverseConnectHandler extends Handler.Wrapper
         private HttpClientConnectionListener httpClientListener;
         private HttpParser httpParser;
         private boolean parseHttpResponse = true;  // HTTPレスポンスを常にパース
+        /** パース中のレスポンスのステータス */
+        private int responseStatus;
+        /** パースし終えたが、まだクライアントへの書き込みに渡していないレスポンスの数 */
+        private int completedResponses;
 
         public UpstreamConnection(EndPoint endPoint, Executor executor, ByteBufferPool bufferPool, ConnectContext connectContext)
         {
             // ConnectContextのcontextを直接共有（コピー不要）
-            super(endPoint, executor, bufferPool, connectContext.getContext());
+            super(endPoint, executor, bufferPool, connectContext.getContext(), "upstream");
             this.connectContext = connectContext;
         }
 
@@ -1911,6 +2235,15 @@ public class ReverseConnectHandler extends Handler.Wrapper
                 return;
             }
             
+            // ボディを保持しないトランザクションはバイト数だけ数え、コピーしない
+            CaptureHolder2.HttpTransaction transaction = httpClientListener.getCaptureHolder().getCurrentTransaction();
+            if (!transaction.isRetainBody())
+            {
+                transaction.getResponse().skipBodyChunk(length);
+                SKIPPED_BODY_BYTES.add(length);
+                return;
+            }
+            
             // Extract bytes from buffer for storing in CaptureHolder2
             byte[] bytes;
             if (buffer.hasArray())
@@ -1929,7 +2262,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
             }
             
             // Store response body directly in CaptureHolder2
-            httpClientListener.getCaptureHolder().getCurrentResponse().addBodyChunk(bytes);
+            transaction.getResponse().addBodyChunk(bytes);
         }
         
         /**
@@ -1960,6 +2293,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
             public void startResponse(HttpVersion version, int status, String reason)
             {
                 log.trace("HTTP Response: {} {} {}", version, status, reason);
+                responseStatus = status;
                 
                 // Store response status line directly in CaptureHolder2
                 if (httpClientListener != null)
@@ -1979,8 +2313,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
                 // Store header directly in CaptureHolder2
                 if (httpClientListener != null)
                 {
-                    httpClientListener.getCaptureHolder().getCurrentResponse().addHeader(
-                        field.getName(), field.getValue());
+                    httpClientListener.getCaptureHolder().getCurrentResponse().addHeader(field);
                 }
             }
             
@@ -2019,6 +2352,11 @@ public class ReverseConnectHandler extends Handler.Wrapper
             public boolean messageComplete()
             {
                 log.trace("HTTP Response Message complete");
+                // 1xx は最終的な応答ではないため数えない
+                if (responseStatus >= 200)
+                {
+                    completedResponses++;
+                }
 
                 if (httpClientListener != null)
                 {
@@ -2083,7 +2421,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
                         parseBuffer.limit(read);
                         
                         // Parse HTTP response
-                        httpParser.parseNext(parseBuffer);
+                        parseNext(httpParser, parseBuffer);
                         
                         // Restore buffer position
                         buffer.position(positionAfter);
@@ -2153,6 +2491,17 @@ public class ReverseConnectHandler extends Handler.Wrapper
                 
                 log.trace("Writing {} bytes to server (upstream) {}: [{}]", remaining, this, content);
             }
+            // クライアントへはキャッシュ・共有接続の応答も書くため、同じ書き込み順序に並べる
+            if (getConnection() instanceof DownstreamConnection downstream)
+            {
+                downstream.getClientWriter().write(callback, buffer);
+                // 応答の最後のバイトを並べ終えてから、アップストリームの応答待ちが無くなったことを伝える
+                for (; completedResponses > 0; completedResponses--)
+                {
+                    downstream.upstreamResponseQueued();
+                }
+                return;
+            }
             ReverseConnectHandler.this.write(endPoint, buffer, callback, getContext());
         }
         
@@ -2212,10 +2561,40 @@ public class ReverseConnectHandler extends Handler.Wrapper
         private HttpClientConnectionListener httpClientListener;
         private HttpParser httpParser;
         private boolean parseHttpRequest = false;
+        /** ヘッダー受信時にアセットキャッシュで見つかった応答（read()で返すかを決める） */
+        private AssetCache.Hit pendingAssetHit;
+        /** ヘッダー受信時に共有のHTTP/2接続へ載せ替える対象と判定したか（read()で送るかを決める） */
+        private boolean pendingMultiplex;
+        /** pendingAssetHit / pendingMultiplexのリクエストを最後まで受信したか */
+        private boolean localRequestComplete;
+        /** クライアントへの書き込み（アップストリームからの転送とローカルの応答で共有） */
+        private final ClientWriter clientWriter;
+        /** トンネルのアップストリームへ送り、応答をまだクライアントへの書き込みに並べていないリクエストの数 */
+        private final AtomicInteger upstreamPending = new AtomicInteger();
 
         public DownstreamConnection(EndPoint endPoint, Executor executor, ByteBufferPool bufferPool, ConcurrentMap<String, Object> context)
         {
-            super(endPoint, executor, bufferPool, context);
+            super(endPoint, executor, bufferPool, context, "downstream");
+            // アップストリームからの転送もローカルの応答も、サブクラスが差し替えられる write() を経由させる
+            this.clientWriter = new ClientWriter((buf, callback) -> ReverseConnectHandler.this.write(endPoint, buf, callback, context));
+        }
+
+        /**
+         * クライアントへの書き込み順序を返す。
+         *
+         * @return クライアントへの書き込み
+         */
+        ClientWriter getClientWriter()
+        {
+            return clientWriter;
+        }
+
+        /**
+         * アップストリームの応答を最後までクライアントへの書き込みに並べた（アップストリームの接続から呼ばれる）。
+         */
+        void upstreamResponseQueued()
+        {
+            upstreamPending.updateAndGet(n -> Math.max(0, n - 1));
         }
         
         /**
@@ -2281,6 +2660,15 @@ public class ReverseConnectHandler extends Handler.Wrapper
                 return;
             }
             
+            // ボディを保持しないトランザクションはバイト数だけ数え、コピーしない
+            CaptureHolder2.HttpTransaction transaction = httpClientListener.getCaptureHolder().getCurrentTransaction();
+            if (!transaction.isRetainBody())
+            {
+                transaction.getRequest().skipBodyChunk(length);
+                SKIPPED_BODY_BYTES.add(length);
+                return;
+            }
+            
             // Extract bytes from buffer for storing in CaptureHolder2
             byte[] bytes;
             if (buffer.hasArray())
@@ -2299,7 +2687,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
             }
             
             // Store request body directly in CaptureHolder2
-            httpClientListener.getCaptureHolder().getCurrentRequest().addBodyChunk(bytes);
+            transaction.getRequest().addBodyChunk(bytes);
             
             log.trace("Captured {} bytes of HTTP request content", length);
         }
@@ -2335,8 +2723,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
                 // Store header directly in CaptureHolder2
                 if (httpClientListener != null)
                 {
-                    httpClientListener.getCaptureHolder().getCurrentRequest().addHeader(
-                        field.getName(), field.getValue());
+                    httpClientListener.getCaptureHolder().getCurrentRequest().addHeader(field);
                 }
             }
             
@@ -2344,6 +2731,14 @@ public class ReverseConnectHandler extends Handler.Wrapper
             public boolean headerComplete()
             {
                 log.trace("HTTP Request Headers complete");
+                
+                // リクエスト行とヘッダーでボディを保持するか決める（関心の無いアセット等はコピーしない）
+                if (httpClientListener != null)
+                {
+                    httpClientListener.decideBodyRetention();
+                    pendingAssetHit = httpClientListener.lookupAssetCache();
+                    pendingMultiplex = pendingAssetHit == null && httpClientListener.isMultiplexed();
+                }
                 return false;
             }
             
@@ -2379,6 +2774,12 @@ public class ReverseConnectHandler extends Handler.Wrapper
                     var req = httpClientListener.getCaptureHolder().getCurrentRequest();
                     log.trace("HTTP Request Message complete: {} {}", req.getMethod(), req.getUri());
                 }
+                localRequestComplete = pendingAssetHit != null || pendingMultiplex;
+                if (!localRequestComplete)
+                {
+                    // アップストリームへ転送するリクエスト（転送はパースの後のため、応答より先に数えられる）
+                    upstreamPending.incrementAndGet();
+                }
                 
                 return false;
             }
@@ -2396,6 +2797,45 @@ public class ReverseConnectHandler extends Handler.Wrapper
             }
         }
 
+        /**
+         * アセットキャッシュの応答をクライアントへ書き込む。
+         * アップストリームの応答待ちが無い時だけ呼ばれ、書き込みはアップストリームからの転送と同じ順序に並べる。
+         */
+        private void serveAssetHit(AssetCache.Hit hit)
+        {
+            log.debug("Serving {} from asset cache (stale={})", hit.entry().key, hit.stale());
+            ByteBuffer head = AssetCache.responseHead(hit);
+            ByteBuffer body = hit.body() != null ? ByteBuffer.wrap(hit.body()) : BufferUtil.EMPTY_BUFFER;
+            // 次のリクエストが届く前にトランザクションを完了しておく
+            if (httpClientListener != null)
+            {
+                httpClientListener.completeFromAssetCache(hit);
+            }
+            clientWriter.write(Callback.from(
+                () -> log.trace("Wrote cached asset {} to client {}", hit.entry().key, this),
+                x -> {
+                    log.debug("Failed to write cached asset {} to client: {}", hit.entry().key, x.toString());
+                    close(x);
+                }), head, body);
+        }
+
+        /**
+         * 共有のHTTP/2接続へリクエストを送り、応答をクライアントへ書き込む。
+         * アップストリームの応答待ちが無い時だけ呼ばれ、書き込みの順番は送信時に取っておく
+         * （応答を待つ間に届いた後続の書き込みは、この応答の後に書く）。
+         */
+        private void forwardMultiplexed()
+        {
+            if (httpClientListener == null)
+            {
+                return;
+            }
+            httpClientListener.forwardMultiplexed(clientWriter.reserve(), x -> {
+                log.debug("Failed to write multiplexed response to client: {}", x.toString());
+                close(x);
+            });
+        }
+
         @Override
         public void onUpgradeTo(ByteBuffer buffer)
         {
@@ -2438,7 +2878,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
                     }
                     
                     // 初期HTTPリクエストをパース
-                    httpParser.parseNext(buffer.duplicate());
+                    parseNext(httpParser, buffer.duplicate());
                     
                     log.trace("Parsed initial HTTP request buffer: {} bytes", buffer.remaining());
                 }
@@ -2491,6 +2931,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
                             log.trace("Resetting HTTP request parser for new message");
                             httpParser.reset();
                         }
+                        boolean messageStart = httpParser.isStart();
                         
                         // 現在位置を保存
                         int positionAfter = buffer.position();
@@ -2501,10 +2942,40 @@ public class ReverseConnectHandler extends Handler.Wrapper
                         parseBuffer.limit(read);
                         
                         // HTTPリクエストをパース
-                        httpParser.parseNext(parseBuffer);
+                        parseNext(httpParser, parseBuffer);
                         
                         // バッファ位置を復元
                         buffer.position(positionAfter);
+                        
+                        // 今回の読み込みがちょうど1リクエストの場合だけキャッシュ・共有接続から応答し、
+                        // トンネルのアップストリームへは送らない（分割して届いたリクエストは一部を転送済みのため、そのまま転送する）。
+                        // アップストリームの応答を待っている間は、応答の順序を守るためトンネルへ転送する
+                        if (pendingAssetHit != null || pendingMultiplex)
+                        {
+                            AssetCache.Hit hit = pendingAssetHit;
+                            boolean complete = localRequestComplete;
+                            boolean serve = messageStart && complete && !parseBuffer.hasRemaining()
+                                && upstreamPending.get() == 0;
+                            pendingAssetHit = null;
+                            pendingMultiplex = false;
+                            localRequestComplete = false;
+                            if (complete && !serve)
+                            {
+                                upstreamPending.incrementAndGet();
+                            }
+                            if (serve)
+                            {
+                                buffer.position(buffer.limit());
+                                if (hit != null)
+                                {
+                                    serveAssetHit(hit);
+                                }
+                                else
+                                {
+                                    forwardMultiplexed();
+                                }
+                            }
+                        }
             }
             catch (Exception e)
             {
@@ -2622,13 +3093,50 @@ public class ReverseConnectHandler extends Handler.Wrapper
         private final IteratingCallback pipe = new ProxyIteratingCallback();
         private final ByteBufferPool bufferPool;
         private final ConcurrentMap<String, Object> context;
+        /** このEndPointから読み、相手へ書くまでの内訳 */
+        private final TunnelPipeStats stats;
         private TunnelConnection connection;
 
-        protected TunnelConnection(EndPoint endPoint, Executor executor, ByteBufferPool bufferPool, ConcurrentMap<String, Object> context)
+        protected TunnelConnection(EndPoint endPoint, Executor executor, ByteBufferPool bufferPool, ConcurrentMap<String, Object> context, String direction)
         {
             super(endPoint, executor);
             this.bufferPool = bufferPool;
             this.context = context;
+            this.stats = new TunnelPipeStats(direction);
+        }
+
+        @Override
+        public void onOpen()
+        {
+            super.onOpen();
+            stats.open(toConnectionString());
+        }
+
+        @Override
+        public void onClose(Throwable cause)
+        {
+            stats.close();
+            super.onClose(cause);
+        }
+
+        /**
+         * HTTPのパース（と、そこから呼ばれる取込処理）を計測しながら実行する。
+         *
+         * @param parser パーサー
+         * @param buffer パースするバイト
+         * @return {@link HttpParser#parseNext(ByteBuffer)} の戻り値
+         */
+        protected boolean parseNext(HttpParser parser, ByteBuffer buffer)
+        {
+            long start = System.nanoTime();
+            try
+            {
+                return parser.parseNext(buffer);
+            }
+            finally
+            {
+                stats.recordParse(System.nanoTime() - start);
+            }
         }
 
         public ByteBufferPool getByteBufferPool()
@@ -2689,11 +3197,14 @@ public class ReverseConnectHandler extends Handler.Wrapper
                 ByteBuffer byteBuffer = buffer.getByteBuffer();
                 int filled;
                 
-                // read()を実行
+                // read()を実行（パースを含むため、パースの時間を除いて読み込み時間とする）
                 // SSL handshakeエラーは、SslConnection.SslHandshakeListenerで既に処理済み
+                long fillStart = System.nanoTime();
+                long parseBefore = stats.getParseNanos();
                 try
                 {
                     filled = this.filled = read(getEndPoint(), byteBuffer);
+                    stats.recordFill(filled, System.nanoTime() - fillStart, stats.getParseNanos() - parseBefore);
                 }
                 catch (IOException x)
                 {
@@ -2709,6 +3220,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
                 //     エラーはonFailure()コールバックで通知される
                 if (filled > 0)
                 {
+                    stats.flushStarted(System.nanoTime());
                     write(connection.getEndPoint(), byteBuffer, this);
                     return Action.SCHEDULED;
                 }
@@ -2732,6 +3244,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
                 // filled == 0の場合はfillInterested()完了時のコールバックなのでログを出さない
                 if (filled > 0)
                 {
+                    stats.flushCompleted(filled, System.nanoTime());
                     log.trace("Wrote {} bytes {}", filled, TunnelConnection.this);
                 }
                 buffer = Retainable.release(buffer);
@@ -2741,6 +3254,7 @@ public class ReverseConnectHandler extends Handler.Wrapper
             protected void onFailure(Throwable x)
             {
                 // write()コールバック失敗時のエラー処理
+                stats.flushCompleted(0, System.nanoTime());
                 // Java 21のpattern matchingでより簡潔に例外タイプを処理
                 switch (x)
                 {
@@ -2778,503 +3292,4 @@ public class ReverseConnectHandler extends Handler.Wrapper
         }
     }
     
-    /**
-     * リクエストメタデータのラッパークラス。完全なHTTPヘッダーサポート付き。
-     * Jetty Core 12 API用に設計され、CaptureHolder2と統合される。
-     */
-    static class RequestMetaDataWrapper implements RequestMetaData, Cloneable
-    {
-        private String contentType;
-        private String method;
-        private String requestURI;
-        private String uriPath;
-        private String queryString;
-        private String requestId = "";
-        private Map<String, String> headers = new LinkedHashMap<>();
-        private byte[] requestBodyBytes = null;  // Store as byte array, not InputStream
-        private Map<String, List<String>> parameterMap = null;  // Lazy-initialized parameter map
-
-        /**
-         * Initialize from CaptureHolder2.HttpRequest.
-         * This is the primary and most efficient initialization method.
-         */
-        void set(CaptureHolder2.HttpRequest httpRequest)
-        {
-            this.method = httpRequest.getMethod();
-            this.requestURI = httpRequest.getUri();
-            this.uriPath = httpRequest.getUriPath();
-            this.headers = new LinkedHashMap<>(httpRequest.getHeaders());
-            this.contentType = httpRequest.getContentType();
-            
-            // Extract query string from URI
-            if (requestURI != null && requestURI.contains("?"))
-            {
-                int queryIndex = requestURI.indexOf('?');
-                this.queryString = requestURI.substring(queryIndex + 1);
-            }
-            
-            // Store body as byte array (not InputStream) for thread-safe reuse
-            if (httpRequest.getBodySize() > 0)
-            {
-                this.requestBodyBytes = httpRequest.getBodyAsBytes();
-            }
-        }
-
-        /**
-         * Legacy initialization from Jetty Request (for CONNECT request metadata).
-         * Less efficient than set(CaptureHolder2.HttpRequest).
-         */
-        void set(Request req)
-        {
-            this.contentType = req.getHeaders().get(HttpHeader.CONTENT_TYPE);
-            this.method = req.getMethod();
-            this.requestURI = req.getHttpURI().getPath();
-            this.queryString = req.getHttpURI().getQuery();
-            this.uriPath = UriPaths.normalize(this.requestURI);
-            
-            // Copy headers
-            req.getHeaders().forEach(field -> 
-                headers.put(field.getName(), field.getValue())
-            );
-        }
-        
-        /**
-         * Set body from InputStream (legacy support).
-         * Converts to byte array for thread-safe reuse.
-         */
-        void set(InputStream body) throws IOException
-        {
-            if (body != null)
-            {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                byte[] buffer = new byte[8192];
-                int bytesRead;
-                while ((bytesRead = body.read(buffer)) != -1)
-                {
-                    baos.write(buffer, 0, bytesRead);
-                }
-                this.requestBodyBytes = baos.toByteArray();
-            }
-        }
-        
-        void setMethod(String method)
-        {
-            this.method = method;
-        }
-        
-        void setRequestURI(String requestURI)
-        {
-            this.requestURI = requestURI;
-            this.uriPath = UriPaths.normalize(requestURI);
-            
-            // Extract query string from URI
-            if (requestURI != null && requestURI.contains("?"))
-            {
-                int queryIndex = requestURI.indexOf('?');
-                this.queryString = requestURI.substring(queryIndex + 1);
-            }
-        }
-        
-        void setContentType(String contentType)
-        {
-            this.contentType = contentType;
-        }
-        
-        void addHeader(String name, String value)
-        {
-            headers.put(name, value);
-        }
-        
-        /**
-         * Get all HTTP headers.
-         */
-        public Map<String, String> getHeaders()
-        {
-            return Collections.unmodifiableMap(headers);
-        }
-        
-        /**
-         * Get a specific HTTP header value.
-         */
-        public String getHeader(String name)
-        {
-            return headers.get(name);
-        }
-
-        @Override
-        public String getContentType()
-        {
-            return contentType;
-        }
-
-        @Override
-        public String getMethod()
-        {
-            return method;
-        }
-
-        @Override
-        public Map<String, List<String>> getParameterMap()
-        {
-            // Lazy initialization of parameter map
-            if (parameterMap == null)
-            {
-                parameterMap = parseParameters();
-            }
-            return parameterMap;
-        }
-        
-        /**
-         * Parse URL parameters from query string and request body.
-         */
-        private Map<String, List<String>> parseParameters()
-        {
-            Map<String, List<String>> params = new LinkedHashMap<>();
-            
-            // Parse query string parameters
-            if (queryString != null && !queryString.isEmpty())
-            {
-                parseParameterString(queryString, params);
-            }
-            
-            // Parse POST body parameters (application/x-www-form-urlencoded)
-            if ("POST".equalsIgnoreCase(method) && requestBodyBytes != null && requestBodyBytes.length > 0)
-            {
-                String bodyContentType = contentType != null ? contentType.toLowerCase() : "";
-                if (bodyContentType.contains("application/x-www-form-urlencoded"))
-                {
-                    try
-                    {
-                        String bodyString = new String(requestBodyBytes, StandardCharsets.UTF_8);
-                        parseParameterString(bodyString, params);
-                    }
-                    catch (Exception e)
-                    {
-                        log.warn("Failed to parse POST body parameters", e);
-                    }
-                }
-            }
-            
-            return params;
-        }
-        
-        /**
-         * Parse URL-encoded parameter string into a parameter map.
-         */
-        private void parseParameterString(String paramString, Map<String, List<String>> params)
-        {
-            if (paramString == null || paramString.isEmpty())
-            {
-                return;
-            }
-            
-            String[] pairs = paramString.split("&");
-            for (String pair : pairs)
-            {
-                int idx = pair.indexOf('=');
-                String key;
-                String value;
-                
-                if (idx > 0)
-                {
-                    key = urlDecode(pair.substring(0, idx));
-                    value = urlDecode(pair.substring(idx + 1));
-                }
-                else if (idx == 0)
-                {
-                    // =value (no key)
-                    continue;
-                }
-                else
-                {
-                    // key with no value
-                    key = urlDecode(pair);
-                    value = "";
-                }
-                
-                params.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
-            }
-        }
-        
-        /**
-         * URL decode a string.
-         */
-        private String urlDecode(String encoded)
-        {
-            try
-            {
-                return java.net.URLDecoder.decode(encoded, StandardCharsets.UTF_8);
-            }
-            catch (Exception e)
-            {
-                log.warn("Failed to URL decode: {}", encoded, e);
-                return encoded;
-            }
-        }
-
-        @Override
-        public String getQueryString()
-        {
-            return queryString;
-        }
-
-        @Override
-        public String getRequestURI()
-        {
-            return requestURI;
-        }
-
-        @Override
-        public String getUriPath()
-        {
-            if (uriPath != null) {
-                return uriPath;
-            }
-            return UriPaths.normalize(requestURI);
-        }
-
-        @Override
-        public String getRequestId()
-        {
-            return requestId != null ? requestId : "";
-        }
-
-        void setRequestId(String requestId)
-        {
-            this.requestId = requestId != null ? requestId : "";
-        }
-
-        @Override
-        public Optional<InputStream> getRequestBody()
-        {
-            // Return a new ByteArrayInputStream each time for thread-safe reuse
-            if (requestBodyBytes != null && requestBodyBytes.length > 0)
-            {
-                return Optional.of(new ByteArrayInputStream(requestBodyBytes));
-            }
-            return Optional.empty();
-        }
-        
-        @Override
-        public RequestMetaDataWrapper clone()
-        {
-            try
-            {
-                RequestMetaDataWrapper copy = (RequestMetaDataWrapper) super.clone();
-                // Deep copy headers map
-                copy.headers = new LinkedHashMap<>(this.headers);
-                copy.requestId = this.requestId;
-                // Byte array is immutable reference, no need to copy the array itself
-                // (multiple clones can share the same byte array safely)
-                // Parameter map is lazy-initialized, share the reference if already computed
-                copy.parameterMap = this.parameterMap;
-                return copy;
-            }
-            catch (CloneNotSupportedException e)
-            {
-                // This should never happen as we implement Cloneable
-                RequestMetaDataWrapper copy = new RequestMetaDataWrapper();
-                copy.contentType = this.contentType;
-                copy.method = this.method;
-                copy.requestURI = this.requestURI;
-                copy.uriPath = this.uriPath;
-                copy.queryString = this.queryString;
-                copy.requestId = this.requestId;
-                copy.headers = new LinkedHashMap<>(this.headers);
-                copy.requestBodyBytes = this.requestBodyBytes;  // Share the byte array reference
-                copy.parameterMap = this.parameterMap;  // Share the parameter map reference
-                return copy;
-            }
-        }
-    }
-
-    /**
-     * レスポンスメタデータのラッパークラス。完全なHTTPヘッダーサポート付き。
-     * Jetty Core 12 API用に設計され、CaptureHolder2と統合される。
-     */
-    class ResponseMetaDataWrapper implements ResponseMetaData, Cloneable
-    {
-        private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ResponseMetaDataWrapper.class);
-        
-        private int status;
-        private String reason;
-        private String contentType;
-        private Map<String, String> headers = new LinkedHashMap<>();
-        private byte[] responseBodyBytes = null;  // Store as byte array, not InputStream
-
-        /**
-         * Initialize from CaptureHolder2.HttpResponse.
-         * This is the primary and most efficient initialization method.
-         * 
-         * @throws IOException 圧縮解凍処理でエラーが発生した場合
-         */
-        void set(CaptureHolder2.HttpResponse httpResponse) throws IOException
-        {
-            log.trace("ResponseMetaDataWrapper.set(HttpResponse) called: status={}, bodySize={}", 
-                httpResponse.getStatus(), httpResponse.getBodySize());
-            
-            this.status = httpResponse.getStatus();
-            this.reason = httpResponse.getReason();
-            this.headers = new LinkedHashMap<>(httpResponse.getHeaders());
-            this.contentType = httpResponse.getContentType();
-            
-            // レスポンスボディの処理（圧縮解凍を含む）
-            // エラーが発生した場合は例外をスローして上位に伝播
-            if (httpResponse.getBodySize() > 0)
-            {
-                this.responseBodyBytes = processResponseBody(httpResponse);
-            }
-        }
-        
-        /**
-         * レスポンスボディを処理し、必要に応じて解凍する。
-         * 
-         * @param httpResponse HTTPレスポンス
-         * @return 処理済みのボディバイト配列
-         * @throws IOException 圧縮解凍処理でエラーが発生した場合
-         */
-        private byte[] processResponseBody(CaptureHolder2.HttpResponse httpResponse) throws IOException
-        {
-            byte[] bodyBytes = getBodyBytes(httpResponse);
-            if (bodyBytes == null || bodyBytes.length == 0)
-            {
-                return new byte[0];
-            }
-
-            log.trace("Response headers: {}", headers);
-            return ReverseConnectHandler.this.responseBodyDecompressor.decompress(bodyBytes, headers);
-        }
-        
-        /**
-         * HTTPレスポンスからボディバイトを取得する（圧縮後の生データ）。
-         */
-        private byte[] getBodyBytes(CaptureHolder2.HttpResponse httpResponse)
-        {
-            log.trace("Attempting to get body bytes: reportedSize={}", httpResponse.getBodySize());
-            
-            byte[] bodyBytes = httpResponse.getBodyAsBytes();
-            
-            log.trace("Successfully retrieved body bytes: actualSize={}", bodyBytes != null ? bodyBytes.length : 0);
-            
-            if (bodyBytes == null || bodyBytes.length == 0)
-            {
-                log.warn("Body bytes is null or empty despite getBodySize() = {}", httpResponse.getBodySize());
-            }
-            
-            return bodyBytes;
-        }
-
-        /**
-         * Legacy initialization from Jetty Response (for CONNECT response metadata).
-         * Less efficient than set(CaptureHolder2.HttpResponse).
-         */
-        void set(Response res)
-        {
-            log.trace("ResponseMetaDataWrapper.set(Response) called: status={}", res.getStatus());
-            
-            this.status = res.getStatus();
-            this.contentType = res.getHeaders().get(HttpHeader.CONTENT_TYPE);
-            
-            // Copy headers
-            res.getHeaders().forEach(field -> 
-                headers.put(field.getName(), field.getValue())
-            );
-        }
-        
-        void setStatus(int status)
-        {
-            this.status = status;
-        }
-        
-        void setReason(String reason)
-        {
-            this.reason = reason;
-        }
-        
-        void setContentType(String contentType)
-        {
-            this.contentType = contentType;
-        }
-        
-        void addHeader(String name, String value)
-        {
-            headers.put(name, value);
-        }
-        
-        /**
-         * Get all HTTP headers.
-         */
-        public Map<String, String> getHeaders()
-        {
-            return Collections.unmodifiableMap(headers);
-        }
-        
-        /**
-         * Get a specific HTTP header value.
-         */
-        public String getHeader(String name)
-        {
-            return headers.get(name);
-        }
-        
-        /**
-         * Get the HTTP status reason phrase.
-         */
-        public String getReason()
-        {
-            return reason;
-        }
-
-        @Override
-        public int getStatus()
-        {
-            return status;
-        }
-
-        @Override
-        public String getContentType()
-        {
-            return contentType;
-        }
-
-        @Override
-        public Optional<InputStream> getResponseBody()
-        {
-            log.trace("ResponseMetaDataWrapper.getResponseBody() called: bodyBytes={}, size={} bytes", 
-                responseBodyBytes != null, responseBodyBytes != null ? responseBodyBytes.length : 0);
-            
-            // Return a new ByteArrayInputStream each time for thread-safe reuse
-            if (responseBodyBytes != null && responseBodyBytes.length > 0)
-            {
-                return Optional.of(new ByteArrayInputStream(responseBodyBytes));
-            }
-            return Optional.empty();
-        }
-        
-        @Override
-        public ResponseMetaDataWrapper clone()
-        {
-            try
-            {
-                ResponseMetaDataWrapper copy = (ResponseMetaDataWrapper) super.clone();
-                // Deep copy headers map
-                copy.headers = new LinkedHashMap<>(this.headers);
-                // Byte array is immutable reference, no need to copy the array itself
-                // (multiple clones can share the same byte array safely)
-                return copy;
-            }
-            catch (CloneNotSupportedException e)
-            {
-                // This should never happen as we implement Cloneable
-                ResponseMetaDataWrapper copy = new ResponseMetaDataWrapper();
-                copy.status = this.status;
-                copy.reason = this.reason;
-                copy.contentType = this.contentType;
-                copy.headers = new LinkedHashMap<>(this.headers);
-                copy.responseBodyBytes = this.responseBodyBytes;  // Share the byte array reference
-                return copy;
-            }
-        }
-    }
-    
 }
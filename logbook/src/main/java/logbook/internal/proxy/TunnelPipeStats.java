@@ -0,0 +1,212 @@
+package logbook.internal.proxy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import logbook.internal.metrics.MetricCounter;
+import logbook.internal.metrics.MetricsRegistry;
+
+/**
+ * トンネルの片方向（クライアント→サーバー、サーバー→クライアント）の転送の内訳。
+ * <p>
+ * {@link ReverseConnectHandler} のトンネルは、片方の EndPoint から読み（fill）、読んだバイトを HTTP としてパースし（parse）、
+ * もう片方の EndPoint へ書き終わる（flush）までを 1 サイクルとして繰り返す。
+ * 書き込みが終わるまで次の読み込みをしないため、相手が受け取らない間は読み込みも止まる（背圧）。
+ * このクラスはサイクルごとの時間とバイト数を数え、全トンネルの合計を {@link MetricsRegistry} に公開する。
+ * </p>
+ * <ul>
+ * <li>{@code tunnel_fill_nanos} / {@code tunnel_fill_bytes}: 読み込み（パースを除く）の時間とバイト数</li>
+ * <li>{@code tunnel_parse_nanos}: パースと取込処理の時間</li>
+ * <li>{@code tunnel_flush_nanos} / {@code tunnel_flush_bytes}: 書き込みを始めてから完了するまでの時間とバイト数</li>
+ * <li>{@code tunnel_pipes}: 開いている片方向の数（ゲージ）</li>
+ * <li>{@code tunnel_pipes_stalled}: 書き込みが {@link #STALL_NANOS} 以上終わらない片方向の数（ゲージ）</li>
+ * </ul>
+ * <p>
+ * カウンタは向き（{@code direction=upstream}: サーバーから読む、{@code downstream}: クライアントから読む）のラベル付き。
+ * 記録は各トンネルの IteratingCallback から直列に呼ばれる。ゲージの読み出しだけが別スレッドになる。
+ * </p>
+ */
+final class TunnelPipeStats
+{
+    /** 書き込みがこの時間以上終わらない場合に停滞とみなす */
+    static final long STALL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /** 開いている片方向 */
+    private static final Set<TunnelPipeStats> OPEN = ConcurrentHashMap.newKeySet();
+
+    static
+    {
+        MetricsRegistry.gauge("tunnel_pipes", OPEN::size);
+        MetricsRegistry.gauge("tunnel_pipes_stalled", () -> stalled(System.nanoTime()).size());
+    }
+
+    private final String direction;
+    private final MetricCounter fillNanosCounter;
+    private final MetricCounter fillBytesCounter;
+    private final MetricCounter parseNanosCounter;
+    private final MetricCounter flushNanosCounter;
+    private final MetricCounter flushBytesCounter;
+
+    private long fillNanos;
+    private long fillBytes;
+    private long parseNanos;
+    private long flushNanos;
+    private long flushBytes;
+
+    /** 書き込み中の場合、書き込みを始めた時刻（{@link System#nanoTime()}）。書き込み中でなければ 0 */
+    private volatile long flushStartNanos;
+
+    /** 停滞の表示用（接続の文字列表現） */
+    private volatile String description;
+
+    /**
+     * @param direction 読み込み元の向き（{@code upstream} / {@code downstream}）
+     */
+    TunnelPipeStats(String direction)
+    {
+        this.direction = direction;
+        this.fillNanosCounter = MetricsRegistry.counter("tunnel_fill_nanos", "direction", direction);
+        this.fillBytesCounter = MetricsRegistry.counter("tunnel_fill_bytes", "direction", direction);
+        this.parseNanosCounter = MetricsRegistry.counter("tunnel_parse_nanos", "direction", direction);
+        this.flushNanosCounter = MetricsRegistry.counter("tunnel_flush_nanos", "direction", direction);
+        this.flushBytesCounter = MetricsRegistry.counter("tunnel_flush_bytes", "direction", direction);
+    }
+
+    /**
+     * 集計の対象に加える（接続のオープン時）。
+     *
+     * @param description 停滞の表示に使う接続の文字列表現
+     */
+    void open(String description)
+    {
+        this.description = description;
+        OPEN.add(this);
+    }
+
+    /**
+     * 集計の対象から外す（接続のクローズ時）。
+     */
+    void close()
+    {
+        OPEN.remove(this);
+        this.flushStartNanos = 0;
+    }
+
+    /**
+     * 読み込みを記録する。
+     *
+     * @param bytes 読んだバイト数（0以下は時間だけ記録する）
+     * @param nanos パースを含む読み込み全体の時間
+     * @param parseNanosDuringFill そのうちパースにかかった時間
+     */
+    void recordFill(int bytes, long nanos, long parseNanosDuringFill)
+    {
+        long fill = Math.max(0, nanos - parseNanosDuringFill);
+        this.fillNanos += fill;
+        this.fillNanosCounter.add(fill);
+        if (bytes > 0)
+        {
+            this.fillBytes += bytes;
+            this.fillBytesCounter.add(bytes);
+        }
+    }
+
+    /**
+     * パースを記録する。
+     *
+     * @param nanos パースの時間
+     */
+    void recordParse(long nanos)
+    {
+        this.parseNanos += nanos;
+        this.parseNanosCounter.add(nanos);
+    }
+
+    /**
+     * 書き込みの開始を記録する。
+     *
+     * @param now 現在時刻（{@link System#nanoTime()}）
+     */
+    void flushStarted(long now)
+    {
+        // 0 は「書き込み中でない」を表すため避ける
+        this.flushStartNanos = now != 0 ? now : 1;
+    }
+
+    /**
+     * 書き込みの完了を記録する（失敗した場合も呼ぶ）。
+     *
+     * @param bytes 書いたバイト数
+     * @param now 現在時刻（{@link System#nanoTime()}）
+     */
+    void flushCompleted(int bytes, long now)
+    {
+        long start = this.flushStartNanos;
+        this.flushStartNanos = 0;
+        if (start == 0)
+        {
+            return;
+        }
+        long nanos = now - start;
+        this.flushNanos += nanos;
+        this.flushNanosCounter.add(nanos);
+        this.flushBytes += bytes;
+        this.flushBytesCounter.add(bytes);
+    }
+
+    /**
+     * パース（取込処理を含む）にかかった時間の累計。
+     *
+     * @return ナノ秒
+     */
+    long getParseNanos()
+    {
+        return this.parseNanos;
+    }
+
+    /**
+     * 書き込みが {@link #STALL_NANOS} 以上終わっていないか。
+     *
+     * @param now 現在時刻（{@link System#nanoTime()}）
+     * @return 停滞している場合 true
+     */
+    boolean isStalled(long now)
+    {
+        long start = this.flushStartNanos;
+        return start != 0 && now - start >= STALL_NANOS;
+    }
+
+    /**
+     * 停滞している片方向の一覧（ログ・診断用）。
+     *
+     * @param now 現在時刻（{@link System#nanoTime()}）
+     * @return 停滞している片方向の説明
+     */
+    static List<String> stalled(long now)
+    {
+        List<String> result = new ArrayList<>();
+        for (TunnelPipeStats stats : OPEN)
+        {
+            if (stats.isStalled(now))
+            {
+                result.add(stats.toString());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        long start = this.flushStartNanos;
+        return String.format("%s %s fill=%dB/%dms parse=%dms flush=%dB/%dms%s",
+            this.description, this.direction,
+            this.fillBytes, TimeUnit.NANOSECONDS.toMillis(this.fillNanos),
+            TimeUnit.NANOSECONDS.toMillis(this.parseNanos),
+            this.flushBytes, TimeUnit.NANOSECONDS.toMillis(this.flushNanos),
+            start != 0 ? " pending=" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms" : "");
+    }
+}
@@ -0,0 +1,331 @@
+package logbook.internal.proxy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jetty.util.thread.Scheduler;
+
+import logbook.bean.AppConfig;
+import logbook.internal.metrics.MetricCounter;
+import logbook.internal.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CONNECT 先ホストごとに、接続済みの TCP ソケットを事前に用意しておくプール。
+ * <p>
+ * {@link ReverseConnectHandler#connectToServer} で一度使われたホスト（上位プロキシ経由の場合はプロキシ）について、
+ * バックグラウンドで {@value #IDLE_PROPERTY} 本（既定 {@value #DEFAULT_IDLE_PER_HOST} 本）まで接続しておき、
+ * 次の CONNECT では名前解決と TCP ハンドシェイクを待たずにそのソケットを渡す。
+ * 渡したソケットは 1 本のトンネル専用になり、プールへは戻らない。
+ * </p>
+ * <ul>
+ * <li>接続から {@link #MAX_IDLE_MILLIS} ミリ秒を超えたソケットは捨てる（サーバー側の切断を避ける）</li>
+ * <li>渡す直前に 1 バイト読みを試み、相手が切断済みのソケットは捨てる</li>
+ * <li>{@link #HOT_MILLIS} ミリ秒使われていないホストは補充をやめる</li>
+ * </ul>
+ * <p>TLS はトンネルごとに Jetty の {@code SslConnection} で行うため、プールするのは TCP 接続までとする。
+ * 設定 {@code proxyUpstreamPool} を有効にした場合だけ使う（既定は無効）。</p>
+ */
+@Slf4j
+final class UpstreamConnectionPool implements Closeable
+{
+    /** ホストごとに用意する接続数を指定するシステムプロパティ */
+    static final String IDLE_PROPERTY = "logbook.proxy.upstreamPool.idle";
+
+    /** ホストごとに用意する既定の接続数 */
+    static final int DEFAULT_IDLE_PER_HOST = 2;
+
+    /** 事前接続したソケットを保持する最大時間 */
+    static final long MAX_IDLE_MILLIS = 15_000;
+
+    /** 最後に使われてから補充を続ける時間 */
+    static final long HOT_MILLIS = 300_000;
+
+    private static final long EVICT_INTERVAL_MILLIS = 5_000;
+
+    private static final MetricCounter HITS = MetricsRegistry.counter("upstream_pool_hits");
+
+    private static final MetricCounter MISSES = MetricsRegistry.counter("upstream_pool_misses");
+
+    /** 全プールの待機中ソケット数（JMX: upstream_pool_idle） */
+    private static final AtomicInteger IDLE_TOTAL = new AtomicInteger();
+
+    static
+    {
+        MetricsRegistry.gauge("upstream_pool_idle", IDLE_TOTAL::get);
+    }
+
+    private final Map<String, HostSlot> slots = new ConcurrentHashMap<>();
+    private final UpstreamDnsCache dnsCache;
+    private final Executor connectExecutor;
+    private final int idlePerHost;
+    private final long connectTimeoutMillis;
+    private volatile boolean closed;
+
+    UpstreamConnectionPool(UpstreamDnsCache dnsCache, Executor connectExecutor, long connectTimeoutMillis)
+    {
+        this.dnsCache = dnsCache;
+        this.connectExecutor = connectExecutor;
+        this.idlePerHost = Math.max(0, Integer.getInteger(IDLE_PROPERTY, DEFAULT_IDLE_PER_HOST));
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    /**
+     * 設定でプールが有効になっているか。
+     *
+     * @return 有効な場合 true
+     */
+    static boolean isEnabled()
+    {
+        return AppConfig.get().isProxyUpstreamPool();
+    }
+
+    /**
+     * 古いソケットの定期的な破棄を開始する。
+     *
+     * @param scheduler スケジューラ
+     */
+    void start(Scheduler scheduler)
+    {
+        scheduleEviction(scheduler);
+    }
+
+    /**
+     * 接続済みのソケットを取り出し、以降の補充を予約する。
+     *
+     * @param host 接続先ホスト
+     * @param port 接続先ポート
+     * @return 接続済み（ノンブロッキング）のソケット、無い場合は null
+     */
+    SocketChannel acquire(String host, int port)
+    {
+        if (this.closed)
+        {
+            return null;
+        }
+        long now = System.nanoTime();
+        HostSlot slot = this.slots.computeIfAbsent(key(host, port), k -> new HostSlot(host, port));
+        slot.lastUsedNanos = now;
+
+        SocketChannel channel = null;
+        PooledChannel pooled;
+        while ((pooled = slot.idle.pollFirst()) != null)
+        {
+            IDLE_TOTAL.decrementAndGet();
+            if (isUsable(pooled, now))
+            {
+                channel = pooled.channel;
+                break;
+            }
+            closeQuietly(pooled.channel);
+        }
+        if (channel != null)
+        {
+            HITS.increment();
+        }
+        else
+        {
+            MISSES.increment();
+        }
+        replenish(slot);
+        return channel;
+    }
+
+    @Override
+    public void close()
+    {
+        this.closed = true;
+        for (HostSlot slot : this.slots.values())
+        {
+            drain(slot);
+        }
+        this.slots.clear();
+    }
+
+    private void replenish(HostSlot slot)
+    {
+        int missing = this.idlePerHost - slot.idle.size() - slot.connecting.get();
+        for (int i = 0; i < missing; i++)
+        {
+            slot.connecting.incrementAndGet();
+            try
+            {
+                this.connectExecutor.execute(() -> preconnect(slot));
+            }
+            catch (RejectedExecutionException e)
+            {
+                slot.connecting.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void preconnect(HostSlot slot)
+    {
+        try
+        {
+            SocketChannel channel = open(slot.host, slot.port);
+            if (this.closed || this.slots.get(key(slot.host, slot.port)) != slot)
+            {
+                closeQuietly(channel);
+                return;
+            }
+            slot.idle.addLast(new PooledChannel(channel, System.nanoTime()));
+            IDLE_TOTAL.incrementAndGet();
+        }
+        catch (IOException e)
+        {
+            log.debug("Pre-connect to {}:{} failed: {}", slot.host, slot.port, e.toString());
+        }
+        finally
+        {
+            slot.connecting.decrementAndGet();
+        }
+    }
+
+    private SocketChannel open(String host, int port) throws IOException
+    {
+        InetSocketAddress address = new InetSocketAddress(this.dnsCache.resolve(host), port);
+        SocketChannel channel = SocketChannel.open();
+        try
+        {
+            channel.socket().setTcpNoDelay(true);
+            channel.socket().connect(address, (int) this.connectTimeoutMillis);
+            channel.configureBlocking(false);
+            return channel;
+        }
+        catch (IOException e)
+        {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    private void scheduleEviction(Scheduler scheduler)
+    {
+        if (this.closed)
+        {
+            return;
+        }
+        scheduler.schedule(() -> {
+            evictIdle();
+            scheduleEviction(scheduler);
+        }, EVICT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 保持期間を過ぎたソケットと、使われなくなったホストを捨てる。
+     */
+    void evictIdle()
+    {
+        long now = System.nanoTime();
+        Iterator<HostSlot> slotIterator = this.slots.values().iterator();
+        while (slotIterator.hasNext())
+        {
+            HostSlot slot = slotIterator.next();
+            if (now - slot.lastUsedNanos > TimeUnit.MILLISECONDS.toNanos(HOT_MILLIS))
+            {
+                slotIterator.remove();
+                drain(slot);
+                continue;
+            }
+            Iterator<PooledChannel> iterator = slot.idle.iterator();
+            boolean evicted = false;
+            while (iterator.hasNext())
+            {
+                PooledChannel pooled = iterator.next();
+                if (!isUsable(pooled, now) && slot.idle.removeFirstOccurrence(pooled))
+                {
+                    IDLE_TOTAL.decrementAndGet();
+                    closeQuietly(pooled.channel);
+                    evicted = true;
+                }
+            }
+            if (evicted)
+            {
+                replenish(slot);
+            }
+        }
+    }
+
+    private static void drain(HostSlot slot)
+    {
+        PooledChannel pooled;
+        while ((pooled = slot.idle.pollFirst()) != null)
+        {
+            IDLE_TOTAL.decrementAndGet();
+            closeQuietly(pooled.channel);
+        }
+    }
+
+    private static boolean isUsable(PooledChannel pooled, long now)
+    {
+        if (now - pooled.createdNanos > TimeUnit.MILLISECONDS.toNanos(MAX_IDLE_MILLIS))
+        {
+            return false;
+        }
+        SocketChannel channel = pooled.channel;
+        if (!channel.isOpen() || !channel.isConnected())
+        {
+            return false;
+        }
+        try
+        {
+            // ノンブロッキングで 0 が返れば接続は生きている（-1 は切断済み、データ受信は想定外）
+            return channel.read(ByteBuffer.allocate(1)) == 0;
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+    }
+
+    private static String key(String host, int port)
+    {
+        return host + ":" + port;
+    }
+
+    private static void closeQuietly(SocketChannel channel)
+    {
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            log.trace("IGNORED", e);
+        }
+    }
+
+    private static final class HostSlot
+    {
+        final String host;
+        final int port;
+        final Deque<PooledChannel> idle = new ConcurrentLinkedDeque<>();
+        final AtomicInteger connecting = new AtomicInteger();
+        volatile long lastUsedNanos;
+
+        HostSlot(String host, int port)
+        {
+            this.host = host;
+            this.port = port;
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
+
+    private record PooledChannel(SocketChannel channel, long createdNanos)
+    {
+    }
+}
@@ -0,0 +1,152 @@
+package logbook.internal.proxy;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import logbook.internal.metrics.MetricCounter;
+import logbook.internal.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * アップストリーム接続先の名前解決結果を TTL 付きで保持するキャッシュ。
+ * <p>
+ * ゲームは同じワールドサーバー・CDN ホストへ短いトンネルを何本も張るため、
+ * CONNECT のたびに名前解決を待たないようにする。
+ * </p>
+ * <ul>
+ * <li>TTL 内: キャッシュをそのまま返す</li>
+ * <li>TTL 超過〜最大保持期間内: キャッシュを返しつつ、バックグラウンドで引き直す</li>
+ * <li>最大保持期間超過・未解決: 呼び出し元スレッドで解決する</li>
+ * </ul>
+ * <p>解決に失敗した結果はキャッシュしない。TTL はシステムプロパティ {@value #TTL_PROPERTY}（秒）で変更できる。</p>
+ */
+@Slf4j
+final class UpstreamDnsCache
+{
+    /** TTL（秒）を指定するシステムプロパティ（0 以下でキャッシュ無効） */
+    static final String TTL_PROPERTY = "logbook.proxy.dnsCache.ttl";
+
+    /** 既定の TTL（秒） */
+    static final int DEFAULT_TTL_SECONDS = 60;
+
+    /** TTL 超過後も古い結果を返してよい期間（TTL の倍数） */
+    private static final int MAX_STALE_FACTOR = 5;
+
+    private static final MetricCounter HITS = MetricsRegistry.counter("dns_cache_hits");
+
+    private static final MetricCounter MISSES = MetricsRegistry.counter("dns_cache_misses");
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final Executor refreshExecutor;
+    private final Resolver resolver;
+
+    UpstreamDnsCache(Executor refreshExecutor)
+    {
+        this(TimeUnit.SECONDS.toNanos(Integer.getInteger(TTL_PROPERTY, DEFAULT_TTL_SECONDS)), refreshExecutor,
+            InetAddress::getByName);
+    }
+
+    UpstreamDnsCache(long ttlNanos, Executor refreshExecutor, Resolver resolver)
+    {
+        this.ttlNanos = ttlNanos;
+        this.refreshExecutor = refreshExecutor;
+        this.resolver = resolver;
+    }
+
+    /**
+     * ホスト名を解決する。
+     *
+     * @param host ホスト名または IP アドレス
+     * @return アドレス
+     * @throws UnknownHostException 解決できない場合
+     */
+    InetAddress resolve(String host) throws UnknownHostException
+    {
+        if (this.ttlNanos <= 0)
+        {
+            return this.resolver.resolve(host);
+        }
+        long now = System.nanoTime();
+        Entry entry = this.entries.get(host);
+        if (entry != null)
+        {
+            long age = now - entry.resolvedNanos;
+            if (age < this.ttlNanos)
+            {
+                HITS.increment();
+                return entry.address;
+            }
+            if (age < this.ttlNanos * MAX_STALE_FACTOR)
+            {
+                HITS.increment();
+                refreshAsync(host, entry);
+                return entry.address;
+            }
+        }
+        MISSES.increment();
+        return refresh(host);
+    }
+
+    private InetAddress refresh(String host) throws UnknownHostException
+    {
+        InetAddress address = this.resolver.resolve(host);
+        this.entries.put(host, new Entry(address, System.nanoTime()));
+        return address;
+    }
+
+    private void refreshAsync(String host, Entry stale)
+    {
+        if (!stale.refreshing.compareAndSet(false, true))
+        {
+            return;
+        }
+        try
+        {
+            this.refreshExecutor.execute(() -> {
+                try
+                {
+                    refresh(host);
+                }
+                catch (UnknownHostException e)
+                {
+                    // 古い結果は最大保持期間まで使い続ける
+                    log.debug("Background DNS refresh failed for {}: {}", host, e.getMessage());
+                    stale.refreshing.set(false);
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            stale.refreshing.set(false);
+        }
+    }
+
+    /**
+     * 名前解決の実装（テスト用に差し替え可能）。
+     */
+    @FunctionalInterface
+    interface Resolver
+    {
+        InetAddress resolve(String host) throws UnknownHostException;
+    }
+
+    private static final class Entry
+    {
+        final InetAddress address;
+        final long resolvedNanos;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(InetAddress address, long resolvedNanos)
+        {
+            this.address = address;
+            this.resolvedNanos = resolvedNanos;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package logbook.internal.proxy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.Request;
+import org.eclipse.jetty.client.Response;
+import org.eclipse.jetty.client.Result;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.io.Connection;
+import org.eclipse.jetty.io.Content;
+import org.eclipse.jetty.util.BufferUtil;
+
+import logbook.internal.metrics.MetricCounter;
+import logbook.internal.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * トンネル内で復号した静的リソースへの GET を、トンネル自身の TCP 接続ではなく
+ * 共有の {@link HttpClient}（HTTP/2 を ALPN で選択）に載せ替えて送る。
+ * <p>
+ * 通常のトンネルは CONNECT ごとに 1 本のアップストリーム接続で HTTP/1.1 を 1 件ずつ流すため、
+ * ブラウザが同じ CDN ホストへ張った複数のトンネルは、それぞれ接続・TLS を確立し、前の応答を待って次を送る。
+ * ここを経由すると、同じオリジンへのリクエストは少数の HTTP/2 接続上のストリームとして並行に流れる。
+ * </p>
+ * <ul>
+ * <li>対象: {@code /kcs2/} への GET（ボディ・Upgrade なし）。API（{@code /kcsapi/}）は従来どおりトンネルで流す</li>
+ * <li>応答: HTTP/1.1 としてクライアントへ返す。ボディは受信した分から書き込み、書き終えてから次を受信する。
+ *     アップストリームに {@code Content-Length} が無い場合はチャンク形式で返す。
+ *     ボディは符号化されたまま中継する（{@code Content-Encoding} はそのまま）</li>
+ * <li>計測: 接続の確立数・同時に開いている接続数と、同時に処理中のリクエスト数を公開する。
+ *     処理中のリクエスト数が接続数を上回った分が、トンネルでは前の応答待ちになっていたリクエストに当たる</li>
+ * </ul>
+ */
+@Slf4j
+final class UpstreamMultiplexer
+{
+    /** 対象とするパスの接頭辞 */
+    static final String PATH_PREFIX = "/kcs2/";
+
+    /** チャンク形式の終端 */
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    /** クライアント・アップストリーム間で引き継がないヘッダー */
+    private static final Set<String> HOP_BY_HOP = Set.of(
+        "connection", "keep-alive", "proxy-connection", "proxy-authorization", "te", "trailer",
+        "transfer-encoding", "upgrade", "host", "content-length");
+
+    private static final MetricCounter FAILURES = MetricsRegistry.counter("upstream_mux_failures");
+
+    private static final MetricCounter CONNECTIONS_OPENED = MetricsRegistry.counter("upstream_mux_connections_opened");
+
+    private static final AtomicInteger OPEN_CONNECTIONS = new AtomicInteger();
+
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+
+    static
+    {
+        MetricsRegistry.gauge("upstream_mux_connections", OPEN_CONNECTIONS::get);
+        MetricsRegistry.gauge("upstream_mux_in_flight", IN_FLIGHT::get);
+    }
+
+    private final HttpClient httpClient;
+    private final long idleTimeoutMillis;
+
+    /**
+     * @param httpClient HTTP/2 に対応したトランスポートの HttpClient
+     * @param idleTimeoutMillis リクエストごとの無通信タイムアウト（ミリ秒）
+     */
+    UpstreamMultiplexer(HttpClient httpClient, long idleTimeoutMillis)
+    {
+        this.httpClient = httpClient;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * 共有接続の確立数を数えるリスナー（HttpClient の Bean として登録すると、接続ごとに追加される）。
+     *
+     * @return リスナー
+     */
+    static Connection.Listener connectionCounter()
+    {
+        return new Connection.Listener()
+        {
+            @Override
+            public void onOpened(Connection connection)
+            {
+                CONNECTIONS_OPENED.increment();
+                OPEN_CONNECTIONS.incrementAndGet();
+            }
+
+            @Override
+            public void onClosed(Connection connection)
+            {
+                OPEN_CONNECTIONS.decrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * 共有接続へ載せ替える対象のリクエストか。
+     *
+     * @param request ヘッダー受信済みのリクエスト
+     * @return 対象の場合 true
+     */
+    static boolean isEligible(CaptureHolder2.HttpRequest request)
+    {
+        String uri = request.getUri();
+        if (!HttpMethod.GET.is(request.getMethod()) || uri == null || !uri.startsWith(PATH_PREFIX))
+        {
+            return false;
+        }
+        String contentLength = request.getHeader(HttpHeader.CONTENT_LENGTH);
+        return (contentLength == null || "0".equals(contentLength.trim()))
+            && request.getHeader(HttpHeader.TRANSFER_ENCODING) == null
+            && request.getHeader(HttpHeader.UPGRADE) == null;
+    }
+
+    /**
+     * リクエストを共有接続で送る。結果はいずれかのコールバックで 1 回だけ通知する（HttpClient のスレッド）。
+     *
+     * @param origin スキームとホスト（例: {@code https://w01y.kancolle-server.com}）
+     * @param request クライアントから受信したリクエスト
+     * @param listener 結果の通知先
+     */
+    void send(String origin, CaptureHolder2.HttpRequest request, Listener listener)
+    {
+        Request upstream = this.httpClient.newRequest(origin + request.getUri())
+            .method(HttpMethod.GET)
+            .idleTimeout(this.idleTimeoutMillis, TimeUnit.MILLISECONDS)
+            .headers(headers -> {
+                for (HttpField field : request.getHeaders())
+                {
+                    if (isRelayed(field.getName()))
+                    {
+                        headers.add(field);
+                    }
+                }
+            });
+        IN_FLIGHT.incrementAndGet();
+        upstream.send(new Response.Listener()
+        {
+            @Override
+            public void onHeaders(Response response)
+            {
+                listener.onHeaders(response);
+            }
+
+            @Override
+            public void onContent(Response response, Content.Chunk chunk, Runnable demander)
+            {
+                ByteBuffer content = chunk.getByteBuffer();
+                if (!content.hasRemaining())
+                {
+                    demander.run();
+                    return;
+                }
+                // チャンクは demander の実行で解放されるため、書き込み中も使えるようコピーしておく
+                listener.onContent(response, BufferUtil.toArray(content), demander);
+            }
+
+            @Override
+            public void onComplete(Result result)
+            {
+                IN_FLIGHT.decrementAndGet();
+                Response response = result.getResponse();
+                if (result.isFailed())
+                {
+                    FAILURES.increment();
+                    log.debug("Multiplexed request failed: {}{}: {}", origin, request.getUri(),
+                        result.getFailure().toString());
+                    listener.onFailure(result.getFailure());
+                    return;
+                }
+                MetricsRegistry.counter("upstream_mux_requests", "protocol", response.getVersion().asString())
+                    .increment();
+                listener.onComplete(response);
+            }
+        });
+    }
+
+    /**
+     * アップストリームの応答のボディのバイト数。
+     *
+     * @param response アップストリームの応答
+     * @return ボディのバイト数（分からない場合は -1）
+     */
+    static long contentLength(Response response)
+    {
+        int status = response.getStatus();
+        if (HttpStatus.isInformational(status) || status == HttpStatus.NO_CONTENT_204
+            || status == HttpStatus.NOT_MODIFIED_304)
+        {
+            return 0;
+        }
+        try
+        {
+            return response.getHeaders().getLongField(HttpHeader.CONTENT_LENGTH);
+        }
+        catch (NumberFormatException e)
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * アップストリームの応答から、クライアントへ返す HTTP/1.1 のレスポンスヘッダーを作る。
+     *
+     * @param response アップストリームの応答
+     * @param contentLength ボディのバイト数（分からない場合は -1 で、チャンク形式にする）
+     * @return ステータス行とヘッダー
+     */
+    static ByteBuffer responseHead(Response response, long contentLength)
+    {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("HTTP/1.1 ").append(response.getStatus()).append(' ')
+            .append(HttpStatus.getMessage(response.getStatus())).append("\r\n");
+        for (HttpField field : response.getHeaders())
+        {
+            if (isRelayed(field.getName()))
+            {
+                sb.append(field.getName()).append(": ").append(field.getValue()).append("\r\n");
+            }
+        }
+        if (contentLength < 0)
+        {
+            sb.append("Transfer-Encoding: chunked\r\n\r\n");
+        }
+        else
+        {
+            sb.append("Content-Length: ").append(contentLength).append("\r\n\r\n");
+        }
+        return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * ボディの一部をチャンク形式にする。
+     *
+     * @param data ボディの一部（空でないこと）
+     * @return チャンク
+     */
+    static ByteBuffer chunk(byte[] data)
+    {
+        byte[] size = (Integer.toHexString(data.length) + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer buffer = ByteBuffer.allocate(size.length + data.length + 2);
+        buffer.put(size).put(data).put((byte) '\r').put((byte) '\n');
+        return buffer.flip();
+    }
+
+    /**
+     * チャンク形式の終端。
+     *
+     * @return 長さ 0 のチャンク
+     */
+    static ByteBuffer lastChunk()
+    {
+        return ByteBuffer.wrap(LAST_CHUNK);
+    }
+
+    /**
+     * アップストリームへ送れなかった場合にクライアントへ返すレスポンスヘッダー。
+     *
+     * @return 502 のステータス行とヘッダー
+     */
+    static ByteBuffer badGatewayHead()
+    {
+        return ByteBuffer.wrap("HTTP/1.1 502 Bad Gateway\r\nContent-Length: 0\r\n\r\n"
+            .getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * クライアントへ引き継ぐヘッダーか（接続単位のヘッダーと、付け直す Content-Length は除く）。
+     *
+     * @param name ヘッダー名
+     * @return 引き継ぐ場合 true
+     */
+    static boolean isRelayed(String name)
+    {
+        return !HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 共有接続で送ったリクエストの結果の通知先。
+     */
+    interface Listener
+    {
+        /**
+         * レスポンスヘッダーを受信した。
+         *
+         * @param response アップストリームの応答
+         */
+        void onHeaders(Response response);
+
+        /**
+         * ボディの一部を受信した。続きは {@code demand} を実行するまで受信しない。
+         *
+         * @param response アップストリームの応答
+         * @param data ボディの一部（符号化されたまま）
+         * @param demand 続きを受信する処理
+         */
+        void onContent(Response response, byte[] data, Runnable demand);
+
+        /**
+         * ボディまで受信し終えた。
+         *
+         * @param response アップストリームの応答
+         */
+        void onComplete(Response response);
+
+        /**
+         * 送信・受信に失敗した。
+         *
+         * @param failure 原因
+         */
+        void onFailure(Throwable failure);
+    }
+}
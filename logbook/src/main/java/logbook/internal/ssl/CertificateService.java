@@ -16,6 +16,9 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.X509ExtendedKeyManager;
+
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
@@ -47,12 +50,17 @@ import org.eclipse.jetty.util.ssl.X509;
 
 import lombok.extern.slf4j.Slf4j;
 
+import logbook.internal.ThreadManager;
+
 /**
  * 証明書作成・管理サービス
  */
 @Slf4j
 public class CertificateService {
 
+    /** ホスト別サーバー証明書のディスクキャッシュ（ルート証明書と同じディレクトリに置く） */
+    static final String LEAF_CACHE_FILE_NAME = "leaf-certificates.p12";
+
     /**
      * 証明書情報を保持するレコード
      */
@@ -89,9 +97,15 @@ public class CertificateService {
 
         ServerCertificateGenerator.CaIdentity caIdentity =
                 ServerCertificateGenerator.loadCaIdentityFromPkcs12(rootCertificatePath, rootPassword);
+        LeafCertificateCache leafCache = LeafCertificateCache.open(
+                caIdentity,
+                Paths.get(rootCertificatePath).resolveSibling(LEAF_CACHE_FILE_NAME),
+                LeafCertificateCache.DEFAULT_MAX_ENTRIES);
+        // SNI が無いクライアント向けの既定（ワイルドカード）証明書も共有 EC 鍵で署名する
         ServerCertificateGenerator.SignedServerCertificate signedServer =
                 ServerCertificateGenerator.createSignedServerCertificate(
                         caIdentity,
+                        leafCache.keyPair(),
                         SslCertificateUtil.DEFAULT_CERT_CN,
                         SslCertificateUtil.DEFAULT_CERT_ORG,
                         ServerCertificateGenerator.DEFAULT_SERVER_VALIDITY_DAYS);
@@ -100,7 +114,7 @@ public class CertificateService {
         KeyStore serverKeyStore = ServerCertificateGenerator.buildServerKeyStore(
                 signedServer, caIdentity.certificate(), serverPassword.toCharArray());
 
-        SslContextFactory.Server serverFactory = new SslContextFactory.Server();
+        SslContextFactory.Server serverFactory = new LeafCertificateServerFactory(leafCache);
         serverFactory.setKeyStore(serverKeyStore);
         serverFactory.setKeyStorePassword(serverPassword);
         serverFactory.setKeyStoreType("PKCS12");
@@ -108,16 +122,45 @@ public class CertificateService {
         serverFactory.setSniRequired(false);
         serverFactory.start();
         logInMemoryServerCertificate(rootCertificatePath, caIdentity.certificate(), serverCert, serverFactory);
+        leafCache.prewarm(LeafCertificateCache.prewarmHosts(), ThreadManager.getExecutorService());
         return serverFactory;
     }
 
+    /**
+     * SNI のホスト名ごとに {@link LeafCertificateCache} の証明書を提示する {@link SslContextFactory.Server}。
+     * KeyStore の証明書（ワイルドカード）は SNI が無い場合の既定と、CONNECT 先ホストの判定に使う。
+     */
+    private static final class LeafCertificateServerFactory extends SslContextFactory.Server {
+
+        private final LeafCertificateCache leafCache;
+
+        LeafCertificateServerFactory(LeafCertificateCache leafCache) {
+            this.leafCache = leafCache;
+        }
+
+        @Override
+        protected KeyManager[] getKeyManagers(KeyStore keyStore) throws Exception {
+            KeyManager[] managers = super.getKeyManagers(keyStore);
+            if (managers == null) {
+                return null;
+            }
+            KeyManager[] wrapped = new KeyManager[managers.length];
+            for (int i = 0; i < managers.length; i++) {
+                wrapped[i] = managers[i] instanceof X509ExtendedKeyManager x509
+                        ? new LeafCertificateKeyManager(x509, this.leafCache)
+                        : managers[i];
+            }
+            return wrapped;
+        }
+    }
+
     /**
      * ルート証明書からメモリ上に生成したサーバー証明書のデバッグ情報を出力する。
      */
     private void logInMemoryServerCertificate(String rootCertificatePath, X509Certificate rootCert,
             X509Certificate serverCert, SslContextFactory.Server serverFactory) {
         log.debug("メモリ上のサーバー証明書を生成しました（ルート証明書: {}）", rootCertificatePath);
-        log.debug("  生成パラメータ: CN={}, O={}, エイリアス={}, 鍵長=2048bit, 保存先=メモリ（PKCS12ファイル未作成）",
+        log.debug("  生成パラメータ: CN={}, O={}, エイリアス={}, 鍵=EC P-256（ホスト別証明書と共有）, 保存先=メモリ（PKCS12ファイル未作成）",
                 SslCertificateUtil.DEFAULT_CERT_CN,
                 SslCertificateUtil.DEFAULT_CERT_ORG,
                 SslCertificateUtil.SERVER_CERT_ALIAS);
@@ -0,0 +1,333 @@
+package logbook.internal.ssl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import logbook.internal.ThreadManager;
+import logbook.plugin.PluginServices;
+
+/**
+ * ホスト別のサーバー証明書（リーフ証明書）のキャッシュ。
+ * <p>
+ * TLS ハンドシェイクの SNI で要求されたホストごとに、ルート CA で署名した証明書を遅延生成する。
+ * 鍵ペアは全ホストで共有する EC（P-256）鍵を 1 つだけ事前に用意するため、
+ * 新しいホストでの生成コストは署名 1 回分になる。
+ * </p>
+ * <ul>
+ * <li>メモリ: 最近使ったホストを指定件数まで保持する（LRU）</li>
+ * <li>ディスク: PKCS12（共有鍵 + ホストごとの証明書チェーン）に保存し、再起動後も再利用する。
+ *     読み込み時に、現在のルート CA で署名されていない・期限が近い証明書は捨てる</li>
+ * <li>事前生成: {@link #prewarm(Collection, Executor)} で既知のホストをバックグラウンドで用意する</li>
+ * </ul>
+ */
+@Slf4j
+public final class LeafCertificateCache {
+
+    /** メモリに保持する既定の件数 */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    /** 事前生成するホスト一覧のリソース */
+    static final String PREWARM_HOSTS_RESOURCE = "logbook/ssl_prewarm_hosts.txt";
+
+    /** 有効期限までの残りがこれを下回る証明書は作り直す */
+    private static final long RENEW_BEFORE_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private final ServerCertificateGenerator.CaIdentity caIdentity;
+    private final KeyPair keyPair;
+    private final Path diskFile;
+    private final int maxEntries;
+    private final String org;
+    private final int validityDays;
+    private final Map<String, X509Certificate[]> lru;
+    private final Map<String, CompletableFuture<X509Certificate[]>> inflight = new ConcurrentHashMap<>();
+    private final Object saveLock = new Object();
+
+    private LeafCertificateCache(ServerCertificateGenerator.CaIdentity caIdentity, KeyPair keyPair, Path diskFile,
+            int maxEntries, String org, int validityDays, Map<String, X509Certificate[]> loaded) {
+        this.caIdentity = caIdentity;
+        this.keyPair = keyPair;
+        this.diskFile = diskFile;
+        this.maxEntries = maxEntries;
+        this.org = org;
+        this.validityDays = validityDays;
+        this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, X509Certificate[]> eldest) {
+                return size() > LeafCertificateCache.this.maxEntries;
+            }
+        };
+        this.lru.putAll(loaded);
+    }
+
+    /**
+     * キャッシュを開く。ディスクキャッシュが無い・読めない場合は共有鍵を新しく生成する。
+     *
+     * @param caIdentity 署名に使うルート CA
+     * @param diskFile ディスクキャッシュ（PKCS12）、{@code null} の場合はメモリのみ
+     * @param maxEntries メモリ・ディスクに保持する件数
+     * @return キャッシュ
+     * @throws Exception 鍵の生成に失敗した場合
+     */
+    public static LeafCertificateCache open(ServerCertificateGenerator.CaIdentity caIdentity, Path diskFile,
+            int maxEntries) throws Exception {
+        ServerCertificateGenerator.ensureBouncyCastleProvider();
+        Map<String, X509Certificate[]> loaded = new LinkedHashMap<>();
+        KeyPair keyPair = diskFile != null ? loadDiskCache(caIdentity, diskFile, loaded) : null;
+        if (keyPair == null) {
+            keyPair = ServerCertificateGenerator.generateEcKeyPair();
+            loaded.clear();
+        }
+        return new LeafCertificateCache(caIdentity, keyPair, diskFile, maxEntries,
+                SslCertificateUtil.DEFAULT_CERT_ORG, ServerCertificateGenerator.DEFAULT_SERVER_VALIDITY_DAYS, loaded);
+    }
+
+    /**
+     * 全ホストで共有する鍵ペア。
+     */
+    public KeyPair keyPair() {
+        return this.keyPair;
+    }
+
+    /**
+     * ホストの証明書チェーン（リーフ, ルート CA）を返す。未生成の場合はこのスレッドで生成し、
+     * ディスクキャッシュへの保存は共有 Executor で行う。
+     * 同じホストの生成が並行した場合は 1 回だけ生成し、結果を共有する。
+     *
+     * @param host ホスト名
+     * @return 証明書チェーン
+     */
+    public X509Certificate[] chain(String host) {
+        return chain(host, true);
+    }
+
+    private X509Certificate[] chain(String host, boolean saveOnCreate) {
+        String key = normalize(host);
+        synchronized (this.lru) {
+            X509Certificate[] cached = this.lru.get(key);
+            if (cached != null && !expiresSoon(cached[0])) {
+                return cached;
+            }
+        }
+        CompletableFuture<X509Certificate[]> created = new CompletableFuture<>();
+        CompletableFuture<X509Certificate[]> existing = this.inflight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            X509Certificate[] chain = generate(key);
+            synchronized (this.lru) {
+                this.lru.put(key, chain);
+            }
+            created.complete(chain);
+            if (saveOnCreate && this.diskFile != null) {
+                ThreadManager.getExecutorService().execute(this::save);
+            }
+            return chain;
+        } catch (Exception e) {
+            created.completeExceptionally(e);
+            throw new IllegalStateException("サーバー証明書の生成に失敗しました: " + key, e);
+        } finally {
+            this.inflight.remove(key);
+        }
+    }
+
+    /**
+     * メモリ上に有効な証明書があるか。
+     */
+    boolean contains(String host) {
+        synchronized (this.lru) {
+            X509Certificate[] cached = this.lru.get(normalize(host));
+            return cached != null && !expiresSoon(cached[0]);
+        }
+    }
+
+    /**
+     * 指定したホストの証明書をバックグラウンドで用意し、完了後にディスクへ保存する。
+     *
+     * @param hosts ホスト名
+     * @param executor 生成に使う Executor
+     * @return 完了を表す Future
+     */
+    public CompletableFuture<Void> prewarm(Collection<String> hosts, Executor executor) {
+        List<String> missing = hosts.stream()
+                .filter(host -> !contains(host))
+                .toList();
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            for (String host : missing) {
+                try {
+                    chain(host, false);
+                } catch (RuntimeException e) {
+                    log.warn("サーバー証明書の事前生成に失敗しました: {}", host, e);
+                }
+            }
+            log.debug("サーバー証明書を事前生成しました: {}件, {}ms", missing.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            save();
+        }, executor);
+    }
+
+    /**
+     * メモリ上の証明書をディスクキャッシュへ書き出す。
+     */
+    public void save() {
+        if (this.diskFile == null) {
+            return;
+        }
+        Map<String, X509Certificate[]> snapshot;
+        synchronized (this.lru) {
+            snapshot = new LinkedHashMap<>(this.lru);
+        }
+        synchronized (this.saveLock) {
+            try {
+                char[] password = SslCertificateUtil.SERVER_CERTIFICATE_PASSWORD.toCharArray();
+                KeyStore keyStore = KeyStore.getInstance("PKCS12");
+                keyStore.load(null, null);
+                for (Map.Entry<String, X509Certificate[]> entry : snapshot.entrySet()) {
+                    keyStore.setKeyEntry(entry.getKey(), this.keyPair.getPrivate(), password, entry.getValue());
+                }
+                Path parent = this.diskFile.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                Path tmp = this.diskFile.resolveSibling(this.diskFile.getFileName() + ".tmp");
+                try (var out = Files.newOutputStream(tmp)) {
+                    keyStore.store(out, password);
+                }
+                Files.move(tmp, this.diskFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (Exception e) {
+                log.warn("サーバー証明書キャッシュの保存に失敗しました: {}", this.diskFile, e);
+            }
+        }
+    }
+
+    /**
+     * 事前生成するホスト一覧（{@value #PREWARM_HOSTS_RESOURCE}、1 行 1 ホスト、{@code #} 以降はコメント）。
+     *
+     * @return ホスト名
+     */
+    public static List<String> prewarmHosts() {
+        try (InputStream in = PluginServices.getResourceAsStream(PREWARM_HOSTS_RESOURCE)) {
+            if (in == null) {
+                return List.of();
+            }
+            List<String> hosts = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comment = line.indexOf('#');
+                String host = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (!host.isEmpty()) {
+                    hosts.add(host);
+                }
+            }
+            return Collections.unmodifiableList(hosts);
+        } catch (IOException e) {
+            log.warn("事前生成するホスト一覧を読み込めませんでした", e);
+            return List.of();
+        }
+    }
+
+    private X509Certificate[] generate(String host) throws Exception {
+        long start = System.nanoTime();
+        ServerCertificateGenerator.SignedServerCertificate signed = ServerCertificateGenerator
+                .createSignedServerCertificate(this.caIdentity, this.keyPair, host, this.org, this.validityDays);
+        log.debug("サーバー証明書を生成しました: {} ({}µs)", host,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        return new X509Certificate[] { signed.certificate(), this.caIdentity.certificate() };
+    }
+
+    /**
+     * ディスクキャッシュを読み込み、有効な証明書を {@code loaded} に入れて共有鍵を返す。
+     * 読めない・現在のルート CA と一致しない場合は {@code null}。
+     */
+    private static KeyPair loadDiskCache(ServerCertificateGenerator.CaIdentity caIdentity, Path diskFile,
+            Map<String, X509Certificate[]> loaded) {
+        if (!Files.isRegularFile(diskFile)) {
+            return null;
+        }
+        try {
+            char[] password = SslCertificateUtil.SERVER_CERTIFICATE_PASSWORD.toCharArray();
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            try (InputStream in = Files.newInputStream(diskFile)) {
+                keyStore.load(in, password);
+            }
+            KeyPair keyPair = null;
+            Enumeration<String> aliases = keyStore.aliases();
+            while (aliases.hasMoreElements()) {
+                String alias = aliases.nextElement();
+                Key key = keyStore.getKey(alias, password);
+                Certificate[] chain = keyStore.getCertificateChain(alias);
+                if (!(key instanceof PrivateKey privateKey) || chain == null || chain.length == 0
+                        || !(chain[0] instanceof X509Certificate leaf)) {
+                    continue;
+                }
+                if (keyPair == null) {
+                    keyPair = new KeyPair(leaf.getPublicKey(), privateKey);
+                }
+                if (!keyPair.getPublic().equals(leaf.getPublicKey()) || !isIssuedBy(leaf, caIdentity)
+                        || expiresSoon(leaf)) {
+                    continue;
+                }
+                loaded.put(alias, new X509Certificate[] { leaf, caIdentity.certificate() });
+            }
+            if (keyPair == null || loaded.isEmpty()) {
+                return null;
+            }
+            log.debug("サーバー証明書キャッシュを読み込みました: {} ({}件)", diskFile, loaded.size());
+            return keyPair;
+        } catch (Exception e) {
+            log.warn("サーバー証明書キャッシュを読み込めませんでした。作り直します: {}", diskFile, e);
+            return null;
+        }
+    }
+
+    private static boolean isIssuedBy(X509Certificate leaf, ServerCertificateGenerator.CaIdentity caIdentity) {
+        try {
+            leaf.verify(caIdentity.certificate().getPublicKey());
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean expiresSoon(X509Certificate certificate) {
+        return certificate.getNotAfter().before(new Date(System.currentTimeMillis() + RENEW_BEFORE_MILLIS));
+    }
+
+    private static String normalize(String host) {
+        return host.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,116 @@
+package logbook.internal.ssl;
+
+import java.net.Socket;
+import java.security.Principal;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+import javax.net.ssl.ExtendedSSLSession;
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SNIServerName;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.StandardConstants;
+import javax.net.ssl.X509ExtendedKeyManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SNI のホスト名に応じて {@link LeafCertificateCache} の証明書を選ぶ {@link X509ExtendedKeyManager}。
+ * <p>
+ * SNI が無い場合や、クライアントが EC 以外の鍵種別だけを要求した場合は、
+ * 元の KeyManager（KeyStore のワイルドカード証明書）に委譲する。
+ * </p>
+ */
+@Slf4j
+final class LeafCertificateKeyManager extends X509ExtendedKeyManager {
+
+    /** キャッシュの証明書を表すエイリアスの接頭辞 */
+    static final String ALIAS_PREFIX = "leaf:";
+
+    private final X509ExtendedKeyManager delegate;
+    private final LeafCertificateCache cache;
+    private final String keyType;
+
+    LeafCertificateKeyManager(X509ExtendedKeyManager delegate, LeafCertificateCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.keyType = cache.keyPair().getPublic().getAlgorithm();
+    }
+
+    @Override
+    public String chooseEngineServerAlias(String keyType, Principal[] issuers, SSLEngine engine) {
+        String host = this.keyType.equals(keyType) ? requestedHost(engine) : null;
+        if (host != null) {
+            try {
+                this.cache.chain(host);
+                return ALIAS_PREFIX + host;
+            } catch (RuntimeException e) {
+                log.warn("SNI {} の証明書を用意できませんでした。既定の証明書を使用します", host, e);
+            }
+        }
+        return this.delegate.chooseEngineServerAlias(keyType, issuers, engine);
+    }
+
+    @Override
+    public X509Certificate[] getCertificateChain(String alias) {
+        if (alias != null && alias.startsWith(ALIAS_PREFIX)) {
+            return this.cache.chain(alias.substring(ALIAS_PREFIX.length())).clone();
+        }
+        return this.delegate.getCertificateChain(alias);
+    }
+
+    @Override
+    public PrivateKey getPrivateKey(String alias) {
+        if (alias != null && alias.startsWith(ALIAS_PREFIX)) {
+            return this.cache.keyPair().getPrivate();
+        }
+        return this.delegate.getPrivateKey(alias);
+    }
+
+    @Override
+    public String[] getServerAliases(String keyType, Principal[] issuers) {
+        return this.delegate.getServerAliases(keyType, issuers);
+    }
+
+    @Override
+    public String chooseServerAlias(String keyType, Principal[] issuers, Socket socket) {
+        return this.delegate.chooseServerAlias(keyType, issuers, socket);
+    }
+
+    @Override
+    public String[] getClientAliases(String keyType, Principal[] issuers) {
+        return this.delegate.getClientAliases(keyType, issuers);
+    }
+
+    @Override
+    public String chooseClientAlias(String[] keyType, Principal[] issuers, Socket socket) {
+        return this.delegate.chooseClientAlias(keyType, issuers, socket);
+    }
+
+    @Override
+    public String chooseEngineClientAlias(String[] keyType, Principal[] issuers, SSLEngine engine) {
+        return this.delegate.chooseEngineClientAlias(keyType, issuers, engine);
+    }
+
+    private static String requestedHost(SSLEngine engine) {
+        SSLSession session = engine != null ? engine.getHandshakeSession() : null;
+        if (!(session instanceof ExtendedSSLSession extended)) {
+            return null;
+        }
+        List<SNIServerName> names = extended.getRequestedServerNames();
+        for (SNIServerName name : names) {
+            if (name.getType() != StandardConstants.SNI_HOST_NAME) {
+                continue;
+            }
+            try {
+                SNIHostName hostName = name instanceof SNIHostName h ? h : new SNIHostName(name.getEncoded());
+                return hostName.getAsciiName();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
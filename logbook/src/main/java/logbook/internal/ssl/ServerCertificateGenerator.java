@@ -11,6 +11,7 @@ import java.security.KeyStore;
 import java.security.PrivateKey;
 import java.security.SecureRandom;
 import java.security.Security;
+import java.security.spec.ECGenParameterSpec;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.util.Date;
@@ -44,6 +45,8 @@ public final class ServerCertificateGenerator {
 
     private static final int RSA_KEY_SIZE = 2048;
 
+    private static final String EC_CURVE = "secp256r1";
+
     /**
      * ルート CA の証明書と秘密鍵。
      */
@@ -75,6 +78,15 @@ public final class ServerCertificateGenerator {
         return keyGen.generateKeyPair();
     }
 
+    /**
+     * EC（P-256）鍵ペアを生成する。RSA 2048bit より生成・署名とも大幅に速い。
+     */
+    public static KeyPair generateEcKeyPair() throws Exception {
+        KeyPairGenerator keyGen = KeyPairGenerator.getInstance("EC");
+        keyGen.initialize(new ECGenParameterSpec(EC_CURVE), new SecureRandom());
+        return keyGen.generateKeyPair();
+    }
+
     /**
      * PKCS12 からルート CA（秘密鍵付き）を読み込む。
      */
@@ -108,8 +120,15 @@ public final class ServerCertificateGenerator {
      */
     public static SignedServerCertificate createSignedServerCertificate(
             CaIdentity caIdentity, String cn, String org, int validityDays) throws Exception {
+        return createSignedServerCertificate(caIdentity, generateRsaKeyPair(), cn, org, validityDays);
+    }
+
+    /**
+     * 既存の鍵ペアに対してルート CA でサーバー証明書を署名する（ホスト別証明書で鍵ペアを共有する場合）。
+     */
+    public static SignedServerCertificate createSignedServerCertificate(
+            CaIdentity caIdentity, KeyPair serverKeyPair, String cn, String org, int validityDays) throws Exception {
         ensureBouncyCastleProvider();
-        KeyPair serverKeyPair = generateRsaKeyPair();
         X509Certificate serverCert = signServerCertificate(
                 serverKeyPair,
                 caIdentity.privateKey(),
@@ -195,15 +214,18 @@ public final class ServerCertificateGenerator {
         });
         certBuilder.addExtension(Extension.extendedKeyUsage, false, extendedKeyUsage);
 
-        // KeyUsage拡張を追加（DigitalSignature, KeyEncipherment）
+        // KeyUsage拡張を追加（RSA: DigitalSignature, KeyEncipherment / EC: DigitalSignature）
+        boolean ecKey = "EC".equals(serverKeyPair.getPublic().getAlgorithm());
         certBuilder.addExtension(Extension.keyUsage, false,
-                new KeyUsage(KeyUsage.digitalSignature | KeyUsage.keyEncipherment));
-
-        // SAN（Subject Alternative Name）拡張を追加
-        GeneralName[] generalNames = new GeneralName[] {
-                new GeneralName(GeneralName.dNSName, cn),
-                new GeneralName(GeneralName.dNSName, cn.replace("*.", ""))
-        };
+                new KeyUsage(ecKey ? KeyUsage.digitalSignature : KeyUsage.digitalSignature | KeyUsage.keyEncipherment));
+
+        // SAN（Subject Alternative Name）拡張を追加（ワイルドカードの場合は親ドメインも含める）
+        GeneralName[] generalNames = cn.startsWith("*.")
+                ? new GeneralName[] {
+                        new GeneralName(GeneralName.dNSName, cn),
+                        new GeneralName(GeneralName.dNSName, cn.substring(2))
+                }
+                : new GeneralName[] { new GeneralName(GeneralName.dNSName, cn) };
         certBuilder.addExtension(Extension.subjectAlternativeName, false, new GeneralNames(generalNames));
 
         // SubjectKeyIdentifier拡張を追加（サーバー証明書の識別子）
@@ -211,7 +233,8 @@ public final class ServerCertificateGenerator {
         certBuilder.addExtension(Extension.subjectKeyIdentifier, false, subjectKeyId);
 
         // 署名器を作成（CA秘密鍵で署名）
-        ContentSigner signer = new JcaContentSignerBuilder("SHA384withRSA")
+        String signatureAlgorithm = "EC".equals(caPrivateKey.getAlgorithm()) ? "SHA384withECDSA" : "SHA384withRSA";
+        ContentSigner signer = new JcaContentSignerBuilder(signatureAlgorithm)
                 .setProvider(BouncyCastleProvider.PROVIDER_NAME)
                 .build(caPrivateKey);
 
@@ -0,0 +1,30 @@
+package logbook.internal.state;
+
+import java.util.Set;
+
+/**
+ * {@link StateStore#commit()} で確定した 1 つの区分の変更です。
+ * <p>
+ * id は各コレクションの Map のキー（艦娘 ID・装備 ID・艦隊 ID・ドック ID）です。
+ * 同じコミットの中で追加してから削除した id はどこにも含まれません。
+ * </p>
+ *
+ * @param domain 区分
+ * @param version コミット後の版
+ * @param added 追加された id
+ * @param removed 削除された id
+ * @param updated 値が置き換えられた id
+ * @param reset id で表せない変更（入渠中の艦娘の一覧など）があった場合 true。購読側は全体を読み直します
+ */
+public record ChangeEvent(Domain domain, long version, Set<Integer> added, Set<Integer> removed,
+        Set<Integer> updated, boolean reset) {
+
+    /**
+     * id 単位の変更の有無を返します。
+     *
+     * @return id 単位の変更がない場合 true
+     */
+    public boolean isEmpty() {
+        return this.added.isEmpty() && this.removed.isEmpty() && this.updated.isEmpty() && !this.reset;
+    }
+}
@@ -0,0 +1,112 @@
+package logbook.internal.state;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 複数の {@link ChangeEvent} をまとめた変更です。
+ * <p>
+ * 画面が更新までの間に届いた通知を区分ごとにまとめて、どの id が変わったかを調べるために使います。
+ * 追加・削除・置き換えの区別はせず、変わった id として扱います。
+ * </p>
+ */
+public final class ChangeSet {
+
+    /** 区分ごとの変わった id */
+    private final Map<Domain, Set<Integer>> ids = new EnumMap<>(Domain.class);
+
+    /** id で表せない変更があった区分 */
+    private final Set<Domain> reset = EnumSet.noneOf(Domain.class);
+
+    /**
+     * 変更を加えます。
+     *
+     * @param event 変更
+     */
+    public void add(ChangeEvent event) {
+        Set<Integer> set = this.ids.computeIfAbsent(event.domain(), k -> new LinkedHashSet<>());
+        set.addAll(event.added());
+        set.addAll(event.removed());
+        set.addAll(event.updated());
+        if (event.reset()) {
+            this.reset.add(event.domain());
+        }
+    }
+
+    /**
+     * 別の {@link ChangeSet} の変更を加えます。
+     *
+     * @param other 変更
+     */
+    public void addAll(ChangeSet other) {
+        other.ids.forEach((domain, set) -> this.ids.computeIfAbsent(domain, k -> new LinkedHashSet<>()).addAll(set));
+        this.reset.addAll(other.reset);
+    }
+
+    /**
+     * 変更が無いかを返します。
+     *
+     * @return 変更が無い場合 true
+     */
+    public boolean isEmpty() {
+        return this.reset.isEmpty() && this.ids.values().stream().allMatch(Set::isEmpty);
+    }
+
+    /**
+     * 区分に変更があるかを返します。
+     *
+     * @param domain 区分
+     * @return 変更がある場合 true
+     */
+    public boolean contains(Domain domain) {
+        return this.reset.contains(domain) || !this.ids(domain).isEmpty();
+    }
+
+    /**
+     * 区分に id で表せない変更があるかを返します。
+     *
+     * @param domain 区分
+     * @return id で表せない変更がある場合 true
+     */
+    public boolean isReset(Domain domain) {
+        return this.reset.contains(domain);
+    }
+
+    /**
+     * 区分の変わった id を返します。
+     *
+     * @param domain 区分
+     * @return 変わった id（追加・削除・置き換え）
+     */
+    public Set<Integer> ids(Domain domain) {
+        return Collections.unmodifiableSet(this.ids.getOrDefault(domain, Collections.emptySet()));
+    }
+
+    /**
+     * 指定した id のいずれかが変わったかを返します。id で表せない変更がある場合も true を返します。
+     *
+     * @param domain 区分
+     * @param ids 調べる id
+     * @return いずれかが変わった場合 true
+     */
+    public boolean affects(Domain domain, Collection<Integer> ids) {
+        if (this.reset.contains(domain)) {
+            return true;
+        }
+        Set<Integer> changed = this.ids.get(domain);
+        if (changed == null || changed.isEmpty()) {
+            return false;
+        }
+        for (Integer id : ids) {
+            if (changed.contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
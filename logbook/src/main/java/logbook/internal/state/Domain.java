@@ -0,0 +1,19 @@
+package logbook.internal.state;
+
+/**
+ * {@link StateStore} が版を管理するゲーム状態の区分です。
+ */
+public enum Domain {
+
+    /** 艦娘（{@link logbook.bean.ShipCollection}） */
+    SHIP,
+
+    /** 装備（{@link logbook.bean.SlotItemCollection}） */
+    SLOT_ITEM,
+
+    /** 艦隊（{@link logbook.bean.DeckPortCollection}） */
+    DECK_PORT,
+
+    /** 入渠ドック（{@link logbook.bean.NdockCollection}） */
+    NDOCK;
+}
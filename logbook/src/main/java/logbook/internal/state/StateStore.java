@@ -0,0 +1,209 @@
+package logbook.internal.state;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+import logbook.internal.LoggerHolder;
+
+/**
+ * ゲーム状態（艦娘・装備・艦隊・入渠ドック）の版と変更通知を管理します。
+ * <p>
+ * 各コレクションの Map は {@link TrackedMap} で、{@code put} / {@code remove} などの変更を区分ごとに溜めます。
+ * {@link #commit()} で溜めた変更を確定し、区分の版を 1 つ進め、{@link ChangeEvent} を購読者へ通知します。
+ * コミットは {@link logbook.internal.APIListener} が API ハンドラの実行後に呼びます。
+ * </p>
+ * <p>
+ * 画面は一定間隔で状態全体のハッシュ値を計算して比較する代わりに、{@link #subscribe(Domain, Consumer)} で変更を受け取り、
+ * 変わった id に関係する部分だけを更新します。複数の通知は {@link ChangeSet} にまとめられます。
+ * </p>
+ * <p>
+ * 変更は Map への {@code put} 単位で検知するため、Map の値（{@link logbook.bean.Ship} など）は
+ * {@code clone()} してから書き換えて {@code put} し直してください。値を書き換えただけでは変更として記録されません。
+ * 同じリクエストのハンドラは並行して動くため、1 回のコミットに他のハンドラの途中までの変更が含まれることがあります。
+ * 残りの変更はそのハンドラのコミットで通知されます。
+ * </p>
+ */
+public final class StateStore {
+
+    private static final Domain[] DOMAINS = Domain.values();
+
+    /** 区分ごとの版 */
+    private static final AtomicLongArray VERSIONS = new AtomicLongArray(DOMAINS.length);
+
+    /** 未確定の変更（{@link #PENDING} でロックする） */
+    private static final Map<Domain, Pending> PENDING = new EnumMap<>(Domain.class);
+
+    /** 購読者 */
+    private static final Map<Domain, List<Consumer<ChangeEvent>>> LISTENERS = new EnumMap<>(Domain.class);
+
+    /** 通知の順序を版の順に揃えるためのロック */
+    private static final Object COMMIT_LOCK = new Object();
+
+    static {
+        for (Domain domain : DOMAINS) {
+            LISTENERS.put(domain, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    private StateStore() {
+    }
+
+    /**
+     * 区分の現在の版を返します。
+     *
+     * @param domain 区分
+     * @return 版（コミットのたびに増える）
+     */
+    public static long version(Domain domain) {
+        return VERSIONS.get(domain.ordinal());
+    }
+
+    /**
+     * 複数の区分の版をまとめた値を返します。いずれかの区分がコミットされると値が変わります。
+     *
+     * @param domains 区分
+     * @return 版の合計
+     */
+    public static long version(Domain... domains) {
+        long sum = 0;
+        for (Domain domain : domains) {
+            sum += VERSIONS.get(domain.ordinal());
+        }
+        return sum;
+    }
+
+    /**
+     * 区分の変更を購読します。
+     * <p>
+     * 通知はコミットしたスレッド（API ハンドラのスレッド）で行います。画面を更新する場合は
+     * {@code Platform.runLater} などで JavaFX スレッドに移してください。
+     * </p>
+     *
+     * @param domain 区分
+     * @param listener 購読者
+     */
+    public static void subscribe(Domain domain, Consumer<ChangeEvent> listener) {
+        LISTENERS.get(domain).add(listener);
+    }
+
+    /**
+     * 区分の変更の購読をやめます。
+     *
+     * @param domain 区分
+     * @param listener 購読者
+     */
+    public static void unsubscribe(Domain domain, Consumer<ChangeEvent> listener) {
+        LISTENERS.get(domain).remove(listener);
+    }
+
+    /**
+     * id で表せない変更を記録します（入渠中の艦娘の一覧の置き換えなど）。
+     *
+     * @param domain 区分
+     */
+    public static void markChanged(Domain domain) {
+        synchronized (PENDING) {
+            pending(domain).reset = true;
+        }
+    }
+
+    /**
+     * 溜めた変更を確定し、変更のあった区分の版を進めて購読者に通知します。
+     * 変更がなければ何もしません。
+     */
+    public static void commit() {
+        synchronized (COMMIT_LOCK) {
+            List<ChangeEvent> events;
+            synchronized (PENDING) {
+                if (PENDING.isEmpty()) {
+                    return;
+                }
+                events = new ArrayList<>(PENDING.size());
+                for (Map.Entry<Domain, Pending> entry : PENDING.entrySet()) {
+                    Domain domain = entry.getKey();
+                    Pending pending = entry.getValue();
+                    if (pending.isEmpty()) {
+                        continue;
+                    }
+                    long version = VERSIONS.incrementAndGet(domain.ordinal());
+                    events.add(new ChangeEvent(domain, version,
+                            Collections.unmodifiableSet(pending.added),
+                            Collections.unmodifiableSet(pending.removed),
+                            Collections.unmodifiableSet(pending.updated),
+                            pending.reset));
+                }
+                PENDING.clear();
+            }
+            for (ChangeEvent event : events) {
+                for (Consumer<ChangeEvent> listener : LISTENERS.get(event.domain())) {
+                    try {
+                        listener.accept(event);
+                    } catch (Exception e) {
+                        LoggerHolder.get().warn("状態の変更通知に失敗しました: " + event.domain(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    static void added(Domain domain, Integer id) {
+        synchronized (PENDING) {
+            Pending pending = pending(domain);
+            if (pending.removed.remove(id)) {
+                // 同じコミットで削除してから追加した場合は置き換えとみなす
+                pending.updated.add(id);
+            } else {
+                pending.added.add(id);
+            }
+        }
+    }
+
+    static void removed(Domain domain, Integer id) {
+        synchronized (PENDING) {
+            Pending pending = pending(domain);
+            if (!pending.added.remove(id)) {
+                pending.updated.remove(id);
+                pending.removed.add(id);
+            }
+        }
+    }
+
+    static void updated(Domain domain, Integer id) {
+        synchronized (PENDING) {
+            Pending pending = pending(domain);
+            if (!pending.added.contains(id)) {
+                pending.updated.add(id);
+            }
+        }
+    }
+
+    private static Pending pending(Domain domain) {
+        return PENDING.computeIfAbsent(domain, k -> new Pending());
+    }
+
+    /**
+     * 1 つの区分の未確定の変更
+     */
+    private static final class Pending {
+
+        private final Set<Integer> added = new LinkedHashSet<>();
+
+        private final Set<Integer> removed = new LinkedHashSet<>();
+
+        private final Set<Integer> updated = new LinkedHashSet<>();
+
+        private boolean reset;
+
+        private boolean isEmpty() {
+            return this.added.isEmpty() && this.removed.isEmpty() && this.updated.isEmpty() && !this.reset;
+        }
+    }
+}
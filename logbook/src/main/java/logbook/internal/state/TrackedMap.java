@@ -0,0 +1,325 @@
+package logbook.internal.state;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import logbook.internal.IntLinkedHashMap;
+
+/**
+ * 変更を {@link StateStore} に記録する Map です。
+ * <p>
+ * 中身は {@link IntLinkedHashMap} で、挿入順は {@link LinkedHashMap} と同じです。値の置き換えは、同じインスタンスを {@code put} し直した場合と、
+ * {@code equals} で異なる値を {@code put} した場合に記録します。{@code equals} で等しい別のインスタンスへの
+ * 置き換えは記録しません。
+ * </p>
+ * <p>
+ * 書き換えは同期し、書き換えるたびに新しい中身を作って差し替えます。API ハンドラのスレッドで書き換えている間も、
+ * 同期せずに読む JavaFX スレッドからは書き換えの前か後の揃った中身が見えます（走査中の中身も変わりません）。
+ * 書き換えのたびに中身をコピーするため、多くの値を書き換える場合は {@link #assign(Map)} や
+ * {@link #putAll(Map)} でまとめて書き換えてください。
+ * </p>
+ *
+ * @param <V> 値の型
+ */
+public final class TrackedMap<V> extends AbstractMap<Integer, V> implements Serializable {
+
+    private static final long serialVersionUID = 7129310485662386051L;
+
+    private final Domain domain;
+
+    /** 中身（書き換えずに、新しい中身と差し替える） */
+    private volatile Map<Integer, V> delegate;
+
+    private transient Set<Map.Entry<Integer, V>> entrySet;
+
+    private transient BiConsumer<? super V, ? super V> observer;
+
+    /**
+     * 空の Map を作成します。
+     *
+     * @param domain 変更を記録する区分
+     */
+    public TrackedMap(Domain domain) {
+        this.domain = domain;
+        this.delegate = new IntLinkedHashMap<>();
+    }
+
+    /**
+     * 内容をコピーした Map を作成します。コピーは変更として記録しません。
+     *
+     * @param domain 変更を記録する区分
+     * @param map 初期の内容
+     */
+    public TrackedMap(Domain domain, Map<Integer, ? extends V> map) {
+        this.domain = domain;
+        this.delegate = new IntLinkedHashMap<>(map);
+    }
+
+    /**
+     * 内容を置き換え、差分を変更として記録します。
+     * <p>
+     * Map を丸ごと差し替えるセッター（{@code setShipMap} など）から呼びます。
+     * {@code equals} で等しい値は {@link #putIfChanged(Integer, Object)} と同じく今のインスタンスを残します。
+     * </p>
+     *
+     * @param map 新しい内容
+     */
+    public void assign(Map<Integer, ? extends V> map) {
+        if (map == this) {
+            return;
+        }
+        synchronized (this) {
+            Map<Integer, V> current = this.delegate;
+            // 挿入順は新しい内容に合わせる
+            Map<Integer, V> next = new IntLinkedHashMap<>();
+            for (Map.Entry<Integer, ? extends V> entry : map.entrySet()) {
+                V old = current.get(entry.getKey());
+                V value = entry.getValue();
+                next.put(entry.getKey(), old != null && old != value && old.equals(value) ? old : value);
+            }
+            this.delegate = next;
+            for (Map.Entry<Integer, V> entry : current.entrySet()) {
+                if (!next.containsKey(entry.getKey())) {
+                    StateStore.removed(this.domain, entry.getKey());
+                    this.fireChanged(entry.getValue(), null);
+                }
+            }
+            for (Map.Entry<Integer, ? extends V> entry : map.entrySet()) {
+                V old = current.get(entry.getKey());
+                V value = entry.getValue();
+                if (old == null || old == value || !old.equals(value)) {
+                    this.record(entry.getKey(), current.containsKey(entry.getKey()), old, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * 値が変わった場合だけ置き換えます。
+     * <p>
+     * {@code equals} で等しい別のインスタンスの場合は、今のインスタンスを残して何もしません。
+     * 画面やキャッシュ（{@link logbook.internal.gui.ShipTablePane} など）はインスタンスが同じかで変更を判定するため、
+     * API のたびに作り直した値で変わっていない値を置き換えないようにします。
+     * 同じインスタンスを渡した場合は {@link #put(Integer, Object)} と同じく置き換えとして記録します。
+     * </p>
+     *
+     * @param key キー
+     * @param value 値
+     * @return 追加または置き換えた場合 true
+     */
+    public synchronized boolean putIfChanged(Integer key, V value) {
+        V old = this.delegate.get(key);
+        if (old != null && old != value && old.equals(value)) {
+            return false;
+        }
+        this.put(key, value);
+        return true;
+    }
+
+    /**
+     * 値の追加・削除・置き換えのたびに呼ばれる処理を設定します。
+     * <p>
+     * 集計値を差分で更新する場合に使います（{@link logbook.bean.SlotItemCollection} の装備数など）。
+     * 処理は変更したスレッドで呼ばれ、引数は変更前の値（追加の場合は null）と変更後の値（削除の場合は null）です。
+     * </p>
+     *
+     * @param observer 変更前の値と変更後の値を受け取る処理
+     */
+    public void observe(BiConsumer<? super V, ? super V> observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * 区分を返します。
+     *
+     * @return 区分
+     */
+    public Domain getDomain() {
+        return this.domain;
+    }
+
+    @Override
+    public int size() {
+        return this.delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.delegate.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.delegate.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return this.delegate.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return this.delegate.get(key);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        return this.delegate.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public synchronized V put(Integer key, V value) {
+        Map<Integer, V> next = new IntLinkedHashMap<>(this.delegate);
+        boolean present = next.containsKey(key);
+        V old = next.put(key, value);
+        this.delegate = next;
+        this.record(key, present, old, value);
+        return old;
+    }
+
+    @Override
+    public synchronized void putAll(Map<? extends Integer, ? extends V> map) {
+        Map<Integer, V> current = this.delegate;
+        Map<Integer, V> next = new IntLinkedHashMap<>(current);
+        next.putAll(map);
+        this.delegate = next;
+        for (Map.Entry<? extends Integer, ? extends V> entry : map.entrySet()) {
+            this.record(entry.getKey(), current.containsKey(entry.getKey()), current.get(entry.getKey()),
+                    entry.getValue());
+        }
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        if (!this.delegate.containsKey(key)) {
+            return null;
+        }
+        Map<Integer, V> next = new IntLinkedHashMap<>(this.delegate);
+        V old = next.remove(key);
+        this.delegate = next;
+        StateStore.removed(this.domain, (Integer) key);
+        this.fireChanged(old, null);
+        return old;
+    }
+
+    @Override
+    public synchronized void clear() {
+        Map<Integer, V> current = this.delegate;
+        this.delegate = new IntLinkedHashMap<>();
+        for (Map.Entry<Integer, V> entry : current.entrySet()) {
+            StateStore.removed(this.domain, entry.getKey());
+            this.fireChanged(entry.getValue(), null);
+        }
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super Integer, ? super V> action) {
+        this.delegate.forEach(action);
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        Set<Map.Entry<Integer, V>> es = this.entrySet;
+        if (es == null) {
+            es = this.entrySet = new EntrySet();
+        }
+        return es;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || this.delegate.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.delegate.hashCode();
+    }
+
+    /**
+     * 値の追加・置き換えを記録します。
+     */
+    private void record(Integer key, boolean present, V old, V value) {
+        if (!present) {
+            StateStore.added(this.domain, key);
+        } else if (old == value || !Objects.equals(old, value)) {
+            StateStore.updated(this.domain, key);
+        }
+        this.fireChanged(old, value);
+    }
+
+    private void fireChanged(V oldValue, V newValue) {
+        BiConsumer<? super V, ? super V> o = this.observer;
+        if (o != null) {
+            o.accept(oldValue, newValue);
+        }
+    }
+
+    /**
+     * 削除と {@link Map.Entry#setValue(Object)} を記録するビュー（走査するのは走査を始めた時の中身）
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, V>> {
+
+        @Override
+        public int size() {
+            return TrackedMap.this.delegate.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return TrackedMap.this.delegate.entrySet().contains(o);
+        }
+
+        @Override
+        public Iterator<Map.Entry<Integer, V>> iterator() {
+            Iterator<Map.Entry<Integer, V>> it = TrackedMap.this.delegate.entrySet().iterator();
+            return new Iterator<>() {
+
+                private Map.Entry<Integer, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Map.Entry<Integer, V> next() {
+                    Map.Entry<Integer, V> entry = it.next();
+                    this.last = entry;
+                    return new SimpleEntry<>(entry) {
+
+                        private static final long serialVersionUID = 1L;
+
+                        @Override
+                        public V setValue(V value) {
+                            super.setValue(value);
+                            return TrackedMap.this.put(this.getKey(), value);
+                        }
+                    };
+                }
+
+                @Override
+                public void remove() {
+                    if (this.last == null) {
+                        throw new IllegalStateException();
+                    }
+                    TrackedMap.this.remove(this.last.getKey());
+                    this.last = null;
+                }
+            };
+        }
+
+        @Override
+        public void clear() {
+            TrackedMap.this.clear();
+        }
+    }
+}
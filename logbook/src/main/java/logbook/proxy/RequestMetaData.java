@@ -27,6 +27,9 @@ public interface RequestMetaData {
 
     /**
      * このリクエストから取得できるパラメータを返します
+     * <p>
+     * プロキシが渡す実装では変更できないMapを返し、解析結果は同じリクエストを受け取るリスナー間で共有されます。
+     * </p>
      * @return パラメータのMap
      */
     Map<String, List<String>> getParameterMap();
@@ -55,6 +58,30 @@ public interface RequestMetaData {
         return def;
     }
 
+    /**
+     * このリクエストから取得できるパラメータを int で返します
+     *
+     * @param key パラメータのキー
+     * @return パラメータのキーに対応する値
+     * @throws NumberFormatException 存在しない場合、または整数でない場合
+     */
+    default int getInt(String key) {
+        return Integer.parseInt(this.getParameter(key));
+    }
+
+    /**
+     * このリクエストから取得できるパラメータを int で返します
+     *
+     * @param key パラメータのキー
+     * @param def 存在しない場合のデフォルト値
+     * @return パラメータのキーに対応する値
+     * @throws NumberFormatException 整数でない場合
+     */
+    default int getInt(String key, int def) {
+        String v = this.getParameter(key);
+        return v != null ? Integer.parseInt(v) : def;
+    }
+
     /**
      * リクエストされた URL のパスの後ろに含まれているクエリ文字列を返します
      * @return クエリ文字列
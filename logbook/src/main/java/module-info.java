@@ -1,5 +1,6 @@
 module logbook {
     requires static lombok;
+    requires static logbook.processor;
     requires tools.jackson.core;
     requires javafx.media;
     requires javafx.swing;
@@ -7,6 +8,10 @@ module logbook {
     requires jdk.jsobject;
     requires org.eclipse.jetty.ee11.servlet;
     requires org.eclipse.jetty.http;
+    // トンネル内の静的リソースを共有のHTTP/2接続で送る（ALPN実装はServiceLoaderで読み込まれる）
+    requires org.eclipse.jetty.http2.client;
+    requires org.eclipse.jetty.http2.client.transport;
+    requires org.eclipse.jetty.alpn.java.client;
     requires org.slf4j;
     requires ch.qos.logback.classic;
     requires ch.qos.logback.core;
@@ -15,6 +20,8 @@ module logbook {
     requires org.eclipse.jetty.compression.gzip;
     requires org.eclipse.jetty.compression.brotli;
     requires org.eclipse.jetty.compression.zstandard;
+    // API キャプチャの辞書圧縮・フレーム単位圧縮（zstd-jni）
+    requires com.github.luben.zstd_jni;
     requires org.bouncycastle.provider;
     requires org.bouncycastle.pkix;
     // JMX Exporter（-javaagent）利用時に jlink イメージへ含める
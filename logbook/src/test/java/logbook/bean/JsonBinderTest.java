@@ -0,0 +1,68 @@
+package logbook.bean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 生成した JSON バインダー（{@code @JsonBinder}）のテスト。
+ */
+class JsonBinderTest {
+
+    private static final String SHIP = """
+            {"api_id":12,"api_ship_id":"145","api_lv":99,"api_exp":[1000000,0,0.5],
+             "api_nowhp":37,"api_maxhp":37,"api_slot":[1,2,-1,-1,-1],"api_slot_ex":0,
+             "api_srate":"N/A","api_cond":49,"api_locked":1,"api_locked_equip":0,
+             "api_ndock_item":null,"api_sp_effect_items":[{"api_kind":1,"api_raig":2}]}
+            """;
+
+    @Test
+    void treeBinderConvertsLikeJsonHelper() {
+        Ship ship = Ship.toShip(read(SHIP));
+
+        assertEquals(12, ship.getId());
+        assertEquals(145, ship.getShipId());
+        assertEquals(List.of(1000000, 0, 0), ship.getExp());
+        assertEquals(List.of(1, 2, -1, -1, -1), ship.getSlot());
+        assertNull(ship.getSrate());
+        assertNull(ship.getNdockItem());
+        assertEquals(Boolean.TRUE, ship.getLocked());
+        assertEquals(Boolean.FALSE, ship.getLockedEquip());
+        // キーが無い場合は初期値のまま
+        assertEquals(0, ship.getSallyArea());
+        assertEquals(1, ship.getSpEffectItems().size());
+    }
+
+    @Test
+    void streamBinderMatchesTreeBinder() {
+        Ship expected = new Ship();
+        ShipJsonBinder.bind(read(SHIP), expected);
+
+        Ship actual = new Ship();
+        Map<String, JsonValue> other = new HashMap<>();
+        try (JsonParser parser = Json.createParser(new StringReader(SHIP))) {
+            parser.next();
+            ShipJsonBinder.bind(parser, actual, other::put);
+        }
+        assertEquals(expected, actual);
+        assertEquals(Map.of("api_sp_effect_items", read(SHIP).get("api_sp_effect_items")), other);
+    }
+
+    private static JsonObject read(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package logbook.bean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import logbook.internal.state.ChangeEvent;
+import logbook.internal.state.Domain;
+import logbook.internal.state.StateStore;
+
+/**
+ * {@link ShipCollection} のテスト。
+ */
+class ShipCollectionTest {
+
+    @Test
+    void mergeKeepsUnchangedInstancesAndReportsChanges() {
+        ShipCollection collection = new ShipCollection();
+        Ship first = ship(1, 49, 30);
+        Ship second = ship(2, 49, 30);
+        collection.replace(List.of(first, second));
+
+        ShipCollection.Delta delta = collection.merge(List.of(ship(1, 49, 30), ship(2, 53, 25), ship(3, 49, 40)));
+
+        // 値が変わっていない艦娘は今のインスタンスを残す
+        assertSame(first, collection.getShipMap().get(1));
+        assertEquals(53, collection.getShipMap().get(2).getCond());
+        assertEquals(List.of(3), ids(delta.added()));
+        assertTrue(delta.removed().isEmpty());
+        assertEquals(1, delta.changed().size());
+        assertSame(second, delta.changed().get(0).before());
+        assertEquals(1, delta.condChanged().size());
+        assertEquals(1, delta.hpChanged().size());
+    }
+
+    @Test
+    void replaceRemovesMissingShipsAndFollowsOrder() {
+        ShipCollection collection = new ShipCollection();
+        collection.replace(List.of(ship(1, 49, 30), ship(2, 49, 30), ship(3, 49, 30)));
+
+        ShipCollection.Delta delta = collection.replace(List.of(ship(3, 49, 30), ship(1, 40, 30)));
+
+        assertEquals(List.of(3, 1), new ArrayList<>(collection.getShipMap().keySet()));
+        assertEquals(List.of(2), ids(delta.removed()));
+        assertTrue(delta.added().isEmpty());
+        assertEquals(1, delta.condChanged().size());
+        assertTrue(delta.hpChanged().isEmpty());
+    }
+
+    @Test
+    void replaceRecordsOnlyDifferences() {
+        ShipCollection collection = new ShipCollection();
+        collection.replace(List.of(ship(1, 49, 30), ship(2, 49, 30)));
+        StateStore.commit();
+        List<ChangeEvent> events = new ArrayList<>();
+        Consumer<ChangeEvent> listener = events::add;
+        StateStore.subscribe(Domain.SHIP, listener);
+        try {
+            collection.replace(List.of(ship(2, 49, 30), ship(1, 40, 30), ship(4, 49, 30)));
+            StateStore.commit();
+
+            assertEquals(1, events.size());
+            assertEquals(Set.of(4), events.get(0).added());
+            assertTrue(events.get(0).removed().isEmpty());
+            assertEquals(Set.of(1), events.get(0).updated());
+        } finally {
+            StateStore.unsubscribe(Domain.SHIP, listener);
+        }
+    }
+
+    @Test
+    void readersKeepIteratingTheContentTheyStartedWith() {
+        ShipCollection collection = new ShipCollection();
+        collection.replace(List.of(ship(1, 49, 30), ship(2, 49, 30)));
+
+        Iterator<Ship> reading = collection.getShipMap().values().iterator();
+        assertEquals(1, reading.next().getId());
+        // 並べ替えを伴う置き換えの途中の中身(空など)は見えない
+        collection.replace(List.of(ship(3, 49, 30), ship(2, 49, 30)));
+
+        assertEquals(2, reading.next().getId());
+        assertFalse(reading.hasNext());
+        assertEquals(List.of(3, 2), new ArrayList<>(collection.getShipMap().keySet()));
+    }
+
+    private static Ship ship(int id, int cond, int nowhp) {
+        Ship ship = new Ship();
+        ship.setId(id);
+        ship.setCond(cond);
+        ship.setNowhp(nowhp);
+        ship.setMaxhp(40);
+        return ship;
+    }
+
+    private static List<Integer> ids(List<Ship> ships) {
+        return ships.stream().map(Ship::getId).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package logbook.bean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import logbook.internal.JsonMappers;
+
+/**
+ * {@link SlotItemCollection} の装備定義IDごとの所有数のテスト。
+ */
+class SlotItemCollectionTest {
+
+    @Test
+    void countsFollowPutRemoveAndReplace() {
+        SlotItemCollection collection = new SlotItemCollection();
+        Map<Integer, SlotItem> map = collection.getSlotitemMap();
+
+        map.put(1, item(1, 10));
+        map.put(2, item(2, 10));
+        map.put(3, item(3, 20));
+        assertEquals(2, collection.countBySlotitemId(10));
+        assertEquals(1, collection.countBySlotitemId(20));
+
+        // 改修による更新(装備定義IDが変わる)
+        map.put(2, item(2, 30));
+        assertEquals(1, collection.countBySlotitemId(10));
+        assertEquals(1, collection.countBySlotitemId(30));
+
+        map.remove(1);
+        map.values().removeIf(e -> e.getSlotitemId() == 20);
+        assertEquals(0, collection.countBySlotitemId(10));
+        assertEquals(0, collection.countBySlotitemId(20));
+        assertEquals(Map.of(30, 1), collection.countsBySlotitemId());
+    }
+
+    @Test
+    void countsFollowAssign() {
+        SlotItemCollection collection = new SlotItemCollection();
+        collection.getSlotitemMap().put(1, item(1, 10));
+
+        Map<Integer, SlotItem> next = new LinkedHashMap<>();
+        next.put(2, item(2, 20));
+        next.put(3, item(3, 20));
+        collection.setSlotitemMap(next);
+
+        assertEquals(Map.of(20, 2), collection.countsBySlotitemId());
+    }
+
+    @Test
+    void countsAreRebuiltAfterDeserialization() throws Exception {
+        SlotItemCollection collection = new SlotItemCollection();
+        collection.getSlotitemMap().put(1, item(1, 10));
+        collection.getSlotitemMap().put(2, item(2, 10));
+
+        String json = JsonMappers.MAPPER.writeValueAsString(collection);
+        assertFalse(json.contains("counts"));
+
+        SlotItemCollection read = JsonMappers.LENIENT_READER.forType(SlotItemCollection.class).readValue(json);
+        assertEquals(2, read.countBySlotitemId(10));
+    }
+
+    private static SlotItem item(int id, int slotitemId) {
+        SlotItem item = new SlotItem();
+        item.setId(id);
+        item.setSlotitemId(slotitemId);
+        return item;
+    }
+}
@@ -0,0 +1,78 @@
+package logbook.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.core.type.TypeReference;
+
+/**
+ * {@link IntLinkedHashMap} のテスト。
+ */
+class IntLinkedHashMapTest {
+
+    @Test
+    void keepsInsertionOrderLikeLinkedHashMap() {
+        IntLinkedHashMap<String> map = new IntLinkedHashMap<>();
+        map.put(30, "a");
+        map.put(10, "b");
+        map.put(20, "c");
+        map.put(10, "b2");
+        map.remove(30);
+        map.put(30, "a2");
+
+        assertEquals(List.of(10, 20, 30), new ArrayList<>(map.keySet()));
+        assertEquals(List.of("b2", "c", "a2"), new ArrayList<>(map.values()));
+        assertNull(map.get(40));
+    }
+
+    @Test
+    void matchesLinkedHashMapUnderRandomOperations() {
+        Random random = new Random(1);
+        IntLinkedHashMap<Integer> map = new IntLinkedHashMap<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(2000) * 64;
+            switch (random.nextInt(4)) {
+            case 0, 1 -> assertEquals(expected.put(key, i), map.put(key, i));
+            case 2 -> assertEquals(expected.remove(key), map.remove((Object) key));
+            default -> assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        for (Iterator<Map.Entry<Integer, Integer>> it = map.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Integer, Integer> entry = it.next();
+            if (entry.getKey() % 3 == 0) {
+                it.remove();
+            } else {
+                entry.setValue(-entry.getValue());
+            }
+        }
+        expected.entrySet().removeIf(e -> e.getKey() % 3 == 0);
+        expected.replaceAll((k, v) -> -v);
+
+        assertEquals(expected, map);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+    }
+
+    @Test
+    void serializesToSameJson() throws Exception {
+        Map<Integer, String> expected = new LinkedHashMap<>();
+        expected.put(2, "b");
+        expected.put(1, "a");
+        IntLinkedHashMap<String> map = new IntLinkedHashMap<>(expected);
+
+        String json = JsonMappers.MAPPER.writeValueAsString(map);
+        assertEquals(JsonMappers.MAPPER.writeValueAsString(expected), json);
+
+        Map<Integer, String> read = JsonMappers.MAPPER.readValue(json, new TypeReference<Map<Integer, String>>() {});
+        assertEquals(map, IntLinkedHashMap.of(read));
+    }
+}
@@ -0,0 +1,53 @@
+package logbook.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.json.JsonException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link JsonSlices} のテスト。
+ */
+class JsonSlicesTest {
+
+    private static final String JSON = """
+            {"api_result":1,"api_result_msg":"成功","api_data":{
+              "api_mst_ship":[{"api_id":1,"api_name":"睦月","api_getmes":"\\"{[ ]}\\""}],
+              "api_mst_stype" : [ ],
+              "api_mst_const":{"api_boko_max_ships":{"api_int_value":100}},
+              "api_n":-1.5e3}}
+            """;
+
+    @Test
+    void slicesMembersInOrder() {
+        Map<String, String> data = JsonSlices.members(JSON, "api_data");
+
+        assertEquals(List.of("api_mst_ship", "api_mst_stype", "api_mst_const", "api_n"),
+                List.copyOf(data.keySet()));
+        assertEquals("[{\"api_id\":1,\"api_name\":\"睦月\",\"api_getmes\":\"\\\"{[ ]}\\\"\"}]",
+                data.get("api_mst_ship"));
+        assertEquals("[ ]", data.get("api_mst_stype"));
+        assertEquals("{\"api_boko_max_ships\":{\"api_int_value\":100}}", data.get("api_mst_const"));
+        assertEquals("-1.5e3", data.get("api_n"));
+    }
+
+    @Test
+    void returnsNullWhenPathIsMissing() {
+        assertNull(JsonSlices.members(JSON, "api_none"));
+        assertNull(JsonSlices.members(JSON, "api_result"));
+        assertEquals(Map.of("api_int_value", "100"),
+                JsonSlices.members(JSON, "api_data", "api_mst_const", "api_boko_max_ships"));
+    }
+
+    @Test
+    void rejectsTruncatedJson() {
+        assertThrows(JsonException.class,
+                () -> JsonSlices.members("{\"api_data\":{\"api_mst_ship\":[{\"api_id\":1}", "api_data"));
+    }
+}
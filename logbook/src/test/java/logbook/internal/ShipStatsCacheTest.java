@@ -0,0 +1,123 @@
+package logbook.internal;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import logbook.bean.DeckPort;
+import logbook.bean.DeckPortCollection;
+import logbook.bean.Ship;
+import logbook.bean.ShipCollection;
+import logbook.bean.SlotItem;
+import logbook.bean.SlotItemCollection;
+import logbook.internal.state.StateStore;
+
+/**
+ * {@link ShipStatsCache} のテスト。
+ * <p>
+ * 計算結果({@link ShipStatsCache.Stats})は初めて参照したときに計算するため、
+ * 同じインスタンスが返れば計算結果を使い回し、別のインスタンスが返れば計算し直したとみなします。
+ * </p>
+ */
+class ShipStatsCacheTest {
+
+    private static final int SHIP_ID = 990001;
+
+    private static final int ITEM_ID = 990002;
+
+    private static final int DECK_ID = 99;
+
+    private Ship ship;
+
+    @BeforeEach
+    void putShip() {
+        this.ship = new Ship();
+        this.ship.setId(SHIP_ID);
+        this.ship.setSlot(List.of(ITEM_ID, -1, -1, -1, -1));
+        ShipCollection.get().getShipMap().put(SHIP_ID, this.ship);
+        StateStore.commit();
+    }
+
+    @AfterEach
+    void removeState() {
+        ShipCollection.get().getShipMap().remove(SHIP_ID);
+        SlotItemCollection.get().getSlotitemMap().remove(ITEM_ID);
+        DeckPortCollection.get().getDeckPortMap().remove(DECK_ID);
+        StateStore.commit();
+    }
+
+    @Test
+    void reusedWhenNothingChanged() {
+        ShipStatsCache.Stats stats = ShipStatsCache.get(this.ship);
+
+        assertSame(stats, ShipStatsCache.get(this.ship));
+        StateStore.commit();
+        assertSame(stats, ShipStatsCache.get(this.ship));
+    }
+
+    @Test
+    void reusedAfterDeckChange() {
+        ShipStatsCache.Stats stats = ShipStatsCache.get(this.ship);
+
+        // 艦隊の編成は艦娘1隻ごとの計算結果に影響しない
+        DeckPort deck = new DeckPort();
+        deck.setId(DECK_ID);
+        deck.setShip(List.of(SHIP_ID, -1, -1, -1, -1, -1));
+        DeckPortCollection.get().getDeckPortMap().put(DECK_ID, deck);
+        StateStore.commit();
+
+        assertSame(stats, ShipStatsCache.get(this.ship));
+    }
+
+    @Test
+    void recomputedAfterShipIsReplaced() {
+        ShipStatsCache.Stats stats = ShipStatsCache.get(this.ship);
+
+        Ship replaced = this.ship.clone();
+        replaced.setLv(2);
+        ShipCollection.get().getShipMap().put(SHIP_ID, replaced);
+        StateStore.commit();
+
+        assertNotSame(stats, ShipStatsCache.get(replaced));
+    }
+
+    @Test
+    void recomputedAfterShipIsPutAgain() {
+        ShipStatsCache.Stats stats = ShipStatsCache.get(this.ship);
+
+        // 同じインスタンスを put し直した場合も変更として記録される
+        ShipCollection.get().getShipMap().put(SHIP_ID, this.ship);
+        StateStore.commit();
+
+        ShipStatsCache.Stats recomputed = ShipStatsCache.get(this.ship);
+        assertNotSame(stats, recomputed);
+        assertSame(recomputed, ShipStatsCache.get(this.ship));
+    }
+
+    @Test
+    void recomputedAfterItemChange() {
+        ShipStatsCache.Stats stats = ShipStatsCache.get(this.ship);
+
+        SlotItem item = new SlotItem();
+        item.setId(ITEM_ID);
+        item.setSlotitemId(1);
+        SlotItemCollection.get().getSlotitemMap().put(ITEM_ID, item);
+        StateStore.commit();
+
+        ShipStatsCache.Stats recomputed = ShipStatsCache.get(this.ship);
+        assertNotSame(stats, recomputed);
+        assertSame(recomputed, ShipStatsCache.get(this.ship));
+    }
+
+    @Test
+    void shipsOutsideTheCollectionAreNotCached() {
+        Ship enemy = this.ship.clone();
+
+        assertNotSame(ShipStatsCache.get(enemy), ShipStatsCache.get(enemy));
+    }
+}
@@ -0,0 +1,137 @@
+package logbook.internal.capture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link ApiCaptureArchive} / {@link ApiCaptureSegmentIndex} のテスト。
+ */
+class ApiCaptureArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ApiCaptureArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        this.archive = new ApiCaptureArchive(tempDir);
+    }
+
+    @Test
+    void writesSidecarIndexPerSegment() throws Exception {
+        Path segment = writeSample(3);
+        Path index = ApiCaptureSegmentIndex.indexPath(segment);
+        assertTrue(Files.exists(index));
+
+        ApiCaptureSegmentIndex loaded = ApiCaptureSegmentIndex.load(index);
+        assertEquals(6, loaded.entries().size());
+        assertEquals(0L, loaded.entries().get(0).offset());
+        assertEquals(Files.size(segment), loaded.entries().get(5).end());
+        assertEquals("/kcsapi/api_port/port", loaded.uriPath(loaded.entries().get(0).pathId()));
+    }
+
+    @Test
+    void queryFiltersByUriPath() throws Exception {
+        writeSample(3);
+        List<ApiCaptureEnvelope> next = this.archive.query(
+                ApiCaptureQuery.all().withUriPath("/kcsapi/api_req_map/next"));
+        assertEquals(List.of("next-0", "next-1", "next-2"), requestIds(next));
+
+        List<ApiCaptureEnvelope> prefix = this.archive.query(
+                ApiCaptureQuery.all().withUriPath("/kcsapi/api_req_map/*"));
+        assertEquals(3, prefix.size());
+    }
+
+    @Test
+    void queryFiltersByRequestId() throws Exception {
+        writeSample(3);
+        List<ApiCaptureEnvelope> hit = this.archive.query(ApiCaptureQuery.all().withRequestId("port-1"));
+        assertEquals(1, hit.size());
+        assertEquals("/kcsapi/api_port/port", hit.get(0).uriPath());
+        assertEquals("svdata={\"n\":1}", hit.get(0).response());
+    }
+
+    @Test
+    void queryFiltersByTimeRange() throws Exception {
+        writeSample(2);
+        Instant now = Instant.now();
+        assertEquals(4, this.archive.query(
+                ApiCaptureQuery.all().withRange(now.minus(1, ChronoUnit.HOURS), now.plus(1, ChronoUnit.HOURS)))
+                .size());
+        assertEquals(0, this.archive.query(
+                ApiCaptureQuery.all().withRange(now.plus(1, ChronoUnit.HOURS), null))
+                .size());
+    }
+
+    @Test
+    void scansSegmentWithoutIndex() throws Exception {
+        Path segment = writeSample(2);
+        Files.delete(ApiCaptureSegmentIndex.indexPath(segment));
+
+        List<ApiCaptureEnvelope> next = this.archive.query(
+                ApiCaptureQuery.all().withUriPath("/kcsapi/api_req_map/next"));
+        assertEquals(List.of("next-0", "next-1"), requestIds(next));
+    }
+
+    @Test
+    void scansRangeMissingFromTruncatedIndex() throws Exception {
+        Path segment = writeSample(2);
+        Path index = ApiCaptureSegmentIndex.indexPath(segment);
+        // 末尾エントリを途中で切る（異常終了の再現）
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        assertEquals(3, ApiCaptureSegmentIndex.load(index).entries().size());
+
+        assertEquals(List.of("port-0", "next-0", "port-1", "next-1"),
+                requestIds(this.archive.query(ApiCaptureQuery.all())));
+    }
+
+    @Test
+    void forEachStopsWhenActionReturnsFalse() throws Exception {
+        writeSample(3);
+        int[] seen = new int[1];
+        this.archive.forEach(ApiCaptureQuery.all(), envelope -> ++seen[0] < 2);
+        assertEquals(2, seen[0]);
+    }
+
+    @Test
+    void parseTimeAcceptsInstantLocalDateTimeAndDate() {
+        assertEquals(Instant.parse("2026-07-12T03:00:00Z"), ApiCaptureQueryTool.parseTime("2026-07-12T03:00:00Z"));
+        assertTrue(ApiCaptureQueryTool.parseTime("2026-07-12T21:00") != null);
+        assertTrue(ApiCaptureQueryTool.parseTime("2026-07-12") != null);
+    }
+
+    private Path writeSample(int rounds) throws Exception {
+        ApiCaptureSegmentStore store = new ApiCaptureSegmentStore(() -> LocalDate.now());
+        try {
+            for (int i = 0; i < rounds; i++) {
+                store.append(tempDir, new ApiCaptureRecord(
+                        "port-" + i, "POST", "/kcsapi/api_port/port", null, "svdata={\"n\":" + i + "}"));
+                store.append(tempDir, new ApiCaptureRecord(
+                        "next-" + i, "POST", "/kcsapi/api_req_map/next", "api_cell_id=" + i, "svdata={}"));
+            }
+            return store.currentSegmentPath();
+        } finally {
+            store.closeQuietly();
+        }
+    }
+
+    private static List<String> requestIds(List<ApiCaptureEnvelope> envelopes) {
+        return envelopes.stream().map(ApiCaptureEnvelope::requestId).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package logbook.internal.capture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link ApiCaptureDictionary} / {@link ApiCaptureDictionaries} と辞書モードの書き込み・読み込みのテスト。
+ */
+class ApiCaptureDictionaryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 7, 12);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void trainsAndReloadsDictionary() throws Exception {
+        ApiCaptureDictionary dictionary = trainSample();
+        assertNotEquals(0L, dictionary.id());
+
+        ApiCaptureDictionaries dictionaries = new ApiCaptureDictionaries(tempDir);
+        dictionaries.save(dictionary, true);
+
+        ApiCaptureDictionaries reloaded = new ApiCaptureDictionaries(tempDir);
+        assertEquals(dictionary.id(), reloaded.current().orElseThrow().id());
+        assertTrue(reloaded.get(dictionary.id()).isPresent());
+        assertTrue(reloaded.get(12345L).isEmpty());
+    }
+
+    @Test
+    void writesAndReadsDictionaryCompressedSegment() throws Exception {
+        ApiCaptureDictionary dictionary = trainSample();
+        new ApiCaptureDictionaries(tempDir).save(dictionary, true);
+
+        ApiCaptureSegmentStore store = new ApiCaptureSegmentStore(
+                () -> DATE, ApiCaptureSegmentStore.MAX_SEGMENT_RECORDS, () -> true);
+        Path segment;
+        try {
+            store.append(tempDir, record("req-1", 1));
+            store.append(tempDir, record("req-2", 2));
+            segment = store.currentSegmentPath();
+        } finally {
+            store.closeQuietly();
+        }
+
+        ApiCaptureSegmentIndex index = ApiCaptureSegmentIndex.load(ApiCaptureSegmentIndex.indexPath(segment));
+        assertEquals(dictionary.id(), index.dictionaryId());
+
+        List<ApiCaptureEnvelope> found = new ApiCaptureArchive(tempDir)
+                .query(ApiCaptureQuery.all().withRequestId("req-2"));
+        assertEquals(1, found.size());
+        assertTrue(found.get(0).response().contains("\"api_id\":2"));
+    }
+
+    @Test
+    void rotatesPartWhenDictionaryChanges() throws Exception {
+        ApiCaptureSegmentStore plain = new ApiCaptureSegmentStore(() -> DATE);
+        try {
+            plain.append(tempDir, record("plain", 1));
+        } finally {
+            plain.closeQuietly();
+        }
+
+        new ApiCaptureDictionaries(tempDir).save(trainSample(), true);
+        ApiCaptureSegmentStore withDictionary = new ApiCaptureSegmentStore(
+                () -> DATE, ApiCaptureSegmentStore.MAX_SEGMENT_RECORDS, () -> true);
+        try {
+            withDictionary.append(tempDir, record("dict", 2));
+            assertEquals(
+                    tempDir.resolve("segments").resolve("2026-07-12.part2.jsonl.zst"),
+                    withDictionary.currentSegmentPath());
+        } finally {
+            withDictionary.closeQuietly();
+        }
+
+        List<ApiCaptureEnvelope> all = new ApiCaptureArchive(tempDir).query(ApiCaptureQuery.all());
+        assertEquals(List.of("plain", "dict"), all.stream().map(ApiCaptureEnvelope::requestId).toList());
+    }
+
+    private static ApiCaptureDictionary trainSample() {
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            samples.add(sampleJson(i).getBytes(StandardCharsets.UTF_8));
+        }
+        return ApiCaptureDictionary.train(samples, 1024 * 1024, 4096);
+    }
+
+    private static ApiCaptureRecord record(String requestId, int i) {
+        return new ApiCaptureRecord(requestId, "POST", "/kcsapi/api_port/port", null, sampleJson(i));
+    }
+
+    private static String sampleJson(int i) {
+        return "svdata={\"api_result\":1,\"api_result_msg\":\"\\u6210\\u529f\",\"api_data\":{\"api_ship\":["
+                + "{\"api_id\":" + i + ",\"api_sortno\":" + (i % 300) + ",\"api_ship_id\":" + (i * 7 % 900)
+                + ",\"api_lv\":" + (i % 175) + ",\"api_nowhp\":" + (i % 90) + ",\"api_maxhp\":" + (i % 90 + 5)
+                + ",\"api_slot\":[" + i + "," + (i + 1) + ",-1,-1,-1],\"api_cond\":" + (i % 100) + "}]}}";
+    }
+}
@@ -0,0 +1,118 @@
+package logbook.internal.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link PulseScheduler} のテスト。
+ */
+class PulseSchedulerTest {
+
+    private long now;
+
+    /** タイマーに渡された待機（発火は手動で行う） */
+    private final List<Armed> timers = new ArrayList<>();
+
+    private final List<String> ran = new ArrayList<>();
+
+    private final PulseScheduler scheduler = new PulseScheduler(() -> this.now, this::schedule, Runnable::run);
+
+    @Test
+    void coalescesTasksDueAtTheSameTime() {
+        this.now = 100;
+        this.scheduler.add("a", 1000, null, null, () -> this.ran.add("a"));
+        this.now = 300;
+        this.scheduler.add("b", 1000, null, null, () -> this.ran.add("b"));
+
+        // 同じ間隔の更新は同じ時刻に揃うため、タイマーは 1 つだけ
+        assertEquals(1, this.timers.size());
+        assertEquals(900, this.timers.get(0).delay);
+
+        this.now = 1000;
+        this.timers.get(0).fire();
+        assertEquals(List.of("a", "b"), this.ran);
+        assertEquals(2, this.timers.size());
+        assertEquals(1000, this.timers.get(1).delay);
+    }
+
+    @Test
+    void firesInDeadlineOrder() {
+        this.scheduler.add("slow", 1000, null, null, () -> this.ran.add("slow"));
+        this.scheduler.add("fast", 300, null, null, () -> this.ran.add("fast"));
+
+        // 早い時刻の更新が加わったら、待機し直す
+        assertEquals(2, this.timers.size());
+        assertTrue(this.timers.get(0).future.isCancelled());
+        // 取り消す前に発火していたタイマーは何もしない
+        this.timers.get(0).fire();
+        assertTrue(this.ran.isEmpty());
+
+        for (int i = 0; i < 4; i++) {
+            Armed armed = this.timers.get(this.timers.size() - 1);
+            this.now += armed.delay;
+            armed.fire();
+        }
+        assertEquals(List.of("fast", "fast", "fast", "slow"), this.ran);
+        assertEquals(1000, this.now);
+    }
+
+    @Test
+    void stopsWhenNothingIsScheduled() {
+        this.scheduler.post(() -> this.ran.add("once"));
+        assertEquals(1, this.timers.size());
+
+        this.now = 1;
+        this.timers.get(0).fire();
+        assertEquals(List.of("once"), this.ran);
+        assertEquals(1, this.timers.size());
+    }
+
+    @Test
+    void skipsUnchangedInputAndCancelledTasks() {
+        long[] input = { 1 };
+        PulseScheduler.Task cancelled = this.scheduler.add("cancelled", 100, null, null,
+                () -> this.ran.add("cancelled"));
+        this.scheduler.add("input", 100, null, () -> input[0], () -> this.ran.add("input"));
+        cancelled.cancel();
+
+        this.now = 100;
+        this.timers.get(0).fire();
+        assertTrue(this.ran.isEmpty());
+
+        input[0] = 2;
+        this.now = 200;
+        this.timers.get(1).fire();
+        assertEquals(List.of("input"), this.ran);
+    }
+
+    private Future<?> schedule(long delay, Runnable action) {
+        Armed armed = new Armed(delay, action);
+        this.timers.add(armed);
+        return armed.future;
+    }
+
+    private static final class Armed {
+
+        private final long delay;
+
+        private final Runnable action;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Armed(long delay, Runnable action) {
+            this.delay = delay;
+            this.action = action;
+        }
+
+        private void fire() {
+            this.action.run();
+        }
+    }
+}
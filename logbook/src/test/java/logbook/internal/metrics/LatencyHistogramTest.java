@@ -0,0 +1,77 @@
+package logbook.internal.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link LatencyHistogram} / {@link MetricsRegistry} のテスト。
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void bucketBoundsCoverEveryValue() {
+        for (long v = 0; v < 100_000; v++) {
+            int index = LatencyHistogram.bucketIndex(v);
+            assertTrue(v <= LatencyHistogram.bucketUpperBound(index), "value=" + v);
+            assertTrue(index == 0 || v > LatencyHistogram.bucketUpperBound(index - 1), "value=" + v);
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    void percentilesStayWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1_000L, snapshot.count());
+        assertEquals(1_000_000L, snapshot.max());
+        assertEquals(500_500.0, snapshot.mean(), 0.001);
+        assertWithin(500_000L, snapshot.percentile(0.50));
+        assertWithin(990_000L, snapshot.percentile(0.99));
+        assertEquals(1_000_000L, snapshot.percentile(1.0));
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0L, snapshot.percentile(0.99));
+        assertEquals(0.0, snapshot.mean());
+    }
+
+    @Test
+    void timerCountsErrorsSeparately() {
+        LatencyTimer timer = MetricsRegistry.timer("test_timer", "path", "/kcsapi/api_port/port");
+        timer.recordMillis(5);
+        timer.recordErrorNanos(2_000_000L);
+        assertEquals(2L, timer.getCount());
+        assertEquals(1L, timer.getErrors());
+        assertEquals(5.0, timer.getMaxMillis(), 0.001);
+        assertTrue(timer == MetricsRegistry.timer("test_timer", "path", "/kcsapi/api_port/port"));
+    }
+
+    @Test
+    void overflowLabelValuesShareOneCounter() {
+        for (int i = 0; i < MetricsRegistry.MAX_LABEL_VALUES; i++) {
+            MetricsRegistry.counter("test_overflow", "path", "/" + i);
+        }
+        MetricCounter other = MetricsRegistry.counter("test_overflow", "path", MetricsRegistry.OVERFLOW_LABEL_VALUE);
+        assertTrue(other == MetricsRegistry.counter("test_overflow", "path", "/over"));
+        // 2 回目以降は集約先を直接引く
+        assertTrue(other == MetricsRegistry.counter("test_overflow", "path", "/over"));
+    }
+
+    @Test
+    void sanitizeReplacesObjectNameSpecialCharacters() {
+        assertEquals("/kcsapi/api_port/port", MetricsRegistry.sanitize("/kcsapi/api_port/port"));
+        assertEquals("a_b_c", MetricsRegistry.sanitize("a,b=c"));
+        assertEquals("none", MetricsRegistry.sanitize(null));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 8, "expected≈" + expected + " actual=" + actual);
+    }
+}
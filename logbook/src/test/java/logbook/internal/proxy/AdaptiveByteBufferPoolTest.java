@@ -0,0 +1,103 @@
+package logbook.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link AdaptiveByteBufferPool} のテスト。
+ */
+class AdaptiveByteBufferPoolTest {
+
+    private static final int KIB = 1024;
+
+    @Test
+    void sizeClassRoundsUpToPowerOfTwo() {
+        assertEquals(0, AdaptiveByteBufferPool.sizeClass(1));
+        assertEquals(0, AdaptiveByteBufferPool.sizeClass(4 * KIB));
+        assertEquals(1, AdaptiveByteBufferPool.sizeClass(4 * KIB + 1));
+        assertEquals(1, AdaptiveByteBufferPool.sizeClass(8 * KIB));
+        assertEquals(2, AdaptiveByteBufferPool.sizeClass(8 * KIB + 1));
+        assertEquals(AdaptiveByteBufferPool.SIZE_CLASSES - 2,
+                AdaptiveByteBufferPool.sizeClass(AdaptiveByteBufferPool.MAX_ADAPTIVE_CAPACITY));
+        assertEquals(AdaptiveByteBufferPool.SIZE_CLASSES - 1,
+                AdaptiveByteBufferPool.sizeClass(AdaptiveByteBufferPool.MAX_ADAPTIVE_CAPACITY + 1));
+    }
+
+    @Test
+    void targetCapacityCoversPercentileWithFloor() {
+        long[] counts = new long[AdaptiveByteBufferPool.SIZE_CLASSES];
+        counts[AdaptiveByteBufferPool.sizeClass(16 * KIB)] = 900;
+        counts[AdaptiveByteBufferPool.sizeClass(1024 * KIB)] = 100;
+
+        assertEquals(1024 * KIB, AdaptiveByteBufferPool.targetCapacity(counts, 1000, 256 * KIB));
+
+        counts[AdaptiveByteBufferPool.sizeClass(1024 * KIB)] = 5;
+        assertEquals(256 * KIB, AdaptiveByteBufferPool.targetCapacity(counts, 905, 256 * KIB));
+    }
+
+    @Test
+    void oversizeRequestsAreCappedAtMaximum() {
+        long[] counts = new long[AdaptiveByteBufferPool.SIZE_CLASSES];
+        counts[AdaptiveByteBufferPool.SIZE_CLASSES - 1] = 10;
+
+        assertEquals(AdaptiveByteBufferPool.MAX_ADAPTIVE_CAPACITY,
+                AdaptiveByteBufferPool.targetCapacity(counts, 10, 256 * KIB));
+    }
+
+    @Test
+    void growsForLargeResponsesAndShrinksAfterRepeatedEvaluations() {
+        AdaptiveByteBufferPool pool = new AdaptiveByteBufferPool(256 * KIB, 64L * KIB * KIB, true, 0);
+        long now = System.nanoTime();
+
+        acquireAndRelease(pool, 600 * KIB, 10);
+        pool.evaluate(now);
+        assertEquals(1024 * KIB, pool.getMaxCapacity());
+
+        for (int i = 1; i < AdaptiveByteBufferPool.SHRINK_EVALUATIONS; i++) {
+            acquireAndRelease(pool, 8 * KIB, 10);
+            pool.evaluate(now);
+            assertEquals(1024 * KIB, pool.getMaxCapacity());
+        }
+        acquireAndRelease(pool, 8 * KIB, 10);
+        pool.evaluate(now);
+        assertEquals(256 * KIB, pool.getMaxCapacity());
+    }
+
+    @Test
+    void fixedPoolKeepsConfiguredSize() {
+        AdaptiveByteBufferPool pool = new AdaptiveByteBufferPool(256 * KIB, 0, false, 0);
+        ArrayByteBufferPool delegate = pool.getDelegate();
+
+        acquireAndRelease(pool, 600 * KIB, 10);
+        pool.evaluate(System.nanoTime());
+
+        assertSame(delegate, pool.getDelegate());
+        assertEquals(256 * KIB, pool.getMaxCapacity());
+    }
+
+    @Test
+    void idleTrimKeepsPoolButReleasesBuffers() {
+        AdaptiveByteBufferPool pool = new AdaptiveByteBufferPool(256 * KIB, 64L * KIB * KIB, true,
+                TimeUnit.SECONDS.toNanos(1));
+        long now = System.nanoTime();
+        acquireAndRelease(pool, 16 * KIB, 1);
+        pool.evaluate(now);
+        ArrayByteBufferPool delegate = pool.getDelegate();
+
+        pool.evaluate(now + TimeUnit.SECONDS.toNanos(2));
+
+        assertSame(delegate, pool.getDelegate());
+        assertEquals(0, delegate.getAvailableHeapMemory() + delegate.getAvailableDirectMemory());
+    }
+
+    private static void acquireAndRelease(AdaptiveByteBufferPool pool, int size, int times) {
+        for (int i = 0; i < times; i++) {
+            pool.acquire(size, false).release();
+        }
+    }
+}
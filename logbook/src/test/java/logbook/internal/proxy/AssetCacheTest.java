@@ -0,0 +1,144 @@
+package logbook.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link AssetCache} のテスト。
+ */
+class AssetCacheTest {
+
+    private static final String URI = "/kcs2/resources/ship/full/0001_1234.png?version=12&t=99";
+
+    private static final String ORIGIN = "https://w01y.kancolle-server.com";
+
+    private static final byte[] BODY = "png-bytes".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void keyKeepsOnlyVersionQuery() {
+        assertEquals("/kcs2/resources/ship/full/0001_1234.png?version=12", AssetCache.key(URI));
+        assertEquals("/kcs2/img/common/common_main.png", AssetCache.key("/kcs2/img/common/common_main.png?t=1"));
+    }
+
+    @Test
+    void onlyGetRequestsForStaticPathsAreCacheable() {
+        assertTrue(AssetCache.isCacheable(request("GET", URI)));
+        assertFalse(AssetCache.isCacheable(request("POST", URI)));
+        assertFalse(AssetCache.isCacheable(request("GET", "/kcsapi/api_port/port")));
+
+        CaptureHolder2.HttpRequest range = request("GET", URI);
+        range.addHeader("Range", "bytes=0-10");
+        assertFalse(AssetCache.isCacheable(range));
+    }
+
+    @Test
+    void storedResponseIsServedAndSurvivesReopen() throws Exception {
+        long now = System.currentTimeMillis();
+        AssetCache cache = AssetCache.open(dir, 1024, Runnable::run, entry -> null);
+
+        assertNull(cache.lookup(request("GET", URI), now));
+        assertTrue(cache.store(URI, ORIGIN, response("max-age=3600", "\"abc\""), BODY, now));
+
+        AssetCache.Hit hit = cache.lookup(request("GET", URI), now + 1000);
+        assertNotNull(hit);
+        assertFalse(hit.stale());
+        assertArrayEquals(BODY, hit.body());
+
+        AssetCache reopened = AssetCache.open(dir, 1024, Runnable::run, entry -> null);
+        assertArrayEquals(BODY, reopened.lookup(request("GET", URI), now + 1000).body());
+    }
+
+    @Test
+    void noStoreResponsesAreNotCached() throws Exception {
+        AssetCache cache = AssetCache.open(dir, 1024, Runnable::run, entry -> null);
+
+        assertFalse(cache.store(URI, ORIGIN, response("no-store", null), BODY, System.currentTimeMillis()));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithoutBody() throws Exception {
+        long now = System.currentTimeMillis();
+        AssetCache cache = AssetCache.open(dir, 1024, Runnable::run, entry -> null);
+        cache.store(URI, ORIGIN, response("max-age=3600", "\"abc\""), BODY, now);
+
+        CaptureHolder2.HttpRequest conditional = request("GET", URI);
+        conditional.addHeader("If-None-Match", "\"abc\"");
+        AssetCache.Hit hit = cache.lookup(conditional, now);
+
+        assertNotNull(hit);
+        assertNull(hit.body());
+        assertTrue(new String(AssetCache.responseHead(hit).array(), StandardCharsets.ISO_8859_1)
+                .startsWith("HTTP/1.1 304 Not Modified\r\n"));
+    }
+
+    @Test
+    void staleEntryIsServedAndRevalidated() throws Exception {
+        long now = System.currentTimeMillis();
+        AtomicInteger revalidations = new AtomicInteger();
+        AssetCache cache = AssetCache.open(dir, 1024, Runnable::run, entry -> {
+            revalidations.incrementAndGet();
+            return new AssetCache.Validation(304, "max-age=3600");
+        });
+        cache.store(URI, ORIGIN, response("max-age=1", "\"abc\""), BODY, now);
+
+        AssetCache.Hit stale = cache.lookup(request("GET", URI), now + TimeUnit.SECONDS.toMillis(5));
+        assertNotNull(stale);
+        assertTrue(stale.stale());
+        assertEquals(1, revalidations.get());
+
+        AssetCache.Hit fresh = cache.lookup(request("GET", URI), System.currentTimeMillis() + 1000);
+        assertFalse(fresh.stale());
+    }
+
+    @Test
+    void changedEntryIsDroppedAfterRevalidation() throws Exception {
+        long now = System.currentTimeMillis();
+        AssetCache cache = AssetCache.open(dir, 1024, Runnable::run,
+                entry -> new AssetCache.Validation(200, null));
+        cache.store(URI, ORIGIN, response("max-age=1", "\"abc\""), BODY, now);
+
+        assertNotNull(cache.lookup(request("GET", URI), now + TimeUnit.SECONDS.toMillis(5)));
+        assertNull(cache.lookup(request("GET", URI), now + TimeUnit.SECONDS.toMillis(5)));
+    }
+
+    @Test
+    void encodedBodyRequiresAcceptEncoding() {
+        assertTrue(AssetCache.acceptsEncoding(null, null));
+        assertFalse(AssetCache.acceptsEncoding(null, "gzip"));
+        assertTrue(AssetCache.acceptsEncoding("gzip, deflate, br", "gzip"));
+        assertFalse(AssetCache.acceptsEncoding("gzip;q=0, br", "gzip"));
+    }
+
+    private static CaptureHolder2.HttpRequest request(String method, String uri) {
+        CaptureHolder2.HttpRequest request = new CaptureHolder2.HttpRequest();
+        request.setRequestLine(method, uri, "HTTP/1.1");
+        return request;
+    }
+
+    private static CaptureHolder2.HttpResponse response(String cacheControl, String etag) {
+        CaptureHolder2.HttpResponse response = new CaptureHolder2.HttpResponse();
+        response.setStatusLine("HTTP/1.1", 200, "OK");
+        response.addHeader("Content-Type", "image/png");
+        response.addHeader("Content-Length", String.valueOf(BODY.length));
+        response.addHeader("Cache-Control", cacheControl);
+        if (etag != null) {
+            response.addHeader("ETag", etag);
+        }
+        return response;
+    }
+}
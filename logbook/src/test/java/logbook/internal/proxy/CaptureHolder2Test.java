@@ -0,0 +1,92 @@
+package logbook.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link CaptureHolder2} のボディ保持切り替え・ヘッダー保持のテスト。
+ */
+class CaptureHolder2Test {
+
+    @Test
+    void skippedBodyIsCountedButNotRetained() {
+        CaptureHolder2 holder = new CaptureHolder2();
+        CaptureHolder2.HttpTransaction transaction = holder.getCurrentTransaction();
+        transaction.getRequest().setRequestLine("GET", "/kcs2/resources/bgm/port/001.mp3", "HTTP/1.1");
+        transaction.getResponse().setStatusLine("HTTP/1.1", 200, "OK");
+        transaction.getResponse().addHeader("Content-Length", "1500");
+        transaction.setRetainBody(false);
+
+        transaction.getResponse().skipBodyChunk(1000);
+        transaction.getResponse().skipBodyChunk(500);
+
+        assertEquals(1500, transaction.getResponse().getBodySize());
+        assertEquals(transaction.getResponse().getContentLength(), transaction.getResponse().getBodySize());
+        assertEquals(0, transaction.getResponse().getRetainedBodySize());
+        assertArrayEquals(new byte[0], transaction.getResponse().getBodyAsBytes());
+        assertEquals(0L, holder.getMemoryUsage());
+    }
+
+    @Test
+    void retainedBodyIsReadable() {
+        CaptureHolder2 holder = new CaptureHolder2();
+        CaptureHolder2.HttpResponse response = holder.getCurrentResponse();
+        byte[] body = "svdata={}".getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(holder.getCurrentTransaction().isRetainBody());
+        response.addBodyChunk(body);
+
+        assertEquals(body.length, response.getBodySize());
+        assertArrayEquals(body, response.getBodyAsBytes());
+    }
+
+    @Test
+    void clearRestoresRetention() {
+        CaptureHolder2.HttpTransaction transaction = new CaptureHolder2.HttpTransaction();
+        transaction.setRetainBody(false);
+        transaction.getRequest().skipBodyChunk(10);
+
+        transaction.clear();
+
+        assertTrue(transaction.isRetainBody());
+        assertEquals(0, transaction.getRequest().getBodySize());
+    }
+
+    @Test
+    void headersAreCaseInsensitiveAndParsedFieldsAreKept() {
+        CaptureHolder2.HttpResponse response = new CaptureHolder2.HttpResponse();
+        HttpField contentType = new HttpField(HttpHeader.CONTENT_TYPE, "text/plain");
+        response.addHeader(contentType);
+        response.addHeader("content-length", "42");
+
+        assertEquals("text/plain", response.getContentType());
+        assertEquals("42", response.getHeader(HttpHeader.CONTENT_LENGTH));
+        assertEquals(42L, response.getContentLength());
+        assertSame(contentType, response.getHeaders().getField(HttpHeader.CONTENT_TYPE));
+    }
+
+    @Test
+    void immutableHeadersAreSharedUntilModified() {
+        CaptureHolder2.HttpRequest request = new CaptureHolder2.HttpRequest();
+        request.addHeader("Host", "w01y.kancolle-server.com");
+
+        HttpFields first = request.getHeaders();
+        assertSame(first, request.getHeaders());
+
+        request.addHeader("Accept-Encoding", "gzip");
+        HttpFields second = request.getHeaders();
+        assertNotSame(first, second);
+        assertEquals(1, first.size());
+        assertEquals("gzip", second.get(HttpHeader.ACCEPT_ENCODING));
+    }
+}
@@ -0,0 +1,98 @@
+package logbook.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jetty.util.Callback;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ClientWriter} のテスト。
+ */
+class ClientWriterTest {
+
+    /** 書き込み先に渡された書き込み（完了は手動で通知する） */
+    private final List<Callback> pending = new ArrayList<>();
+
+    private final List<String> written = new ArrayList<>();
+
+    private final ClientWriter writer = new ClientWriter(this::sink);
+
+    @Test
+    void writesOneAtATimeInOrder() {
+        this.writer.write(Callback.NOOP, buffer("a"));
+        this.writer.write(Callback.NOOP, buffer("b"));
+
+        assertEquals(List.of("a"), this.written);
+        this.pending.remove(0).succeeded();
+        assertEquals(List.of("a", "b"), this.written);
+    }
+
+    @Test
+    void reservedSlotHoldsLaterWrites() {
+        ClientWriter.Slot slot = this.writer.reserve();
+        this.writer.write(Callback.NOOP, buffer("upstream"));
+
+        assertTrue(this.written.isEmpty());
+        slot.write(Callback.NOOP, buffer("local"));
+        assertEquals(List.of("local"), this.written);
+        this.pending.remove(0).succeeded();
+        // 枠を閉じるまでは後の書き込みを待たせる
+        assertEquals(List.of("local"), this.written);
+        slot.end();
+        assertEquals(List.of("local", "upstream"), this.written);
+    }
+
+    @Test
+    void slotAcceptsWritesUntilEnded() {
+        List<String> completed = new ArrayList<>();
+        ClientWriter.Slot slot = this.writer.reserve();
+        this.writer.write(Callback.from(() -> completed.add("next")), buffer("next"));
+
+        slot.write(Callback.from(() -> completed.add("head")), buffer("head"), buffer("body1"));
+        assertEquals(List.of("head"), this.written);
+        this.pending.remove(0).succeeded();
+        assertEquals(List.of("head", "body1"), this.written);
+        assertTrue(completed.isEmpty());
+        this.pending.remove(0).succeeded();
+        assertEquals(List.of("head"), completed);
+
+        slot.write(Callback.from(() -> completed.add("body2")), buffer("body2"));
+        slot.end();
+        this.pending.remove(0).succeeded();
+        this.pending.remove(0).succeeded();
+        assertEquals(List.of("head", "body1", "body2", "next"), this.written);
+        assertEquals(List.of("head", "body2", "next"), completed);
+    }
+
+    @Test
+    void failureFailsQueuedWrites() {
+        List<Throwable> failures = new ArrayList<>();
+        this.writer.write(Callback.NOOP, buffer("a"));
+        this.writer.write(Callback.from(() -> {}, failures::add), buffer("b"));
+
+        Exception cause = new Exception("closed");
+        this.pending.remove(0).failed(cause);
+
+        assertEquals(List.of("a"), this.written);
+        assertEquals(1, failures.size());
+        assertSame(cause, failures.get(0));
+    }
+
+    private void sink(ByteBuffer buffer, Callback callback) {
+        // 前の書き込みが終わる前に次が来ると WritePendingException になる
+        assertTrue(this.pending.isEmpty(), "write pending");
+        this.written.add(StandardCharsets.US_ASCII.decode(buffer).toString());
+        this.pending.add(callback);
+    }
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
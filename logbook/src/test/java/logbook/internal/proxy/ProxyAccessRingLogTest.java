@@ -0,0 +1,147 @@
+package logbook.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link ProxyAccessRingLog} / {@link ProxyAccessRingLogReader} のテスト。
+ */
+class ProxyAccessRingLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writesAndReadsRecords() throws Exception {
+        Path file = tempDir.resolve("access.ring");
+        try (ProxyAccessRingLog ring = ProxyAccessRingLog.open(file, 16)) {
+            append(ring, "/kcsapi/api_port/port", 1);
+            append(ring, "/kcsapi/api_req_map/next", 2);
+        }
+
+        List<ProxyAccessRingLogReader.Entry> entries = ProxyAccessRingLogReader.read(file);
+        assertEquals(2, entries.size());
+        ProxyAccessRingLogReader.Entry first = entries.get(0);
+        assertEquals(1L, first.sequence());
+        assertEquals("POST", first.method());
+        assertEquals("/kcsapi/api_port/port", first.uriPath());
+        assertEquals(200, first.status());
+        assertEquals("COMPLETE", first.outcome());
+        assertEquals(51234, first.clientPort());
+        assertEquals(1, first.elapsedMs());
+        assertEquals(-1, first.contentLength());
+        assertEquals("/kcsapi/api_req_map/next", entries.get(1).uriPath());
+    }
+
+    @Test
+    void overwritesOldestRecordsAndResumesAfterReopen() throws Exception {
+        Path file = tempDir.resolve("access.ring");
+        try (ProxyAccessRingLog ring = ProxyAccessRingLog.open(file, 4)) {
+            for (int i = 1; i <= 6; i++) {
+                append(ring, "/kcsapi/api_port/port", i);
+            }
+        }
+        try (ProxyAccessRingLog ring = ProxyAccessRingLog.open(file, 4)) {
+            append(ring, "/kcsapi/api_get_member/ship_deck", 7);
+        }
+
+        List<ProxyAccessRingLogReader.Entry> entries = ProxyAccessRingLogReader.read(file);
+        assertEquals(List.of(4L, 5L, 6L, 7L), entries.stream().map(ProxyAccessRingLogReader.Entry::sequence).toList());
+        assertEquals("/kcsapi/api_get_member/ship_deck", entries.get(3).uriPath());
+    }
+
+    @Test
+    void recreatesFileWhenCapacityChanges() throws Exception {
+        Path file = tempDir.resolve("access.ring");
+        try (ProxyAccessRingLog ring = ProxyAccessRingLog.open(file, 4)) {
+            append(ring, "/kcsapi/api_port/port", 1);
+        }
+        try (ProxyAccessRingLog ring = ProxyAccessRingLog.open(file, 8)) {
+            append(ring, "/kcsapi/api_req_map/start", 2);
+        }
+
+        List<ProxyAccessRingLogReader.Entry> entries = ProxyAccessRingLogReader.read(file);
+        assertEquals(1, entries.size());
+        assertEquals(1L, entries.get(0).sequence());
+        assertEquals("/kcsapi/api_req_map/start", entries.get(0).uriPath());
+    }
+
+    @Test
+    void newPathsDoNotCollideWithDuplicatedDictionaryLines() throws Exception {
+        Path file = tempDir.resolve("access.ring");
+        try (ProxyAccessRingLog ring = ProxyAccessRingLog.open(file, 8)) {
+            append(ring, "/kcsapi/api_port/port", 1);
+            append(ring, "/kcsapi/api_req_map/start", 2);
+        }
+        // 重複した行（ID 2）を持つ辞書
+        Files.writeString(ProxyAccessRingLog.pathsFile(file), "/kcsapi/api_port/port\n", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        try (ProxyAccessRingLog ring = ProxyAccessRingLog.open(file, 8)) {
+            append(ring, "/kcsapi/api_req_map/next", 3);
+        }
+
+        List<ProxyAccessRingLogReader.Entry> entries = ProxyAccessRingLogReader.read(file);
+        assertEquals(List.of("/kcsapi/api_port/port", "/kcsapi/api_req_map/start", "/kcsapi/api_req_map/next"),
+                entries.stream().map(ProxyAccessRingLogReader.Entry::uriPath).toList());
+    }
+
+    @Test
+    void reopensSharedInstanceAfterShutdown() {
+        String previous = System.getProperty(ProxyAccessRingLog.FILE_PROPERTY);
+        ProxyAccessRingLog.shutdown();
+        System.setProperty(ProxyAccessRingLog.FILE_PROPERTY, tempDir.resolve("shared.ring").toString());
+        try {
+            ProxyAccessRingLog first = ProxyAccessRingLog.getInstance();
+            assertNotNull(first);
+            ProxyAccessRingLog.shutdown();
+
+            ProxyAccessRingLog second = ProxyAccessRingLog.getInstance();
+            assertNotNull(second);
+            assertNotSame(first, second);
+        } finally {
+            ProxyAccessRingLog.shutdown();
+            if (previous != null) {
+                System.setProperty(ProxyAccessRingLog.FILE_PROPERTY, previous);
+            } else {
+                System.clearProperty(ProxyAccessRingLog.FILE_PROPERTY);
+            }
+        }
+    }
+
+    @Test
+    void exportsCsvAndJsonl() throws Exception {
+        Path file = tempDir.resolve("access.ring");
+        try (ProxyAccessRingLog ring = ProxyAccessRingLog.open(file, 4)) {
+            append(ring, "/kcsapi/api_port/port", 1);
+        }
+        List<ProxyAccessRingLogReader.Entry> entries = ProxyAccessRingLogReader.read(file);
+
+        StringWriter csv = new StringWriter();
+        ProxyAccessRingLogExportTool.export(entries, "csv", csv);
+        String[] lines = csv.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("sequence,timestampMillis,method,uriPath,status"));
+        assertTrue(lines[1].startsWith("1,1700000000000,POST,/kcsapi/api_port/port,200,COMPLETE,51234,1,"));
+
+        StringWriter jsonl = new StringWriter();
+        ProxyAccessRingLogExportTool.export(entries, "jsonl", jsonl);
+        assertTrue(jsonl.toString().contains("\"uriPath\":\"/kcsapi/api_port/port\""));
+    }
+
+    private static void append(ProxyAccessRingLog ring, String uriPath, int i) {
+        ring.append(1_700_000_000_000L + i - 1, "POST", uriPath, 200, ProxyAccessLogger.Outcome.COMPLETE,
+                51234, i, 10, 5, 1, 128, 2048, -1);
+    }
+}
@@ -0,0 +1,53 @@
+package logbook.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.junit.jupiter.api.Test;
+
+import logbook.bean.AppConfig;
+
+/**
+ * {@link ProxyThreadPools} のテスト。
+ */
+class ProxyThreadPoolsTest {
+
+    @Test
+    void parsesMode() {
+        assertEquals(ProxyThreadPools.Mode.DEFAULT, ProxyThreadPools.Mode.of(null));
+        assertEquals(ProxyThreadPools.Mode.DEFAULT, ProxyThreadPools.Mode.of(""));
+        assertEquals(ProxyThreadPools.Mode.VIRTUAL, ProxyThreadPools.Mode.of(" Virtual "));
+        assertEquals(ProxyThreadPools.Mode.BOUNDED, ProxyThreadPools.Mode.of("bounded"));
+        assertEquals(ProxyThreadPools.Mode.DEFAULT, ProxyThreadPools.Mode.of("unknown"));
+    }
+
+    @Test
+    void defaultModeKeepsJettyDefaults() {
+        AppConfig config = new AppConfig();
+
+        assertNull(ProxyThreadPools.newThreadPool(config));
+        assertEquals(-1, ProxyThreadPools.selectors(config));
+        assertFalse(ProxyThreadPools.shareServerExecutor(config));
+    }
+
+    @Test
+    void boundedModeAppliesLimits() {
+        AppConfig config = new AppConfig();
+        config.setProxyExecutorMode("bounded");
+        config.setProxyMaxThreads(64);
+        config.setProxyReservedThreads(4);
+        config.setProxySelectorThreads(2);
+
+        ThreadPool pool = ProxyThreadPools.newThreadPool(config);
+
+        QueuedThreadPool queued = (QueuedThreadPool) pool;
+        assertEquals(64, queued.getMaxThreads());
+        assertEquals(4, queued.getReservedThreads());
+        assertEquals(2, ProxyThreadPools.selectors(config));
+        assertTrue(ProxyThreadPools.shareServerExecutor(config));
+    }
+}
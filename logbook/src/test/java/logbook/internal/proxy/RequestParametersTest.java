@@ -0,0 +1,76 @@
+package logbook.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link RequestParameters} のテスト。
+ */
+class RequestParametersTest {
+
+    private static final String FORM = "application/x-www-form-urlencoded";
+
+    @Test
+    void queryAndFormBodyAreMerged() {
+        RequestParameters params = RequestParameters.parse("api_verno=1", "POST", FORM,
+                body("api_token=abc&api_id_items=1%2C2&api_id_items=3&flag"));
+
+        assertEquals("1", params.get("api_verno"));
+        assertEquals("1,2", params.get("api_id_items"));
+        assertEquals(List.of("1,2", "3"), params.asMap().get("api_id_items"));
+        assertEquals("", params.get("flag"));
+        assertNull(params.get("missing"));
+    }
+
+    @Test
+    void bodyIsIgnoredUnlessFormPost() {
+        assertNull(RequestParameters.parse(null, "GET", FORM, body("api_id=1")).get("api_id"));
+        assertNull(RequestParameters.parse(null, "POST", "application/json", body("api_id=1")).get("api_id"));
+        assertSame(RequestParameters.EMPTY, RequestParameters.parse("", "POST", FORM, null));
+    }
+
+    @Test
+    void typedAccessorParsesFirstValue() {
+        RequestParameters params = RequestParameters.parse(null, "POST", FORM, body("api_id=12&api_id=34&bad=x"));
+
+        assertEquals(12, params.getInt("api_id", 0));
+        assertEquals(7, params.getInt("missing", 7));
+        assertThrows(NumberFormatException.class, () -> params.getInt("bad", 0));
+    }
+
+    @Test
+    void resultIsImmutable() {
+        RequestParameters params = RequestParameters.parse("a=1", "GET", null, null);
+
+        assertThrows(UnsupportedOperationException.class, () -> params.asMap().put("b", List.of()));
+        assertThrows(UnsupportedOperationException.class, () -> params.asMap().get("a").add("2"));
+    }
+
+    @Test
+    void clonesShareParsedParameters() {
+        CaptureHolder2.HttpRequest request = new CaptureHolder2.HttpRequest();
+        request.setRequestLine("POST", "/kcsapi/api_req_hokyu/charge", "HTTP/1.1");
+        request.addHeader("Content-Type", FORM);
+        request.addBodyChunk(body("api_kind=3&api_id_items=1,2"));
+        RequestMetaDataWrapper base = new RequestMetaDataWrapper();
+        base.set(request);
+
+        RequestMetaDataWrapper first = base.clone();
+        RequestMetaDataWrapper second = base.clone();
+
+        assertEquals(3, first.getInt("api_kind"));
+        assertSame(first.getParameterMap(), second.getParameterMap());
+        assertSame(first.getParameterMap(), base.getParameterMap());
+    }
+
+    private static byte[] body(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,59 @@
+package logbook.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import logbook.internal.metrics.MetricsRegistry;
+
+/**
+ * {@link TunnelPipeStats} のテスト。
+ */
+class TunnelPipeStatsTest {
+
+    @Test
+    void fillExcludesParseTime() {
+        TunnelPipeStats stats = new TunnelPipeStats("test-fill");
+        long fillBefore = MetricsRegistry.counter("tunnel_fill_nanos", "direction", "test-fill").getValue();
+
+        stats.recordParse(300);
+        stats.recordFill(100, 1000, 300);
+
+        assertEquals(300, stats.getParseNanos());
+        assertEquals(700, MetricsRegistry.counter("tunnel_fill_nanos", "direction", "test-fill").getValue() - fillBefore);
+        assertEquals(100, MetricsRegistry.counter("tunnel_fill_bytes", "direction", "test-fill").getValue());
+    }
+
+    @Test
+    void pendingFlushIsReportedAsStalled() {
+        TunnelPipeStats stats = new TunnelPipeStats("test-stall");
+        stats.open("tunnel-a");
+        try {
+            long start = 1_000L;
+            stats.flushStarted(start);
+
+            assertFalse(stats.isStalled(start + TunnelPipeStats.STALL_NANOS - 1));
+            assertTrue(stats.isStalled(start + TunnelPipeStats.STALL_NANOS));
+
+            stats.flushCompleted(42, start + TunnelPipeStats.STALL_NANOS);
+
+            assertFalse(stats.isStalled(start + TunnelPipeStats.STALL_NANOS * 2));
+            assertEquals(42, MetricsRegistry.counter("tunnel_flush_bytes", "direction", "test-stall").getValue());
+        } finally {
+            stats.close();
+        }
+    }
+
+    @Test
+    void closedPipeIsNotListed() {
+        TunnelPipeStats stats = new TunnelPipeStats("test-closed");
+        stats.open("tunnel-b");
+        stats.flushStarted(1L);
+        stats.close();
+
+        assertTrue(TunnelPipeStats.stalled(1L + TunnelPipeStats.STALL_NANOS).stream()
+                .noneMatch(s -> s.startsWith("tunnel-b")));
+    }
+}
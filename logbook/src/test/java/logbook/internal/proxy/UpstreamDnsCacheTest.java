@@ -0,0 +1,70 @@
+package logbook.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link UpstreamDnsCache} のテスト。
+ */
+class UpstreamDnsCacheTest {
+
+    private static final String HOST = "w01y.kancolle-server.com";
+
+    @Test
+    void cachesWithinTtl() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        UpstreamDnsCache cache = new UpstreamDnsCache(TimeUnit.MINUTES.toNanos(1), Runnable::run,
+                host -> address(lookups.incrementAndGet()));
+
+        InetAddress first = cache.resolve(HOST);
+        InetAddress second = cache.resolve(HOST);
+
+        assertEquals(first, second);
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void returnsStaleEntryAndRefreshesInBackground() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        List<Runnable> background = new ArrayList<>();
+        UpstreamDnsCache cache = new UpstreamDnsCache(TimeUnit.MILLISECONDS.toNanos(20), background::add,
+                host -> address(lookups.incrementAndGet()));
+
+        InetAddress first = cache.resolve(HOST);
+        Thread.sleep(30);
+
+        assertEquals(first, cache.resolve(HOST));
+        assertEquals(first, cache.resolve(HOST));
+        assertEquals(1, background.size());
+
+        background.get(0).run();
+        assertEquals(address(2), cache.resolve(HOST));
+    }
+
+    @Test
+    void doesNotCacheFailures() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        UpstreamDnsCache cache = new UpstreamDnsCache(TimeUnit.MINUTES.toNanos(1), Runnable::run, host -> {
+            if (lookups.incrementAndGet() == 1) {
+                throw new UnknownHostException(host);
+            }
+            return address(1);
+        });
+
+        assertThrows(UnknownHostException.class, () -> cache.resolve(HOST));
+        assertEquals(address(1), cache.resolve(HOST));
+    }
+
+    private static InetAddress address(int last) throws UnknownHostException {
+        return InetAddress.getByAddress(HOST, new byte[] { (byte) 203, 0, 113, (byte) last });
+    }
+}
@@ -0,0 +1,58 @@
+package logbook.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jetty.client.Response;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link UpstreamMultiplexer} のテスト。
+ */
+class UpstreamMultiplexerTest {
+
+    @Test
+    void relaysKnownContentLength() {
+        Response response = response(200, HttpFields.build()
+            .add(HttpHeader.CONTENT_TYPE, "image/png")
+            .add(HttpHeader.CONTENT_LENGTH, "5"));
+
+        assertEquals(5, UpstreamMultiplexer.contentLength(response));
+        assertEquals("HTTP/1.1 200 OK\r\nContent-Type: image/png\r\nContent-Length: 5\r\n\r\n",
+            text(UpstreamMultiplexer.responseHead(response, 5)));
+    }
+
+    @Test
+    void usesChunkedEncodingWithoutContentLength() {
+        Response response = response(200, HttpFields.build().add(HttpHeader.CONTENT_TYPE, "image/png"));
+
+        assertEquals(-1, UpstreamMultiplexer.contentLength(response));
+        assertEquals("HTTP/1.1 200 OK\r\nContent-Type: image/png\r\nTransfer-Encoding: chunked\r\n\r\n",
+            text(UpstreamMultiplexer.responseHead(response, -1)));
+        assertEquals("1a\r\nabcdefghijklmnopqrstuvwxyz\r\n",
+            text(UpstreamMultiplexer.chunk("abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.ISO_8859_1))));
+        assertEquals("0\r\n\r\n", text(UpstreamMultiplexer.lastChunk()));
+    }
+
+    @Test
+    void notModifiedHasNoBody() {
+        assertEquals(0, UpstreamMultiplexer.contentLength(response(304, HttpFields.build())));
+    }
+
+    private static Response response(int status, HttpFields headers) {
+        Response response = mock(Response.class);
+        when(response.getStatus()).thenReturn(status);
+        when(response.getHeaders()).thenReturn(headers);
+        return response;
+    }
+
+    private static String text(ByteBuffer buffer) {
+        return StandardCharsets.ISO_8859_1.decode(buffer).toString();
+    }
+}
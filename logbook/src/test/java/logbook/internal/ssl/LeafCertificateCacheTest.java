@@ -0,0 +1,76 @@
+package logbook.internal.ssl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link LeafCertificateCache} のテスト。
+ */
+class LeafCertificateCacheTest {
+
+    private static final String HOST = "w01y.kancolle-server.com";
+
+    @TempDir
+    Path tempDir;
+
+    private ServerCertificateGenerator.CaIdentity caIdentity;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new CertificateService().createNewCARootCertificate(tempDir.toString());
+        caIdentity = ServerCertificateGenerator.loadCaIdentityFromPkcs12(
+                tempDir.resolve("logbook-ca.p12").toString(), SslCertificateUtil.ROOT_CERTIFICATE_PASSWORD);
+    }
+
+    @Test
+    void issuesHostCertificateSignedByRootCa() throws Exception {
+        LeafCertificateCache cache = LeafCertificateCache.open(caIdentity, tempDir.resolve("leaf.p12"), 4);
+        cache.prewarm(List.of(HOST), Runnable::run).join();
+
+        X509Certificate[] chain = cache.chain(HOST);
+        chain[0].verify(caIdentity.certificate().getPublicKey());
+        chain[0].checkValidity();
+        assertEquals(cache.keyPair().getPublic(), chain[0].getPublicKey());
+        assertTrue(chain[0].getSubjectAlternativeNames().stream()
+                .anyMatch(name -> HOST.equals(name.get(1))));
+        assertEquals(caIdentity.certificate(), chain[chain.length - 1]);
+    }
+
+    @Test
+    void reusesDiskCacheAfterReopen() throws Exception {
+        Path diskFile = tempDir.resolve("leaf.p12");
+        LeafCertificateCache first = LeafCertificateCache.open(caIdentity, diskFile, 4);
+        first.prewarm(List.of(HOST), Runnable::run).join();
+        assertTrue(Files.exists(diskFile));
+
+        LeafCertificateCache second = LeafCertificateCache.open(caIdentity, diskFile, 4);
+        assertTrue(second.contains(HOST));
+        assertFalse(second.contains("w02k.kancolle-server.com"));
+        assertEquals(first.keyPair().getPublic(), second.keyPair().getPublic());
+        assertArrayEquals(first.chain(HOST)[0].getEncoded(), second.chain(HOST)[0].getEncoded());
+    }
+
+    @Test
+    void discardsDiskCacheSignedByAnotherCa() throws Exception {
+        Path diskFile = tempDir.resolve("leaf.p12");
+        LeafCertificateCache.open(caIdentity, diskFile, 4).prewarm(List.of(HOST), Runnable::run).join();
+
+        Path otherDir = Files.createDirectory(tempDir.resolve("other"));
+        new CertificateService().createNewCARootCertificate(otherDir.toString());
+        ServerCertificateGenerator.CaIdentity otherCa = ServerCertificateGenerator.loadCaIdentityFromPkcs12(
+                otherDir.resolve("logbook-ca.p12").toString(), SslCertificateUtil.ROOT_CERTIFICATE_PASSWORD);
+
+        assertFalse(LeafCertificateCache.open(otherCa, diskFile, 4).contains(HOST));
+    }
+}
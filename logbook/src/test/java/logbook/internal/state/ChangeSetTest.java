@@ -0,0 +1,57 @@
+package logbook.internal.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ChangeSet} のテスト。
+ */
+class ChangeSetTest {
+
+    @Test
+    void mergesIdsPerDomain() {
+        ChangeSet changes = new ChangeSet();
+        changes.add(new ChangeEvent(Domain.SHIP, 1, Set.of(1), Set.of(2), Set.of(), false));
+        changes.add(new ChangeEvent(Domain.SHIP, 2, Set.of(), Set.of(), Set.of(3), false));
+        changes.add(new ChangeEvent(Domain.SLOT_ITEM, 1, Set.of(), Set.of(), Set.of(10), false));
+
+        assertEquals(Set.of(1, 2, 3), changes.ids(Domain.SHIP));
+        assertEquals(Set.of(10), changes.ids(Domain.SLOT_ITEM));
+        assertTrue(changes.affects(Domain.SHIP, List.of(5, 3)));
+        assertFalse(changes.affects(Domain.SHIP, List.of(10)));
+        assertFalse(changes.contains(Domain.DECK_PORT));
+        assertFalse(changes.affects(Domain.DECK_PORT, List.of(1)));
+    }
+
+    @Test
+    void addAllMergesAnotherSet() {
+        ChangeSet changes = new ChangeSet();
+        assertTrue(changes.isEmpty());
+        ChangeSet other = new ChangeSet();
+        other.add(new ChangeEvent(Domain.DECK_PORT, 1, Set.of(), Set.of(), Set.of(2), false));
+        other.add(new ChangeEvent(Domain.NDOCK, 1, Set.of(), Set.of(), Set.of(), true));
+
+        changes.addAll(other);
+
+        assertFalse(changes.isEmpty());
+        assertEquals(Set.of(2), changes.ids(Domain.DECK_PORT));
+        assertTrue(changes.isReset(Domain.NDOCK));
+    }
+
+    @Test
+    void resetAffectsEveryId() {
+        ChangeSet changes = new ChangeSet();
+        changes.add(new ChangeEvent(Domain.NDOCK, 1, Set.of(), Set.of(), Set.of(), true));
+
+        assertTrue(changes.contains(Domain.NDOCK));
+        assertTrue(changes.isReset(Domain.NDOCK));
+        assertTrue(changes.ids(Domain.NDOCK).isEmpty());
+        assertTrue(changes.affects(Domain.NDOCK, List.of(4)));
+    }
+}
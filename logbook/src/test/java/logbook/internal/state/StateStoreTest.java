@@ -0,0 +1,118 @@
+package logbook.internal.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link StateStore} と {@link TrackedMap} のテスト。
+ */
+class StateStoreTest {
+
+    @Test
+    void commitPublishesCoalescedChanges() {
+        StateStore.commit();
+        List<ChangeEvent> events = new ArrayList<>();
+        Consumer<ChangeEvent> listener = events::add;
+        StateStore.subscribe(Domain.SHIP, listener);
+        try {
+            TrackedMap<String> map = new TrackedMap<>(Domain.SHIP, Map.of(1, "a", 2, "b"));
+            long before = StateStore.version(Domain.SHIP);
+
+            map.put(3, "c");
+            map.remove(3);
+            map.put(1, "a2");
+            map.remove(2);
+            map.put(4, "d");
+            StateStore.commit();
+
+            assertEquals(1, events.size());
+            ChangeEvent event = events.get(0);
+            assertEquals(before + 1, event.version());
+            assertEquals(before + 1, StateStore.version(Domain.SHIP));
+            assertEquals(Set.of(4), event.added());
+            assertEquals(Set.of(2), event.removed());
+            assertEquals(Set.of(1), event.updated());
+            assertFalse(event.reset());
+        } finally {
+            StateStore.unsubscribe(Domain.SHIP, listener);
+        }
+    }
+
+    @Test
+    void commitWithoutChangesKeepsVersion() {
+        StateStore.commit();
+        long before = StateStore.version(Domain.SLOT_ITEM, Domain.NDOCK);
+
+        TrackedMap<String> map = new TrackedMap<>(Domain.SLOT_ITEM);
+        map.put(1, "a");
+        map.remove(1);
+        StateStore.commit();
+
+        assertEquals(before, StateStore.version(Domain.SLOT_ITEM, Domain.NDOCK));
+    }
+
+    @Test
+    void assignRecordsOnlyDifferences() {
+        StateStore.commit();
+        List<ChangeEvent> events = new ArrayList<>();
+        Consumer<ChangeEvent> listener = events::add;
+        StateStore.subscribe(Domain.DECK_PORT, listener);
+        try {
+            TrackedMap<String> map = new TrackedMap<>(Domain.DECK_PORT);
+            String b = "b";
+            map.put(1, "a");
+            map.put(2, b);
+            StateStore.commit();
+            events.clear();
+
+            Map<Integer, String> next = new LinkedHashMap<>();
+            next.put(3, "c");
+            next.put(2, new String("b"));
+            map.assign(next);
+            StateStore.commit();
+
+            ChangeEvent event = events.get(0);
+            assertEquals(Set.of(3), event.added());
+            assertEquals(Set.of(1), event.removed());
+            assertTrue(event.updated().isEmpty());
+            assertEquals(List.of(3, 2), new ArrayList<>(map.keySet()));
+            // 等しい値は今のインスタンスを残す
+            assertSame(b, map.get(2));
+        } finally {
+            StateStore.unsubscribe(Domain.DECK_PORT, listener);
+        }
+    }
+
+    @Test
+    void reputSameInstanceIsUpdate() {
+        StateStore.commit();
+        List<ChangeEvent> events = new ArrayList<>();
+        Consumer<ChangeEvent> listener = events::add;
+        StateStore.subscribe(Domain.NDOCK, listener);
+        try {
+            List<String> value = new ArrayList<>();
+            TrackedMap<List<String>> map = new TrackedMap<>(Domain.NDOCK, Map.of(1, value));
+
+            value.add("changed");
+            map.put(1, value);
+            StateStore.markChanged(Domain.NDOCK);
+            StateStore.commit();
+
+            assertEquals(Set.of(1), events.get(0).updated());
+            assertTrue(events.get(0).reset());
+        } finally {
+            StateStore.unsubscribe(Domain.NDOCK, listener);
+        }
+    }
+}